@@ -4,4 +4,7 @@ javac -d bin --release 8 @.files
 
 del .files
 
+if exist app.jar del app.jar
+if exist app.jsa del app.jsa
+
 pause
@@ -0,0 +1,15 @@
+rem Runs the Application with a class-data sharing archive of its classes,
+rem which requires Java 13 or later. The archive can only be made from a jar,
+rem so the compiled classes are packaged first. The first run creates the
+rem archive when the Application exits and the following runs start faster
+rem by using it. Recompiling with compile.bat deletes both.
+
+if not exist app.jar jar cf app.jar -C bin .
+
+if exist app.jsa (
+	java -XX:SharedArchiveFile=app.jsa -cp app.jar App %*
+) else (
+	java -XX:ArchiveClassesAtExit=app.jsa -cp app.jar App %*
+)
+
+pause
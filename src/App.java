@@ -1,6 +1,9 @@
+import java.util.Arrays;
+
 import javax.swing.SwingUtilities;
 
 import application.Application;
+import application.StartupProfile;
 import application.StringConstants;
 import localisation.Languages;
 
@@ -14,13 +17,21 @@ public final class App {
 	/**
 	 * Constructs and runs an {@link Application}.
 	 *
-	 * @param args command line arguments (not used)
+	 * @param args command line arguments: {@code --profile} to report the time
+	 *             each phase of the start-up takes
+	 *
+	 * @see StartupProfile
 	 */
 	public static void main(String[] args) {
+		if (Arrays.asList(args).contains("--profile")) //$NON-NLS-1$
+			StartupProfile.enable();
+
 		System.out.printf(Languages.getString("App.0"), Languages.FILE); //$NON-NLS-1$
 		System.out.printf(Languages.getString("App.1"), StringConstants.FILE); //$NON-NLS-1$
+		StartupProfile.mark("Languages"); //$NON-NLS-1$
 
 		Application app = new Application();
+		StartupProfile.mark("Settings and menu"); //$NON-NLS-1$
 		SwingUtilities.invokeLater(() -> app.run());
 	}
 }
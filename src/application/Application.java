@@ -5,17 +5,22 @@ import java.awt.Frame;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.swing.JFrame;
 import javax.swing.JOptionPane;
+import javax.swing.SwingUtilities;
 import javax.swing.WindowConstants;
 
 import application.editor.Editor;
 import command.Command;
 import component.ComponentType;
+import component.graphics.ComponentGraphic;
 import localisation.Languages;
 import myUtil.ErrorDumpDialog;
 import myUtil.StringGenerator;
+import simulation.NetlistGenerator;
 
 /**
  * Aggregates all of the individual components that comprise an Application and
@@ -44,6 +49,7 @@ public final class Application {
 
 	/** Configures the UI and launches the Application */
 	public void run() {
+		StartupProfile.mark("Waiting for the EDT"); //$NON-NLS-1$
 
 		// configure the frame
 		window.setLayout(new BorderLayout());
@@ -61,15 +67,36 @@ public final class Application {
 		window.setJMenuBar(menuBar);
 		window.add(editorManager.getGraphics(), BorderLayout.CENTER);
 
+		StartupProfile.mark("Frame"); //$NON-NLS-1$
+
 		// add the first editor on start-up
 		editorManager.addEditor(new Editor(this, editorNameGenerator.get()));
+		StartupProfile.mark("First Editor"); //$NON-NLS-1$
 
 		// add all of the Create Commands
 		for (final ComponentType type : ComponentType.values())
 			if (type != ComponentType.GATE)
 				addCreateCommand(Command.create(type));
 
+		// and the Commands for the generated Gates
+		for (final NetlistGenerator generator : NetlistGenerator.values())
+			addCreateCommand(Command.create(generator));
+		StartupProfile.mark("Create Commands"); //$NON-NLS-1$
+
 		window.setVisible(true);
+		StartupProfile.mark("Window shown"); //$NON-NLS-1$
+
+		// the window is painted once the events queued while showing it are handled
+		SwingUtilities.invokeLater(() -> StartupProfile.mark("Window painted")); //$NON-NLS-1$
+
+		// load the sprites of the Components before they are first drawn
+		final Thread spriteLoader = new Thread(() -> {
+			final long start = StartupProfile.start();
+			ComponentGraphic.loadSprites();
+			StartupProfile.task("Sprites", start); //$NON-NLS-1$
+		}, "Sprite Loader"); //$NON-NLS-1$
+		spriteLoader.setDaemon(true);
+		spriteLoader.start();
 	}
 
 	/**
@@ -117,6 +144,15 @@ public final class Application {
 		return editorManager.getSelectedEditor();
 	}
 
+	/**
+	 * Returns every open {@code Editor} of the Application.
+	 *
+	 * @return a List with the open Editors
+	 */
+	public List<Editor> getEditors() {
+		return new ArrayList<>(editorManager.editorSet);
+	}
+
 	private void addEditor() {
 		editorManager.addEditor(new Editor(this, editorNameGenerator.get()));
 	}
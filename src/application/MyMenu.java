@@ -2,18 +2,23 @@ package application;
 
 import java.awt.event.ActionEvent;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
 import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import javax.swing.AbstractAction;
 import javax.swing.Action;
+import javax.swing.Icon;
 import javax.swing.ImageIcon;
 import javax.swing.JMenu;
 import javax.swing.JMenuBar;
 import javax.swing.JMenuItem;
 import javax.swing.JPopupMenu.Separator;
 import javax.swing.KeyStroke;
+import javax.swing.SwingWorker;
 
 import application.editor.Actions;
 import application.editor.Editor;
@@ -54,12 +59,14 @@ final class MyMenu extends JMenuBar {
 
 	private final JMenu     m_file, m_edit, m_create, m_delete, m_preferences, m_help;
 	private final JMenuItem f_new, f_close, f_save, f_save_as, f_open, f_clear, f_import,
-	        f_undo, f_redo, e_activate, e_focus, d_component, p_settings, p_language, h_help;
+	        f_undo, f_redo, e_activate, e_focus, e_equivalence, e_tests, e_minimize, e_timing,
+	        e_simulate, e_regression, d_component, p_settings, p_language, h_help;
 
 	private final Supplier<String> builtin_command_gen, custom_command_gen;
 
 	private final Action a_new, a_close, a_undo, a_redo, a_save, a_save_as, a_open,
-	        a_clear, a_import, a_delete, a_settings, a_language, a_help;
+	        a_clear, a_import, a_equivalence, a_tests, a_minimize, a_timing, a_simulate, a_delete,
+	        a_regression, a_settings, a_language, a_help;
 
 	{
 		builtin_command_gen = new StringGenerator(
@@ -120,6 +127,8 @@ final class MyMenu extends JMenuBar {
 				final Editor activeEditor = context.getActiveEditor();
 				Actions.SAVE
 				        .specify(EditorStrings.FILENAME, activeEditor.getFileInfo().getFile())
+				        .specify(EditorStrings.COMPRESSION,
+				                activeEditor.getFileInfo().getCompression())
 				        .context(activeEditor)
 				        .execute();
 			}
@@ -159,6 +168,53 @@ final class MyMenu extends JMenuBar {
 			}
 		};
 
+		a_equivalence = new AbstractAction() {
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				// the context is needed to list the other Editors in the dialog
+				final Editor activeEditor = context.getActiveEditor();
+				Actions.CHECK_EQUIVALENCE.context(activeEditor).specifyWithDialog(activeEditor)
+				        .execute();
+			}
+		};
+
+		a_tests = new AbstractAction() {
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				Actions.GENERATE_TESTS.context(context.getActiveEditor()).execute();
+			}
+		};
+
+		a_minimize = new AbstractAction() {
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				Actions.MINIMIZE_LOGIC.context(context.getActiveEditor()).execute();
+			}
+		};
+
+		a_timing = new AbstractAction() {
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				Actions.ANALYZE_TIMING.context(context.getActiveEditor()).execute();
+			}
+		};
+
+		a_simulate = new AbstractAction() {
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				final Editor activeEditor = context.getActiveEditor();
+				Actions.SIMULATE_TIMING.context(activeEditor).specifyWithDialog(activeEditor)
+				        .execute();
+			}
+		};
+
+		a_regression = new AbstractAction() {
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				Actions.RUN_REGRESSION.context(context.getActiveEditor()).execute();
+			}
+		};
+
 		a_delete = new AbstractAction() {
 			@Override
 			public void actionPerformed(ActionEvent e) {
@@ -220,8 +276,21 @@ final class MyMenu extends JMenuBar {
 		m_edit = new JMenu(Languages.getString("MyMenu.20")); //$NON-NLS-1$
 		e_activate = new JMenuItem(Languages.getString("MyMenu.21")); //$NON-NLS-1$
 		e_focus = new JMenuItem(Languages.getString("MyMenu.22")); //$NON-NLS-1$
+		e_equivalence = new JMenuItem(Languages.getString("MyMenu.4")); //$NON-NLS-1$
+		e_tests = new JMenuItem(Languages.getString("MyMenu.5")); //$NON-NLS-1$
+		e_minimize = new JMenuItem(Languages.getString("MyMenu.6")); //$NON-NLS-1$
+		e_timing = new JMenuItem(Languages.getString("MyMenu.7")); //$NON-NLS-1$
+		e_simulate = new JMenuItem(Languages.getString("MyMenu.8")); //$NON-NLS-1$
+		e_regression = new JMenuItem(Languages.getString("MyMenu.9")); //$NON-NLS-1$
 		m_edit.add(e_activate);
 		m_edit.add(e_focus);
+		m_edit.add(new Separator());
+		m_edit.add(e_equivalence);
+		m_edit.add(e_tests);
+		m_edit.add(e_minimize);
+		m_edit.add(e_timing);
+		m_edit.add(e_simulate);
+		m_edit.add(e_regression);
 		add(m_edit);
 
 		// --- create --- (populated by the addCreateCommand(Command) method)
@@ -309,6 +378,12 @@ final class MyMenu extends JMenuBar {
 		f_import.addActionListener(a_import);
 		f_undo.addActionListener(a_undo);
 		f_redo.addActionListener(a_redo);
+		e_equivalence.addActionListener(a_equivalence);
+		e_tests.addActionListener(a_tests);
+		e_minimize.addActionListener(a_minimize);
+		e_timing.addActionListener(a_timing);
+		e_simulate.addActionListener(a_simulate);
+		e_regression.addActionListener(a_regression);
 		d_component.addActionListener(a_delete);
 		p_settings.addActionListener(a_settings);
 		p_language.addActionListener(a_language);
@@ -323,7 +398,8 @@ final class MyMenu extends JMenuBar {
 
 			final Requirements         reqs = new Requirements();
 			final ComponentRequirement req  = new ComponentRequirement(CommandStrings.NAME,
-			        activeEditor.getComponents_(), Policy.INPUT_PIN);
+			        Policy.INPUT_PIN);
+			req.setSortedComponentOptions(activeEditor.getSortedComponents());
 			req.setCaseOfNullGraphic(false, Languages.getString("MyMenu.2")); //$NON-NLS-1$
 			reqs.add(req);
 			reqs.add(ACTIVE, Arrays.asList(RequirementStrings.ON, RequirementStrings.OFF));
@@ -351,7 +427,8 @@ final class MyMenu extends JMenuBar {
 
 			final Requirements         reqs = new Requirements();
 			final ComponentRequirement req  = new ComponentRequirement(CommandStrings.NAME,
-			        activeEditor.getComponents_(), Policy.NONBRANCH);
+			        Policy.NONBRANCH);
+			req.setSortedComponentOptions(activeEditor.getSortedComponents());
 			req.setCaseOfNullGraphic(false, Languages.getString("MyMenu.3")); //$NON-NLS-1$
 			reqs.add(req);
 			reqs.fulfillWithDialog(context.getFrame(), Languages.getString("MyMenu.41")); //$NON-NLS-1$
@@ -388,35 +465,58 @@ final class MyMenu extends JMenuBar {
 	}
 
 	private void icons() {
-		MyMenu.setIcon(m_file, "file"); //$NON-NLS-1$
-		MyMenu.setIcon(f_new, "new"); //$NON-NLS-1$
-		MyMenu.setIcon(f_close, "close"); //$NON-NLS-1$
-		MyMenu.setIcon(f_save, "save"); //$NON-NLS-1$
-		MyMenu.setIcon(f_save_as, "save_as"); //$NON-NLS-1$
-		MyMenu.setIcon(f_open, "open"); //$NON-NLS-1$
-		MyMenu.setIcon(f_clear, "clear"); //$NON-NLS-1$
-		MyMenu.setIcon(f_undo, "undo"); //$NON-NLS-1$
-		MyMenu.setIcon(f_redo, "redo"); //$NON-NLS-1$
-		MyMenu.setIcon(f_import, "import"); //$NON-NLS-1$
-		MyMenu.setIcon(m_edit, "edit"); //$NON-NLS-1$
-		MyMenu.setIcon(e_activate, "activate"); //$NON-NLS-1$
-		MyMenu.setIcon(e_focus, "focus"); //$NON-NLS-1$
-		MyMenu.setIcon(m_create, "create"); //$NON-NLS-1$
-		MyMenu.setIcon(m_delete, "delete"); //$NON-NLS-1$
-		MyMenu.setIcon(m_preferences, "preferences"); //$NON-NLS-1$
-		MyMenu.setIcon(p_settings, "settings"); //$NON-NLS-1$
-		MyMenu.setIcon(p_language, "language"); //$NON-NLS-1$
-		MyMenu.setIcon(m_help, "help"); //$NON-NLS-1$
+		final Map<JMenuItem, String> icons = new LinkedHashMap<>();
+		icons.put(m_file, "file"); //$NON-NLS-1$
+		icons.put(f_new, "new"); //$NON-NLS-1$
+		icons.put(f_close, "close"); //$NON-NLS-1$
+		icons.put(f_save, "save"); //$NON-NLS-1$
+		icons.put(f_save_as, "save_as"); //$NON-NLS-1$
+		icons.put(f_open, "open"); //$NON-NLS-1$
+		icons.put(f_clear, "clear"); //$NON-NLS-1$
+		icons.put(f_undo, "undo"); //$NON-NLS-1$
+		icons.put(f_redo, "redo"); //$NON-NLS-1$
+		icons.put(f_import, "import"); //$NON-NLS-1$
+		icons.put(m_edit, "edit"); //$NON-NLS-1$
+		icons.put(e_activate, "activate"); //$NON-NLS-1$
+		icons.put(e_focus, "focus"); //$NON-NLS-1$
+		icons.put(m_create, "create"); //$NON-NLS-1$
+		icons.put(m_delete, "delete"); //$NON-NLS-1$
+		icons.put(m_preferences, "preferences"); //$NON-NLS-1$
+		icons.put(p_settings, "settings"); //$NON-NLS-1$
+		icons.put(p_language, "language"); //$NON-NLS-1$
+		icons.put(m_help, "help"); //$NON-NLS-1$
+
+		// the icons are read in the background so that they don't delay the window
+		final long start = StartupProfile.start();
+		new SwingWorker<Map<JMenuItem, Icon>, Void>() {
+			@Override
+			protected Map<JMenuItem, Icon> doInBackground() {
+				final Map<JMenuItem, Icon> loaded = new LinkedHashMap<>();
+				icons.forEach((jmi, desc) -> loaded.put(jmi, MyMenu.loadIcon(desc)));
+				return loaded;
+			}
+
+			@Override
+			protected void done() {
+				try {
+					get().forEach(JMenuItem::setIcon);
+				} catch (InterruptedException | ExecutionException e) {
+					// the menus are fully usable without their icons
+					e.printStackTrace();
+				}
+				StartupProfile.task("Menu icons", start); //$NON-NLS-1$
+			}
+		}.execute();
 	}
 
 	private static void setAccel(JMenuItem jmi, String acceleratorKeyStroke) {
 		jmi.setAccelerator(KeyStroke.getKeyStroke(acceleratorKeyStroke));
 	}
 
-	private static void setIcon(JMenuItem jmi, String desc) {
+	private static Icon loadIcon(String desc) {
 		final String filename    = String.format("%s%s_icon.png", StringConstants.MENU_ICON_PATH,              //$NON-NLS-1$
 		        desc);
 		final String description = String.format("%s icon", desc);                                             //$NON-NLS-1$
-		jmi.setIcon(new ImageIcon(filename, description));
+		return new ImageIcon(filename, description);
 	}
 }
@@ -0,0 +1,79 @@
+package application;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Reports how long each phase of the start-up of the Application takes, when
+ * the Application is launched with the {@code --profile} argument. Otherwise
+ * its methods do nothing, so that they can be left in the code that starts the
+ * Application.
+ * <p>
+ * The phases are consecutive, each one ending when {@link #mark(String)} is
+ * called, whereas the tasks that run in the background are timed on their own
+ * with {@link #start()} and {@link #task(String, long)}.
+ *
+ * @author Alex Mandelias
+ */
+public final class StartupProfile {
+
+	private static boolean enabled;
+	private static long    launch, last;
+
+	private StartupProfile() {}
+
+	/**
+	 * Enables the profile and reports the time from the launch of the JVM until
+	 * this call, which should be the first statement of the program.
+	 */
+	public static synchronized void enable() {
+		StartupProfile.enabled = true;
+		StartupProfile.last = System.nanoTime();
+
+		final long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+		StartupProfile.launch = StartupProfile.last - (uptime * 1_000_000L);
+		StartupProfile.print("JVM start-up", uptime); //$NON-NLS-1$
+	}
+
+	/**
+	 * Ends a phase of the start-up and reports its duration.
+	 *
+	 * @param phase the name of the phase
+	 */
+	public static synchronized void mark(String phase) {
+		if (!StartupProfile.enabled)
+			return;
+
+		final long now = System.nanoTime();
+		StartupProfile.print(phase, (now - StartupProfile.last) / 1_000_000L);
+		StartupProfile.last = now;
+	}
+
+	/**
+	 * Returns the time at which a background task starts, to be passed to
+	 * {@link #task(String, long)} once it completes.
+	 *
+	 * @return the current time in nanoseconds
+	 */
+	public static long start() {
+		return System.nanoTime();
+	}
+
+	/**
+	 * Reports the duration of a background task that has completed.
+	 *
+	 * @param task  the name of the task
+	 * @param start the time the task started, as returned by {@link #start()}
+	 */
+	public static synchronized void task(String task, long start) {
+		if (!StartupProfile.enabled)
+			return;
+
+		StartupProfile.print(String.format("%s (background)", task), //$NON-NLS-1$
+		        (System.nanoTime() - start) / 1_000_000L);
+	}
+
+	private static void print(String name, long millis) {
+		System.out.printf("[profile] %-28s %6d ms  (%6d ms since launch)%n", name, millis, //$NON-NLS-1$
+		        (System.nanoTime() - StartupProfile.launch) / 1_000_000L);
+	}
+}
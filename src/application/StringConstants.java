@@ -28,7 +28,8 @@ public final class StringConstants {
 
 	private static final Properties properties = new OrderedProperties();
 
-	private static final Requirements reqs = new Requirements();
+	// constructed when the settings are first edited, not when the Application starts
+	private static Requirements reqs;
 
 	/** Directory of the Component Icons */
 	public static final String COMPONENT_ICON_PATH;
@@ -120,6 +121,36 @@ public final class StringConstants {
 	/** Format for the {@code GATEXOR} names */
 	public static final String G_GATEXOR;
 
+	/** Format for the {@code DFLIPFLOP} names */
+	public static final String G_DFLIPFLOP;
+
+	/** Format for the {@code CLOCK} names */
+	public static final String G_CLOCK;
+
+	/** Period of the {@code CLOCK} signal in milliseconds */
+	public static final int CLOCK_PERIOD;
+
+	/** Whether composite {@code GATE}s are resynthesised from minimised logic */
+	public static final boolean MINIMIZE_GATES;
+
+	/** Propagation delay of the {@code GATEAND} */
+	public static final int DELAY_GATEAND;
+
+	/** Propagation delay of the {@code GATEOR} */
+	public static final int DELAY_GATEOR;
+
+	/** Propagation delay of the {@code GATENOT} */
+	public static final int DELAY_GATENOT;
+
+	/** Propagation delay of the {@code GATEXOR} */
+	public static final int DELAY_GATEXOR;
+
+	/** Propagation delay of the {@code DFLIPFLOP}, from its clock to its output */
+	public static final int DELAY_DFLIPFLOP;
+
+	/** Period of the {@code CLOCK} signal in the timing simulation, in units of delay */
+	public static final int TIMING_PERIOD;
+
 	/** Mnemonic for the {@code FILE} menu */
 	public static final char M_FILE_MNEMONIC;
 
@@ -149,13 +180,6 @@ public final class StringConstants {
 			System.exit(0);
 		}
 
-		Utility.foreach(StringConstants.properties.entrySet(), entry -> {
-			final String key   = (String) entry.getKey();
-			final String value = (String) entry.getValue();
-			StringConstants.reqs.add(key, StringType.ANY);
-			StringConstants.reqs.offer(key, value);
-		});
-
 		COMPONENT_ICON_PATH = StringConstants.get("Component_Icon_Directory"); //$NON-NLS-1$
 		MENU_ICON_PATH = StringConstants.get("Menu_Icon_Directory"); //$NON-NLS-1$
 		LOG_PATH = StringConstants.get("Log_Directory"); //$NON-NLS-1$
@@ -192,6 +216,16 @@ public final class StringConstants {
 		G_GATEOR = StringConstants.get("Gate_OR_Sequence"); //$NON-NLS-1$
 		G_GATENOT = StringConstants.get("Gate_NOT_Sequence"); //$NON-NLS-1$
 		G_GATEXOR = StringConstants.get("Gate_XOR_Sequence"); //$NON-NLS-1$
+		G_DFLIPFLOP = StringConstants.get("Flip_Flop_Sequence"); //$NON-NLS-1$
+		G_CLOCK = StringConstants.get("Clock_Sequence"); //$NON-NLS-1$
+		CLOCK_PERIOD = Integer.parseInt(StringConstants.get("Clock_Period")); //$NON-NLS-1$
+		MINIMIZE_GATES = Boolean.parseBoolean(StringConstants.get("Minimize_Gates")); //$NON-NLS-1$
+		DELAY_GATEAND = Integer.parseInt(StringConstants.get("Delay_AND")); //$NON-NLS-1$
+		DELAY_GATEOR = Integer.parseInt(StringConstants.get("Delay_OR")); //$NON-NLS-1$
+		DELAY_GATENOT = Integer.parseInt(StringConstants.get("Delay_NOT")); //$NON-NLS-1$
+		DELAY_GATEXOR = Integer.parseInt(StringConstants.get("Delay_XOR")); //$NON-NLS-1$
+		DELAY_DFLIPFLOP = Integer.parseInt(StringConstants.get("Delay_Flip_Flop")); //$NON-NLS-1$
+		TIMING_PERIOD = Integer.parseInt(StringConstants.get("Timing_Period")); //$NON-NLS-1$
 	}
 
 	/**
@@ -205,6 +239,16 @@ public final class StringConstants {
 	 * @throws IOException if an error occurred while writing to file
 	 */
 	public static boolean editAndWriteToFile(Frame frame) throws IOException {
+		if (StringConstants.reqs == null) {
+			StringConstants.reqs = new Requirements();
+			Utility.foreach(StringConstants.properties.entrySet(), entry -> {
+				final String key   = (String) entry.getKey();
+				final String value = (String) entry.getValue();
+				StringConstants.reqs.add(key, StringType.ANY);
+				StringConstants.reqs.offer(key, value);
+			});
+		}
+
 		StringConstants.reqs.clear();
 		StringConstants.reqs.fulfillWithDialog(frame, Languages.getString("StringConstants.4")); //$NON-NLS-1$
 
@@ -1,32 +1,42 @@
 package application.editor;
 
+import java.awt.Font;
 import java.awt.Frame;
+import java.io.BufferedInputStream;
+import java.io.Closeable;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InvalidClassException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import javax.swing.JOptionPane;
+import javax.swing.JScrollPane;
+import javax.swing.JTextArea;
 
 import application.StringConstants;
 import command.Command;
+import component.ComponentType;
 import component.components.Component;
+import component.components.ComponentFactory;
+import component.components.SimulationHook;
 import component.exceptions.MalformedBranchException;
 import localisation.EditorStrings;
 import localisation.Languages;
@@ -37,6 +47,22 @@ import requirement.requirements.ListRequirement;
 import requirement.requirements.StringType;
 import requirement.util.HasRequirements;
 import requirement.util.Requirements;
+import simulation.DelayModel;
+import simulation.EventSimulator;
+import simulation.LogicMinimizer;
+import simulation.Netlist;
+import simulation.NetlistCompiler;
+import simulation.SumOfProducts;
+import simulation.TimingAnalysis;
+import simulation.ValueChangeStore;
+import simulation.VcdWriter;
+import simulation.Waveform;
+import verification.Equivalence;
+import verification.EquivalenceChecker;
+import verification.FaultModel;
+import verification.TestGenerator;
+import verification.TestSet;
+import verification.VectorResult;
 
 /**
  * An enum-strategy for the different Actions the Editor may take. Actions have
@@ -73,7 +99,8 @@ public enum Actions implements HasRequirements {
 				context.execute(commandToExecute);
 				context.status(Languages.getString("Actions.2"), commandToExecute.description()); //$NON-NLS-1$
 				context.fileInfo.markUnsaved();
-			} catch (MissingComponentException | MalformedBranchException e) {
+			} catch (MissingComponentException | MalformedBranchException
+			        | IllegalArgumentException e) {
 				context.error(e);
 			}
 		}
@@ -119,7 +146,8 @@ public enum Actions implements HasRequirements {
 		@Override
 		public void executeAction() throws Exception {
 
-			final String fileToSave = reqs.getValue(EditorStrings.FILENAME, String.class);
+			final String fileToSave  = reqs.getValue(EditorStrings.FILENAME, String.class);
+			final String compression = reqs.getValue(EditorStrings.COMPRESSION, String.class);
 
 			try {
 				if (!reqs.fulfilled()) {
@@ -127,12 +155,13 @@ public enum Actions implements HasRequirements {
 					return;
 				}
 
-				Actions.writeToFile(fileToSave, context.getPastCommands(),
-				        context.componentManager);
+				Actions.writeToFile(fileToSave, Compression.of(compression),
+				        context.getPastCommands(), context.componentManager);
 
 				context.status(Languages.getString("Actions.7"), fileToSave); //$NON-NLS-1$
 				context.fileInfo.markSaved();
 				context.fileInfo.setFile(fileToSave);
+				context.fileInfo.setCompression(compression);
 
 			} catch (final IOException e) {
 				context.error(Languages.getString("Actions.8"), fileToSave); //$NON-NLS-1$
@@ -143,6 +172,8 @@ public enum Actions implements HasRequirements {
 		@Override
 		public void constructRequirements() {
 			reqs.add(EditorStrings.FILENAME, StringType.FILENAME);
+			reqs.add(EditorStrings.COMPRESSION,
+			        Arrays.asList(EditorStrings.UNCOMPRESSED, EditorStrings.SMALL));
 		}
 	},
 
@@ -154,8 +185,6 @@ public enum Actions implements HasRequirements {
 			final String fileToRead       = reqs.getValue(EditorStrings.FILENAME, String.class);
 			final String typeOfFileToRead = reqs.getValue(EditorStrings.FILETYPE, String.class);
 
-			final List<Command> commands = new ArrayList<>();
-
 			try {
 				if (!reqs.fulfilled()) {
 					context.status(Languages.getString("Actions.9"), //$NON-NLS-1$
@@ -165,24 +194,17 @@ public enum Actions implements HasRequirements {
 					return;
 				}
 
-				Actions.readFromFile(fileToRead, commands, context.componentManager);
-
 				if (typeOfFileToRead.equals(EditorStrings.CIRCUIT)) {
 
-					context.clear();
-
-					for (final Command command : commands) {
-						command.context(context);
-						context.execute(command);
-					}
-
-					context.fileInfo.markSaved();
-					context.fileInfo.setFile(fileToRead);
-					context.status(Languages.getString("Actions.12"), fileToRead); //$NON-NLS-1$
+					// the file is read in the background, which reports its own errors
+					new CircuitLoader(context, fileToRead).execute();
+					context.status(Languages.getString("Actions.94"), fileToRead); //$NON-NLS-1$
 
 				} else if (typeOfFileToRead.equals(EditorStrings.COMPONENT)) {
 
-					final Command createCompositeGateCommand = Command.create(commands,
+					// the library reads the file only if it changed since it was last read
+					final Command createCompositeGateCommand = Command.create(
+					        Actions.library.read(fileToRead),
 					        reqs.getValue(EditorStrings.GATENAME, String.class));
 					context.app.addCreateCommand(createCompositeGateCommand);
 					context.status(Languages.getString("Actions.13"), fileToRead); //$NON-NLS-1$
@@ -211,25 +233,11 @@ public enum Actions implements HasRequirements {
 		@SuppressWarnings("unchecked") //yes this is safe
 		@Override
 		public void adjustRequirements() {
-			final Path dir = Paths.get(
-			        System.getProperty("user.dir") + File.separator + StringConstants.USER_DATA); //$NON-NLS-1$
-
-			//create directory if it doesn't exist
-			if (!Files.exists(dir))
-				try {
-					Files.createDirectory(dir);
-				} catch (final IOException e1) {
-					e1.printStackTrace();
-				}
+			final Path dir = Actions.userDataDirectory();
 
 			List<String> files;
-			try (Stream<Path> paths = Files.walk(dir)) {
-				files = paths
-				        // TODO: regret later not externalising and not syncing it to the file name generator
-				        .filter(file -> file.toString().contains(".scad")) //$NON-NLS-1$
-				        .map(file -> file.toString()
-				                .substring(file.toString().lastIndexOf(File.separator) + 1)) //get file name
-				        .collect(Collectors.toList());
+			try {
+				files = Actions.library.list();
 			} catch (final IOException e) {
 				ErrorDumpDialog.showDialog(context.getFrame(), e);
 				return;
@@ -242,6 +250,394 @@ public enum Actions implements HasRequirements {
 		}
 	},
 
+	/**
+	 * Action for checking whether the circuit of an {@code Editor} computes the
+	 * same function as that of another Editor or of a File
+	 */
+	CHECK_EQUIVALENCE {
+
+		@SuppressWarnings("unchecked") //yes this is safe
+		@Override
+		public void executeAction() throws Exception {
+
+			final Object other = reqs.getValue(EditorStrings.OTHER_CIRCUIT);
+
+			try {
+				if (!reqs.fulfilled()) {
+					context.status(Languages.getString("Actions.54")); //$NON-NLS-1$
+					return;
+				}
+
+				final Netlist first  = NetlistCompiler.compile(context.getComponents_());
+				final Netlist second = NetlistCompiler.compile(other instanceof OpenEditor
+				        ? ((OpenEditor) other).editor.getComponents_()
+				        : Actions.readCircuit((String) other));
+
+				if (!EquivalenceChecker.supports(first) || !EquivalenceChecker.supports(second)) {
+					context.error(Languages.getString("Actions.55")); //$NON-NLS-1$
+					return;
+				}
+
+				if (!EquivalenceChecker.comparable(first, second)) {
+					context.error(Languages.getString("Actions.56"), other); //$NON-NLS-1$
+					return;
+				}
+
+				final Equivalence result  = EquivalenceChecker.check(first, second);
+				final String      message = result.equivalent()
+				        ? String.format(Languages.getString("Actions.57"), other) //$NON-NLS-1$
+				        : String.format(Languages.getString("Actions.58"), other, //$NON-NLS-1$
+				                result.formatInputs(), result.formatOutputs());
+
+				JOptionPane.showMessageDialog(context.getFrame(), message,
+				        Languages.getString("Actions.59"), JOptionPane.INFORMATION_MESSAGE); //$NON-NLS-1$
+				context.status(Languages.getString("Actions.60"), other); //$NON-NLS-1$
+
+			} catch (Actions.IncompatibleFileException | Actions.FileCorruptedException e) {
+				context.error(e);
+			} catch (final FileNotFoundException e) {
+				context.error(Languages.getString("Actions.15"), other); //$NON-NLS-1$
+			} catch (final IOException e) {
+				context.error(Languages.getString("Actions.16"), other); //$NON-NLS-1$
+				throw e;
+			} finally {
+				// the options mustn't keep the Editors after they are closed
+				((ListRequirement<Object>) reqs.get(EditorStrings.OTHER_CIRCUIT))
+				        .setOptions(new ArrayList<>());
+			}
+		}
+
+		@Override
+		public void constructRequirements() {
+			reqs.add(EditorStrings.OTHER_CIRCUIT, new ArrayList<Object>());
+		}
+
+		@SuppressWarnings("unchecked") //yes this is safe
+		@Override
+		public void adjustRequirements() {
+			final List<Object> options = new ArrayList<>();
+
+			// first the other open Editors and then the saved files
+			for (final Editor editor : context.app.getEditors())
+				if (editor != context)
+					options.add(new OpenEditor(editor));
+
+			try {
+				options.addAll(Actions.library.list());
+			} catch (final IOException e) {
+				ErrorDumpDialog.showDialog(context.getFrame(), e);
+				return;
+			}
+
+			final ListRequirement<Object> otherReq = (ListRequirement<Object>) reqs
+			        .get(EditorStrings.OTHER_CIRCUIT);
+			otherReq.setOptions(options);
+			otherReq.setCaseOfNullGraphic(false, Languages.getString("Actions.62")); //$NON-NLS-1$
+		}
+	},
+
+	/** Action for generating the test vectors of the circuit of an {@code Editor} */
+	GENERATE_TESTS {
+		@Override
+		public void executeAction() throws Exception {
+
+			final FaultModel model = FaultModel.of(context.getComponents_());
+			if (!EquivalenceChecker.supports(model.netlist())) {
+				context.error(Languages.getString("Actions.63")); //$NON-NLS-1$
+				return;
+			}
+
+			final TestSet       tests = TestGenerator.generate(model);
+			final StringBuilder sb    = new StringBuilder();
+
+			sb.append(String.format(Languages.getString("Actions.64"), //$NON-NLS-1$
+			        100 * tests.coverage(), tests.count(TestSet.Status.DETECTED),
+			        tests.faults().size()));
+			sb.append("\n\n"); //$NON-NLS-1$
+			sb.append(String.format(Languages.getString("Actions.65"), tests.vectorCount())); //$NON-NLS-1$
+			sb.append("\n"); //$NON-NLS-1$
+
+			// one column for each input, as wide as its name
+			for (int i = 0; i < tests.inputCount(); ++i)
+				sb.append(tests.inputName(i)).append(' ');
+			sb.append("\n"); //$NON-NLS-1$
+			for (int v = 0; v < tests.vectorCount(); ++v) {
+				for (int i = 0; i < tests.inputCount(); ++i) {
+					final String width = String.valueOf(tests.inputName(i).length() + 1);
+					sb.append(String.format("%-" + width + "c", tests.value(v, i) ? '1' : '0')); //$NON-NLS-1$ //$NON-NLS-2$
+				}
+				sb.append("\n"); //$NON-NLS-1$
+			}
+
+			if (tests.count(TestSet.Status.UNTESTABLE) > 0)
+				sb.append("\n").append(String.format(Languages.getString("Actions.66"), //$NON-NLS-1$ //$NON-NLS-2$
+				        tests.faults(TestSet.Status.UNTESTABLE)));
+			if (tests.count(TestSet.Status.ABORTED) > 0)
+				sb.append("\n").append(String.format(Languages.getString("Actions.67"), //$NON-NLS-1$ //$NON-NLS-2$
+				        tests.faults(TestSet.Status.ABORTED)));
+
+			final JTextArea area = new JTextArea(sb.toString(), 20, 60);
+			area.setEditable(false);
+			area.setFont(new Font(Font.MONOSPACED, Font.PLAIN, area.getFont().getSize()));
+
+			JOptionPane.showMessageDialog(context.getFrame(), new JScrollPane(area),
+			        Languages.getString("Actions.68"), JOptionPane.INFORMATION_MESSAGE); //$NON-NLS-1$
+			context.status(Languages.getString("Actions.69"), tests.vectorCount()); //$NON-NLS-1$
+		}
+	},
+
+	/**
+	 * Action for showing the minimised sum-of-products form of each Output Pin of
+	 * the circuit of an {@code Editor}, which is the circuit of the composite
+	 * Gates created from it
+	 */
+	MINIMIZE_LOGIC {
+		@Override
+		public void executeAction() throws Exception {
+
+			final List<SumOfProducts> expressions = Actions.minimize(context);
+			if (expressions == null)
+				return;
+
+			final StringBuilder sb = new StringBuilder();
+			for (final SumOfProducts expression : expressions)
+				sb.append(expression).append("\n"); //$NON-NLS-1$
+
+			final JTextArea area = new JTextArea(sb.toString(), 20, 60);
+			area.setEditable(false);
+			area.setFont(new Font(Font.MONOSPACED, Font.PLAIN, area.getFont().getSize()));
+
+			final String[] options = { Languages.getString("Actions.71"), //$NON-NLS-1$
+			        Languages.getString("Actions.72") }; //$NON-NLS-1$
+			final int      res     = JOptionPane.showOptionDialog(context.getFrame(),
+			        new JScrollPane(area), Languages.getString("Actions.73"), //$NON-NLS-1$
+			        JOptionPane.DEFAULT_OPTION, JOptionPane.INFORMATION_MESSAGE, null, options,
+			        options[1]);
+
+			context.status(Languages.getString("Actions.74"), expressions.size()); //$NON-NLS-1$
+			if (res == 0)
+				Actions.EXPORT_LOGIC.context(context).specifyWithDialog(context).execute();
+		}
+	},
+
+	/**
+	 * Action for writing the minimised sum-of-products form of each Output Pin of
+	 * the circuit of an {@code Editor} to a text File
+	 */
+	EXPORT_LOGIC {
+		@Override
+		public void executeAction() throws Exception {
+
+			final String fileToWrite = reqs.getValue(EditorStrings.FILENAME, String.class);
+
+			if (!reqs.fulfilled()) {
+				context.status(Languages.getString("Actions.75")); //$NON-NLS-1$
+				return;
+			}
+
+			final List<SumOfProducts> expressions = Actions.minimize(context);
+			if (expressions == null)
+				return;
+
+			final List<String> lines = new ArrayList<>();
+			for (final SumOfProducts expression : expressions)
+				lines.add(expression.toString());
+
+			try {
+				final Path dir = Actions.userDataDirectory();
+				if (!Files.exists(dir))
+					Files.createDirectory(dir);
+
+				Files.write(dir.resolve(fileToWrite), lines, StandardCharsets.UTF_8);
+				context.status(Languages.getString("Actions.76"), fileToWrite); //$NON-NLS-1$
+			} catch (final IOException e) {
+				context.error(Languages.getString("Actions.77"), fileToWrite); //$NON-NLS-1$
+				throw e;
+			}
+		}
+
+		@Override
+		public void constructRequirements() {
+			reqs.add(EditorStrings.FILENAME, StringType.FILENAME);
+		}
+	},
+
+	/**
+	 * Action for finding the critical path of the circuit of an {@code Editor},
+	 * which is highlighted, and the slack of its Output Pins
+	 */
+	ANALYZE_TIMING {
+		@Override
+		public void executeAction() throws Exception {
+
+			final Netlist netlist = NetlistCompiler.compile(context.getComponents_());
+			if (!TimingAnalysis.analyzable(netlist)) {
+				context.error(Languages.getString("Actions.78")); //$NON-NLS-1$
+				return;
+			}
+
+			final TimingAnalysis analysis = TimingAnalysis.analyze(netlist, Actions.delayModel());
+			final List<String>   path     = analysis.criticalNames();
+
+			// the Branch to the Output Pin isn't part of the Netlist
+			final List<String> highlighted = new ArrayList<>(path);
+			if (analysis.criticalOutput() != -1) {
+				final Component pin = context
+				        .getComponentOrNull(netlist.outputName(analysis.criticalOutput()));
+				final Component branch = pin == null ? null : SimulationHook.inputAt(pin, 0);
+				if (branch != null)
+					highlighted.add(branch.getID());
+			}
+			context.highlight(highlighted);
+
+			final StringBuilder sb = new StringBuilder();
+			sb.append(String.format(Languages.getString("Actions.79"), analysis.criticalDelay())); //$NON-NLS-1$
+			sb.append("\n"); //$NON-NLS-1$
+			sb.append(String.format(Languages.getString("Actions.80"), String.join(" -> ", path))); //$NON-NLS-1$ //$NON-NLS-2$
+			sb.append("\n\n"); //$NON-NLS-1$
+			sb.append(String.format("%-16s %8s %8s", Languages.getString("Actions.81"), //$NON-NLS-1$ //$NON-NLS-2$
+			        Languages.getString("Actions.84"), Languages.getString("Actions.85"))); //$NON-NLS-1$ //$NON-NLS-2$
+			for (int o = 0; o < netlist.outputCount(); ++o)
+				sb.append(String.format("\n%-16s %8d %8d", netlist.outputName(o), //$NON-NLS-1$
+				        analysis.outputArrival(o), analysis.outputSlack(o)));
+
+			final JTextArea area = new JTextArea(sb.toString(), 20, 60);
+			area.setEditable(false);
+			area.setFont(new Font(Font.MONOSPACED, Font.PLAIN, area.getFont().getSize()));
+
+			JOptionPane.showMessageDialog(context.getFrame(), new JScrollPane(area),
+			        Languages.getString("Actions.82"), JOptionPane.INFORMATION_MESSAGE); //$NON-NLS-1$
+			context.status(Languages.getString("Actions.83"), analysis.criticalDelay()); //$NON-NLS-1$
+		}
+	},
+
+	/**
+	 * Action for simulating the circuit of an {@code Editor} with the delays of its
+	 * Components for some cycles of its Clocks and writing the changes of its pins
+	 * to a VCD File
+	 */
+	SIMULATE_TIMING {
+		@Override
+		public void executeAction() throws Exception {
+
+			final String cycles      = reqs.getValue(EditorStrings.CYCLES, String.class);
+			final String fileToWrite = reqs.getValue(EditorStrings.FILENAME, String.class);
+
+			if (!reqs.fulfilled()) {
+				context.status(Languages.getString("Actions.86")); //$NON-NLS-1$
+				return;
+			}
+
+			final Netlist        netlist   = NetlistCompiler.compile(context.getComponents_());
+			final EventSimulator simulator = new EventSimulator(netlist, Actions.delayModel());
+			final Waveform       waveform  = simulator.recordPins();
+			final int            period    = Math.max(2, StringConstants.TIMING_PERIOD);
+			final long           start     = System.nanoTime();
+
+			try {
+				// the circuit powers on and then the Input Pins take their current values
+				simulator.run(period / 2);
+				for (int i = 0; i < netlist.inputCount(); ++i) {
+					final Component pin = context.getComponentOrNull(netlist.inputName(i));
+					if ((pin != null) && (pin.type() == ComponentType.INPUT_PIN))
+						simulator.setInput(i, ComponentFactory.getInputActive(pin));
+				}
+				simulator.run(period);
+
+				for (int i = 0, count = Integer.parseInt(cycles); i < count; ++i) {
+					simulator.setClocks(true);
+					simulator.run(simulator.time() + (period / 2));
+					simulator.setClocks(false);
+					simulator.run(simulator.time() + (period - (period / 2)));
+				}
+			} catch (final IllegalStateException e) {
+				context.error(Languages.getString("Actions.87"), simulator.time()); //$NON-NLS-1$
+				return;
+			}
+
+			final long time = (System.nanoTime() - start) / 1_000_000;
+			context.showWaveform(ValueChangeStore.of(waveform, simulator.time()));
+
+			final Path dir = Actions.userDataDirectory();
+			try {
+				if (!Files.exists(dir))
+					Files.createDirectory(dir);
+
+				try (Writer writer = Files.newBufferedWriter(dir.resolve(fileToWrite),
+				        StandardCharsets.UTF_8)) {
+					final int extension = fileToWrite.lastIndexOf('.');
+					VcdWriter.write(waveform,
+					        extension == -1 ? fileToWrite : fileToWrite.substring(0, extension),
+					        writer);
+				}
+			} catch (final IOException e) {
+				context.error(Languages.getString("Actions.88"), fileToWrite); //$NON-NLS-1$
+				throw e;
+			}
+
+			context.status(Languages.getString("Actions.89"), simulator.events(), //$NON-NLS-1$
+			        simulator.filtered(), time, fileToWrite);
+		}
+
+		@Override
+		public void constructRequirements() {
+			reqs.add(EditorStrings.CYCLES, StringType.POS_INTEGER);
+			reqs.add(EditorStrings.FILENAME, StringType.FILENAME);
+		}
+	},
+
+	/**
+	 * Action for checking every circuit of the user data directory that has a
+	 * VectorFile against it, in parallel, and writing a report
+	 */
+	RUN_REGRESSION {
+		@Override
+		public void executeAction() throws Exception {
+
+			final long               start   = System.nanoTime();
+			final List<String>       names   = Regression.discover();
+			final List<VectorResult> results = Regression.run(names,
+			        Runtime.getRuntime().availableProcessors());
+			final long               time    = (System.nanoTime() - start) / 1_000_000;
+
+			if (results.isEmpty()) {
+				context.error(Languages.getString("Actions.90"), Regression.VECTOR_EXTENSION); //$NON-NLS-1$
+				return;
+			}
+
+			try {
+				Regression.writeReport(results);
+			} catch (final IOException e) {
+				context.error(Languages.getString("Actions.91"), Regression.REPORT); //$NON-NLS-1$
+				throw e;
+			}
+
+			int                 passed = 0;
+			final StringBuilder sb     = new StringBuilder();
+			for (final VectorResult result : results) {
+				sb.append(result).append("\n"); //$NON-NLS-1$
+				for (int i = 0; i < result.failureCount(); ++i)
+					sb.append(String.format("  %d: %s\n", result.failedLine(i), result.failure(i))); //$NON-NLS-1$
+				if (result.passed())
+					++passed;
+			}
+
+			final JTextArea area = new JTextArea(sb.toString(), 20, 60);
+			area.setEditable(false);
+			area.setFont(new Font(Font.MONOSPACED, Font.PLAIN, area.getFont().getSize()));
+
+			JOptionPane.showMessageDialog(context.getFrame(), new JScrollPane(area),
+			        Languages.getString("Actions.92"), JOptionPane.INFORMATION_MESSAGE); //$NON-NLS-1$
+
+			if (passed == results.size())
+				context.status(Languages.getString("Actions.93"), passed, results.size(), time, //$NON-NLS-1$
+				        Regression.REPORT);
+			else
+				context.error(Languages.getString("Actions.93"), passed, results.size(), time, //$NON-NLS-1$
+				        Regression.REPORT);
+		}
+	},
+
 	/** Action for resetting an {@code Editor} */
 	CLEAR {
 		@Override
@@ -325,11 +721,18 @@ public enum Actions implements HasRequirements {
 
 	// increment whenever the protocol that is used to store user data is altered
 	// ensures that the data is never read in a way different than that it was stored
-	private static final Integer storeProtocolVersion = 2;
+	private static final Integer storeProtocolVersion = 3;
+
+	// the last version without a snapshot of the circuit, whose files are still read
+	private static final Integer historyProtocolVersion = 2;
 
 	// bytes to mark the start and end of a file (should never change, used to check for corruption)
 	private static final Byte startOfFile = 10, endOfFile = 42;
 
+	/* The circuits of the user data directory that can be imported as Gates */
+	private static final ComponentLibrary library = new ComponentLibrary(
+	        Actions.userDataDirectory());
+
 	/** The Requirements of this Action */
 	protected final Requirements reqs;
 
@@ -356,6 +759,14 @@ public enum Actions implements HasRequirements {
 		if (context == null)
 			throw new NullPointerException(/* text */);
 
+		if (context.isLoading()) {
+			// the circuit is about to be replaced, so nothing may change it until then
+			context.error(Languages.getString("Actions.95")); //$NON-NLS-1$
+			reqs.clear();
+			context = null;
+			return;
+		}
+
 		try {
 			executeAction();
 		} catch (final Exception e) {
@@ -472,10 +883,10 @@ public enum Actions implements HasRequirements {
 		}
 
 		private static final Pattern invalidClassExceptionPattern = Pattern
-		        .compile(".*? serialVersionUID = (\\d+), .*? serialVersionUID = (\\d+)");//$NON-NLS-1$;
+		        .compile(".*? serialVersionUID = (-?\\d+), .*? serialVersionUID = (-?\\d+)");//$NON-NLS-1$;
 
-		private static String formatVersionMessage(String filename, int versionInFile,
-		        int versionInCode) {
+		private static String formatVersionMessage(String filename, long versionInFile,
+		        long versionInCode) {
 
 			final String actionString = "Actions." + (versionInFile > versionInCode ? "52" : "53"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 
@@ -492,25 +903,128 @@ public enum Actions implements HasRequirements {
 			if (!m.matches())
 				throw new RuntimeException("Invalid regex in IncompatibleFileException"); //$NON-NLS-1$
 
-			final int idInFile  = Integer.parseInt(m.group(1));
-			final int idInClass = Integer.parseInt(m.group(2));
+			// computed serialVersionUIDs are any long, declared ones are small
+			final long idInFile  = Long.parseLong(m.group(1));
+			final long idInClass = Long.parseLong(m.group(2));
 			return IncompatibleFileException.formatVersionMessage(filename, idInFile, idInClass);
 		}
 	}
 
+	/**
+	 * Returns the directory where the circuits and the other files of the user
+	 * are stored.
+	 *
+	 * @return the directory
+	 */
+	static Path userDataDirectory() {
+		return Paths.get(
+		        System.getProperty("user.dir") + File.separator + StringConstants.USER_DATA); //$NON-NLS-1$
+	}
+
+	/**
+	 * Reads the circuit stored in a file, without affecting any {@code Editor}. The
+	 * circuit is restored from the snapshot of the file, if it has one, otherwise
+	 * by executing its Commands on a temporary Editor.
+	 *
+	 * @param filename the filename
+	 *
+	 * @return a List with the Components of the circuit
+	 *
+	 * @throws IOException               if an IOException occurred
+	 * @throws FileNotFoundException     if the file couldn't be found
+	 * @throws FileCorruptedException    if the contents of the file are corrupted
+	 * @throws IncompatibleFileException if the file data corresponds to a different
+	 *                                   version of the program
+	 *
+	 * @see CircuitReader
+	 */
+	protected static List<Component> readCircuit(String filename) throws FileNotFoundException,
+	        IOException, Actions.FileCorruptedException, Actions.IncompatibleFileException {
+
+		final String inputFile = String.format("%s%s%s", StringConstants.USER_DATA, //$NON-NLS-1$
+		        System.getProperty("file.separator"), filename); //$NON-NLS-1$
+
+		final Editor        tempContext = new Editor(null, null);
+		final List<Command> commands    = new ArrayList<>();
+
+		try (CircuitReader reader = new CircuitReader(
+		        new BufferedInputStream(new FileInputStream(inputFile), Compression.BUFFER),
+		        filename)) {
+			if (reader.hasSnapshot()) {
+				// the snapshot is the circuit, the Commands that created it aren't needed
+				final List<Component> components = new ArrayList<>();
+				reader.readGenerators(tempContext.componentManager);
+				reader.readSnapshot(components);
+				return components;
+			}
+
+			reader.readCommands(commands);
+			reader.readGenerators(tempContext.componentManager);
+			reader.readEnd();
+		}
+
+		for (final Command command : commands) {
+			command.context(tempContext);
+			try {
+				command.execute();
+			} catch (final Exception e) {
+				// the Commands executed successfully when the file was written
+				throw new FileCorruptedException(filename);
+			}
+		}
+
+		return tempContext.getComponents_();
+	}
+
+	/**
+	 * Minimises the logic of the circuit of an {@code Editor}, showing an error in
+	 * the Editor if it can't be minimised.
+	 *
+	 * @param editor the Editor
+	 *
+	 * @return the expression of each Output Pin, or {@code null} if the circuit
+	 *         can't be minimised
+	 */
+	private static List<SumOfProducts> minimize(Editor editor) {
+		final Netlist netlist = NetlistCompiler.compile(editor.getComponents_());
+		if (!LogicMinimizer.minimizable(netlist)) {
+			editor.error(Languages.getString("Actions.70"), LogicMinimizer.MAX_INPUTS); //$NON-NLS-1$
+			return null;
+		}
+
+		return LogicMinimizer.minimize(netlist);
+	}
+
+	/**
+	 * Returns the delays of the Components according to the settings.
+	 *
+	 * @return the DelayModel
+	 */
+	private static DelayModel delayModel() {
+		final Map<ComponentType, Integer> delays = new EnumMap<>(ComponentType.class);
+		delays.put(ComponentType.GATEAND, StringConstants.DELAY_GATEAND);
+		delays.put(ComponentType.GATEOR, StringConstants.DELAY_GATEOR);
+		delays.put(ComponentType.GATENOT, StringConstants.DELAY_GATENOT);
+		delays.put(ComponentType.GATEXOR, StringConstants.DELAY_GATEXOR);
+		delays.put(ComponentType.DFLIPFLOP, StringConstants.DELAY_DFLIPFLOP);
+		return new DelayModel(delays);
+	}
+
 	/**
 	 * Writes the contents of Lists of Components and Commands to a file.
 	 *
 	 * @param filename    the filename
-	 * @param commands    the list of Commands to write to the file
+	 * @param compression the Compression of the file
+	 * @param commands    the list of Commands to write to the file, which is
+	 *                    compacted
 	 * @param itemManager the manager whose generators to write to the file
 	 *
 	 * @throws IOException if an IOExcetpion occurred
 	 *
 	 * @see #readFromFile(String, List, ItemManager)
 	 */
-	protected static void writeToFile(String filename, List<Command> commands,
-	        ItemManager<Component> itemManager) throws IOException {
+	protected static void writeToFile(String filename, Compression compression,
+	        List<Command> commands, ItemManager<Component> itemManager) throws IOException {
 
 		final Path dir = Paths.get(StringConstants.USER_DATA);
 
@@ -527,7 +1041,14 @@ public enum Actions implements HasRequirements {
 		final String outputFile = String.format("%s%s%s", dir.toString(), //$NON-NLS-1$
 		        System.getProperty("file.separator"), filename); //$NON-NLS-1$
 
-		try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(outputFile))) {
+		// the Commands of Components that were later deleted are left out
+		final List<Command> history = Command.compact(commands);
+
+		// each definition of a Gate is written once, however many Gates use it
+		final List<Command> shared = Command.shareDefinitions(history);
+
+		try (ObjectOutputStream oos = new ObjectOutputStream(
+		        compression.compress(new FileOutputStream(outputFile)))) {
 
 			// write start
 			oos.writeByte(Actions.startOfFile);
@@ -535,11 +1056,6 @@ public enum Actions implements HasRequirements {
 			// write version
 			oos.writeByte(Actions.storeProtocolVersion);
 
-			// write commands
-			oos.writeInt(commands.size());
-			for (final Command command : commands)
-				oos.writeObject(command);
-
 			// write generators
 			final Map<String, StringGenerator> generators = itemManager.idGenerators;
 			oos.writeInt(generators.size());
@@ -548,9 +1064,22 @@ public enum Actions implements HasRequirements {
 				oos.writeObject(generatorEntry.getValue());
 			}
 
+			// write snapshot, the Components the commands refer to are then written once
+			final List<Component> components = itemManager.getall();
+			oos.writeInt(components.size());
+			for (final Component component : components)
+				oos.writeObject(component);
+
+			// write commands
+			oos.writeInt(shared.size());
+			for (final Command command : shared)
+				oos.writeObject(command);
+
 			// write eof
 			oos.writeByte(Actions.endOfFile);
 		}
+
+		Actions.library.written(filename);
 	}
 
 	/**
@@ -566,48 +1095,246 @@ public enum Actions implements HasRequirements {
 	 * @throws IncompatibleFileException if the file data corresponds to a different
 	 *                                   version of the program
 	 *
-	 * @see #writeToFile(String, List, ItemManager)
+	 * @return the Compression of the file
+	 *
+	 * @see #writeToFile(String, Compression, List, ItemManager)
 	 */
-	protected static void readFromFile(String filename, List<Command> commands,
+	protected static Compression readFromFile(String filename, List<Command> commands,
 	        ItemManager<Component> itemManager) throws FileNotFoundException, IOException,
 	        Actions.FileCorruptedException, Actions.IncompatibleFileException {
 
 		final String inputFile = String.format("%s%s%s", StringConstants.USER_DATA, //$NON-NLS-1$
 		        System.getProperty("file.separator"), filename); //$NON-NLS-1$
 
-		try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(inputFile))) {
+		return Actions.readFromStream(
+		        new BufferedInputStream(new FileInputStream(inputFile), Compression.BUFFER),
+		        filename, commands, itemManager);
+	}
 
-			// read start
-			if (ois.readByte() != Actions.startOfFile)
-				throw new FileCorruptedException(filename);
+	/**
+	 * Fills the Lists with the Components and Commands read from a stream with the
+	 * contents of a file, whose Compression is detected.
+	 * <p>
+	 * The Commands are read, but not executed, even if the file has a snapshot of
+	 * the circuit, since they are what defines a composite {@code Gate} created
+	 * from the file. The snapshot is still read, since the Commands refer to its
+	 * Components. To get the circuit itself use {@link #readCircuit(String)}.
+	 *
+	 * @param in          the stream, which supports {@code mark} and is closed
+	 * @param filename    the name of the file, for the messages of the Exceptions
+	 * @param commands    the list that will be filled with Commands
+	 * @param itemManager the manager whose generators will be read from the file
+	 *
+	 * @return the Compression of the file
+	 *
+	 * @throws IOException               if an IOException occurred
+	 * @throws FileCorruptedException    if the contents of the file are corrupted
+	 * @throws IncompatibleFileException if the file data corresponds to a different
+	 *                                   version of the program
+	 *
+	 * @see #readFromFile(String, List, ItemManager)
+	 */
+	static Compression readFromStream(InputStream in, String filename, List<Command> commands,
+	        ItemManager<Component> itemManager) throws IOException,
+	        Actions.FileCorruptedException, Actions.IncompatibleFileException {
 
-			// read version
-			final int versionRead = ois.readByte();
-			if (versionRead != Actions.storeProtocolVersion)
-				throw new IncompatibleFileException(filename, versionRead);
+		try (CircuitReader reader = new CircuitReader(in, filename)) {
+			if (reader.hasSnapshot()) {
+				reader.readGenerators(itemManager);
+				reader.readSnapshot(new ArrayList<>());
+				reader.readCommands(commands);
+			} else {
+				reader.readCommands(commands);
+				reader.readGenerators(itemManager);
+			}
+			reader.readEnd();
+			return reader.compression;
+		}
+	}
 
-			// read commands
-			int count = ois.readInt();
-			for (int i = 0; i < count; ++i)
-				commands.add((Command) ois.readObject());
+	/**
+	 * Reads the sections of a file in the order they are stored. Files store the
+	 * ID generators, a snapshot of the circuit and the Commands that created it,
+	 * in this order, so that the circuit can be opened without executing the
+	 * Commands, which are read only if they are needed. Files stored with the
+	 * previous protocol have only the Commands and then the generators.
+	 *
+	 * @author Alex Mandelias
+	 */
+	static final class CircuitReader implements Closeable {
+
+		/** The Compression of the file */
+		final Compression compression;
+
+		private final String            filename;
+		private final ObjectInputStream ois;
+		private final int               version;
 
-			// read generators
+		/**
+		 * Constructs a CircuitReader by reading the start of a file.
+		 *
+		 * @param in       the stream with the contents of the file, which supports
+		 *                 {@code mark} and is closed when the CircuitReader is
+		 * @param filename the name of the file, for the messages of the Exceptions
+		 *
+		 * @throws IOException               if an IOException occurred
+		 * @throws FileCorruptedException    if the contents of the file are corrupted
+		 * @throws IncompatibleFileException if the file data corresponds to a
+		 *                                   different version of the program
+		 */
+		CircuitReader(InputStream in, String filename) throws IOException,
+		        Actions.FileCorruptedException, Actions.IncompatibleFileException {
+			this.filename = filename;
+
+			ObjectInputStream opened = null;
+			boolean           started = false;
+			try {
+				compression = Compression.detect(in);
+				if (compression == null)
+					throw new FileCorruptedException(filename);
+
+				opened = new ObjectInputStream(compression.decompress(in));
+
+				// read start
+				if (opened.readByte() != Actions.startOfFile)
+					throw new FileCorruptedException(filename);
+
+				// read version
+				version = opened.readByte();
+				if ((version != Actions.storeProtocolVersion)
+				        && (version != Actions.historyProtocolVersion))
+					throw new IncompatibleFileException(filename, version);
+
+				started = true;
+			} finally {
+				if (!started)
+					(opened == null ? in : opened).close();
+			}
+
+			ois = opened;
+		}
+
+		/**
+		 * Returns whether the file has a snapshot of the circuit.
+		 *
+		 * @return {@code true} if it has, {@code false} if it only has Commands
+		 */
+		boolean hasSnapshot() {
+			return version == Actions.storeProtocolVersion;
+		}
+
+		/**
+		 * Reads the ID generators of the file.
+		 *
+		 * @param itemManager the manager whose generators are read
+		 *
+		 * @throws IOException               if an IOException occurred
+		 * @throws FileCorruptedException    if the contents of the file are corrupted
+		 * @throws IncompatibleFileException if the file data corresponds to a
+		 *                                   different version of the program
+		 */
+		void readGenerators(ItemManager<Component> itemManager) throws IOException,
+		        Actions.FileCorruptedException, Actions.IncompatibleFileException {
 			final Map<String, StringGenerator> generators = itemManager.idGenerators;
-			count = ois.readInt();
+			final int                          count      = ois.readInt();
 			for (int i = 0; i < count; ++i) {
-				final String          key   = (String) ois.readObject();
-				final StringGenerator value = (StringGenerator) ois.readObject();
+				final String          key   = (String) readObject();
+				final StringGenerator value = (StringGenerator) readObject();
 				generators.put(key, value);
 			}
+		}
 
-			// read eof
+		/**
+		 * Reads the snapshot of the circuit, the Components as they were when the file
+		 * was written. Their Graphics are created once they are added to an
+		 * {@code Editor}, where they were when the file was written.
+		 *
+		 * @param components the List that is filled with the Components
+		 *
+		 * @throws IOException               if an IOException occurred
+		 * @throws FileCorruptedException    if the contents of the file are corrupted
+		 * @throws IncompatibleFileException if the file data corresponds to a
+		 *                                   different version of the program
+		 *
+		 * @see #hasSnapshot()
+		 */
+		void readSnapshot(List<Component> components) throws IOException,
+		        Actions.FileCorruptedException, Actions.IncompatibleFileException {
+			final int count = ois.readInt();
+			for (int i = 0; i < count; ++i)
+				components.add((Component) readObject());
+		}
+
+		/**
+		 * Reads the Commands of the file. Those that refer to the Components of the
+		 * snapshot refer to the same objects.
+		 *
+		 * @param commands the List that is filled with the Commands
+		 *
+		 * @throws IOException               if an IOException occurred
+		 * @throws FileCorruptedException    if the contents of the file are corrupted
+		 * @throws IncompatibleFileException if the file data corresponds to a
+		 *                                   different version of the program
+		 */
+		void readCommands(List<Command> commands) throws IOException,
+		        Actions.FileCorruptedException, Actions.IncompatibleFileException {
+			final int count = ois.readInt();
+			for (int i = 0; i < count; ++i)
+				commands.add((Command) readObject());
+		}
+
+		/**
+		 * Reads the end of the file.
+		 *
+		 * @throws IOException            if an IOException occurred
+		 * @throws FileCorruptedException if the file doesn't end where it should
+		 */
+		void readEnd() throws IOException, Actions.FileCorruptedException {
 			if (ois.readByte() != Actions.endOfFile)
 				throw new FileCorruptedException(filename);
+		}
+
+		@Override
+		public void close() throws IOException {
+			ois.close();
+		}
+
+		private Object readObject() throws IOException, Actions.FileCorruptedException,
+		        Actions.IncompatibleFileException {
+			try {
+				return ois.readObject();
+			} catch (final ClassNotFoundException e) {
+				throw new FileCorruptedException(filename);
+			} catch (final InvalidClassException e) {
+				throw new IncompatibleFileException(filename, e);
+			}
+		}
+
+		@Override
+		public String toString() {
+			return String.format("CircuitReader of %s, version %d", filename, version); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * An open {@code Editor} offered as an option of a {@code ListRequirement}. The
+	 * option refers to the Editor itself, so that Editors of files with the same
+	 * name are told apart.
+	 *
+	 * @author Alex Mandelias
+	 */
+	private static final class OpenEditor {
+
+		final Editor editor;
 
-		} catch (final ClassNotFoundException e) {
-			throw new FileCorruptedException(filename);
-		} catch (final InvalidClassException e) {
-			throw new IncompatibleFileException(filename, e);
+		OpenEditor(Editor editor) {
+			this.editor = editor;
+		}
+
+		@Override
+		public String toString() {
+			return String.format(Languages.getString("Actions.61"), //$NON-NLS-1$
+			        editor.getFileInfo().getFile());
 		}
 	}
 }
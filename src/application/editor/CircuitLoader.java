@@ -0,0 +1,194 @@
+package application.editor;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import javax.swing.SwingWorker;
+
+import command.Command;
+import component.components.Component;
+import localisation.Languages;
+import myUtil.ErrorDumpDialog;
+
+/**
+ * Opens the circuit of a file in an {@code Editor} without blocking the
+ * Application. The file is read in the background, while the progress is shown
+ * in the status bar of the Editor, and only the finished circuit is moved to
+ * the Editor, which remains unchanged if the file can't be opened. The Editor
+ * can't be edited until then, since its circuit is about to be replaced.
+ * <p>
+ * The Components of the circuit are read from the snapshot of the file, so
+ * that opening it depends on the size of the circuit and not on the number of
+ * Commands that created it. The Commands are read only when the Editor first
+ * needs them, for example to undo one of them. The Commands of files without a
+ * snapshot are executed on a temporary Editor instead.
+ * <p>
+ * Only the file is read in the background. The Components, whose Graphics are
+ * Swing components, are added to the Editor and the Commands are executed on
+ * the Event Dispatch Thread, once the file has been read.
+ *
+ * @author Alex Mandelias
+ *
+ * @see Editor#load(Editor, Actions.CircuitReader)
+ */
+final class CircuitLoader extends SwingWorker<Void, Void> {
+
+	private final Editor editor;
+	private final String filename;
+
+	// read in the background, used when done
+	private Compression            compression;
+	private ItemManager<Component> generators;
+	private List<Component>        snapshot; // null if the file has no snapshot
+	private List<Command>          commands; // of a file without a snapshot
+	private Actions.CircuitReader  history;
+
+	/**
+	 * Constructs the CircuitLoader of a file. The Editor can't be edited until the
+	 * file is opened or fails to open.
+	 *
+	 * @param editor   the Editor in which the circuit is opened
+	 * @param filename the name of the file in the user data directory
+	 */
+	CircuitLoader(Editor editor, String filename) {
+		this.editor = editor;
+		this.filename = filename;
+		editor.loading(true);
+		addPropertyChangeListener(e -> {
+			if ("progress".equals(e.getPropertyName())) //$NON-NLS-1$
+				editor.progress((Integer) e.getNewValue());
+		});
+	}
+
+	@Override
+	protected Void doInBackground() throws Exception {
+		// the file is kept in memory, since the Commands may be read much later
+		final Actions.CircuitReader reader = new Actions.CircuitReader(
+		        new ByteArrayInputStream(read()), filename);
+		compression = reader.compression;
+		generators = new ItemManager<>();
+
+		boolean keep = false;
+		try {
+			if (reader.hasSnapshot()) {
+				reader.readGenerators(generators);
+				snapshot = new ArrayList<>();
+				reader.readSnapshot(snapshot);
+
+				history = reader;
+				keep = true;
+			} else {
+				commands = new ArrayList<>();
+				reader.readCommands(commands);
+				reader.readGenerators(generators);
+				reader.readEnd();
+			}
+		} finally {
+			if (!keep)
+				reader.close();
+		}
+
+		setProgress(100);
+		return null;
+	}
+
+	@Override
+	protected void done() {
+		editor.progress(-1);
+		editor.loading(false);
+
+		try {
+			get();
+			editor.load(restore(), history);
+			editor.fileInfo.markSaved();
+			editor.fileInfo.setFile(filename);
+			editor.fileInfo.setCompression(compression.option());
+			editor.status(Languages.getString("Actions.12"), filename); //$NON-NLS-1$
+		} catch (final InterruptedException e) {
+			// done() is only called once the background work has finished
+			throw new RuntimeException(e);
+		} catch (final ExecutionException e) {
+			final Throwable cause = e.getCause();
+			failed(cause instanceof Exception ? (Exception) cause : e);
+		} catch (final Exception e) {
+			closeHistory();
+			failed(e);
+		}
+	}
+
+	/* Creates the circuit that was read on a temporary Editor */
+	private Editor restore() throws Exception {
+		final Editor loaded = new Editor(null, null);
+		loaded.componentManager.idGenerators.putAll(generators.idGenerators);
+
+		if (snapshot != null)
+			for (final Component component : snapshot)
+				loaded.addComponent(component);
+		else
+			for (final Command command : commands) {
+				command.context(loaded);
+				loaded.execute(command);
+			}
+
+		return loaded;
+	}
+
+	private void failed(Exception e) {
+		if ((e instanceof Actions.IncompatibleFileException)
+		        || (e instanceof Actions.FileCorruptedException))
+			editor.error(e);
+		else if (e instanceof FileNotFoundException)
+			editor.error(Languages.getString("Actions.15"), filename); //$NON-NLS-1$
+		else {
+			if (e instanceof IOException)
+				editor.error(Languages.getString("Actions.16"), filename); //$NON-NLS-1$
+			ErrorDumpDialog.showDialog(editor.getFrame(), e);
+		}
+	}
+
+	private void closeHistory() {
+		if (history == null)
+			return;
+
+		try {
+			history.close();
+		} catch (final IOException e) {
+			e.printStackTrace();
+		}
+		history = null;
+	}
+
+	/* Reads the whole file, reporting the progress */
+	private byte[] read() throws IOException {
+		final File file   = Actions.userDataDirectory().resolve(filename).toFile();
+		final long length = file.length();
+
+		try (InputStream in = new FileInputStream(file)) {
+			final ByteArrayOutputStream contents = new ByteArrayOutputStream(
+			        (int) Math.min(length, Integer.MAX_VALUE - 8));
+			final byte[]                buffer   = new byte[Compression.BUFFER];
+			long                        read     = 0;
+			int                         n;
+			while ((n = in.read(buffer)) != -1) {
+				contents.write(buffer, 0, n);
+				read += n;
+				if (length > 0)
+					setProgress((int) ((50 * Math.min(read, length)) / length));
+			}
+			return contents.toByteArray();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return String.format("CircuitLoader of %s to %s", filename, editor.fileInfo); //$NON-NLS-1$
+	}
+}
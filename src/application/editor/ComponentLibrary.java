@@ -0,0 +1,338 @@
+package application.editor;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import command.Command;
+import component.components.Component;
+
+/**
+ * The circuits of the user data directory that can be imported as composite
+ * {@code Gates}, so that opening the dialog of the {@link Actions#OPEN OPEN}
+ * Action and importing an unchanged circuit again don't read the directory and
+ * the files again.
+ * <p>
+ * The names of the files are listed once and are then kept up to date with a
+ * {@code WatchService}. The contents of each file are cached by their hash,
+ * keeping only the most recently used ones, and the hash
+ * of each file is stored in an index in the directory together with its size
+ * and last modification time, so that a file that hasn't changed since it was
+ * last hashed, even by an earlier run of the Application, is recognised
+ * without being read.
+ *
+ * @author Alex Mandelias
+ */
+final class ComponentLibrary {
+
+	/** The extension of the files that store circuits */
+	static final String EXTENSION = ".scad"; //$NON-NLS-1$
+
+	/** The name of the file of the directory where the index is stored */
+	static final String INDEX = "library.index"; //$NON-NLS-1$
+
+	/** The number of circuits whose contents are cached */
+	static final int CAPACITY = 16;
+
+	private final Path dir;
+
+	// the names of the files, or null until listed, and the service that watches them
+	private SortedSet<String> names;
+	private WatchService      watcher;
+	private WatchKey          key;
+
+	// the index of the files by name, or null until loaded, and whether it must be stored
+	private Map<String, IndexEntry> index;
+	private boolean                 changed;
+
+	/* The contents of the files by hash, in order of access */
+	private final Map<String, byte[]> cache;
+
+	/**
+	 * Constructs the ComponentLibrary of a directory. Nothing is read until the
+	 * ComponentLibrary is first used.
+	 *
+	 * @param dir the directory
+	 */
+	ComponentLibrary(Path dir) {
+		this.dir = dir;
+		cache = new LinkedHashMap<String, byte[]>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+				return size() > ComponentLibrary.CAPACITY;
+			}
+		};
+	}
+
+	/**
+	 * Returns the names of the files of the directory that store circuits, in
+	 * alphabetical order. The directory is created if it doesn't exist.
+	 *
+	 * @return a List with the names of the files
+	 *
+	 * @throws IOException if an IOException occurred while listing the directory
+	 */
+	synchronized List<String> list() throws IOException {
+		if ((names == null) || !poll())
+			scan();
+
+		store();
+		return new ArrayList<>(names);
+	}
+
+	/**
+	 * Returns the Commands that create the circuit stored in a file. The file is
+	 * read only if it has changed since it was last read, otherwise its cached
+	 * contents are used. The Commands are deserialised again every time, so that
+	 * the Commands of each import are independent of all others.
+	 *
+	 * @param filename the name of the file
+	 *
+	 * @return a List with the Commands
+	 *
+	 * @throws IOException                       if an IOException occurred
+	 * @throws FileNotFoundException             if the file couldn't be found
+	 * @throws Actions.FileCorruptedException    if the contents of the file are
+	 *                                           corrupted
+	 * @throws Actions.IncompatibleFileException if the file data corresponds to a
+	 *                                           different version of the program
+	 */
+	synchronized List<Command> read(String filename) throws IOException, FileNotFoundException,
+	        Actions.FileCorruptedException, Actions.IncompatibleFileException {
+
+		final Path file = dir.resolve(filename);
+
+		final BasicFileAttributes attributes;
+		try {
+			attributes = Files.readAttributes(file, BasicFileAttributes.class);
+		} catch (final NoSuchFileException e) {
+			forget(filename);
+			store();
+			throw new FileNotFoundException(filename);
+		}
+
+		final long size     = attributes.size();
+		final long modified = attributes.lastModifiedTime().toMillis();
+
+		final IndexEntry entry = index().get(filename);
+		if ((entry != null) && (entry.size == size) && (entry.modified == modified)) {
+			final byte[] contents = cache.get(entry.hash);
+			if (contents != null)
+				return ComponentLibrary.commands(contents, filename);
+		}
+
+		final byte[] contents = Files.readAllBytes(file);
+		final String hash     = ComponentLibrary.hash(contents);
+
+		if ((entry == null) || !entry.hash.equals(hash) || (entry.size != size)
+		        || (entry.modified != modified)) {
+			index.put(filename, new IndexEntry(hash, size, modified));
+			changed = true;
+		}
+
+		// only files that can be read are cached
+		final List<Command> commands = ComponentLibrary.commands(contents, filename);
+		cache.put(hash, contents);
+
+		store();
+		return commands;
+	}
+
+	private static List<Command> commands(byte[] contents, String filename)
+	        throws IOException, Actions.FileCorruptedException, Actions.IncompatibleFileException {
+
+		// the ID generators of the circuit are of no use to the Gate
+		final List<Command> commands = new ArrayList<>();
+		Actions.readFromStream(new ByteArrayInputStream(contents), filename, commands,
+		        new ItemManager<Component>());
+
+		// files written by earlier versions store the whole history
+		return Command.compact(commands);
+	}
+
+	/**
+	 * Informs this ComponentLibrary that a file of the directory was written, so
+	 * that it is listed even before the {@code WatchService} reports it.
+	 *
+	 * @param filename the name of the file
+	 */
+	synchronized void written(String filename) {
+		if ((names != null) && filename.endsWith(ComponentLibrary.EXTENSION))
+			names.add(filename);
+	}
+
+	/* Lists the directory and starts watching it */
+	private void scan() throws IOException {
+		if (!Files.exists(dir))
+			Files.createDirectories(dir);
+
+		stopWatching();
+		try {
+			watcher = dir.getFileSystem().newWatchService();
+			key = dir.register(watcher, StandardWatchEventKinds.ENTRY_CREATE,
+			        StandardWatchEventKinds.ENTRY_DELETE);
+		} catch (IOException | UnsupportedOperationException e) {
+			// without a WatchService the directory is listed every time
+			stopWatching();
+		}
+
+		final SortedSet<String> newNames = new TreeSet<>();
+		try (Stream<Path> paths = Files.list(dir)) {
+			paths.filter(Files::isRegularFile)
+			        .map(path -> String.valueOf(path.getFileName()))
+			        .filter(name -> name.endsWith(ComponentLibrary.EXTENSION))
+			        .forEach(newNames::add);
+		}
+		names = newNames;
+	}
+
+	/* Applies the changes reported by the WatchService, false if it must rescan */
+	private boolean poll() {
+		if (watcher == null)
+			return false;
+
+		try {
+			WatchKey signalled;
+			while ((signalled = watcher.poll()) != null) {
+				for (final WatchEvent<?> event : signalled.pollEvents()) {
+					if (event.kind() == StandardWatchEventKinds.OVERFLOW)
+						return false;
+
+					final String name = String.valueOf(event.context());
+					if (!name.endsWith(ComponentLibrary.EXTENSION))
+						continue;
+
+					if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE)
+						names.add(name);
+					else
+						forget(name);
+				}
+
+				// the directory itself was deleted or can't be watched any more
+				if (!signalled.reset())
+					return false;
+			}
+		} catch (final ClosedWatchServiceException e) {
+			return false;
+		}
+
+		return key.isValid();
+	}
+
+	private void stopWatching() {
+		if (watcher != null)
+			try {
+				watcher.close();
+			} catch (final IOException e) {
+				e.printStackTrace();
+			}
+
+		watcher = null;
+		key = null;
+	}
+
+	private void forget(String filename) {
+		if (names != null)
+			names.remove(filename);
+		if ((index != null) && (index.remove(filename) != null))
+			changed = true;
+	}
+
+	/* Loads the index the first time it is needed, ignoring it if it can't be read */
+	private Map<String, IndexEntry> index() {
+		if (index != null)
+			return index;
+
+		index = new HashMap<>();
+		final Path file = dir.resolve(ComponentLibrary.INDEX);
+		if (!Files.exists(file))
+			return index;
+
+		try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				// hash, size, last modification time and name, separated by tabs
+				final String[] fields = line.split("\t", 4); //$NON-NLS-1$
+				if (fields.length == 4)
+					index.put(fields[3], new IndexEntry(fields[0], Long.parseLong(fields[1]),
+					        Long.parseLong(fields[2])));
+			}
+		} catch (IOException | NumberFormatException e) {
+			// the index only saves work, the files are simply hashed again
+			index.clear();
+		}
+
+		return index;
+	}
+
+	private void store() {
+		if (!changed)
+			return;
+
+		try (Writer writer = Files.newBufferedWriter(dir.resolve(ComponentLibrary.INDEX),
+		        StandardCharsets.UTF_8)) {
+			for (final Map.Entry<String, IndexEntry> e : index.entrySet()) {
+				final IndexEntry entry = e.getValue();
+				writer.write(String.format("%s\t%d\t%d\t%s%n", entry.hash, entry.size, //$NON-NLS-1$
+				        entry.modified, e.getKey()));
+			}
+			changed = false;
+		} catch (final IOException e) {
+			// try again the next time the index changes
+			e.printStackTrace();
+		}
+	}
+
+	private static String hash(byte[] contents) {
+		final MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+		} catch (final NoSuchAlgorithmException e) {
+			// every implementation of the Java platform supports SHA-256
+			throw new RuntimeException(e);
+		}
+
+		final StringBuilder sb = new StringBuilder(64);
+		for (final byte b : digest.digest(contents))
+			sb.append(String.format("%02x", b)); //$NON-NLS-1$
+		return sb.toString();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("ComponentLibrary of %s: %d cached", dir, cache.size()); //$NON-NLS-1$
+	}
+
+	private static final class IndexEntry {
+		final String hash;
+		final long   size, modified;
+
+		IndexEntry(String hash, long size, long modified) {
+			this.hash = hash;
+			this.size = size;
+			this.modified = modified;
+		}
+	}
+}
@@ -0,0 +1,148 @@
+package application.editor;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import localisation.EditorStrings;
+
+/**
+ * The ways in which the files that store circuits may be compressed. The
+ * compression of a file is chosen when it is saved and is detected when it is
+ * read from the first bytes of the file, which are those of the format of the
+ * compressed data or, if it isn't compressed, those of an
+ * {@code ObjectOutputStream}, so that the files saved before files could be
+ * compressed are read the same way.
+ * <p>
+ * {@link #NONE} is the fastest to write and to read and is the default.
+ * {@link #SMALL} trades speed for size: its files are many times smaller but
+ * take several times longer to write and about twice as long to read.
+ *
+ * @author Alex Mandelias
+ */
+enum Compression {
+
+	/** The file isn't compressed, only buffered */
+	NONE(EditorStrings.UNCOMPRESSED) {
+		@Override
+		OutputStream compress(OutputStream out) {
+			return new BufferedOutputStream(out, Compression.BUFFER);
+		}
+
+		@Override
+		InputStream decompress(InputStream in) {
+			return in;
+		}
+	},
+
+	/** The file is compressed with Deflate at its best level, in gzip format */
+	SMALL(EditorStrings.SMALL) {
+		@Override
+		OutputStream compress(OutputStream out) throws IOException {
+			return new GZIPOutputStream(out, Compression.BUFFER) {
+				{
+					def.setLevel(Deflater.BEST_COMPRESSION);
+				}
+			};
+		}
+
+		@Override
+		InputStream decompress(InputStream in) throws IOException {
+			return new GZIPInputStream(in, Compression.BUFFER);
+		}
+	};
+
+	/** The size of the buffers between the file and the {@code Object Streams} */
+	static final int BUFFER = 1 << 16;
+
+	private final String option;
+
+	Compression(String option) {
+		this.option = option;
+	}
+
+	/**
+	 * Returns the option of the {@code COMPRESSION} Requirement of the
+	 * {@code SAVE} Action that chooses this Compression.
+	 *
+	 * @return the option
+	 */
+	String option() {
+		return option;
+	}
+
+	/**
+	 * Wraps a stream to which a file is written so that what is written to it is
+	 * compressed. The returned stream must be closed, which closes the file.
+	 *
+	 * @param out the stream of the file
+	 *
+	 * @return the stream that compresses what is written to it
+	 *
+	 * @throws IOException if an I/O error occurs
+	 */
+	abstract OutputStream compress(OutputStream out) throws IOException;
+
+	/**
+	 * Wraps a stream from which a file with this Compression is read, positioned
+	 * at the start of the file, so that what is read from it is decompressed. The
+	 * returned stream must be closed, which closes the file.
+	 *
+	 * @param in the stream of the file
+	 *
+	 * @return the stream that decompresses what is read from it
+	 *
+	 * @throws IOException if an I/O error occurs
+	 */
+	abstract InputStream decompress(InputStream in) throws IOException;
+
+	/**
+	 * Returns the Compression that an option of the {@code COMPRESSION}
+	 * Requirement of the {@code SAVE} Action chooses.
+	 *
+	 * @param option the option
+	 *
+	 * @return the Compression
+	 *
+	 * @throws IllegalArgumentException if no Compression has that option
+	 */
+	static Compression of(String option) {
+		for (final Compression compression : Compression.values())
+			if (compression.option.equals(option))
+				return compression;
+
+		throw new IllegalArgumentException(String.format("No compression '%s'", option)); //$NON-NLS-1$
+	}
+
+	/**
+	 * Detects the Compression of a file from its first bytes, without consuming
+	 * them.
+	 *
+	 * @param in the stream of the file, positioned at its start, which supports
+	 *           {@code mark} and {@code reset}
+	 *
+	 * @return the Compression, or {@code null} if the file doesn't have any of the
+	 *         formats of the Compressions
+	 *
+	 * @throws IOException if an I/O error occurs
+	 *
+	 * @see BufferedInputStream
+	 */
+	static Compression detect(InputStream in) throws IOException {
+		in.mark(2);
+		final int first = in.read(), second = in.read();
+		in.reset();
+
+		// the magic numbers of ObjectOutputStream and gzip
+		if ((first == 0xAC) && (second == 0xED))
+			return NONE;
+		if ((first == 0x1F) && (second == 0x8B))
+			return SMALL;
+		return null;
+	}
+}
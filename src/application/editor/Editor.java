@@ -1,6 +1,8 @@
 package application.editor;
 
 import static component.ComponentType.BRANCH;
+import static component.ComponentType.CLOCK;
+import static component.ComponentType.DFLIPFLOP;
 import static component.ComponentType.GATE;
 import static component.ComponentType.GATEAND;
 import static component.ComponentType.GATENOT;
@@ -12,12 +14,19 @@ import static component.ComponentType.OUTPUT_PIN;
 import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Frame;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.swing.BorderFactory;
 import javax.swing.JComponent;
 import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JProgressBar;
 
 import application.Application;
 import application.EditorInterface;
@@ -29,13 +38,19 @@ import component.components.ComponentFactory;
 import localisation.EditorStrings;
 import localisation.Languages;
 import myUtil.Utility;
+import simulation.CycleSimulator;
+import simulation.Netlist;
+import simulation.NetlistCompiler;
+import simulation.SimulationMode;
+import simulation.ValueChangeStore;
 
 /**
  * An Editor to edit a file. The Editor manages {@link Component Components}
  * with the help of an {@link ItemManager} (which takes care of creating and
  * deleting them) and a {@link UI} (which displays them on the screen).
  * Additional information is displayed at the bottom of the screen using the
- * Editor's {@link StatusBar}.
+ * Editor's {@link StatusBar}, above which the {@link WaveformPanel} displays the
+ * signals of the latest timing simulation.
  * <p>
  * The creation and deletion of Components is accomplished using {@link Command}
  * objects, which are managed using a {@link UndoableHistory}.
@@ -49,8 +64,11 @@ public final class Editor extends JComponent implements EditorInterface {
 	/** This Editor's context, the Application in which it exists */
 	final Application app;
 
-	private final UI        editorUI;
-	private final StatusBar statusBar;
+	private final UI            editorUI;
+	private final StatusBar     statusBar;
+	private final JProgressBar  progressBar;
+	private final SimulationBar simulationBar;
+	private final WaveformPanel waveformPanel;
 
 	/** Encapsulates information about the File this Editor edits */
 	final FileInfo fileInfo;
@@ -59,6 +77,22 @@ public final class Editor extends JComponent implements EditorInterface {
 	final ItemManager<Component>           componentManager;
 	private final UndoableHistory<Command> undoableHistory;
 
+	/** The Commands of the opened file, read when they are first needed */
+	private Actions.CircuitReader olderHistory;
+
+	/** How the compiled simulations of this Editor's circuit are evaluated */
+	private SimulationMode simulationMode;
+
+	// the simulator of the clocked circuit, null when the circuit or the mode changed
+	private CycleSimulator              simulator;
+	private final Map<Component, int[]> stateNets;
+
+	/** Whether some Components are highlighted, so that clearing is free otherwise */
+	private boolean highlighting;
+
+	/** Whether a file is being opened, whose circuit is about to replace this one */
+	private boolean loading;
+
 	/**
 	 * Constructs an Editor.
 	 *
@@ -70,6 +104,9 @@ public final class Editor extends JComponent implements EditorInterface {
 		app = application;
 		editorUI = new UI();
 		statusBar = new StatusBar();
+		progressBar = new JProgressBar(0, 100);
+		simulationBar = new SimulationBar(this);
+		waveformPanel = new WaveformPanel();
 
 		fileInfo = new FileInfo();
 		fileInfo.markSaved();
@@ -77,16 +114,30 @@ public final class Editor extends JComponent implements EditorInterface {
 
 		componentManager = new ItemManager<>();
 		undoableHistory = new UndoableHistory<>();
+		simulationMode = SimulationMode.SINGLE_THREADED;
+		simulator = null;
+		stateNets = new IdentityHashMap<>();
 
 		// configure the components of the editor
 		statusBar.addLabel(EditorStrings.MESSAGE);
 		statusBar.addLabel(EditorStrings.COUNT);
 		statusBar.setBorder(BorderFactory.createLineBorder(Color.BLACK, 1));
+		progressBar.setStringPainted(true);
+		progressBar.setVisible(false);
 
 		setLayout(new BorderLayout());
 		setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
+		add(simulationBar, BorderLayout.NORTH);
 		add(editorUI, BorderLayout.CENTER);
-		add(statusBar, BorderLayout.SOUTH);
+
+		final JPanel status = new JPanel(new BorderLayout());
+		status.add(statusBar, BorderLayout.CENTER);
+		status.add(progressBar, BorderLayout.EAST);
+
+		final JPanel bottom = new JPanel(new BorderLayout());
+		bottom.add(waveformPanel, BorderLayout.CENTER);
+		bottom.add(status, BorderLayout.SOUTH);
+		add(bottom, BorderLayout.SOUTH);
 
 		componentManager.addGenerator(INPUT_PIN.description(), StringConstants.G_INPUT_PIN);
 		componentManager.addGenerator(OUTPUT_PIN.description(), StringConstants.G_OUTPUT_PIN);
@@ -96,6 +147,8 @@ public final class Editor extends JComponent implements EditorInterface {
 		componentManager.addGenerator(GATEOR.description(), StringConstants.G_GATEOR);
 		componentManager.addGenerator(GATENOT.description(), StringConstants.G_GATENOT);
 		componentManager.addGenerator(GATEXOR.description(), StringConstants.G_GATEXOR);
+		componentManager.addGenerator(DFLIPFLOP.description(), StringConstants.G_DFLIPFLOP);
+		componentManager.addGenerator(CLOCK.description(), StringConstants.G_CLOCK);
 	}
 
 	@Override
@@ -112,11 +165,16 @@ public final class Editor extends JComponent implements EditorInterface {
 
 			if (res == JOptionPane.YES_OPTION)
 				Actions.SAVE.specify(EditorStrings.FILENAME, getFileInfo().getFile())
+				        .specify(EditorStrings.COMPRESSION, getFileInfo().getCompression())
 				        .context(this)
 				        .execute();
 		}
 
-		return (res == JOptionPane.YES_OPTION) || (res == JOptionPane.NO_OPTION);
+		final boolean closed = (res == JOptionPane.YES_OPTION) || (res == JOptionPane.NO_OPTION);
+		if (closed)
+			simulationBar.pause();
+
+		return closed;
 	}
 
 	/**
@@ -139,6 +197,7 @@ public final class Editor extends JComponent implements EditorInterface {
 	public void addComponent(Component component) {
 		componentManager.add(component);
 		editorUI.addComponent(component);
+		simulator = null;
 		statusBar.setLabelText(EditorStrings.COUNT, Languages.getString("Editor.6"), //$NON-NLS-1$
 		        componentManager.size());
 	}
@@ -151,6 +210,7 @@ public final class Editor extends JComponent implements EditorInterface {
 	public void removeComponent(Component component) {
 		componentManager.remove(component);
 		editorUI.removeComponent(component);
+		simulator = null;
 		statusBar.setLabelText(EditorStrings.COUNT, Languages.getString("Editor.8"), //$NON-NLS-1$
 		        componentManager.size());
 	}
@@ -198,6 +258,21 @@ public final class Editor extends JComponent implements EditorInterface {
 		return componentManager.getall();
 	}
 
+	/**
+	 * Returns every {@code Component} of this Editor sorted by their IDs, ignoring
+	 * case, for example to offer them as options to the user.
+	 * <p>
+	 * <b>Note:</b> this method returns a read-only view of the Components of this
+	 * Editor, which reflects the Components added and removed later, and not a
+	 * copy of each Component. Any changes to them will be reflected in this
+	 * Editor.
+	 *
+	 * @return a List with the Components of this Editor sorted by their IDs
+	 */
+	public List<Component> getSortedComponents() {
+		return componentManager.getallSorted();
+	}
+
 	/**
 	 * Returns every deleted {@code Component} of this Editor.
 	 * <p>
@@ -223,10 +298,214 @@ public final class Editor extends JComponent implements EditorInterface {
 		return componentManager.getNextID(type.description());
 	}
 
+	/**
+	 * Simulates one cycle of every {@code Clock} of this Editor. All Clocks rise
+	 * together and then fall together, so that the Flip-Flops they drive latch at
+	 * the same time.
+	 * <p>
+	 * The Components hold the state of the circuit, which is loaded to a
+	 * {@link CycleSimulator} that computes the cycle. The values the Flip-Flops
+	 * latched are then stored back to them. The simulator is compiled from the
+	 * Components the first time and again only after the circuit has changed.
+	 */
+	void stepClocks() {
+		if (simulator == null) {
+			stateNets.clear();
+			simulator = new CycleSimulator(NetlistCompiler.compile(getComponents_(), stateNets),
+			        simulationMode);
+		}
+
+		stateNets.forEach((component, nets) -> {
+			if (component.type() == INPUT_PIN)
+				simulator.set(nets[0], ComponentFactory.getInputActive(component));
+			else
+				for (int i = 0; i < nets.length; ++i)
+					if (nets[i] != Netlist.FALSE)
+						simulator.set(nets[i], ComponentFactory.getStored(component, i));
+		});
+
+		simulator.restore();
+		simulator.step();
+
+		final Map<Component, boolean[]> stored = new IdentityHashMap<>();
+		stateNets.forEach((component, nets) -> {
+			if (component.type() == DFLIPFLOP) {
+				final boolean[] values = new boolean[nets.length];
+				for (int i = 0; i < nets.length; ++i)
+					values[i] = nets[i] == Netlist.FALSE ? ComponentFactory.getStored(component, i)
+					        : simulator.get(nets[i]);
+				stored.put(component, values);
+			}
+		});
+
+		ComponentFactory.setStored(stored);
+	}
+
+	/**
+	 * Returns the {@code SimulationMode} of this Editor.
+	 *
+	 * @return the SimulationMode
+	 */
+	public SimulationMode getSimulationMode() {
+		return simulationMode;
+	}
+
+	/**
+	 * Sets the {@code SimulationMode} of this Editor, which is used by the next
+	 * clock cycle and by the simulators created afterwards.
+	 *
+	 * @param mode the new SimulationMode
+	 */
+	void setSimulationMode(SimulationMode mode) {
+		simulationMode = mode;
+		simulator = null;
+	}
+
+	/**
+	 * Compiles the {@code Components} of this Editor and returns a simulator for
+	 * them that uses this Editor's {@code SimulationMode}. The simulator doesn't
+	 * affect the Components, nor is it affected by changes to them.
+	 *
+	 * @return the simulator
+	 */
+	public CycleSimulator createSimulator() {
+		return new CycleSimulator(NetlistCompiler.compile(getComponents_()), simulationMode);
+	}
+
+	/**
+	 * Highlights the {@code Components} of this Editor with some IDs and removes
+	 * the highlight from the rest. The highlight is removed from every Component
+	 * when a {@code Command} is executed, undone or redone.
+	 *
+	 * @param IDs the IDs of the Components to highlight
+	 */
+	void highlight(Collection<String> IDs) {
+		if (!highlighting && IDs.isEmpty())
+			return;
+
+		for (final Component component : getComponents_())
+			component.getGraphics().setHighlighted(IDs.contains(component.getID()));
+		highlighting = !IDs.isEmpty();
+	}
+
+	/**
+	 * Displays the signals of a {@code ValueChangeStore} in this Editor's
+	 * {@code WaveformPanel}.
+	 *
+	 * @param store the ValueChangeStore
+	 */
+	void showWaveform(ValueChangeStore store) {
+		waveformPanel.setStore(store);
+		revalidate();
+	}
+
 	/** Clears this Editor resetting it to its original state */
 	void clear() {
 		Utility.foreach(new ArrayList<>(getComponents_()), this::removeComponent);
 		undoableHistory.clear();
+		discardOlderHistory();
+	}
+
+	/* Reads the Commands of the opened file, unless they have already been read */
+	private void readOlderHistory() {
+		if (olderHistory == null)
+			return;
+
+		try {
+			final List<Command> commands = new ArrayList<>();
+			olderHistory.readCommands(commands);
+			olderHistory.readEnd();
+
+			Utility.foreach(commands, command -> command.context(this));
+			undoableHistory.addOlder(commands);
+		} catch (IOException | Actions.FileCorruptedException
+		        | Actions.IncompatibleFileException e) {
+			// the circuit is intact, only what happened before it was opened is lost
+			error(e);
+		} finally {
+			discardOlderHistory();
+		}
+	}
+
+	private void discardOlderHistory() {
+		if (olderHistory == null)
+			return;
+
+		try {
+			olderHistory.close();
+		} catch (final IOException e) {
+			e.printStackTrace();
+		}
+		olderHistory = null;
+	}
+
+	/**
+	 * Replaces the circuit, the history and the ID generators of this Editor with
+	 * those of another Editor, in which a circuit was created away from the screen.
+	 * The other Editor must not be used afterwards.
+	 *
+	 * @param loaded  the other Editor
+	 * @param history the reader of the file positioned at the Commands that created
+	 *                the circuit, which are read and become the oldest part of the
+	 *                history when they are first needed, or {@code null} if the
+	 *                other Editor has the whole history
+	 *
+	 * @see CircuitLoader
+	 */
+	void load(Editor loaded, Actions.CircuitReader history) {
+		clear();
+		olderHistory = history;
+
+		// detach the graphics at once instead of one by one when they are added here
+		loaded.editorUI.removeAll();
+		for (final Component component : loaded.getComponents_()) {
+			componentManager.add(component);
+			editorUI.add(component.getGraphics());
+		}
+		editorUI.repaint();
+		statusBar.setLabelText(EditorStrings.COUNT, Languages.getString("Editor.6"), //$NON-NLS-1$
+		        componentManager.size());
+
+		for (final Command command : loaded.undoableHistory.getPast()) {
+			command.context(this);
+			undoableHistory.add(command);
+		}
+
+		componentManager.idGenerators.putAll(loaded.componentManager.idGenerators);
+		highlight(Collections.emptySet());
+	}
+
+	/**
+	 * Shows the progress of a task that runs in the background, such as opening a
+	 * large file, in the status bar.
+	 *
+	 * @param percent the percentage of the task that is complete, or {@code -1} to
+	 *                hide the progress when the task ends
+	 */
+	void progress(int percent) {
+		progressBar.setVisible(percent >= 0);
+		if (percent >= 0)
+			progressBar.setValue(percent);
+		revalidate();
+	}
+
+	/**
+	 * Sets whether a file is being opened in this Editor. Its circuit can't be
+	 * edited until then, since the edits would be discarded.
+	 *
+	 * @param loading {@code true} while the file is being opened
+	 */
+	void loading(boolean loading) {
+		this.loading = loading;
+	}
+
+	/**
+	 * Returns whether a file is being opened in this Editor.
+	 *
+	 * @return {@code true} if it is, {@code false} otherwise
+	 */
+	boolean isLoading() {
+		return loading;
 	}
 
 	/**
@@ -239,16 +518,20 @@ public final class Editor extends JComponent implements EditorInterface {
 	void execute(Command command) throws Exception {
 		command.execute();
 		undoableHistory.add(command);
+		highlight(Collections.emptySet());
 	}
 
 	/** Undoes the most recently executed {@code Command} */
 	void undo() {
+		readOlderHistory();
 		undoableHistory.undo();
+		highlight(Collections.emptySet());
 	}
 
 	/** Re-does the most recently undone {@code Command} */
 	void redo() {
 		undoableHistory.redo();
+		highlight(Collections.emptySet());
 	}
 
 	/**
@@ -257,6 +540,7 @@ public final class Editor extends JComponent implements EditorInterface {
 	 * @return the list of Commands
 	 */
 	public List<Command> getPastCommands() {
+		readOlderHistory();
 		return new ArrayList<>(undoableHistory.getPast());
 	}
 
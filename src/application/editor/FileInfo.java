@@ -5,6 +5,8 @@ import java.awt.FlowLayout;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 
+import localisation.EditorStrings;
+
 /**
  * Encapsulates information about a File that is being edited. This includes its
  * {@code filename} and whether or not it is {@code dirty}. A dirty file is a
@@ -27,9 +29,12 @@ public class FileInfo {
 
 	private String  filename;
 	private boolean dirty;
+	private String  compression;
 
 	/** Constructs a FileInfo object */
-	public FileInfo() {}
+	public FileInfo() {
+		compression = EditorStrings.UNCOMPRESSED;
+	}
 
 	/**
 	 * Returns a Graphic for this FileInfo object that accurately represents it. It
@@ -59,6 +64,16 @@ public class FileInfo {
 		return filename;
 	}
 
+	/**
+	 * Returns the compression of the File, with which it is saved again.
+	 *
+	 * @return the compression, one of the options of the {@code COMPRESSION}
+	 *         Requirement of the {@code SAVE} Action
+	 */
+	public String getCompression() {
+		return compression;
+	}
+
 	/**
 	 * Returns the dirty state of this File. A {@code dirty} file has unsaved
 	 * changes while a {@code non-dirty} one doesn't.
@@ -78,6 +93,15 @@ public class FileInfo {
 		updateState(newFilename, dirty);
 	}
 
+	/**
+	 * Updates the compression of this File.
+	 *
+	 * @param newCompression the new compression of the File
+	 */
+	public void setCompression(String newCompression) {
+		compression = newCompression;
+	}
+
 	/** Marks this File as having unsaved changes */
 	public void markUnsaved() {
 		updateState(filename, true);
@@ -8,6 +8,7 @@ import java.util.Map;
 import java.util.function.Predicate;
 
 import component.components.Identifiable;
+import myUtil.PrefixIndex;
 import myUtil.StringGenerator;
 import myUtil.Utility;
 
@@ -26,6 +27,9 @@ final class ItemManager<T extends Identifiable<String>> {
 
 	private final Map<String, T> itemMap;
 
+	/** The items sorted by their IDs, ignoring case, to look them up by prefix */
+	private final PrefixIndex<T> index;
+
 	/** A key-Generator map that creates IDs for new items in this manager */
 	final Map<String, StringGenerator> idGenerators;
 
@@ -33,6 +37,7 @@ final class ItemManager<T extends Identifiable<String>> {
 	public ItemManager() {
 		// linked to retain the order of the items inserted
 		itemMap = new LinkedHashMap<>();
+		index = new PrefixIndex<>(Identifiable::getID);
 		idGenerators = new HashMap<>();
 	}
 
@@ -51,6 +56,7 @@ final class ItemManager<T extends Identifiable<String>> {
 			throw new DuplicateIdException(id);
 
 		itemMap.put(id, item);
+		index.add(item);
 	}
 
 	/**
@@ -61,7 +67,8 @@ final class ItemManager<T extends Identifiable<String>> {
 	 * @throws NullPointerException if {@code item == null}
 	 */
 	public void remove(T item) {
-		itemMap.remove(item.getID());
+		if (itemMap.remove(item.getID()) != null)
+			index.remove(item);
 	}
 
 	/**
@@ -121,6 +128,18 @@ final class ItemManager<T extends Identifiable<String>> {
 		return list;
 	}
 
+	/**
+	 * Returns the Items sorted by their IDs ignoring case instead of in the order
+	 * they were added. The List is a read-only view of this ItemManager that is
+	 * neither copied nor filtered, so that it is returned in constant time, and
+	 * reflects the Items added and removed later.
+	 *
+	 * @return a List with the Items
+	 */
+	public List<T> getallSorted() {
+		return index.asList();
+	}
+
 	/**
 	 * Returns the next ID generated by the specified Generator.
 	 *
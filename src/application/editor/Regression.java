@@ -0,0 +1,172 @@
+package application.editor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import simulation.Netlist;
+import simulation.NetlistCompiler;
+import verification.JUnitReport;
+import verification.VectorFile;
+import verification.VectorResult;
+
+/**
+ * Checks the circuits of the user data directory against their
+ * {@link VectorFile VectorFiles}. Every circuit {@code name.scad} with a
+ * VectorFile {@code name.vec} next to it is read the same way as by the
+ * {@link Actions#OPEN OPEN} Action, but without an Application, compiled and
+ * checked. The circuits are checked in parallel on a pool of threads and the
+ * results are written as a {@link JUnitReport}.
+ * <p>
+ * The regression can also run without a GUI:
+ * {@code Regression [threads]}, which exits with status {@code 1} if any
+ * circuit fails.
+ *
+ * @author Alex Mandelias
+ */
+public final class Regression {
+
+	/** The extension of the VectorFiles */
+	public static final String VECTOR_EXTENSION = ".vec"; //$NON-NLS-1$
+
+	/** The name of the file of the user data directory where the report is written */
+	public static final String REPORT = "regression.xml"; //$NON-NLS-1$
+
+	private static final String CIRCUIT_EXTENSION = ".scad"; //$NON-NLS-1$
+
+	/* Don't let anyone instantiate this class */
+	private Regression() {}
+
+	/**
+	 * Runs the regression and writes the report.
+	 *
+	 * @param args the number of threads, optional, by default one per processor
+	 *
+	 * @throws IOException          if an I/O error occurs
+	 * @throws InterruptedException if interrupted while waiting for the checks
+	 */
+	public static void main(String[] args) throws IOException, InterruptedException {
+		final int threads = args.length > 0 ? Integer.parseInt(args[0])
+		        : Runtime.getRuntime().availableProcessors();
+
+		final long               start   = System.nanoTime();
+		final List<VectorResult> results = Regression.run(Regression.discover(), threads);
+		Regression.writeReport(results);
+
+		int passed = 0;
+		for (final VectorResult result : results) {
+			System.out.println(result);
+			for (int i = 0; i < result.failureCount(); ++i)
+				System.out.printf("  line %d: %s%n", result.failedLine(i), result.failure(i)); //$NON-NLS-1$
+			if (result.passed())
+				++passed;
+		}
+
+		System.out.printf("%d of %d circuits passed in %d ms using %d threads%n", passed, //$NON-NLS-1$
+		        results.size(), (System.nanoTime() - start) / 1_000_000, threads);
+		System.exit(passed == results.size() ? 0 : 1);
+	}
+
+	/**
+	 * Returns the names of the circuits of the user data directory that have a
+	 * VectorFile, in alphabetical order.
+	 *
+	 * @return the names, without extensions
+	 *
+	 * @throws IOException if an I/O error occurs
+	 */
+	public static List<String> discover() throws IOException {
+		final Path dir = Actions.userDataDirectory();
+		if (!Files.isDirectory(dir))
+			return Collections.emptyList();
+
+		try (Stream<Path> paths = Files.list(dir)) {
+			return paths.map(path -> String.valueOf(path.getFileName()))
+			        .filter(file -> file.endsWith(Regression.VECTOR_EXTENSION))
+			        .map(file -> file.substring(0,
+			                file.length() - Regression.VECTOR_EXTENSION.length()))
+			        .sorted()
+			        .collect(Collectors.toList());
+		}
+	}
+
+	/**
+	 * Checks circuits of the user data directory against their VectorFiles in
+	 * parallel.
+	 *
+	 * @param names   the names of the circuits, without extensions
+	 * @param threads the number of threads
+	 *
+	 * @return the result of each circuit, in the same order
+	 *
+	 * @throws InterruptedException if interrupted while waiting for the checks
+	 */
+	public static List<VectorResult> run(List<String> names, int threads)
+	        throws InterruptedException {
+		final ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, threads));
+		try {
+			final List<Callable<VectorResult>> checks = new ArrayList<>();
+			for (final String name : names)
+				checks.add(() -> Regression.check(name));
+
+			final List<VectorResult> results = new ArrayList<>();
+			for (final Future<VectorResult> future : pool.invokeAll(checks))
+				try {
+					results.add(future.get());
+				} catch (final ExecutionException e) {
+					// every exception of a check is turned into an error of its result
+					throw new IllegalStateException(e.getCause());
+				}
+
+			return results;
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Writes the report of some results to the {@link #REPORT} file of the user
+	 * data directory.
+	 *
+	 * @param results the results
+	 *
+	 * @throws IOException if an I/O error occurs
+	 */
+	public static void writeReport(List<VectorResult> results) throws IOException {
+		final Path dir = Actions.userDataDirectory();
+		if (!Files.exists(dir))
+			Files.createDirectory(dir);
+
+		try (Writer writer = Files.newBufferedWriter(dir.resolve(Regression.REPORT),
+		        StandardCharsets.UTF_8)) {
+			JUnitReport.write("regression", results, writer); //$NON-NLS-1$
+		}
+	}
+
+	private static VectorResult check(String name) {
+		final long start = System.nanoTime();
+		try {
+			final VectorFile vectors = VectorFile
+			        .read(Actions.userDataDirectory().resolve(name + Regression.VECTOR_EXTENSION));
+			final Netlist    netlist = NetlistCompiler
+			        .compile(Actions.readCircuit(name + Regression.CIRCUIT_EXTENSION));
+			return VectorResult.check(name, netlist, vectors);
+		} catch (final Actions.FileCorruptedException | Actions.IncompatibleFileException
+		        | IOException | RuntimeException e) {
+			return VectorResult.error(name, String.valueOf(e.getMessage()),
+			        System.nanoTime() - start);
+		}
+	}
+}
@@ -0,0 +1,96 @@
+package application.editor;
+
+import java.awt.FlowLayout;
+
+import javax.swing.JButton;
+import javax.swing.JCheckBox;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.Timer;
+
+import application.StringConstants;
+import localisation.Languages;
+import simulation.SimulationMode;
+
+/**
+ * Controls the {@code Clocks} of an {@link Editor}. The Clocks can be run
+ * continuously, with the period specified in the settings, paused, or stepped
+ * one cycle at a time. The number of cycles simulated is displayed next to the
+ * buttons.
+ * <p>
+ * The Simulation Bar also selects the {@link SimulationMode} of the Editor,
+ * which determines whether the cycles of its circuit, as well as other compiled
+ * simulations of it, are evaluated on one or many threads.
+ *
+ * @author Alex Mandelias
+ */
+final class SimulationBar extends JPanel {
+
+	private final Editor    context;
+	private final Timer     timer;
+	private final JButton   run, pause, step;
+	private final JLabel    cycleLabel;
+	private final JCheckBox multiThreaded;
+
+	private long cycle;
+
+	/**
+	 * Creates the Simulation Bar of an Editor.
+	 *
+	 * @param editor the Editor whose Clocks this Simulation Bar controls
+	 */
+	SimulationBar(Editor editor) {
+		context = editor;
+		timer = new Timer(StringConstants.CLOCK_PERIOD, e -> step());
+
+		run = new JButton(Languages.getString("SimulationBar.0")); //$NON-NLS-1$
+		pause = new JButton(Languages.getString("SimulationBar.1")); //$NON-NLS-1$
+		step = new JButton(Languages.getString("SimulationBar.2")); //$NON-NLS-1$
+		cycleLabel = new JLabel();
+		multiThreaded = new JCheckBox(Languages.getString("SimulationBar.4")); //$NON-NLS-1$
+
+		run.addActionListener(e -> run());
+		pause.addActionListener(e -> pause());
+		step.addActionListener(e -> step());
+		multiThreaded.addActionListener(e -> context.setSimulationMode(multiThreaded.isSelected()
+		        ? SimulationMode.MULTI_THREADED
+		        : SimulationMode.SINGLE_THREADED));
+
+		setLayout(new FlowLayout(FlowLayout.LEFT));
+		add(run);
+		add(pause);
+		add(step);
+		add(cycleLabel);
+		add(multiThreaded);
+
+		cycle = 0;
+		updateButtons();
+	}
+
+	/** Starts toggling the Clocks periodically */
+	void run() {
+		timer.start();
+		updateButtons();
+	}
+
+	/** Stops toggling the Clocks */
+	void pause() {
+		timer.stop();
+		updateButtons();
+	}
+
+	/** Simulates exactly one cycle of the Clocks */
+	void step() {
+		context.stepClocks();
+		++cycle;
+		updateButtons();
+	}
+
+	private void updateButtons() {
+		final boolean running = timer.isRunning();
+		run.setEnabled(!running);
+		pause.setEnabled(running);
+		step.setEnabled(!running);
+		cycleLabel.setText(String.format(Languages.getString("SimulationBar.3"), cycle)); //$NON-NLS-1$
+	}
+}
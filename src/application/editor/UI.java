@@ -39,7 +39,14 @@ final class UI extends JPanel {
 	 * @param component the Component and remove
 	 */
 	public void removeComponent(Component component) {
-		remove(component.getGraphics());
+		// Components are mostly removed in the opposite order they were added, for
+		// example when undoing, so check the last one before searching all of them
+		final java.awt.Component graphic = component.getGraphics();
+		final int                last    = getComponentCount() - 1;
+		if ((last >= 0) && (getComponent(last) == graphic))
+			remove(last);
+		else
+			remove(graphic);
 		repaint();
 	}
 }
@@ -36,6 +36,16 @@ final class UndoableHistory<T extends Undoable> {
 			future.clear();
 	}
 
+	/**
+	 * Adds {@code Undoables} to the history without executing them, as if they had
+	 * been executed before every other Undoable of the history.
+	 *
+	 * @param undoables the Undoables, in the order they were executed
+	 */
+	public void addOlder(List<T> undoables) {
+		past.addAll(0, undoables);
+	}
+
 	/** Undoes the most recently executed {@code Undoable}, if one exists */
 	public void undo() {
 		if (canUndo()) {
@@ -0,0 +1,364 @@
+package application.editor;
+
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.FlowLayout;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+
+import javax.swing.JButton;
+import javax.swing.JComponent;
+import javax.swing.JLabel;
+import javax.swing.JList;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JScrollBar;
+import javax.swing.JScrollPane;
+import javax.swing.ListSelectionModel;
+import javax.swing.ScrollPaneConstants;
+
+import localisation.Languages;
+import simulation.ValueChangeStore;
+
+/**
+ * Displays the signals of a {@link ValueChangeStore} of an {@link Editor} over
+ * time. The view can be zoomed and scrolled horizontally and only the signals
+ * that are selected are displayed.
+ * <p>
+ * Each column of pixels is an interval of time whose summary is computed by the
+ * ValueChangeStore, so that only the changes of the visible signals near the
+ * edges of the columns are decoded. When the view is zoomed out, the columns
+ * with any changes are filled, which shows where the signals are active and
+ * where the glitches are, no matter how many changes there are.
+ * <p>
+ * Clicking on a signal places a cursor, whose time is displayed above the
+ * signals and the value of each signal at that time next to its name. The
+ * mouse wheel zooms around the mouse while the {@code Ctrl} key is held.
+ *
+ * @author Alex Mandelias
+ */
+final class WaveformPanel extends JPanel {
+
+	private static final int ROW_HEIGHT   = 22;
+	private static final int NAME_WIDTH   = 140;
+	private static final int RULER_HEIGHT = 18;
+	private static final int VISIBLE_ROWS = 8;
+	private static final int TICK_SPACING = 80;
+
+	// the most pixels per unit of time
+	private static final double MIN_SCALE = 1.0 / 64;
+
+	private static final Color TRACE_COLOR  = new Color(0, 110, 0);
+	private static final Color CURSOR_COLOR = Color.RED;
+
+	private final JButton    zoomIn, zoomOut, fit, select, close;
+	private final JLabel     cursorLabel;
+	private final Traces     traces;
+	private final Ruler      ruler;
+	private final JScrollBar scrollBar;
+
+	private ValueChangeStore store;
+	private int[]            shown;
+	private byte[]           summary;
+
+	// the time at the left edge of the traces and the units of time per pixel
+	private double origin, scale;
+
+	private long    cursor;
+	private boolean adjusting;
+
+	/** Creates an empty Waveform Panel, which is hidden until it has signals */
+	WaveformPanel() {
+		zoomIn = new JButton(Languages.getString("WaveformPanel.0")); //$NON-NLS-1$
+		zoomOut = new JButton(Languages.getString("WaveformPanel.1")); //$NON-NLS-1$
+		fit = new JButton(Languages.getString("WaveformPanel.2")); //$NON-NLS-1$
+		select = new JButton(Languages.getString("WaveformPanel.3")); //$NON-NLS-1$
+		close = new JButton(Languages.getString("WaveformPanel.4")); //$NON-NLS-1$
+		cursorLabel = new JLabel();
+		traces = new Traces();
+		ruler = new Ruler();
+		scrollBar = new JScrollBar(JScrollBar.HORIZONTAL);
+
+		zoomIn.addActionListener(e -> zoom(0.5, traceWidth() / 2));
+		zoomOut.addActionListener(e -> zoom(2, traceWidth() / 2));
+		fit.addActionListener(e -> fit());
+		select.addActionListener(e -> selectSignals());
+		close.addActionListener(e -> setVisible(false));
+		scrollBar.addAdjustmentListener(e -> {
+			if (!adjusting) {
+				origin = e.getValue() * scale;
+				repaintTraces();
+			}
+		});
+
+		final JPanel buttons = new JPanel(new FlowLayout(FlowLayout.LEFT));
+		buttons.add(zoomIn);
+		buttons.add(zoomOut);
+		buttons.add(fit);
+		buttons.add(select);
+		buttons.add(cursorLabel);
+		buttons.add(close);
+
+		final JScrollPane scrollPane = new JScrollPane(traces,
+		        ScrollPaneConstants.VERTICAL_SCROLLBAR_AS_NEEDED,
+		        ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
+		scrollPane.setColumnHeaderView(ruler);
+		scrollPane.setPreferredSize(new Dimension(0, (WaveformPanel.VISIBLE_ROWS
+		        * WaveformPanel.ROW_HEIGHT) + WaveformPanel.RULER_HEIGHT + 4));
+		scrollPane.addComponentListener(new ComponentAdapter() {
+			@Override
+			public void componentResized(ComponentEvent e) {
+				updateScrollBar();
+			}
+		});
+
+		setLayout(new BorderLayout());
+		add(buttons, BorderLayout.NORTH);
+		add(scrollPane, BorderLayout.CENTER);
+		add(scrollBar, BorderLayout.SOUTH);
+		setVisible(false);
+	}
+
+	/**
+	 * Displays every signal of a {@code ValueChangeStore} from its start to its
+	 * end and shows this Waveform Panel.
+	 *
+	 * @param newStore the ValueChangeStore
+	 */
+	void setStore(ValueChangeStore newStore) {
+		store = newStore;
+		shown = new int[store.signalCount()];
+		for (int i = 0; i < shown.length; ++i)
+			shown[i] = i;
+
+		cursor = -1;
+		updateCursorLabel();
+		traces.revalidate();
+		setVisible(true);
+		fit();
+	}
+
+	private int traceWidth() {
+		return Math.max(1, traces.getWidth() - WaveformPanel.NAME_WIDTH);
+	}
+
+	private double maxScale() {
+		return Math.max(WaveformPanel.MIN_SCALE, (double) store.endTime() / traceWidth());
+	}
+
+	/* Multiplies the scale by a factor keeping the time at pixel x still */
+	private void zoom(double factor, int x) {
+		if (store == null)
+			return;
+
+		final double time = origin + (x * scale);
+		scale = Math.min(maxScale(), Math.max(WaveformPanel.MIN_SCALE, scale * factor));
+		origin = time - (x * scale);
+		updateScrollBar();
+	}
+
+	private void fit() {
+		if (store == null)
+			return;
+
+		scale = maxScale();
+		origin = 0;
+		updateScrollBar();
+	}
+
+	private void updateScrollBar() {
+		if (store == null)
+			return;
+
+		scale = Math.min(scale, maxScale());
+
+		final int width = traceWidth();
+		final int max   = (int) Math.min(Integer.MAX_VALUE - width,
+		        Math.ceil(store.endTime() / scale) + 1);
+		final int value = (int) Math.max(0, Math.min(max - width, origin / scale));
+		origin = value * scale;
+
+		adjusting = true;
+		scrollBar.setValues(value, Math.min(width, max), 0, max);
+		scrollBar.setBlockIncrement(width);
+		scrollBar.setUnitIncrement(Math.max(1, width / 10));
+		adjusting = false;
+
+		repaintTraces();
+	}
+
+	private void repaintTraces() {
+		traces.repaint();
+		ruler.repaint();
+	}
+
+	private void selectSignals() {
+		if (store == null)
+			return;
+
+		final String[] names = new String[store.signalCount()];
+		for (int i = 0; i < names.length; ++i)
+			names[i] = store.name(i);
+
+		final JList<String> list = new JList<>(names);
+		list.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
+		list.setSelectedIndices(shown);
+		list.setVisibleRowCount(Math.min(names.length, 16));
+
+		final int res = JOptionPane.showConfirmDialog(this, new JScrollPane(list),
+		        Languages.getString("WaveformPanel.6"), JOptionPane.OK_CANCEL_OPTION); //$NON-NLS-1$
+		if (res == JOptionPane.OK_OPTION) {
+			shown = list.getSelectedIndices();
+			traces.revalidate();
+			repaintTraces();
+		}
+	}
+
+	private void updateCursorLabel() {
+		cursorLabel.setText(cursor == -1 ? "" //$NON-NLS-1$
+		        : String.format(Languages.getString("WaveformPanel.5"), cursor)); //$NON-NLS-1$
+	}
+
+	/* Returns the smallest 1, 2 or 5 times a power of 10 that is at least a time */
+	private static long tick(double minimum) {
+		for (long power = 1;; power *= 10)
+			for (final long mantissa : new long[] { 1, 2, 5 })
+				if ((mantissa * power) >= minimum)
+					return mantissa * power;
+	}
+
+	/* Draws the names and the values of the visible rows of the selected signals */
+	private final class Traces extends JComponent {
+
+		Traces() {
+			final MouseAdapter adapter = new MouseAdapter() {
+				@Override
+				public void mouseClicked(MouseEvent e) {
+					if ((store == null) || (e.getX() < WaveformPanel.NAME_WIDTH))
+						return;
+
+					cursor = Math.min(store.endTime(),
+					        (long) (origin + ((e.getX() - WaveformPanel.NAME_WIDTH) * scale)));
+					updateCursorLabel();
+					repaintTraces();
+				}
+
+				@Override
+				public void mouseWheelMoved(MouseWheelEvent e) {
+					if (e.isControlDown())
+						zoom(e.getWheelRotation() < 0 ? 0.5 : 2,
+						        Math.max(0, e.getX() - WaveformPanel.NAME_WIDTH));
+					else
+						getParent().dispatchEvent(e);
+				}
+			};
+			addMouseListener(adapter);
+			addMouseWheelListener(adapter);
+			setOpaque(true);
+			setBackground(Color.WHITE);
+		}
+
+		@Override
+		public Dimension getPreferredSize() {
+			return new Dimension(0, (shown == null ? 0 : shown.length) * WaveformPanel.ROW_HEIGHT);
+		}
+
+		@Override
+		protected void paintComponent(Graphics g) {
+			final Rectangle clip = g.getClipBounds();
+			g.setColor(getBackground());
+			g.fillRect(clip.x, clip.y, clip.width, clip.height);
+			if (store == null)
+				return;
+
+			final int width = traceWidth();
+			if ((summary == null) || (summary.length != width))
+				summary = new byte[width];
+
+			// only the rows in the visible part of the scroll pane
+			final int first = Math.max(0, clip.y / WaveformPanel.ROW_HEIGHT);
+			final int last  = Math.min(shown.length - 1,
+			        (clip.y + clip.height) / WaveformPanel.ROW_HEIGHT);
+			for (int row = first; row <= last; ++row)
+				paintRow(g, row, shown[row]);
+
+			if (cursor != -1) {
+				final int x = WaveformPanel.NAME_WIDTH + (int) ((cursor - origin) / scale);
+				if (x >= WaveformPanel.NAME_WIDTH) {
+					g.setColor(WaveformPanel.CURSOR_COLOR);
+					g.drawLine(x, clip.y, x, clip.y + clip.height);
+				}
+			}
+		}
+
+		private void paintRow(Graphics g, int row, int signal) {
+			final int top  = row * WaveformPanel.ROW_HEIGHT;
+			final int high = top + 4, low = (top + WaveformPanel.ROW_HEIGHT) - 4;
+
+			g.setColor(Color.LIGHT_GRAY);
+			g.drawLine(0, top + WaveformPanel.ROW_HEIGHT - 1, getWidth(),
+			        top + WaveformPanel.ROW_HEIGHT - 1);
+
+			g.setColor(Color.BLACK);
+			final String name = cursor == -1 ? store.name(signal)
+			        : String.format("%s = %d", store.name(signal), //$NON-NLS-1$
+			                store.valueAt(signal, cursor) ? 1 : 0);
+			g.drawString(name, 4, low);
+
+			store.summarize(signal, origin, scale, summary);
+
+			// runs of equal summaries are drawn at once
+			g.setColor(WaveformPanel.TRACE_COLOR);
+			for (int i = 0, j; i < summary.length; i = j) {
+				j = i + 1;
+				while ((j < summary.length) && (summary[j] == summary[i]))
+					++j;
+
+				final int x1 = WaveformPanel.NAME_WIDTH + i;
+				final int x2 = (WaveformPanel.NAME_WIDTH + j) - 1;
+				if (summary[i] == ValueChangeStore.BOTH)
+					g.fillRect(x1, high, (x2 - x1) + 1, (low - high) + 1);
+				else {
+					final int y = summary[i] == ValueChangeStore.HIGH ? high : low;
+					g.drawLine(x1, y, x2, y);
+				}
+			}
+		}
+	}
+
+	/* Draws the times above the signals */
+	private final class Ruler extends JComponent {
+
+		Ruler() {
+			setPreferredSize(new Dimension(0, WaveformPanel.RULER_HEIGHT));
+		}
+
+		@Override
+		protected void paintComponent(Graphics g) {
+			g.setColor(Color.WHITE);
+			g.fillRect(0, 0, getWidth(), getHeight());
+			if (store == null)
+				return;
+
+			final long tick = WaveformPanel.tick(WaveformPanel.TICK_SPACING * scale);
+
+			g.setColor(Color.BLACK);
+			final int bottom = getHeight() - 1;
+			g.drawLine(0, bottom, getWidth(), bottom);
+			for (long time = (long) Math.ceil(origin / tick) * tick;; time += tick) {
+				final int x = WaveformPanel.NAME_WIDTH + (int) ((time - origin) / scale);
+				if (x > getWidth())
+					break;
+
+				g.drawLine(x, bottom - 4, x, bottom);
+				g.drawString(Long.toString(time), x + 2, bottom - 4);
+			}
+		}
+	}
+}
@@ -0,0 +1,330 @@
+package command;
+
+import static component.ComponentType.BRANCH;
+import static component.ComponentType.CLOCK;
+import static component.ComponentType.DFLIPFLOP;
+import static component.ComponentType.GATEAND;
+import static component.ComponentType.GATENOT;
+import static component.ComponentType.GATEOR;
+import static component.ComponentType.GATEXOR;
+import static component.ComponentType.INPUT_PIN;
+import static component.ComponentType.OUTPUT_PIN;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import application.editor.Editor;
+import component.ComponentType;
+import component.components.Component;
+import component.components.ComponentFactory;
+import myUtil.Utility;
+
+/**
+ * Builds circuits programmatically, without {@code Requirements} or dialogs,
+ * for example to generate large parametric circuits such as adders and
+ * multipliers. The {@code Components} are created directly with the
+ * {@link ComponentFactory} and the connections between them are recorded;
+ * {@link #build(String)} then returns a single {@link Command} that creates the
+ * whole circuit in an {@code Editor} and is undone as a whole:
+ *
+ * <pre>
+ * final CircuitBuilder builder = new CircuitBuilder(editor);
+ * final Component[]    a       = builder.inputs("A", 2);
+ * final Component      and     = builder.and(2);
+ * builder.connect(a[0], and, 0).connect(a[1], and, 1).connect(and, builder.output("Y"), 0);
+ *
+ * Actions.CREATE.specify(EditorStrings.COMMAND, builder.build("AND")).context(editor).execute();
+ * </pre>
+ *
+ * Components without an explicit ID get the next ID the {@code Editor}
+ * generates for their Type. The connections may also involve Components that
+ * already exist in the Editor; they are made once the Command is executed.
+ *
+ * @author Alex Mandelias
+ */
+public final class CircuitBuilder {
+
+	private final Editor          context;
+	private final List<Component> components;
+	private final Set<String>     ids; // in use by the Editor or by this builder
+
+	private Component[] ins, outs;
+	private int[]       inIndexes, outIndexes;
+	private String[]    branchIDs;
+	private int         branchCount;
+
+	private boolean built;
+
+	/**
+	 * Constructs a builder for a circuit of an {@code Editor}.
+	 *
+	 * @param editor the Editor whose Command will create the circuit
+	 */
+	public CircuitBuilder(Editor editor) {
+		context = editor;
+		components = new ArrayList<>();
+		ids = new HashSet<>();
+		Utility.foreach(editor.getComponents_(), component -> ids.add(component.getID()));
+
+		ins = new Component[16];
+		outs = new Component[16];
+		inIndexes = new int[16];
+		outIndexes = new int[16];
+		branchIDs = new String[16];
+	}
+
+	/**
+	 * Creates an Input Pin.
+	 *
+	 * @return the Input Pin
+	 */
+	public Component input() {
+		return input(null);
+	}
+
+	/**
+	 * Creates an Input Pin with an ID.
+	 *
+	 * @param id the ID, or {@code null} to generate one
+	 *
+	 * @return the Input Pin
+	 */
+	public Component input(String id) {
+		return add(ComponentFactory.createInputPin(), INPUT_PIN, id);
+	}
+
+	/**
+	 * Creates Input Pins with the IDs {@code prefix0}, {@code prefix1} etc.
+	 *
+	 * @param prefix the prefix of the IDs
+	 * @param count  the number of Input Pins
+	 *
+	 * @return the Input Pins
+	 */
+	public Component[] inputs(String prefix, int count) {
+		final Component[] inputs = new Component[count];
+		for (int i = 0; i < count; ++i)
+			inputs[i] = input(prefix + i);
+		return inputs;
+	}
+
+	/**
+	 * Creates an Output Pin.
+	 *
+	 * @return the Output Pin
+	 */
+	public Component output() {
+		return output(null);
+	}
+
+	/**
+	 * Creates an Output Pin with an ID.
+	 *
+	 * @param id the ID, or {@code null} to generate one
+	 *
+	 * @return the Output Pin
+	 */
+	public Component output(String id) {
+		return add(ComponentFactory.createOutputPin(), OUTPUT_PIN, id);
+	}
+
+	/**
+	 * Creates Output Pins with the IDs {@code prefix0}, {@code prefix1} etc.
+	 *
+	 * @param prefix the prefix of the IDs
+	 * @param count  the number of Output Pins
+	 *
+	 * @return the Output Pins
+	 */
+	public Component[] outputs(String prefix, int count) {
+		final Component[] outputs = new Component[count];
+		for (int i = 0; i < count; ++i)
+			outputs[i] = output(prefix + i);
+		return outputs;
+	}
+
+	/**
+	 * Creates a Clock.
+	 *
+	 * @return the Clock
+	 */
+	public Component clock() {
+		return clock(null);
+	}
+
+	/**
+	 * Creates a Clock with an ID.
+	 *
+	 * @param id the ID, or {@code null} to generate one
+	 *
+	 * @return the Clock
+	 */
+	public Component clock(String id) {
+		return add(ComponentFactory.createClock(), CLOCK, id);
+	}
+
+	/**
+	 * Creates an AND Gate.
+	 *
+	 * @param inCount the number of inputs
+	 *
+	 * @return the AND Gate
+	 */
+	public Component and(int inCount) {
+		return gate(GATEAND, inCount, null);
+	}
+
+	/**
+	 * Creates an OR Gate.
+	 *
+	 * @param inCount the number of inputs
+	 *
+	 * @return the OR Gate
+	 */
+	public Component or(int inCount) {
+		return gate(GATEOR, inCount, null);
+	}
+
+	/**
+	 * Creates an XOR Gate.
+	 *
+	 * @param inCount the number of inputs
+	 *
+	 * @return the XOR Gate
+	 */
+	public Component xor(int inCount) {
+		return gate(GATEXOR, inCount, null);
+	}
+
+	/**
+	 * Creates a NOT Gate with one input.
+	 *
+	 * @return the NOT Gate
+	 */
+	public Component not() {
+		return gate(GATENOT, 1, null);
+	}
+
+	/**
+	 * Creates a D Flip-Flop with one data input.
+	 *
+	 * @return the D Flip-Flop
+	 */
+	public Component flipFlop() {
+		return gate(DFLIPFLOP, 1, null);
+	}
+
+	/**
+	 * Creates a Primitive Gate.
+	 *
+	 * @param type    the type of the Primitive Gate
+	 * @param inCount the number of inputs (for D Flip-Flops the number of data
+	 *                inputs, not counting the clock input)
+	 * @param id      the ID, or {@code null} to generate one
+	 *
+	 * @return the Primitive Gate
+	 *
+	 * @see ComponentFactory#createPrimitiveGate(ComponentType, int)
+	 */
+	public Component gate(ComponentType type, int inCount, String id) {
+		return add(ComponentFactory.createPrimitiveGate(type, inCount), type, id);
+	}
+
+	/**
+	 * Connects the first output of a {@code Component} to an input of another.
+	 *
+	 * @param in       the Component whose output is connected
+	 * @param out      the Component whose input is connected
+	 * @param indexOut the index of the input
+	 *
+	 * @return this builder
+	 *
+	 * @see #connect(Component, int, Component, int)
+	 */
+	public CircuitBuilder connect(Component in, Component out, int indexOut) {
+		return connect(in, 0, out, indexOut);
+	}
+
+	/**
+	 * Connects an output of a {@code Component} to an input of another with a
+	 * Branch. The Branch is created when the Command is executed and, just like
+	 * creating one in the Editor, replaces any Branch that is connected to that
+	 * input at the time.
+	 *
+	 * @param in       the Component whose output is connected
+	 * @param indexIn  the index of the output
+	 * @param out      the Component whose input is connected
+	 * @param indexOut the index of the input
+	 *
+	 * @return this builder
+	 */
+	public CircuitBuilder connect(Component in, int indexIn, Component out, int indexOut) {
+		checkNotBuilt();
+
+		if (branchCount == ins.length) {
+			final int length = branchCount * 2;
+			ins = Arrays.copyOf(ins, length);
+			outs = Arrays.copyOf(outs, length);
+			inIndexes = Arrays.copyOf(inIndexes, length);
+			outIndexes = Arrays.copyOf(outIndexes, length);
+			branchIDs = Arrays.copyOf(branchIDs, length);
+		}
+
+		ins[branchCount] = in;
+		inIndexes[branchCount] = indexIn;
+		outs[branchCount] = out;
+		outIndexes[branchCount] = indexOut;
+		branchIDs[branchCount] = nextID(BRANCH);
+		++branchCount;
+		return this;
+	}
+
+	/**
+	 * Returns the Command that creates the circuit in the {@code Editor}. The
+	 * Command doesn't have any {@code Requirements} and is undone as a whole. This
+	 * builder can't be used after that.
+	 *
+	 * @param description the description of the Command
+	 *
+	 * @return the Command
+	 */
+	public Command build(String description) {
+		checkNotBuilt();
+		built = true;
+		return new CreateCircuitCommand(context, components, Arrays.copyOf(ins, branchCount),
+		        Arrays.copyOf(inIndexes, branchCount), Arrays.copyOf(outs, branchCount),
+		        Arrays.copyOf(outIndexes, branchCount), Arrays.copyOf(branchIDs, branchCount),
+		        description);
+	}
+
+	private Component add(Component component, ComponentType type, String id) {
+		checkNotBuilt();
+
+		if (id == null)
+			id = nextID(type);
+		else if (!ids.add(id))
+			throw new IllegalArgumentException(
+			        String.format("Component with ID %s already exists", id)); //$NON-NLS-1$
+
+		component.setID(id);
+		components.add(component);
+		return component;
+	}
+
+	private String nextID(ComponentType type) {
+		// skip the generated IDs that are in use
+		String id;
+		do
+			id = context.getNextID(type);
+		while (!ids.add(id));
+		return id;
+	}
+
+	private void checkNotBuilt() {
+		if (built)
+			throw new IllegalStateException("The circuit has already been built"); //$NON-NLS-1$
+	}
+}
@@ -1,20 +1,20 @@
 package command;
 
 import java.awt.Frame;
-import java.io.IOException;
-import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 import application.editor.Editor;
 import application.editor.Undoable;
 import component.ComponentType;
 import component.components.Component;
-import component.components.ComponentFactory;
 import localisation.Languages;
 import requirement.requirements.AbstractRequirement;
 import requirement.util.HasRequirements;
 import requirement.util.Requirements;
+import simulation.NetlistGenerator;
 
 /**
  * An implementation of the {@link Undoable} interface, specific to this
@@ -85,6 +85,59 @@ public abstract class Command implements HasRequirements, Undoable, Serializable
 		return new CreateGateCommand(null, commands, description);
 	}
 
+	/**
+	 * Creates a Command that creates a composite {@code Gate} whose circuit is
+	 * generated by a {@code NetlistGenerator}, with the size the user specifies.
+	 *
+	 * @param generator the generator of the circuit
+	 *
+	 * @return the Command
+	 *
+	 * @see NetlistGenerator
+	 */
+	public static Command create(NetlistGenerator generator) {
+		return new CreateGeneratedGateCommand(null, generator);
+	}
+
+	/**
+	 * Returns Commands equal to some Commands in which the Gates that have equal
+	 * definitions share a single one, including the Gates nested in the
+	 * definitions of other Gates, so that each definition is written once when
+	 * the Commands are serialised. The Commands themselves are not altered; the
+	 * Commands that create Gates are copied when their definition is replaced.
+	 *
+	 * @param commands the Commands
+	 *
+	 * @return the Commands with shared definitions, or {@code commands} if no
+	 *         definition was replaced
+	 *
+	 * @see #create(List, String)
+	 */
+	public static List<Command> shareDefinitions(List<Command> commands) {
+		return new DefinitionTable().share(commands);
+	}
+
+	/**
+	 * Returns the shortest sequence of Commands that creates the same circuit as
+	 * some executed Commands. The Commands that create {@code Components} which
+	 * are later deleted are left out together with the Commands that delete them,
+	 * and so are the Commands of Branches that are replaced by other Branches, for
+	 * example existing connection A->C that is deleted by new connection B->C.
+	 * The definitions of composite {@code Gates} are compacted as well.
+	 * <p>
+	 * The Commands themselves aren't altered, those that change are copied.
+	 *
+	 * @param commands the Commands, which must be the whole history of a circuit
+	 *                 from an empty one, e.g. the past Commands of an Editor
+	 *
+	 * @return a new List with the Commands
+	 *
+	 * @see HistoryCompactor
+	 */
+	public static List<Command> compact(List<Command> commands) {
+		return new ArrayList<>(new HistoryCompactor().compact(commands));
+	}
+
 	/**
 	 * Creates a Command that deletes a {@code Component}.
 	 *
@@ -172,9 +225,29 @@ public abstract class Command implements HasRequirements, Undoable, Serializable
 		context = editor;
 	}
 
-	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
-		in.defaultReadObject();
-		ComponentFactory.restoreSerialisedComponent(associatedComponent);
+	/**
+	 * Adds the {@code Components} this executed Command has deleted to a Set,
+	 * including those that were deleted together with another Component.
+	 *
+	 * @param deleted the Set
+	 */
+	void deletes(Set<Component> deleted) {
+		// most Commands don't delete any Component
+	}
+
+	/**
+	 * Returns a Command that has the same effect as this executed Command, except
+	 * for the {@code Components} that are deleted later or by this Command.
+	 *
+	 * @param deleted the Components that are deleted
+	 *
+	 * @return this Command, a copy of it that leaves out the deleted Components or
+	 *         {@code null} if none of its Components remain
+	 *
+	 * @see #compact(List)
+	 */
+	Command compact(Set<Component> deleted) {
+		return deleted.contains(associatedComponent) ? null : this;
 	}
 
 	/**
@@ -0,0 +1,194 @@
+package command;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import application.editor.Editor;
+import component.components.Component;
+import component.components.ComponentFactory;
+import component.exceptions.MalformedBranchException;
+import myUtil.Utility;
+
+/**
+ * The Command returned by {@link CircuitBuilder#build(String)}. It adds every
+ * {@code Component} created by the builder to its {@code context} and connects
+ * them, and it is undone as a whole.
+ *
+ * @author Alex Mandelias
+ */
+class CreateCircuitCommand extends Command {
+
+	private static final long serialVersionUID = 1L;
+
+	private final List<Component> components; // in order of creation
+	private final String          description;
+
+	// the connections, which are only made the first time this Command is executed
+	private Component[] ins, outs;
+	private int[]       inIndexes, outIndexes;
+	private String[]    branchIDs;
+
+	/* Delete the Branches that may have been deleted when creating the Branches */
+	private final List<Command> deleteCommands;
+
+	private boolean destroyed;
+
+	/**
+	 * Creates the Command.
+	 *
+	 * @param editor      the {@code context} of this Command
+	 * @param components  the Components, except for Branches, in order of creation
+	 * @param ins         the input of each Branch
+	 * @param inIndexes   the index of the pin on the input of each Branch
+	 * @param outs        the output of each Branch
+	 * @param outIndexes  the index of the pin on the output of each Branch
+	 * @param branchIDs   the ID of each Branch
+	 * @param description the description of this Command
+	 */
+	CreateCircuitCommand(Editor editor, List<Component> components, Component[] ins,
+	        int[] inIndexes, Component[] outs, int[] outIndexes, String[] branchIDs,
+	        String description) {
+		super(editor);
+		this.components = new ArrayList<>(components.size() + ins.length);
+		this.components.addAll(components);
+		this.ins = ins;
+		this.inIndexes = inIndexes;
+		this.outs = outs;
+		this.outIndexes = outIndexes;
+		this.branchIDs = branchIDs;
+		this.description = description;
+		deleteCommands = new ArrayList<>();
+		constructRequirements();
+	}
+
+	/* Copies an executed Command, keeping only some of its Components */
+	private CreateCircuitCommand(CreateCircuitCommand other, List<Component> components) {
+		super(other.context);
+		this.components = components;
+		description = other.description;
+		deleteCommands = new ArrayList<>();
+		destroyed = other.destroyed;
+		constructRequirements();
+	}
+
+	@Override
+	public void constructRequirements() {
+		// the builder has already provided everything
+	}
+
+	@Override
+	public void adjustRequirements() {
+		// the builder has already provided everything
+	}
+
+	@Override
+	public void execute() throws MalformedBranchException {
+		if (destroyed) {
+			// when re-executed, simply restore the already created Components,
+			// connecting the Branches before their Graphics are created
+			for (final Component component : components) {
+				ComponentFactory.restoreDeletedComponent(component);
+				context.addComponent(component);
+			}
+			destroyed = false;
+		} else {
+			Utility.foreach(components, context::addComponent);
+
+			if (ins != null) {
+				final int created = components.size();
+				try {
+					for (int i = 0; i < ins.length; ++i) {
+						final Component branch = ComponentFactory.connectComponents(ins[i],
+						        inIndexes[i], outs[i], outIndexes[i]);
+						branch.setID(branchIDs[i]);
+						components.add(branch);
+						context.addComponent(branch);
+					}
+				} catch (final MalformedBranchException e) {
+					// leave the context as it was, with none of the Components of this Command
+					for (int i = components.size() - 1; i >= created; --i) {
+						final Component branch = components.remove(i);
+						if (!ComponentFactory.toRemove(branch))
+							ComponentFactory.destroyComponent(branch);
+						context.removeComponent(branch);
+					}
+					Utility.foreach(components, context::removeComponent);
+					Utility.foreach(context.getDeletedComponents(),
+					        ComponentFactory::restoreDeletedComponent);
+					throw e;
+				}
+
+				ins = outs = null;
+				inIndexes = outIndexes = null;
+				branchIDs = null;
+			}
+		}
+
+		// Branches created later may have deleted the Branches created earlier
+		for (int i = components.size() - 1; i >= 0; --i)
+			if (ComponentFactory.toRemove(components.get(i)))
+				context.removeComponent(components.remove(i));
+
+		// delete the Branches that were deleted when creating the Branches, for
+		// example existing connection A->C is deleted by new connection B->C
+		deleteCommands.clear();
+		final List<Component> deletedComps = context.getDeletedComponents();
+		Utility.foreach(deletedComps, component -> deleteCommands
+		        .add(DeleteCommand.deleted(context, deletedComps, component)));
+	}
+
+	@Override
+	public void unexecute() {
+		// each Branch is destroyed before the Components it connects
+		for (int i = components.size() - 1; i >= 0; --i) {
+			final Component component = components.get(i);
+			ComponentFactory.destroyComponent(component);
+			context.removeComponent(component);
+		}
+		destroyed = true;
+
+		// restore the previously deleted Branches
+		Utility.foreach(deleteCommands, Command::unexecute);
+		deleteCommands.clear();
+	}
+
+	@Override
+	void deletes(Set<Component> deleted) {
+		Utility.foreach(deleteCommands, command -> command.deletes(deleted));
+	}
+
+	@Override
+	Command compact(Set<Component> deleted) {
+		final List<Component> kept = new ArrayList<>(components.size());
+		for (final Component component : components)
+			if (!deleted.contains(component))
+				kept.add(component);
+
+		if (kept.isEmpty())
+			return null;
+
+		// the Branches this Command replaced are left out, so they mustn't be restored
+		if ((kept.size() == components.size()) && deleteCommands.isEmpty())
+			return this;
+
+		return new CreateCircuitCommand(this, kept);
+	}
+
+	@Override
+	public void context(Editor editor) {
+		super.context(editor);
+		Utility.foreach(deleteCommands, command -> command.context(editor));
+	}
+
+	@Override
+	public String description() {
+		return description;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s%ndescription: %s%ncomponents: %d%ndelete commands: %s", //$NON-NLS-1$
+		        super.toString(), description, components.size(), deleteCommands);
+	}
+}
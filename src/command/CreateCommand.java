@@ -4,6 +4,7 @@ import static component.ComponentType.BRANCH;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Function;
 
 import application.editor.Editor;
@@ -68,10 +69,12 @@ class CreateCommand extends Command {
 		case GATENOT:
 		case GATEOR:
 		case GATEXOR:
+		case DFLIPFLOP:
 			requirements.add(CommandStrings.IN_COUNT, StringType.POS_INTEGER);
 			break;
 		case INPUT_PIN:
 		case OUTPUT_PIN:
+		case CLOCK:
 		default:
 			break;
 		}
@@ -85,11 +88,11 @@ class CreateCommand extends Command {
 
 		// provide options
 		if (componentType == BRANCH) {
-			final List<Component> components = context.getComponents_();
+			final List<Component> components = context.getSortedComponents();
 			((ComponentRequirement) requirements.get(CommandStrings.IN_NAME))
-			        .setComponentOptions(new ArrayList<>(components));
+			        .setSortedComponentOptions(components);
 			((ComponentRequirement) requirements.get(CommandStrings.OUT_NAME))
-			        .setComponentOptions(new ArrayList<>(components));
+			        .setSortedComponentOptions(components);
 		}
 
 		// provide preset
@@ -99,9 +102,11 @@ class CreateCommand extends Command {
 	@Override
 	public void execute() throws MissingComponentException, MalformedBranchException {
 		if (associatedComponent != null) {
-			// when re-executed, simply restore the already created Component
-			context.addComponent(associatedComponent);
+			// when re-executed, simply restore the already created Component. It is
+			// restored before it is added, since a Branch must be connected before
+			// its Graphic, which a Component read from a file lacks, is created.
 			ComponentFactory.restoreDeletedComponent(associatedComponent);
+			context.addComponent(associatedComponent);
 		} else {
 
 			final Function<Object, Integer> toInt = (o -> Integer.parseInt(o.toString()));
@@ -113,6 +118,9 @@ class CreateCommand extends Command {
 			case OUTPUT_PIN:
 				associatedComponent = ComponentFactory.createOutputPin();
 				break;
+			case CLOCK:
+				associatedComponent = ComponentFactory.createClock();
+				break;
 			case BRANCH:
 
 				final Class<String> str = String.class;
@@ -131,6 +139,7 @@ class CreateCommand extends Command {
 			case GATEOR:
 			case GATENOT:
 			case GATEXOR:
+			case DFLIPFLOP:
 				final int inCount = requirements.getValue(CommandStrings.IN_COUNT, toInt);
 				associatedComponent = ComponentFactory.createPrimitiveGate(componentType, inCount);
 				break;
@@ -184,6 +193,31 @@ class CreateCommand extends Command {
 		context.removeComponent(associatedComponent);
 	}
 
+	@Override
+	void deletes(Set<Component> deleted) {
+		if (deleteCommand != null)
+			deleteCommand.deletes(deleted);
+	}
+
+	@Override
+	Command compact(Set<Component> deleted) {
+		final Command compacted = super.compact(deleted);
+		if ((compacted == null) || (deleteCommand == null))
+			return compacted;
+
+		// the Branch that this one replaced is left out, so it mustn't be restored
+		final CreateCommand copy = (CreateCommand) clone();
+		copy.deleteCommand = null;
+		return copy;
+	}
+
+	@Override
+	public void context(Editor editor) {
+		super.context(editor);
+		if (deleteCommand != null)
+			deleteCommand.context(editor);
+	}
+
 	@Override
 	public String description() {
 		return String.format("%s %s", CommandStrings.CREATE_STR, componentType.description()); //$NON-NLS-1$
@@ -3,12 +3,18 @@ package command;
 import java.util.ArrayList;
 import java.util.List;
 
+import application.StringConstants;
 import application.editor.Editor;
 import component.ComponentType;
 import component.components.Component;
 import component.components.ComponentFactory;
 import localisation.CommandStrings;
 import myUtil.Utility;
+import simulation.LogicMinimizer;
+import simulation.Netlist;
+import simulation.NetlistCompiler;
+import simulation.NetlistOptimizer;
+import simulation.NetlistSynthesizer;
 
 /**
  * The Command returned by {@link Command#create(List, String)}.
@@ -19,8 +25,8 @@ class CreateGateCommand extends CreateCommand {
 
 	private static final long serialVersionUID = 6L;
 
-	private final List<Command> commands;    // sequence of Commands to create the Gate
-	private final String        description; // displayed in the pop-up and in the Editor
+	private List<Command> commands;    // sequence of Commands to create the Gate
+	private final String  description; // displayed in the pop-up and in the Editor
 
 	/**
 	 * Creates the Command constructing its {@code Requirements}.
@@ -39,8 +45,8 @@ class CreateGateCommand extends CreateCommand {
 	public void execute() {
 		if (associatedComponent != null) {
 			// when re-executed, simply restore the already created Component
-			context.addComponent(associatedComponent);
 			ComponentFactory.restoreDeletedComponent(associatedComponent);
+			context.addComponent(associatedComponent);
 		} else {
 			// execute the sequence of commands to create the circuit in a temporary context
 			final Editor tempContext = new Editor(null, null);
@@ -75,14 +81,51 @@ class CreateGateCommand extends CreateCommand {
 			final Component[] inputPinArray  = inputPins.toArray(new Component[0]);
 			final Component[] outputPinArray = outputPins.toArray(new Component[0]);
 
-			// create the composite Gate and add it to the real context
-			associatedComponent = ComponentFactory.createGate(inputPinArray, outputPinArray,
-			        description);
+			// create the composite Gate from the optimised circuit, if it can be optimised
+			final Netlist netlist = NetlistCompiler.compile(tempContext.getComponents_());
+			if (NetlistOptimizer.optimizable(netlist) && (netlist.clockCount() == 0)) {
+				Netlist optimized = NetlistOptimizer.optimize(netlist);
+
+				// or from its minimised sum-of-products form, if that is smaller
+				if (StringConstants.MINIMIZE_GATES)
+					optimized = LogicMinimizer.resynthesize(optimized);
+
+				associatedComponent = NetlistSynthesizer.synthesizeGate(optimized, description);
+			} else
+				associatedComponent = ComponentFactory.createGate(inputPinArray, outputPinArray,
+				        description);
+
+			// add it to the real context
 			associatedComponent.setID(requirements.getValue(CommandStrings.NAME, String.class));
 			context.addComponent(associatedComponent);
 		}
 	}
 
+	/**
+	 * Returns the definition of the Gate, the Commands that create its circuit.
+	 *
+	 * @return the Commands
+	 */
+	List<Command> definition() {
+		return commands;
+	}
+
+	/**
+	 * Returns a copy of this Command that creates the Gate with an equal
+	 * definition.
+	 *
+	 * @param definition the Commands, which must create the same circuit
+	 *
+	 * @return the copy
+	 *
+	 * @see DefinitionTable
+	 */
+	CreateGateCommand defined(List<Command> definition) {
+		final CreateGateCommand copy = (CreateGateCommand) clone();
+		copy.commands = definition;
+		return copy;
+	}
+
 	@Override
 	public void unexecute() {
 		ComponentFactory.destroyComponent(associatedComponent);
@@ -0,0 +1,92 @@
+package command;
+
+import application.editor.Editor;
+import component.ComponentType;
+import component.components.ComponentFactory;
+import localisation.CommandStrings;
+import localisation.Languages;
+import requirement.requirements.StringType;
+import simulation.NetlistGenerator;
+import simulation.NetlistSynthesizer;
+
+/**
+ * The Command returned by {@link Command#create(NetlistGenerator)}.
+ *
+ * @author Alex Mandelias
+ */
+class CreateGeneratedGateCommand extends CreateCommand {
+
+	private static final long serialVersionUID = 1L;
+
+	private final NetlistGenerator generator;
+
+	/**
+	 * Creates the Command constructing its {@code Requirements}.
+	 *
+	 * @param editor    the {@code context} of this Command
+	 * @param generator the generator of the circuit of the Gate
+	 */
+	protected CreateGeneratedGateCommand(Editor editor, NetlistGenerator generator) {
+		super(editor, ComponentType.GATE);
+		this.generator = generator;
+	}
+
+	@Override
+	public void constructRequirements() {
+		requirements.add(CommandStrings.SIZE, StringType.POS_INTEGER);
+		super.constructRequirements();
+	}
+
+	@Override
+	public void execute() {
+		if (associatedComponent != null) {
+			// when re-executed, simply restore the already created Component
+			ComponentFactory.restoreDeletedComponent(associatedComponent);
+			context.addComponent(associatedComponent);
+		} else {
+			final int size = requirements.getValue(CommandStrings.SIZE,
+			        o -> Integer.parseInt(o.toString()));
+
+			// the Netlist is generated once per size and is synthesised for each Gate
+			associatedComponent = NetlistSynthesizer.synthesizeGate(generator.netlist(size),
+			        String.format(Languages.getString("CreateGeneratedGateCommand.0"), name(), //$NON-NLS-1$
+			                size));
+
+			associatedComponent.setID(requirements.getValue(CommandStrings.NAME, String.class));
+			context.addComponent(associatedComponent);
+		}
+	}
+
+	@Override
+	public void unexecute() {
+		ComponentFactory.destroyComponent(associatedComponent);
+		context.removeComponent(associatedComponent);
+	}
+
+	@Override
+	public String description() {
+		return String.format("%s %s", CommandStrings.CREATE_STR, name()); //$NON-NLS-1$
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s%ngenerator: %s", super.toString(), generator); //$NON-NLS-1$
+	}
+
+	private String name() {
+		switch (generator) {
+		case RIPPLE_ADDER:
+			return Languages.getString("CreateGeneratedGateCommand.1"); //$NON-NLS-1$
+		case LOOKAHEAD_ADDER:
+			return Languages.getString("CreateGeneratedGateCommand.2"); //$NON-NLS-1$
+		case MULTIPLEXER:
+			return Languages.getString("CreateGeneratedGateCommand.3"); //$NON-NLS-1$
+		case DECODER:
+			return Languages.getString("CreateGeneratedGateCommand.4"); //$NON-NLS-1$
+		case COMPARATOR:
+			return Languages.getString("CreateGeneratedGateCommand.5"); //$NON-NLS-1$
+		default:
+			return generator.toString();
+		}
+	}
+}
@@ -0,0 +1,112 @@
+package command;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A table of the definitions of composite {@code Gates}, that is of the
+ * Commands of {@link CreateGateCommand CreateGateCommands}, by the hash of
+ * their serialised form. Equal definitions are replaced by the one in the
+ * table, so that they share a single instance. The Commands and their
+ * definitions are never altered, instead copies are made where necessary.
+ * <p>
+ * Since an {@code ObjectOutputStream} writes each object once and refers to it
+ * by a handle every other time, a definition shared by every Gate that uses
+ * it, both directly and nested in other definitions, is stored once in a file
+ * and read once from it.
+ *
+ * @author Alex Mandelias
+ *
+ * @see Command#shareDefinitions(List)
+ */
+final class DefinitionTable {
+
+	private final Map<String, List<Command>> definitions;
+
+	// the definition of this table that replaces every definition visited
+	private final Map<List<Command>, List<Command>> interned;
+
+	/** Constructs an empty DefinitionTable */
+	DefinitionTable() {
+		definitions = new HashMap<>();
+		interned = new IdentityHashMap<>();
+	}
+
+	/**
+	 * Returns Commands equal to some Commands in which the definitions of the
+	 * Gates they create, and of those nested in them, are replaced with the equal
+	 * definitions of this table. A Command is copied only if its definition is
+	 * replaced and the List only if a Command is copied.
+	 *
+	 * @param commands the Commands
+	 *
+	 * @return the Commands with shared definitions, or {@code commands} if none
+	 *         was replaced
+	 */
+	List<Command> share(List<Command> commands) {
+		List<Command> shared = null;
+		for (int i = 0; i < commands.size(); ++i) {
+			final Command command = commands.get(i);
+			if (!(command instanceof CreateGateCommand))
+				continue;
+
+			final CreateGateCommand gate       = (CreateGateCommand) command;
+			final List<Command>     definition = intern(gate.definition());
+			if (definition != gate.definition()) {
+				if (shared == null)
+					shared = new ArrayList<>(commands);
+				shared.set(i, gate.defined(definition));
+			}
+		}
+
+		return shared == null ? commands : shared;
+	}
+
+	/* Returns the definition of this table equal to a definition */
+	private List<Command> intern(List<Command> definition) {
+		List<Command> result = interned.get(definition);
+		if (result == null) {
+			// the nested definitions first, so that equal ones are written the same way
+			final List<Command> nested = share(definition);
+			final List<Command> shared = definitions.putIfAbsent(DefinitionTable.hash(nested),
+			        nested);
+			result = shared == null ? nested : shared;
+			interned.put(definition, result);
+		}
+
+		return result;
+	}
+
+	private static String hash(List<Command> definition) {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+			// as a plain List, so that Lists of different classes are equal
+			oos.writeObject(new ArrayList<>(definition));
+		} catch (final IOException e) {
+			// a ByteArrayOutputStream doesn't throw and the definition was written before
+			throw new RuntimeException(e);
+		}
+
+		try {
+			return Base64.getEncoder().encodeToString(
+			        MessageDigest.getInstance("SHA-256").digest(bytes.toByteArray())); //$NON-NLS-1$
+		} catch (final NoSuchAlgorithmException e) {
+			// every implementation of the Java platform supports SHA-256
+			throw new RuntimeException(e);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return String.format("DefinitionTable of %d definitions", definitions.size()); //$NON-NLS-1$
+	}
+}
@@ -2,6 +2,7 @@ package command;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.Vector;
 
 import application.editor.Editor;
@@ -48,7 +49,7 @@ class DeleteCommand extends Command {
 	public void adjustRequirements() {
 		// provide options
 		ComponentRequirement nameReq = (ComponentRequirement) requirements.get(CommandStrings.NAME);
-		nameReq.setComponentOptions(context.getComponents_());
+		nameReq.setSortedComponentOptions(context.getSortedComponents());
 	}
 
 	@Override
@@ -63,22 +64,35 @@ class DeleteCommand extends Command {
 		final List<Component> deletedComps = context.getDeletedComponents();
 
 		Utility.foreach(deletedComps, component -> {
-			// component is already deleted the command isn't executed
-			// instead it is just set up so it can be undone successfully
-			final DeleteCommand deleteCommand = new DeleteCommand(context);
+			// store the command to be undone
+			deleteCommands.add(DeleteCommand.deleted(context, deletedComps, component));
+		});
+	}
 
-			ComponentRequirement nameReq = (ComponentRequirement) deleteCommand.requirements.get(CommandStrings.NAME);
-			nameReq.setComponentOptions(deletedComps);
+	/**
+	 * Creates a DeleteCommand for a {@code Component} that is already deleted and
+	 * removes the Component from the {@code context}. The DeleteCommand isn't
+	 * executed; instead it is just set up so it can be undone successfully.
+	 *
+	 * @param context      the {@code context} of the DeleteCommand
+	 * @param deletedComps the deleted Components of the context
+	 * @param component    the deleted Component
+	 *
+	 * @return the DeleteCommand
+	 */
+	static DeleteCommand deleted(Editor context, List<Component> deletedComps,
+	        Component component) {
+		final DeleteCommand deleteCommand = new DeleteCommand(context);
 
-			deleteCommand.requirements.fulfil(CommandStrings.NAME, component.getID());
-			deleteCommand.associatedComponent = component;
+		ComponentRequirement nameReq = (ComponentRequirement) deleteCommand.requirements.get(CommandStrings.NAME);
+		nameReq.setComponentOptions(deletedComps);
 
-			// store the command to be undone
-			deleteCommands.add(deleteCommand);
+		deleteCommand.requirements.fulfil(CommandStrings.NAME, component.getID());
+		deleteCommand.associatedComponent = component;
 
-			// remove the already deleted component
-			context.removeComponent(component);
-		});
+		// remove the already deleted component
+		context.removeComponent(component);
+		return deleteCommand;
 	}
 
 	@Override
@@ -89,6 +103,12 @@ class DeleteCommand extends Command {
 		deleteCommands.clear();
 	}
 
+	@Override
+	void deletes(Set<Component> deleted) {
+		deleted.add(associatedComponent);
+		Utility.foreach(deleteCommands, command -> command.deletes(deleted));
+	}
+
 	@Override
 	public void context(Editor editor) {
 		super.context(editor);
@@ -0,0 +1,86 @@
+package command;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import component.components.Component;
+
+/**
+ * Compacts the history of a circuit, that is a sequence of executed Commands,
+ * into the shortest sequence that creates the same circuit. Each Command is
+ * {@link Command#compact(Set) compacted} given every {@code Component} that the
+ * history {@link Command#deletes(Set) deletes}, so that the Commands whose
+ * Components are all deleted are left out, and the Commands that delete them
+ * are left out as well since their Components are never created.
+ * <p>
+ * The definitions of composite {@code Gates} are histories of their own and
+ * are compacted once, however many Gates use them, so that equal definitions
+ * are still shared afterwards.
+ *
+ * @author Alex Mandelias
+ *
+ * @see Command#compact(List)
+ */
+final class HistoryCompactor {
+
+	// the compacted definition of every definition visited
+	private final Map<List<Command>, List<Command>> definitions;
+
+	/** Constructs a HistoryCompactor */
+	HistoryCompactor() {
+		definitions = new IdentityHashMap<>();
+	}
+
+	/**
+	 * Compacts a sequence of executed Commands.
+	 *
+	 * @param commands the Commands, the whole history of a circuit
+	 *
+	 * @return the compacted Commands, or the same List if none was left out or
+	 *         changed
+	 */
+	List<Command> compact(List<Command> commands) {
+		final Set<Component> deleted = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (final Command command : commands)
+			command.deletes(deleted);
+
+		final List<Command> compacted = new ArrayList<>(commands.size());
+		boolean changed = false;
+
+		for (final Command command : commands) {
+			Command kept = command.compact(deleted);
+
+			if (kept instanceof CreateGateCommand) {
+				final List<Command> definition = ((CreateGateCommand) kept).definition();
+				final List<Command> newDefinition = define(definition);
+				if (newDefinition != definition)
+					kept = ((CreateGateCommand) kept).defined(newDefinition);
+			}
+
+			if (kept != null)
+				compacted.add(kept);
+			changed |= kept != command;
+		}
+
+		return changed ? compacted : commands;
+	}
+
+	/* Returns the compacted definition of a Gate */
+	private List<Command> define(List<Command> definition) {
+		List<Command> compacted = definitions.get(definition);
+		if (compacted == null) {
+			compacted = compact(definition);
+			definitions.put(definition, compacted);
+		}
+		return compacted;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("HistoryCompactor of %d definitions", definitions.size()); //$NON-NLS-1$
+	}
+}
@@ -1,7 +1,9 @@
 /**
  * Defines a hierarchy of {@link command.Command Commands} that encapsulate the
  * different commands that can be executed and un-executed in an {@code Editor},
- * regarding the creation and deletion of {@code Components}.
+ * regarding the creation and deletion of {@code Components}, as well as a
+ * {@link command.CircuitBuilder CircuitBuilder} that creates whole circuits
+ * programmatically.
  *
  * @author Alex Mandelias
  *
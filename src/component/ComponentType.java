@@ -19,6 +19,8 @@ import localisation.Languages;
  * <li>{@link #GATEAND OR Gate}</li>
  * <li>{@link #GATENOT NOT Gate}</li>
  * <li>{@link #GATENOT XOR Gate}</li>
+ * <li>{@link #DFLIPFLOP D Flip-Flop}</li>
+ * <li>{@link #CLOCK Clock}</li>
  * </ul>
  */
 public enum ComponentType {
@@ -83,7 +85,24 @@ public enum ComponentType {
 	 * XOR Gates are a Gates that compute a single function. Specifically, they map
 	 * the set of inputs to its logical `xor`.
 	 */
-	GATEXOR(Languages.getString("ComponentType.7")); //$NON-NLS-1$
+	GATEXOR(Languages.getString("ComponentType.7")), //$NON-NLS-1$
+
+	/**
+	 * D Flip-Flops are Gates that store their inputs. Specifically, they have any
+	 * number of data inputs followed by a single clock input and, on each rising
+	 * edge of the clock, every data input is matched to the output at the same
+	 * index. The outputs don't change at any other time. All Flip-Flops that
+	 * observe the same edge latch at the same moment.
+	 */
+	DFLIPFLOP(Languages.getString("ComponentType.8")), //$NON-NLS-1$
+
+	/**
+	 * Clocks are Components that behave like Input Pins whose state is altered by
+	 * a scheduler instead of the user. Specifically, an Application toggles all of
+	 * its Clocks together in order to advance the state of the Flip-Flops by one
+	 * cycle.
+	 */
+	CLOCK(Languages.getString("ComponentType.9")); //$NON-NLS-1$
 
 	private String desc;
 
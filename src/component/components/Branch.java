@@ -4,10 +4,6 @@ import static component.ComponentType.BRANCH;
 import static component.ComponentType.INPUT_PIN;
 import static component.ComponentType.OUTPUT_PIN;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-
 import component.ComponentType;
 import component.exceptions.InvalidIndexException;
 import component.exceptions.MalformedBranchException;
@@ -92,6 +88,16 @@ final class Branch extends Component {
 		return active;
 	}
 
+	/**
+	 * Returns the index of the pin on the {@code in} Component this Branch is
+	 * connected to.
+	 *
+	 * @return the index
+	 */
+	int inIndex() {
+		return indexIn;
+	}
+
 	/**
 	 * Informs its {@code in} and {@code out} Components that this Branch connects
 	 * to them. This method is called once during construction and can be called
@@ -129,18 +135,21 @@ final class Branch extends Component {
 	}
 
 	@Override
-	protected List<Component> getInputs() {
-		final List<Component> ls = new ArrayList<>();
-		ls.add(in);
-		return Collections.unmodifiableList(ls);
+	protected Component inputAt(int index) {
+		checkIndex(index, inCount());
+		return in;
+	}
+
+	@Override
+	protected int outputCount(int index) {
+		checkIndex(index, outCount());
+		return 1;
 	}
 
 	@Override
-	protected List<List<Component>> getOutputs() {
-		final List<List<Component>> ls  = new ArrayList<>();
-		final List<Component>       ls1 = new ArrayList<>();
-		ls1.add(out);
-		ls.add(Collections.unmodifiableList(ls1));
-		return Collections.unmodifiableList(ls);
+	protected Component outputAt(int index, int i) {
+		checkIndex(index, outCount());
+		checkIndex(i, 1);
+		return out;
 	}
 }
@@ -0,0 +1,28 @@
+package component.components;
+
+import component.ComponentType;
+
+/**
+ * Corresponds to the {@link ComponentType#CLOCK CLOCK} type.
+ * <p>
+ * A Clock behaves exactly like an {@link InputPin} whose state is altered by a
+ * scheduler instead of the user. The scheduler should use the
+ * {@link ComponentFactory#setClocks(Iterable, boolean)} method so that every
+ * Flip-Flop clocked by the same edge latches at the same moment.
+ *
+ * @author Alex Mandelias
+ */
+final class Clock extends InputPin {
+
+	private static final long serialVersionUID = 1L;
+
+	/** Constructs a Clock */
+	protected Clock() {
+		super();
+	}
+
+	@Override
+	public ComponentType type() {
+		return ComponentType.CLOCK;
+	}
+}
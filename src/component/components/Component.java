@@ -1,6 +1,12 @@
 package component.components;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -31,7 +37,7 @@ public abstract class Component implements Identifiable<String>, Serializable {
 
 	private static final long serialVersionUID = 6L;
 
-	// 4 private fields
+	// 5 private fields and 2 caches
 
 	/** ID for this Component */
 	private String componentID;
@@ -53,8 +59,22 @@ public abstract class Component implements Identifiable<String>, Serializable {
 	 */
 	protected boolean toBeRemoved;
 
-	/** {@code Graphic} for this Component, created lazily, on-demand */
-	private ComponentGraphic g;
+	/**
+	 * {@code Graphic} for this Component, created lazily, on-demand. It isn't
+	 * serialised, only its {@link #geometry} is.
+	 */
+	private transient ComponentGraphic g;
+
+	/**
+	 * The bounds of the Graphic when this Component was last serialised: its x and
+	 * y position, width and height, or {@code null} if it had no Graphic. A Graphic
+	 * created after the Component is deserialised is placed there.
+	 */
+	private int[] geometry;
+
+	/** Cached views of the connections, see {@link #connectionsChanged()} */
+	private transient List<Component>       inputs;
+	private transient List<List<Component>> outputs;
 
 	// 6 core methods
 
@@ -96,8 +116,13 @@ public abstract class Component implements Identifiable<String>, Serializable {
 	 * @return the ComponentGraphics object
 	 */
 	public final ComponentGraphic getGraphics() {
-		if (g == null)
+		if (g == null) {
 			g = ComponentGraphic.forComponent(this);
+			if (geometry != null) {
+				g.setLocation(geometry[0], geometry[1]);
+				g.setSize(geometry[2], geometry[3]);
+			}
+		}
 		return g;
 	}
 
@@ -216,7 +241,7 @@ public abstract class Component implements Identifiable<String>, Serializable {
 		        type().description()));
 	}
 
-	// 2 + 4 methods for destroying and restoring Components
+	// 2 + 2 methods for destroying and restoring Components
 
 	/**
 	 * Specifies what this Component should do when it is destroyed. Subclasses
@@ -247,34 +272,140 @@ public abstract class Component implements Identifiable<String>, Serializable {
 	/** Each Component specifies how it is restored after destruction */
 	protected abstract void restoreDeletedSelf();
 
-	/**
-	 * Restores the state of the Component after it was deserialised
-	 *
-	 * @implNote the {@code readObject(ObjectInputStream)} cannot be used since a
-	 *           Component must be fully read before its graphic can be restored.
-	 */
-	protected final void restoreSerialised() {
-		if (g != null)
-			g.restoreSerialised();
+	// 2 methods for serialisation
+
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		if (g != null) {
+			if (geometry == null)
+				geometry = new int[4];
+
+			geometry[0] = g.getX();
+			geometry[1] = g.getY();
+			geometry[2] = g.getWidth();
+			geometry[3] = g.getHeight();
+		}
+
+		out.defaultWriteObject();
+	}
+
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		final ObjectInputStream.GetField fields = in.readFields();
+		componentID = (String) fields.get("componentID", ""); //$NON-NLS-1$ //$NON-NLS-2$
+		hidden = fields.get("hidden", false); //$NON-NLS-1$
+		toBeRemoved = fields.get("toBeRemoved", false); //$NON-NLS-1$
+		geometry = (int[]) fields.get("geometry", null); //$NON-NLS-1$
+
+		// files written by earlier versions store the whole Graphic instead
+		final ObjectStreamClass stored = fields.getObjectStreamClass();
+		if (stored.getField("g") != null) { //$NON-NLS-1$
+			final ComponentGraphic old = (ComponentGraphic) fields.get("g", null); //$NON-NLS-1$
+			if (old != null)
+				geometry = new int[] { old.getX(), old.getY(), old.getWidth(), old.getHeight() };
+		}
 	}
 
-	// 4 methods to access specific parts and information of the Component
+	// 7 methods to access specific parts and information of the Component
 
 	/**
 	 * Returns an unmodifiable list with the inputs of this Component as specified
-	 * by {@link Collections#unmodifiableList(List)}
+	 * by {@link Collections#unmodifiableList(List)}. The list contains one element
+	 * for each input pin, which is {@code null} if nothing is connected to it,
+	 * therefore the list of an Output Pin without a Branch is {@code [null]} and
+	 * not empty. Use {@link #inputAt(int)} to skip the unconnected pins.
+	 * <p>
+	 * The list is cached and is only rebuilt after the connections of this
+	 * Component change, therefore repeated calls don't allocate.
 	 *
 	 * @return the List
+	 *
+	 * @see #connectionsChanged()
 	 */
-	protected abstract List<Component> getInputs();
+	protected final List<Component> getInputs() {
+		if (inputs == null) {
+			final Component[] arr = new Component[inCount()];
+			for (int i = 0; i < arr.length; ++i)
+				arr[i] = inputAt(i);
+
+			inputs = Collections.unmodifiableList(Arrays.asList(arr));
+		}
+
+		return inputs;
+	}
 
 	/**
 	 * Returns an unmodifiable list with a list of outputs of this Component as
-	 * specified by {@link Collections#unmodifiableList(List)}
+	 * specified by {@link Collections#unmodifiableList(List)}. The list contains one
+	 * list for each output pin with the Components connected to it.
+	 * <p>
+	 * The list is cached and is only rebuilt after the connections of this
+	 * Component change, therefore repeated calls don't allocate.
 	 *
 	 * @return the List
+	 *
+	 * @see #connectionsChanged()
+	 */
+	protected final List<List<Component>> getOutputs() {
+		if (outputs == null) {
+			final List<List<Component>> ls = new ArrayList<>(outCount());
+			for (int i = 0, count = outCount(); i < count; ++i) {
+				final Component[] arr = new Component[outputCount(i)];
+				for (int j = 0; j < arr.length; ++j)
+					arr[j] = outputAt(i, j);
+
+				ls.add(Collections.unmodifiableList(Arrays.asList(arr)));
+			}
+
+			outputs = Collections.unmodifiableList(ls);
+		}
+
+		return outputs;
+	}
+
+	/**
+	 * Returns the Component connected to the input pin at the {@code index} or
+	 * {@code null} if nothing is connected to it. Unlike {@link #getInputs()} this
+	 * method never allocates. Components without input pins, such as Input Pins,
+	 * have nothing connected to any index.
+	 *
+	 * @param index the Component's input pin index
+	 *
+	 * @return the Component connected to that pin
+	 */
+	protected abstract Component inputAt(int index);
+
+	/**
+	 * Returns the number of Components connected to the output pin at the
+	 * {@code index}, the fan-out of that pin. Unlike {@link #getOutputs()} this
+	 * method never allocates. Components without output pins, such as Output
+	 * Pins, have nothing connected to any index.
+	 *
+	 * @param index the Component's output pin index
+	 *
+	 * @return the number of Components connected to that pin
+	 */
+	protected abstract int outputCount(int index);
+
+	/**
+	 * Returns the {@code i-th} Component connected to the output pin at the
+	 * {@code index}. Unlike {@link #getOutputs()} this method never allocates.
+	 *
+	 * @param index the Component's output pin index
+	 * @param i     the position of the Component among those connected to the pin,
+	 *              between {@code 0} and {@code outputCount(index) - 1}
+	 *
+	 * @return the Component connected to that pin
+	 */
+	protected abstract Component outputAt(int index, int i);
+
+	/**
+	 * Invalidates the cached lists returned by {@link #getInputs()} and
+	 * {@link #getOutputs()}. Subclasses must call this method every time a
+	 * Component is connected to or disconnected from this Component.
 	 */
-	protected abstract List<List<Component>> getOutputs();
+	protected final void connectionsChanged() {
+		inputs = null;
+		outputs = null;
+	}
 
 	/**
 	 * Returns the number of available inputs of this Component
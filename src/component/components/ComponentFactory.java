@@ -1,8 +1,12 @@
 package component.components;
 
+import static component.ComponentType.CLOCK;
+import static component.ComponentType.DFLIPFLOP;
 import static component.ComponentType.INPUT_PIN;
 import static component.ComponentType.OUTPUT_PIN;
 
+import java.util.Map;
+
 import component.ComponentType;
 import component.exceptions.InvalidComponentException;
 import component.exceptions.MalformedBranchException;
@@ -21,6 +25,7 @@ import myUtil.Utility;
  * <li>{@code Gate}: map a set of InputPins to a set of OutputPins</li>
  * <li>{@code PrimitiveGate}: built-in {@code Gate} with predefined
  * behaviour</li>
+ * <li>{@code Clock}: get a clock signal from a scheduler</li>
  * </ul>
  * A more detailed list of them and their properties can be found in the
  * {@link ComponentType} enum.
@@ -60,6 +65,17 @@ public final class ComponentFactory {
 		return new OutputPin();
 	}
 
+	/**
+	 * Creates a {@code Clock}.
+	 *
+	 * @return the Clock
+	 *
+	 * @see ComponentType#CLOCK
+	 */
+	public static Component createClock() {
+		return new Clock();
+	}
+
 	/**
 	 * Connects two {@code Component}s by creating a {@code Branch} between them at
 	 * the specified {@code indexes}.
@@ -86,7 +102,8 @@ public final class ComponentFactory {
 	 * number of inputs.
 	 *
 	 * @param type    the type of the Primitive Gate
-	 * @param inCount the number of inputs
+	 * @param inCount the number of inputs (for D Flip-Flops the number of data
+	 *                inputs, not counting the clock input)
 	 *
 	 * @return the Primitive Gate
 	 *
@@ -94,6 +111,7 @@ public final class ComponentFactory {
 	 * @see ComponentType#GATEOR
 	 * @see ComponentType#GATENOT
 	 * @see ComponentType#GATEXOR
+	 * @see ComponentType#DFLIPFLOP
 	 */
 	public static Component createPrimitiveGate(ComponentType type, int inCount) {
 		switch (type) {
@@ -105,6 +123,8 @@ public final class ComponentFactory {
 			return new GateNOT(inCount);
 		case GATEXOR:
 			return new GateXOR(inCount);
+		case DFLIPFLOP:
+			return new DFlipFlop(inCount);
 		default:
 			throw new RuntimeException(
 			        String.format("Type %s doesn't correspond to Primitive Gate", type)); //$NON-NLS-1$
@@ -179,7 +199,35 @@ public final class ComponentFactory {
 	public static void setActive(Component inputPin, boolean active) {
 		ComponentFactory.checkType(inputPin, INPUT_PIN);
 
-		((InputPin) inputPin).setActive(active);
+		PendingLatches.propagate(() -> ((InputPin) inputPin).setActive(active));
+	}
+
+	/**
+	 * Returns the state of the {@code InputPin}.
+	 *
+	 * @param inputPin the InputPin
+	 *
+	 * @return {@code true} or {@code false}, active or inactive
+	 */
+	public static boolean getInputActive(Component inputPin) {
+		ComponentFactory.checkType(inputPin, INPUT_PIN);
+
+		return inputPin.getActiveOut(0);
+	}
+
+	/**
+	 * Sets the state of many {@code Clocks} as Active or Inactive at the same time.
+	 * Every Flip-Flop that observes a rising edge of any of the Clocks latches
+	 * after all of the Clocks have been set.
+	 *
+	 * @param clocks the Clocks
+	 * @param active {@code true} or {@code false} active or inactive
+	 */
+	public static void setClocks(Iterable<Component> clocks, boolean active) {
+		Utility.foreach(clocks, clock -> ComponentFactory.checkType(clock, CLOCK));
+
+		PendingLatches.propagate(() -> Utility.foreach(clocks,
+		        clock -> ((Clock) clock).setActive(active)));
 	}
 
 	/**
@@ -196,23 +244,41 @@ public final class ComponentFactory {
 	}
 
 	/**
-	 * Restores the state of a destroyed {@code Component} so that it can function.
+	 * Returns the value a {@code D Flip-Flop} stores at an output pin.
 	 *
-	 * @param component the Component
+	 * @param flipFlop the D Flip-Flop
+	 * @param index    the index of the output pin
+	 *
+	 * @return {@code true} or {@code false}, active or inactive
 	 */
-	public static void restoreDeletedComponent(Component component) {
-		component.restoreDeleted();
+	public static boolean getStored(Component flipFlop, int index) {
+		ComponentFactory.checkType(flipFlop, DFLIPFLOP);
+
+		return flipFlop.getActiveOut(index);
 	}
 
 	/**
-	 * Restores the state of a serialised {@code Component} so that it can function.
+	 * Stores values in many {@code D Flip-Flops} at the same time, for example
+	 * values that were computed by a simulator. The values are propagated without
+	 * latching any Flip-Flop, since the stored values already are the result of
+	 * the latches.
 	 *
-	 * @param component the Component
+	 * @param values the values of each D Flip-Flop, one for each output pin
+	 */
+	public static void setStored(Map<Component, boolean[]> values) {
+		values.keySet().forEach(flipFlop -> ComponentFactory.checkType(flipFlop, DFLIPFLOP));
+
+		PendingLatches.suppress(() -> values.forEach(
+		        (flipFlop, stored) -> ((DFlipFlop) flipFlop).store(stored)));
+	}
+
+	/**
+	 * Restores the state of a destroyed {@code Component} so that it can function.
 	 *
-	 * @implNote {@link Component#restoreSerialised()}
+	 * @param component the Component
 	 */
-	public static void restoreSerialisedComponent(Component component) {
-		component.restoreSerialised();
+	public static void restoreDeletedComponent(Component component) {
+		component.restoreDeleted();
 	}
 
 	/**
@@ -0,0 +1,72 @@
+package component.components;
+
+import component.ComponentType;
+
+/**
+ * Corresponds to the {@link ComponentType#DFLIPFLOP DFLIPFLOP} type.
+ * <p>
+ * In this circuit there may be multiple data input pins, followed by a single
+ * clock input pin. On every rising edge of the clock, each data input is stored
+ * and output at the output pin at the same index. The outputs don't change at
+ * any other time, therefore a D Flip-Flop with many data pins is a register.
+ * <p>
+ * The values are not output immediately. Instead they are handed to the
+ * {@link PendingLatches} so that all Flip-Flops that observe the same edge
+ * sample their data inputs before any of them alters its outputs.
+ *
+ * @author Alex Mandelias
+ */
+final class DFlipFlop extends PrimitiveGate {
+
+	private static final long serialVersionUID = 1L;
+
+	/** The state of the clock the last time the output was calculated */
+	private boolean clock;
+
+	/**
+	 * Constructs the D Flip-Flop with the given number of data pins. The
+	 * Flip-Flop has an additional input pin for the clock.
+	 *
+	 * @param count the number of pairs of data pins
+	 */
+	protected DFlipFlop(int count) {
+		super(count + 1, count);
+		clock = false;
+	}
+
+	@Override
+	public ComponentType type() {
+		return ComponentType.DFLIPFLOP;
+	}
+
+	@Override
+	protected void calculateOutput() {
+		final int     clockIndex = inputPins.length - 1;
+		final boolean newClock   = checkBranch(clockIndex)
+		        && inputPins[clockIndex].getActiveOut(0);
+
+		// only the rising edge of the clock stores the data inputs
+		final boolean risingEdge = newClock && !clock;
+
+		// update the clock first, since latching may cause this method to be called again
+		clock = newClock;
+
+		if (risingEdge) {
+			final boolean[] values = new boolean[outputPins.length];
+			for (int i = 0; i < values.length; ++i)
+				values[i] = inputPins[i].getActiveOut(0);
+
+			PendingLatches.latch(this, values);
+		}
+	}
+
+	/**
+	 * Outputs the values that were stored on a rising edge of the clock.
+	 *
+	 * @param values the values, one for each output pin
+	 */
+	void store(boolean[] values) {
+		for (int i = 0; i < values.length; ++i)
+			outputPins[i].wake_up(values[i]);
+	}
+}
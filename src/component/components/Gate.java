@@ -2,7 +2,6 @@ package component.components;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 
 import component.ComponentType;
@@ -167,6 +166,7 @@ class Gate extends Component {
 		}
 
 		inputBranches[index] = b;
+		connectionsChanged();
 	}
 
 	@Override
@@ -174,6 +174,7 @@ class Gate extends Component {
 		checkIndex(index, outCount());
 		checkChangeable();
 		outputBranches.get(index).add(b);
+		connectionsChanged();
 	}
 
 	@Override
@@ -181,9 +182,10 @@ class Gate extends Component {
 		checkIndex(index, inCount());
 		checkChangeable();
 
-		if (inputBranches[index] == b)
+		if (inputBranches[index] == b) {
 			inputBranches[index] = null;
-		else {
+			connectionsChanged();
+		} else {
 			// same as OutputPin.removeIn(Branch, int)
 		}
 	}
@@ -194,6 +196,8 @@ class Gate extends Component {
 		checkChangeable();
 		if (!outputBranches.get(index).remove(b))
 			throw new ComponentNotFoundException(b, this);
+
+		connectionsChanged();
 	}
 
 	@Override
@@ -205,12 +209,15 @@ class Gate extends Component {
 		Utility.foreach(ls, Branch::destroy);
 
 		outputBranches.clear();
+		connectionsChanged();
 	}
 
 	@Override
 	protected final void restoreDeletedSelf() {
 		for (int i = 0, count = outputPins.length; i < count; ++i)
 			outputBranches.add(new ArrayList<>(1));
+
+		connectionsChanged();
 	}
 
 	/**
@@ -236,14 +243,22 @@ class Gate extends Component {
 	}
 
 	@Override
-	protected final List<Component> getInputs() {
-		return Collections.unmodifiableList(Arrays.asList(inputBranches));
+	protected final Component inputAt(int index) {
+		checkIndex(index, inCount());
+		return inputBranches[index];
 	}
 
 	@Override
-	protected final List<List<Component>> getOutputs() {
-		final List<List<Component>> ls = new ArrayList<>();
-		Utility.foreach(outputBranches, v -> ls.add(Collections.unmodifiableList(v)));
-		return Collections.unmodifiableList(ls);
+	protected final int outputCount(int index) {
+		checkIndex(index, outCount());
+
+		// a destroyed Gate has no outgoing Branches until it is restored
+		return index < outputBranches.size() ? outputBranches.get(index).size() : 0;
+	}
+
+	@Override
+	protected final Component outputAt(int index, int i) {
+		checkIndex(index, outCount());
+		return outputBranches.get(index).get(i);
 	}
 }
@@ -53,7 +53,7 @@ public final class GraphicHook {
 	 * @see Component#wake_up(boolean)
 	 */
 	public static void wake_up(Component component, boolean newActive) {
-		component.wake_up(newActive);
+		PendingLatches.propagate(() -> component.wake_up(newActive));
 	}
 
 	/**
@@ -89,7 +89,8 @@ public final class GraphicHook {
 	 *
 	 * @param component the Component
 	 *
-	 * @return the Component's inputs
+	 * @return the Component's inputs, one for each input pin, which is
+	 *         {@code null} if nothing is connected to it
 	 *
 	 * @see Component#getInputs()
 	 */
@@ -110,6 +111,51 @@ public final class GraphicHook {
 		return component.getOutputs();
 	}
 
+	/**
+	 * Delegate method.
+	 *
+	 * @param component the Component
+	 * @param index     the index of the pin on the Component
+	 *
+	 * @return the Component connected to the Component's input pin at the index
+	 *
+	 * @see Component#inputAt(int)
+	 */
+	public static Component inputAt(Component component, int index) {
+		return component.inputAt(index);
+	}
+
+	/**
+	 * Delegate method.
+	 *
+	 * @param component the Component
+	 * @param index     the index of the pin on the Component
+	 *
+	 * @return the number of Components connected to the Component's output pin at
+	 *         the index
+	 *
+	 * @see Component#outputCount(int)
+	 */
+	public static int outputCount(Component component, int index) {
+		return component.outputCount(index);
+	}
+
+	/**
+	 * Delegate method.
+	 *
+	 * @param component the Component
+	 * @param index     the index of the pin on the Component
+	 * @param i         the position of the connected Component on that pin
+	 *
+	 * @return the {@code i-th} Component connected to the Component's output pin
+	 *         at the index
+	 *
+	 * @see Component#outputAt(int, int)
+	 */
+	public static Component outputAt(Component component, int index, int i) {
+		return component.outputAt(index, i);
+	}
+
 	/**
 	 * Delegate method.
 	 *
@@ -1,7 +1,5 @@
 package component.components;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Vector;
 
@@ -15,7 +13,7 @@ import myUtil.Utility;
  *
  * @author Alex Mandelias
  */
-final class InputPin extends Component {
+class InputPin extends Component {
 
 	private static final long serialVersionUID = 4L;
 
@@ -85,6 +83,7 @@ final class InputPin extends Component {
 		checkIndex(index, outCount());
 		checkChangeable();
 		outputBranches.add(b);
+		connectionsChanged();
 	}
 
 	@Override
@@ -93,6 +92,8 @@ final class InputPin extends Component {
 		checkChangeable();
 		if (!outputBranches.remove(b))
 			throw new ComponentNotFoundException(b, this);
+
+		connectionsChanged();
 	}
 
 	/**
@@ -109,20 +110,27 @@ final class InputPin extends Component {
 		final List<Branch> branchesToDestroy = new Vector<>(outputBranches);
 		Utility.foreach(branchesToDestroy, Branch::destroy);
 		outputBranches.clear();
+		connectionsChanged();
 	}
 
 	@Override
 	protected void restoreDeletedSelf() {}
 
 	@Override
-	protected List<Component> getInputs() {
-		return Collections.unmodifiableList(Collections.emptyList());
+	protected Component inputAt(int index) {
+		// an Input Pin has no input pins, so nothing is connected to them
+		return null;
+	}
+
+	@Override
+	protected int outputCount(int index) {
+		checkIndex(index, outCount());
+		return outputBranches.size();
 	}
 
 	@Override
-	protected List<List<Component>> getOutputs() {
-		final List<List<Component>> ls = new ArrayList<>();
-		ls.add(Collections.unmodifiableList(outputBranches));
-		return Collections.unmodifiableList(ls);
+	protected Component outputAt(int index, int i) {
+		checkIndex(index, outCount());
+		return outputBranches.get(i);
 	}
 }
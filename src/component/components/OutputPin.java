@@ -1,9 +1,5 @@
 package component.components;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-
 import component.ComponentType;
 import component.exceptions.MalformedGateException;
 
@@ -94,6 +90,7 @@ final class OutputPin extends Component {
 		}
 
 		inputBranch = b;
+		connectionsChanged();
 	}
 
 	@Override
@@ -103,6 +100,7 @@ final class OutputPin extends Component {
 
 		if ((inputBranch == b)) {
 			inputBranch = null;
+			connectionsChanged();
 		} else {
 			// throw new ComponentNotFoundException(b, this);
 
@@ -138,6 +136,7 @@ final class OutputPin extends Component {
 		if (inputBranch != null) {
 			inputBranch.destroy();
 			inputBranch = null;
+			connectionsChanged();
 		}
 	}
 
@@ -145,17 +144,19 @@ final class OutputPin extends Component {
 	protected void restoreDeletedSelf() {}
 
 	@Override
-	protected List<Component> getInputs() {
-		if (inputBranch == null)
-			return Collections.emptyList();
+	protected Component inputAt(int index) {
+		checkIndex(index, inCount());
+		return inputBranch;
+	}
 
-		List<Component> ls = new ArrayList<>();
-		ls.add(inputBranch);
-		return Collections.unmodifiableList(ls);
+	@Override
+	protected int outputCount(int index) {
+		// an Output Pin has no output pins, so nothing is connected to them
+		return 0;
 	}
 
 	@Override
-	protected List<List<Component>> getOutputs() {
-		return Collections.emptyList();
+	protected Component outputAt(int index, int i) {
+		return null;
 	}
 }
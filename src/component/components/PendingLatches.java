@@ -0,0 +1,125 @@
+package component.components;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Defers the latching of {@link DFlipFlop Flip-Flops} until a change of signal
+ * has been fully propagated. Since signals are propagated one Component at a
+ * time, a Flip-Flop that latched immediately could alter the data input of
+ * another Flip-Flop that observes the same clock edge before the second one has
+ * sampled it. Deferring the latches guarantees that all Flip-Flops clocked by
+ * the same edge latch at the same moment, as they would in hardware.
+ * <p>
+ * Every client-initiated change of signal should be wrapped in a call to
+ * {@link #propagate(Runnable)}. Latches requested outside of such a call are
+ * applied immediately.
+ * <p>
+ * Each thread has its own pending latches, so that independent circuits may be
+ * simulated concurrently.
+ *
+ * @author Alex Mandelias
+ */
+final class PendingLatches {
+
+	private static final ThreadLocal<PendingLatches> current = ThreadLocal
+	        .withInitial(PendingLatches::new);
+
+	private final List<DFlipFlop> flipFlops;
+	private final List<boolean[]> values;
+	private int                   depth;
+
+	private PendingLatches() {
+		flipFlops = new ArrayList<>();
+		values = new ArrayList<>();
+		depth = 0;
+	}
+
+	/**
+	 * Runs an {@code action} that changes the signal of some Components and then
+	 * latches, all at once, every Flip-Flop that observed a rising edge. Latching
+	 * may produce new edges (e.g. in ripple counters) which are latched, again all
+	 * at once, afterwards. Nested calls are latched by the outermost one.
+	 *
+	 * @param action the action that changes the signals
+	 */
+	static void propagate(Runnable action) {
+		final PendingLatches latches = PendingLatches.current.get();
+
+		if (latches.depth++ > 0) {
+			try {
+				action.run();
+			} finally {
+				latches.depth--;
+			}
+			return;
+		}
+
+		try {
+			action.run();
+			latches.flush();
+		} finally {
+			latches.flipFlops.clear();
+			latches.values.clear();
+			latches.depth--;
+		}
+	}
+
+	/**
+	 * Runs an {@code action} that changes the signal of some Components without
+	 * latching any Flip-Flop. This is used to restore a state that has already
+	 * been latched, during which the Flip-Flops may observe edges that didn't
+	 * happen.
+	 *
+	 * @param action the action that changes the signals
+	 *
+	 * @throws IllegalStateException if called during {@link #propagate(Runnable)}
+	 */
+	static void suppress(Runnable action) {
+		final PendingLatches latches = PendingLatches.current.get();
+
+		if (latches.depth > 0)
+			throw new IllegalStateException("Can't suppress latches during propagation"); //$NON-NLS-1$
+
+		latches.depth++;
+		try {
+			action.run();
+		} finally {
+			latches.flipFlops.clear();
+			latches.values.clear();
+			latches.depth--;
+		}
+	}
+
+	/**
+	 * Requests that a Flip-Flop outputs some values. If the request was made
+	 * during a call to {@link #propagate(Runnable)}, the values are output after
+	 * the signal has been fully propagated, otherwise immediately.
+	 *
+	 * @param flipFlop  the Flip-Flop
+	 * @param newValues the values it should output
+	 */
+	static void latch(DFlipFlop flipFlop, boolean[] newValues) {
+		final PendingLatches latches = PendingLatches.current.get();
+
+		if (latches.depth == 0) {
+			flipFlop.store(newValues);
+		} else {
+			latches.flipFlops.add(flipFlop);
+			latches.values.add(newValues);
+		}
+	}
+
+	private void flush() {
+		while (!flipFlops.isEmpty()) {
+			// the values output in this round may request more latches for the next one
+			final DFlipFlop[] roundFlipFlops = flipFlops.toArray(new DFlipFlop[0]);
+			final boolean[][] roundValues    = values.toArray(new boolean[0][]);
+			flipFlops.clear();
+			values.clear();
+
+			for (int i = 0; i < roundFlipFlops.length; ++i)
+				roundFlipFlops[i].store(roundValues[i]);
+		}
+	}
+}
@@ -0,0 +1,140 @@
+package component.components;
+
+import component.ComponentType;
+import component.exceptions.InvalidComponentException;
+
+/**
+ * Defines static methods to give to the {@link simulation} package access to
+ * the structure of a circuit of {@link Component Components}, so that it can be
+ * compiled into a {@link simulation.Netlist Netlist}. Because that information
+ * shouldn't be public and the simulation classes are in a different package, it
+ * is necessary for a class like this to exist.
+ * <p>
+ * <b>Note:</b> this class should only be used to read the structure of a
+ * circuit and nowhere else, since the data it exposes isn't meant to be visible
+ * outside of the {@code component.components} package.
+ *
+ * @author Alex Mandelias
+ *
+ * @see GraphicHook
+ */
+public final class SimulationHook {
+
+	/* Don't let anyone instantiate this class */
+	private SimulationHook() {}
+
+	/**
+	 * Delegate method.
+	 *
+	 * @param component the Component
+	 *
+	 * @return the number of input pins of the Component
+	 *
+	 * @see Component#inCount()
+	 */
+	public static int inCount(Component component) {
+		return component.inCount();
+	}
+
+	/**
+	 * Delegate method.
+	 *
+	 * @param component the Component
+	 *
+	 * @return the number of output pins of the Component
+	 *
+	 * @see Component#outCount()
+	 */
+	public static int outCount(Component component) {
+		return component.outCount();
+	}
+
+	/**
+	 * Delegate method.
+	 *
+	 * @param component the Component
+	 * @param index     the index of the pin on the Component
+	 *
+	 * @return the Branch connected to the Component's input pin at the index or
+	 *         {@code null} if nothing is connected to it
+	 *
+	 * @see Component#inputAt(int)
+	 */
+	public static Component inputAt(Component component, int index) {
+		return component.inputAt(index);
+	}
+
+	/**
+	 * Delegate method.
+	 *
+	 * @param component the Component
+	 *
+	 * @return the Component's hiddenness
+	 *
+	 * @see Component#hidden()
+	 */
+	public static boolean hidden(Component component) {
+		return component.hidden();
+	}
+
+	/**
+	 * Returns the Component at the input of a {@code Branch}.
+	 *
+	 * @param branch the Branch
+	 *
+	 * @return the Component from which the Branch carries a signal
+	 */
+	public static Component source(Component branch) {
+		return SimulationHook.asBranch(branch).inputAt(0);
+	}
+
+	/**
+	 * Returns the index of the pin on the Component at the input of a
+	 * {@code Branch}.
+	 *
+	 * @param branch the Branch
+	 *
+	 * @return the index of the pin from which the Branch carries a signal
+	 */
+	public static int sourceIndex(Component branch) {
+		return SimulationHook.asBranch(branch).inIndex();
+	}
+
+	/**
+	 * Returns one of the Input Pins inside a composite {@code Gate}.
+	 *
+	 * @param gate  the Gate
+	 * @param index the index of the Input Pin
+	 *
+	 * @return the inner Input Pin
+	 */
+	public static Component innerInputPin(Component gate, int index) {
+		return SimulationHook.asGate(gate).inputPins[index];
+	}
+
+	/**
+	 * Returns one of the Output Pins inside a composite {@code Gate}.
+	 *
+	 * @param gate  the Gate
+	 * @param index the index of the Output Pin
+	 *
+	 * @return the inner Output Pin
+	 */
+	public static Component innerOutputPin(Component gate, int index) {
+		return SimulationHook.asGate(gate).outputPins[index];
+	}
+
+	private static Branch asBranch(Component component) {
+		if (component.type() != ComponentType.BRANCH)
+			throw new InvalidComponentException(component, ComponentType.BRANCH);
+
+		return (Branch) component;
+	}
+
+	private static Gate asGate(Component component) {
+		if (component.type() != ComponentType.GATE)
+			throw new InvalidComponentException(component, ComponentType.GATE);
+
+		return (Gate) component;
+	}
+}
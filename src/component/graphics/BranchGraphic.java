@@ -22,6 +22,10 @@ final class BranchGraphic extends ComponentGraphic {
 	// -1 = draw bottom-left to top-right
 	private int direction;
 
+	// reused by updateOnMovement() so that moving a Component creates no garbage.
+	// they are created there since it is first called by the super constructor.
+	private Point p1, p2;
+
 	/**
 	 * Constructs the Graphics object.
 	 *
@@ -67,10 +71,15 @@ final class BranchGraphic extends ComponentGraphic {
 	protected void updateOnMovement() {
 		// from the new coordinates calculate the Branch's start point, width and height
 		// and also calculate its direction (as specified in its declaration).
-		final Component in  = GraphicHook.getInputs(component).get(0);
-		final Component out = GraphicHook.getOutputs(component).get(0).get(0);
-		final Point     p1  = in.getGraphics().getBranchInputCoords(component);
-		final Point     p2  = out.getGraphics().getBranchOutputCoords(component);
+		if (p1 == null) {
+			p1 = new Point();
+			p2 = new Point();
+		}
+
+		final Component in  = GraphicHook.inputAt(component, 0);
+		final Component out = GraphicHook.outputAt(component, 0, 0);
+		in.getGraphics().getBranchInputCoords(component, p1);
+		out.getGraphics().getBranchOutputCoords(component, p2);
 		direction = ((p2.x - p1.x) * (p2.y - p1.y)) > 0 ? 1 : -1;
 		// components with a dimension = 0 aren't drawn and text can't be drawn on a
 		// small space, so extra width/height is added here and removed it when drawing
@@ -0,0 +1,57 @@
+package component.graphics;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+
+import component.components.Component;
+import component.components.GraphicHook;
+
+/**
+ * Graphics for a {@link component.ComponentType#CLOCK CLOCK}.
+ *
+ * @author Alex Mandelias
+ */
+final class ClockGraphic extends ComponentGraphic {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Constructs the Graphics object.
+	 *
+	 * @param component the related {@code Component}
+	 */
+	public ClockGraphic(Component component) {
+		super(component);
+	}
+
+	@Override
+	protected void attachListeners() {
+		attachListenersByFlags((byte) (ComponentGraphic.DRAG_KB_FOCUS | ComponentGraphic.ACTIVATE));
+	}
+
+	@Override
+	protected void draw(Graphics g) {
+		final int width = getWidth(), height = getHeight();
+
+		g.setColor(Color.LIGHT_GRAY);
+		g.fillRect(3, 3, width - 7, height - 16);
+
+		// draw one period of a square wave in the colour of the current state
+		g.setColor(GraphicHook.getActiveOut(component, 0) ? Color.GREEN : Color.RED);
+
+		final int left = 7, right = width - 8, top = 8, bottom = height - 19;
+		final int middle = (left + right) / 2;
+
+		g.drawLine(left, bottom, left, top);
+		g.drawLine(left, top, middle, top);
+		g.drawLine(middle, top, middle, bottom);
+		g.drawLine(middle, bottom, right, bottom);
+		g.drawLine(right, bottom, right, top);
+	}
+
+	@Override
+	protected BufferedImage getImage() {
+		return null;
+	}
+}
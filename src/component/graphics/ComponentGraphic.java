@@ -17,18 +17,19 @@ import java.awt.event.MouseMotionAdapter;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
-import java.util.List;
-import java.util.function.Function;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntUnaryOperator;
 
 import javax.imageio.ImageIO;
 import javax.swing.JComponent;
 
+import application.StringConstants;
 import component.ComponentType;
 import component.components.Component;
 import component.components.GraphicHook;
 import component.exceptions.ComponentNotFoundException;
 import component.exceptions.MissingSpriteException;
-import myUtil.Utility;
 
 /**
  * A Graphic object that is responsible for drawing a representation of a
@@ -47,6 +48,9 @@ public abstract class ComponentGraphic extends JComponent {
 
 	private static final long serialVersionUID = 2L;
 
+	/** The sprites that have been loaded, by the name of their file */
+	private static final Map<String, BufferedImage> sprites = new ConcurrentHashMap<>();
+
 	/** Size of the drawn image in pixels */
 	private static final int SIZE = 40;
 
@@ -74,6 +78,9 @@ public abstract class ComponentGraphic extends JComponent {
 	 */
 	private boolean focused = false;
 
+	/** Whether the Graphic is drawn with a highlighted border */
+	private boolean highlighted = false;
+
 	/**
 	 * Functions that together define the curve along which the pins are placed.
 	 * Subclasses may specify any number of them by overriding the corresponding
@@ -84,7 +91,7 @@ public abstract class ComponentGraphic extends JComponent {
 	 * @see #dxo()
 	 * @see #dyo()
 	 */
-	private transient Function<Integer, Integer> dxi, dyi, dxo, dyo;
+	private transient IntUnaryOperator dxi, dyi, dxo, dyo;
 
 	/**
 	 * Constructs a Graphic associated with the {@code component} while also setting
@@ -113,13 +120,19 @@ public abstract class ComponentGraphic extends JComponent {
 			return new GateORGraphic(component);
 		case GATEXOR:
 			return new GateXORGraphic(component);
+		case DFLIPFLOP:
+			return new DFlipFlopGraphic(component);
+		case CLOCK:
+			return new ClockGraphic(component);
 		default:
 			return null;
 		}
 	}
 
 	/**
-	 * Loads the contents of an image file into a BufferedImage and returns it.
+	 * Loads the contents of an image file into a BufferedImage and returns it. Each
+	 * file is only read the first time it is requested, so that the sprites are
+	 * loaded lazily, when the first Graphic that needs them is drawn.
 	 *
 	 * @param imageFileName the name of file with the sprite
 	 *
@@ -128,19 +141,43 @@ public abstract class ComponentGraphic extends JComponent {
 	 * @throws MissingSpriteException if the file couldn't be opened
 	 */
 	protected static final BufferedImage loadImage(String imageFileName) {
-		BufferedImage img  = null;
-		File          file = null;
-
-		try {
-			file = new File(imageFileName);
-			img = ImageIO.read(file);
-		} catch (final IOException e) {
-			throw new MissingSpriteException(file);
+		BufferedImage img = ComponentGraphic.sprites.get(imageFileName);
+		if (img == null) {
+			final File file = new File(imageFileName);
+			try {
+				img = ImageIO.read(file);
+			} catch (final IOException e) {
+				throw new MissingSpriteException(file);
+			}
+
+			if (img != null)
+				ComponentGraphic.sprites.putIfAbsent(imageFileName, img);
 		}
 
 		return img;
 	}
 
+	/**
+	 * Loads every sprite in the directory of the Component icons in advance, for
+	 * example in the background while the Application starts, so that drawing a
+	 * Graphic for the first time doesn't have to wait for it. Files that can't be
+	 * read are skipped; they are reported once a Graphic requests them.
+	 *
+	 * @see StringConstants#COMPONENT_ICON_PATH
+	 */
+	public static void loadSprites() {
+		final File[] files = new File(StringConstants.COMPONENT_ICON_PATH).listFiles();
+		if (files == null)
+			return;
+
+		for (final File file : files)
+			try {
+				ComponentGraphic.loadImage(file.getPath());
+			} catch (final MissingSpriteException e) {
+				// the Graphic that needs the sprite reports it
+			}
+	}
+
 	/**
 	 * Constructs the Graphics object with information about the {@link #component}
 	 * that it is drawing and sets the {@code Component's} Graphic to this Graphic.
@@ -194,7 +231,7 @@ public abstract class ComponentGraphic extends JComponent {
 		return component == other;
 	}
 
-	// 7 draw methods
+	// 8 draw methods
 
 	@Override
 	public final void paintComponent(Graphics g) {
@@ -206,6 +243,7 @@ public abstract class ComponentGraphic extends JComponent {
 		drawPins(g);
 		drawID(g);
 		drawDescription(g);
+		drawHighlight(g);
 	}
 
 	/**
@@ -227,17 +265,17 @@ public abstract class ComponentGraphic extends JComponent {
 	 *
 	 * @implNote the default implementation uses the 4 {@code Functions} to draw the
 	 *           correct number of pins to the locations specified by the
-	 *           {@code Functions}
+	 *           {@code Functions} without allocating any objects
 	 */
 	protected void drawPins(Graphics g) {
 		for (int i = 0, size = GraphicHook.inCount(component); i < size; ++i) {
 			g.setColor(GraphicHook.getActiveIn(component, i) ? Color.GREEN : Color.RED);
-			ComponentGraphic.drawPin(g, new Point(dxi.apply(i), dyi.apply(i)));
+			ComponentGraphic.drawPin(g, dxi.applyAsInt(i), dyi.applyAsInt(i));
 		}
 
 		for (int i = 0, size = GraphicHook.outCount(component); i < size; ++i) {
 			g.setColor(GraphicHook.getActiveOut(component, i) ? Color.GREEN : Color.RED);
-			ComponentGraphic.drawPin(g, new Point(dxo.apply(i), dyo.apply(i)));
+			ComponentGraphic.drawPin(g, dxo.applyAsInt(i), dyo.applyAsInt(i));
 		}
 	}
 
@@ -272,6 +310,23 @@ public abstract class ComponentGraphic extends JComponent {
 		g.drawString(GraphicHook.description(component), 7, (getHeight() / 2) + 5);
 	}
 
+	/**
+	 * Draws the border of the Graphic if it is highlighted.
+	 *
+	 * @param g the Graphics object necessary to draw
+	 *
+	 * @implNote the default implementation uses magenta colour to draw a
+	 *           rectangle around the edges of the graphic
+	 *
+	 * @see #setHighlighted(boolean)
+	 */
+	protected void drawHighlight(Graphics g) {
+		if (highlighted) {
+			g.setColor(Color.MAGENTA);
+			g.drawRect(0, 0, getWidth() - 1, getHeight() - 1);
+		}
+	}
+
 	/**
 	 * Returns the Image used to draw the Graphic or null if no Image is suitable
 	 * for drawing. In this case, the {@link #draw(Graphics)} method should also be
@@ -281,9 +336,9 @@ public abstract class ComponentGraphic extends JComponent {
 	 */
 	protected abstract BufferedImage getImage();
 
-	private static void drawPin(Graphics g, Point p) {
+	private static void drawPin(Graphics g, int x, int y) {
 		final int size = ComponentGraphic.PIN_SIZE;
-		g.fillRect(p.x - (size / 2), p.y - (size / 2), size, size);
+		g.fillRect(x - (size / 2), y - (size / 2), size, size);
 	}
 
 	// 5 methods for moving and resizing
@@ -292,10 +347,16 @@ public abstract class ComponentGraphic extends JComponent {
 	protected void updateOnMovement() {
 		// for Components that are moved by the user (all except for Branches),
 		// tell their inputs and outputs (the Branches connected to them) to update.
-		Utility.foreach(GraphicHook.getInputs(component),
-		        comp -> comp.getGraphics().updateOnMovement());
-		Utility.foreach(GraphicHook.getOutputs(component),
-		        vc -> Utility.foreach(vc, comp -> comp.getGraphics().updateOnMovement()));
+		// indexed access is used so that dragging a Component doesn't create garbage
+		for (int i = 0, count = GraphicHook.inCount(component); i < count; ++i) {
+			final Component in = GraphicHook.inputAt(component, i);
+			if (in != null)
+				in.getGraphics().updateOnMovement();
+		}
+
+		for (int i = 0, count = GraphicHook.outCount(component); i < count; ++i)
+			for (int j = 0, size = GraphicHook.outputCount(component, i); j < size; ++j)
+				GraphicHook.outputAt(component, i, j).getGraphics().updateOnMovement();
 	}
 
 	@Override
@@ -315,24 +376,27 @@ public abstract class ComponentGraphic extends JComponent {
 	/**
 	 * Returns information about the location of the imaginary pins on the
 	 * Component's output so the {@code branch} knows precisely where to connect.
+	 * The coordinates are stored in the {@code point} provided so that no objects
+	 * are allocated.
 	 *
 	 * @param branch the Branch (used for safety, only index is necessary)
+	 * @param point  the Point where the coordinates will be stored
 	 *
-	 * @return a Point with the coordinates of the Branch
+	 * @return the {@code point} with the coordinates of the Branch
 	 */
-	protected final Point getBranchInputCoords(Component branch) {
+	protected final Point getBranchInputCoords(Component branch, Point point) {
 		final ComponentType componentType = component.type();
 		if ((componentType == BRANCH) || (componentType == OUTPUT_PIN))
 			throw new UnsupportedOperationException(String.format(
 			        "Component of type %s don't support getBranchInputCoords(Branch, int)", //$NON-NLS-1$
 			        componentType.description()));
 
-		final List<List<Component>> outputs = GraphicHook.getOutputs(component);
-		for (final List<Component> ls : outputs)
-			if (ls.contains(branch)) {
-				final int index = outputs.indexOf(ls);
-				return new Point(getX() + dxo.apply(index), getY() + dyo.apply(index));
-			}
+		for (int i = 0, count = GraphicHook.outCount(component); i < count; ++i)
+			for (int j = 0, size = GraphicHook.outputCount(component, i); j < size; ++j)
+				if (GraphicHook.outputAt(component, i, j) == branch) {
+					point.setLocation(getX() + dxo.applyAsInt(i), getY() + dyo.applyAsInt(i));
+					return point;
+				}
 
 		throw new ComponentNotFoundException(branch, component);
 	}
@@ -340,21 +404,26 @@ public abstract class ComponentGraphic extends JComponent {
 	/**
 	 * Returns information about the location of the, imaginary, pins on the
 	 * Component's output so the {@code branch} knows precisely where to connect.
+	 * The coordinates are stored in the {@code point} provided so that no objects
+	 * are allocated.
 	 *
 	 * @param branch the Branch (used for safety, only index is necessary)
+	 * @param point  the Point where the coordinates will be stored
 	 *
-	 * @return a Point with the coordinates of the Branch
+	 * @return the {@code point} with the coordinates of the Branch
 	 */
-	protected final Point getBranchOutputCoords(Component branch) {
+	protected final Point getBranchOutputCoords(Component branch, Point point) {
 		final ComponentType componentType = component.type();
 		if ((componentType == BRANCH) || (componentType == INPUT_PIN))
 			throw new UnsupportedOperationException(String
 			        .format("Component of type %s don't support getBranchOutputCoords(Branch, int)", //$NON-NLS-1$
 			                componentType.description()));
 
-		final int index = GraphicHook.getInputs(component).indexOf(branch);
-		if (index != -1)
-			return new Point(getX() + dxi.apply(index), getY() + dyi.apply(index));
+		for (int i = 0, count = GraphicHook.inCount(component); i < count; ++i)
+			if (GraphicHook.inputAt(component, i) == branch) {
+				point.setLocation(getX() + dxi.applyAsInt(i), getY() + dyi.applyAsInt(i));
+				return point;
+			}
 
 		throw new ComponentNotFoundException(branch, component);
 	}
@@ -389,7 +458,21 @@ public abstract class ComponentGraphic extends JComponent {
 			addActivateListener();
 	}
 
-	// 2 methods for restoring Graphics
+	/**
+	 * Sets whether or not the Graphic is highlighted, for example because its
+	 * {@code Component} is on the critical path of the circuit.
+	 *
+	 * @param highlighted {@code true} to highlight the Graphic, {@code false}
+	 *                    otherwise
+	 */
+	public final void setHighlighted(boolean highlighted) {
+		if (this.highlighted != highlighted) {
+			this.highlighted = highlighted;
+			repaint();
+		}
+	}
+
+	// 1 method for restoring Graphics
 
 	/** Restores the state of the Graphic after it was destroyed */
 	public void restoreDeleted() {
@@ -398,14 +481,6 @@ public abstract class ComponentGraphic extends JComponent {
 		updateOnMovement();
 	}
 
-	/** Restores the state of the Graphic after it was serialised */
-	public void restoreSerialised() {
-		attachListeners();
-		focused = false;
-		requestFocus();
-		addFunctions();
-	}
-
 	@Override
 	public String toString() {
 		return String.format("Graphic for Component: %s", component); //$NON-NLS-1$
@@ -425,7 +500,7 @@ public abstract class ComponentGraphic extends JComponent {
 	 *
 	 * @return the Function
 	 */
-	protected Function<Integer, Integer> dxi() {
+	protected IntUnaryOperator dxi() {
 		return i -> ComponentGraphic.PIN_SIZE / 2;
 	}
 
@@ -434,7 +509,7 @@ public abstract class ComponentGraphic extends JComponent {
 	 *
 	 * @return the Function
 	 */
-	protected Function<Integer, Integer> dyi() {
+	protected IntUnaryOperator dyi() {
 		final int count = GraphicHook.inCount(component);
 		final int gap   = (getHeight() - (count * ComponentGraphic.PIN_SIZE)) / (count + 1);
 		return i -> (((i + 1) * (gap + ComponentGraphic.PIN_SIZE))
@@ -446,7 +521,7 @@ public abstract class ComponentGraphic extends JComponent {
 	 *
 	 * @return the Function
 	 */
-	protected Function<Integer, Integer> dxo() {
+	protected IntUnaryOperator dxo() {
 		return i -> (getWidth() - (ComponentGraphic.PIN_SIZE / 2)) - 1;
 	}
 
@@ -455,7 +530,7 @@ public abstract class ComponentGraphic extends JComponent {
 	 *
 	 * @return the Function
 	 */
-	protected Function<Integer, Integer> dyo() {
+	protected IntUnaryOperator dyo() {
 		final int count = GraphicHook.outCount(component);
 		final int gap   = (getHeight() - (count * ComponentGraphic.PIN_SIZE)) / (count + 1);
 		return i -> (((i + 1) * (gap + ComponentGraphic.PIN_SIZE))
@@ -0,0 +1,32 @@
+package component.graphics;
+
+import java.awt.Color;
+import java.awt.Graphics;
+
+import component.components.Component;
+
+/**
+ * Graphics for a {@link component.ComponentType#DFLIPFLOP DFLIPFLOP}.
+ *
+ * @author Alex Mandelias
+ */
+final class DFlipFlopGraphic extends GateGraphic {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Constructs the Graphics object.
+	 *
+	 * @param component the related {@code Component}
+	 */
+	public DFlipFlopGraphic(Component component) {
+		super(component);
+	}
+
+	@Override
+	protected void drawDescription(Graphics g) {
+		// the built-in description is empty, the last input pin is the clock
+		g.setColor(Color.BLACK);
+		g.drawString("DFF", 7, (getHeight() / 2) + 5); //$NON-NLS-1$
+	}
+}
@@ -17,12 +17,6 @@ final class GateANDGraphic extends GateGraphic {
 	private static final String sprite = StringConstants.COMPONENT_ICON_PATH
 	        + "gate_and.png"; //$NON-NLS-1$
 
-	private static final BufferedImage image;
-
-	static {
-		image = ComponentGraphic.loadImage(GateANDGraphic.sprite);
-	}
-
 	/**
 	 * Constructs the Graphics object.
 	 *
@@ -34,6 +28,6 @@ final class GateANDGraphic extends GateGraphic {
 
 	@Override
 	protected BufferedImage getImage() {
-		return GateANDGraphic.image;
+		return ComponentGraphic.loadImage(GateANDGraphic.sprite);
 	}
 }
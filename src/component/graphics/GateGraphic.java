@@ -17,12 +17,6 @@ class GateGraphic extends ComponentGraphic {
 	private static final String sprite = StringConstants.COMPONENT_ICON_PATH
 	        + "gate.png"; //$NON-NLS-1$
 
-	private static final BufferedImage image;
-
-	static {
-		image = ComponentGraphic.loadImage(GateGraphic.sprite);
-	}
-
 	/**
 	 * Constructs the Graphics object.
 	 *
@@ -35,7 +29,7 @@ class GateGraphic extends ComponentGraphic {
 	/** @implNote the default implementation returns a grey rectangle */
 	@Override
 	protected BufferedImage getImage() {
-		return GateGraphic.image;
+		return ComponentGraphic.loadImage(GateGraphic.sprite);
 	}
 
 	@Override
@@ -18,12 +18,6 @@ final class GateNOTGraphic extends GateGraphic {
 	private static final String sprite = StringConstants.COMPONENT_ICON_PATH
 	        + "gate_not.png"; //$NON-NLS-1$
 
-	private static final BufferedImage image;
-
-	static {
-		image = ComponentGraphic.loadImage(GateNOTGraphic.sprite);
-	}
-
 	/**
 	 * Constructs the Graphics object.
 	 *
@@ -39,6 +33,6 @@ final class GateNOTGraphic extends GateGraphic {
 		if (GraphicHook.inCount(component) > 1)
 			return super.getImage();
 
-		return GateNOTGraphic.image;
+		return ComponentGraphic.loadImage(GateNOTGraphic.sprite);
 	}
 }
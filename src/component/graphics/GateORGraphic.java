@@ -1,7 +1,7 @@
 package component.graphics;
 
 import java.awt.image.BufferedImage;
-import java.util.function.Function;
+import java.util.function.IntUnaryOperator;
 
 import application.StringConstants;
 import component.components.Component;
@@ -18,12 +18,6 @@ final class GateORGraphic extends GateGraphic {
 	private static final String sprite = StringConstants.COMPONENT_ICON_PATH
 	        + "gate_or.png"; //$NON-NLS-1$
 
-	private static final BufferedImage image;
-
-	static {
-		image = ComponentGraphic.loadImage(GateORGraphic.sprite);
-	}
-
 	/**
 	 * Constructs the Graphics object.
 	 *
@@ -35,11 +29,12 @@ final class GateORGraphic extends GateGraphic {
 
 	@Override
 	protected BufferedImage getImage() {
-		return GateORGraphic.image;
+		return ComponentGraphic.loadImage(GateORGraphic.sprite);
 	}
 
 	@Override
-	protected Function<Integer, Integer> dxi() {
-		return i -> (int) (0.55 * Math.cos(1.2 * Math.asin(1 - (dyi().apply(i) / 20.0))) * 20);
+	protected IntUnaryOperator dxi() {
+		final IntUnaryOperator dyi = dyi();
+		return i -> (int) (0.55 * Math.cos(1.2 * Math.asin(1 - (dyi.applyAsInt(i) / 20.0))) * 20);
 	}
 }
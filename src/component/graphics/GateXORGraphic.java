@@ -1,7 +1,7 @@
 package component.graphics;
 
 import java.awt.image.BufferedImage;
-import java.util.function.Function;
+import java.util.function.IntUnaryOperator;
 
 import application.StringConstants;
 import component.components.Component;
@@ -17,12 +17,6 @@ final class GateXORGraphic extends GateGraphic {
 
 	private static final String sprite = StringConstants.COMPONENT_ICON_PATH + "gate_xor.png"; //$NON-NLS-1$
 
-	private static final BufferedImage image;
-
-	static {
-		image = ComponentGraphic.loadImage(GateXORGraphic.sprite);
-	}
-
 	/**
 	 * Constructs the Graphics object.
 	 *
@@ -34,11 +28,12 @@ final class GateXORGraphic extends GateGraphic {
 
 	@Override
 	protected BufferedImage getImage() {
-		return GateXORGraphic.image;
+		return ComponentGraphic.loadImage(GateXORGraphic.sprite);
 	}
 
 	@Override
-	protected Function<Integer, Integer> dxi() {
-		return i -> (int) (0.55 * Math.cos(1.2 * Math.asin(1 - (dyi().apply(i) / 20.0))) * 20);
+	protected IntUnaryOperator dxi() {
+		final IntUnaryOperator dyi = dyi();
+		return i -> (int) (0.55 * Math.cos(1.2 * Math.asin(1 - (dyi.applyAsInt(i) / 20.0))) * 20);
 	}
 }
@@ -18,12 +18,8 @@ final class InputPinGraphic extends ComponentGraphic {
 	private static final String sprite = StringConstants.COMPONENT_ICON_PATH
 	        + "input_pin_{state}.png"; //$NON-NLS-1$
 
-	private static final BufferedImage image_on, image_off;
-
-	static {
-		image_on = ComponentGraphic.loadImage(InputPinGraphic.sprite.replace("{state}", "on")); //$NON-NLS-1$ //$NON-NLS-2$
-		image_off = ComponentGraphic.loadImage(InputPinGraphic.sprite.replace("{state}", "off")); //$NON-NLS-1$ //$NON-NLS-2$
-	}
+	private static final String sprite_on  = InputPinGraphic.sprite.replace("{state}", "on");  //$NON-NLS-1$ //$NON-NLS-2$
+	private static final String sprite_off = InputPinGraphic.sprite.replace("{state}", "off"); //$NON-NLS-1$ //$NON-NLS-2$
 
 	/**
 	 * Constructs the Graphics object.
@@ -36,8 +32,9 @@ final class InputPinGraphic extends ComponentGraphic {
 
 	@Override
 	protected BufferedImage getImage() {
-		return GraphicHook.getActiveOut(component, 0) ? InputPinGraphic.image_on
-		        : InputPinGraphic.image_off;
+		return GraphicHook.getActiveOut(component, 0)
+		        ? ComponentGraphic.loadImage(InputPinGraphic.sprite_on)
+		        : ComponentGraphic.loadImage(InputPinGraphic.sprite_off);
 	}
 
 	@Override
@@ -18,12 +18,8 @@ final class OutputPinGraphic extends ComponentGraphic {
 	private static final String sprite = StringConstants.COMPONENT_ICON_PATH
 	        + "output_pin_{state}.png"; //$NON-NLS-1$
 
-	private static final BufferedImage image_on, image_off;
-
-	static {
-		image_on = ComponentGraphic.loadImage(OutputPinGraphic.sprite.replace("{state}", "on")); //$NON-NLS-1$ //$NON-NLS-2$
-		image_off = ComponentGraphic.loadImage(OutputPinGraphic.sprite.replace("{state}", "off")); //$NON-NLS-1$ //$NON-NLS-2$
-	}
+	private static final String sprite_on  = OutputPinGraphic.sprite.replace("{state}", "on");  //$NON-NLS-1$ //$NON-NLS-2$
+	private static final String sprite_off = OutputPinGraphic.sprite.replace("{state}", "off"); //$NON-NLS-1$ //$NON-NLS-2$
 
 	/**
 	 * Constructs the Graphics object.
@@ -36,8 +32,9 @@ final class OutputPinGraphic extends ComponentGraphic {
 
 	@Override
 	protected BufferedImage getImage() {
-		return GraphicHook.getActiveIn(component, 0) ? OutputPinGraphic.image_on
-		        : OutputPinGraphic.image_off;
+		return GraphicHook.getActiveIn(component, 0)
+		        ? ComponentGraphic.loadImage(OutputPinGraphic.sprite_on)
+		        : ComponentGraphic.loadImage(OutputPinGraphic.sprite_off);
 	}
 
 	@Override
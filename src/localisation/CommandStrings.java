@@ -25,6 +25,9 @@ public final class CommandStrings {
 	/** Key of the {@code IN_COUNT} Requirement of a {@code Create Command} */
 	public static final String IN_COUNT = Languages.getString("CommandStrings.5"); //$NON-NLS-1$
 
+	/** Key of the {@code SIZE} Requirement of a {@code Create Command} of a generated Gate */
+	public static final String SIZE = Languages.getString("CommandStrings.8"); //$NON-NLS-1$
+
 	/** The literal word "{@code create}", toString of a {@code Create Command} */
 	public static final String CREATE_STR = Languages.getString("CommandStrings.6"); //$NON-NLS-1$
 
@@ -28,6 +28,21 @@ public final class EditorStrings {
 	/** A value of the {@code FILETYPE} Requirement of {@code Actions} */
 	public static final String NA = Languages.getString("EditorStrings.6"); //$NON-NLS-1$
 
+	/** Key of the {@code OTHER_CIRCUIT} Requirement of {@code Actions} */
+	public static final String OTHER_CIRCUIT = Languages.getString("EditorStrings.9"); //$NON-NLS-1$
+
+	/** Key of the {@code CYCLES} Requirement of {@code Actions} */
+	public static final String CYCLES = Languages.getString("EditorStrings.10"); //$NON-NLS-1$
+
+	/** Key of the {@code COMPRESSION} Requirement of {@code Actions} */
+	public static final String COMPRESSION = Languages.getString("EditorStrings.11"); //$NON-NLS-1$
+
+	/** A value of the {@code COMPRESSION} Requirement of {@code Actions} */
+	public static final String UNCOMPRESSED = Languages.getString("EditorStrings.12"); //$NON-NLS-1$
+
+	/** A value of the {@code COMPRESSION} Requirement of {@code Actions} */
+	public static final String SMALL = Languages.getString("EditorStrings.13"); //$NON-NLS-1$
+
 	/** Key of a {@code label} of the {@code Editor} */
 	public static final String COUNT = Languages.getString("EditorStrings.7"); //$NON-NLS-1$
 
@@ -42,21 +42,15 @@ public class Languages {
 
 	private static final Properties properties = new OrderedProperties();
 
-	private static final String  LANGUAGE_LITERAL = "Language"; //$NON-NLS-1$
-	private static final String  COUNTRY_LITERAL  = "Country";  //$NON-NLS-1$
-	private static final String  VARIANT_LITERAL  = "Variant";  //$NON-NLS-1$
-	private static final Pattern pattern;
+	private static final String LANGUAGE_LITERAL = "Language"; //$NON-NLS-1$
+	private static final String COUNTRY_LITERAL  = "Country";  //$NON-NLS-1$
+	private static final String VARIANT_LITERAL  = "Variant";  //$NON-NLS-1$
 
 	private static final String BUNDLE_NAME = "localisation.language"; //$NON-NLS-1$
 
 	private static final ResourceBundle RESOURCE_BUNDLE;
 
 	static {
-		final String regex = String.format(
-		        "^language(?:_(?<%s>[a-zA-Z]{2})(?:_(?<%s>[a-zA-Z]{2})(?:_(?<%s>[a-zA-Z]{2}))?)?)", //$NON-NLS-1$
-		        Languages.LANGUAGE_LITERAL, Languages.COUNTRY_LITERAL, Languages.VARIANT_LITERAL);
-		pattern = Pattern.compile(regex);
-
 		try (BufferedReader reader = new BufferedReader(new FileReader(Languages.FILE))) {
 			Languages.properties.load(reader);
 		} catch (final FileNotFoundException e) {
@@ -102,13 +96,19 @@ public class Languages {
 
 		final List<Locale> locales = new ArrayList<>();
 
+		// only needed here, so it isn't compiled when the Application starts
+		final String  regex   = String.format(
+		        "^language(?:_(?<%s>[a-zA-Z]{2})(?:_(?<%s>[a-zA-Z]{2})(?:_(?<%s>[a-zA-Z]{2}))?)?)", //$NON-NLS-1$
+		        Languages.LANGUAGE_LITERAL, Languages.COUNTRY_LITERAL, Languages.VARIANT_LITERAL);
+		final Pattern pattern = Pattern.compile(regex);
+
 		final File directory = new File(Languages.LANGUAGES_DIRECTORY);
 		Utility.foreach(directory.listFiles(), file -> {
 
 			final String fname = file.getName();
 
 			if (Languages.isLanguageFile(fname)) {
-				final Matcher m = Languages.pattern.matcher(fname);
+				final Matcher m = pattern.matcher(fname);
 				if (!m.find())
 					throw new RuntimeException(
 					        String.format("Invalid language file name: %s", fname)); //$NON-NLS-1$
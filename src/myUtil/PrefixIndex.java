@@ -0,0 +1,315 @@
+package myUtil;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * An index of items by the prefixes of their String keys, ignoring case. The
+ * items are kept in an array sorted by their keys, so that the items whose key
+ * starts with a prefix are a contiguous range of it, found with two binary
+ * searches.
+ * <p>
+ * Adding and removing items is cheap since they are only recorded; the array
+ * is brought up to date before it is next read, so that many changes, e.g. when
+ * a whole circuit is created, cost a single sort. For the same reason, an item
+ * may only be added once.
+ *
+ * @param <T> the type of the items
+ *
+ * @author Alex Mandelias
+ */
+public final class PrefixIndex<T> {
+
+	/* The sorted order: by folded key and then by key, so that it is total */
+	private static final Comparator<Entry> ORDER = Comparator.comparing((Entry e) -> e.folded)
+	        .thenComparing(e -> e.key);
+
+	private final Function<? super T, String> key;
+
+	private Entry[] entries;
+	private int     size;
+
+	// incremented whenever an item is added or removed
+	private int modifications;
+
+	// the size when the array was last brought up to date and the items removed since
+	private int          sorted;
+	private final Set<T> removed;
+
+	/**
+	 * Constructs an empty PrefixIndex. The key of an item mustn't change while it
+	 * is in the PrefixIndex.
+	 *
+	 * @param key the function that returns the key of an item
+	 */
+	public PrefixIndex(Function<? super T, String> key) {
+		this.key = key;
+		entries = new Entry[16];
+		size = 0;
+		modifications = 0;
+		sorted = 0;
+		removed = new HashSet<>();
+	}
+
+	/**
+	 * Constructs a PrefixIndex with some items.
+	 *
+	 * @param items the items
+	 * @param key   the function that returns the key of an item
+	 */
+	public PrefixIndex(Collection<? extends T> items, Function<? super T, String> key) {
+		this(key);
+		entries = new Entry[Math.max(16, items.size())];
+		Utility.foreach(items, this::add);
+	}
+
+	/**
+	 * Adds an item to this PrefixIndex.
+	 *
+	 * @param item the item
+	 */
+	public void add(T item) {
+		++modifications;
+
+		// an item removed since the last update is still in the array
+		if (removed.remove(item))
+			return;
+
+		if (size == entries.length)
+			entries = Arrays.copyOf(entries, 2 * size);
+
+		entries[size++] = new Entry(key.apply(item), item);
+	}
+
+	/**
+	 * Removes an item from this PrefixIndex.
+	 *
+	 * @param item the item, which must have been added
+	 */
+	public void remove(T item) {
+		++modifications;
+		removed.add(item);
+	}
+
+	/**
+	 * Returns the number of items in this PrefixIndex.
+	 *
+	 * @return the number of items
+	 */
+	public int size() {
+		update();
+		return size;
+	}
+
+	/**
+	 * Returns an item in the order of the keys.
+	 *
+	 * @param index the index of the item
+	 *
+	 * @return the item
+	 *
+	 * @throws IndexOutOfBoundsException if {@code index} isn't less than
+	 *                                   {@link #size()}
+	 */
+	@SuppressWarnings("unchecked")
+	public T get(int index) {
+		update();
+		if ((index < 0) || (index >= size))
+			throw new IndexOutOfBoundsException(String.valueOf(index));
+
+		return (T) entries[index].item;
+	}
+
+	/**
+	 * Returns the index of the first item whose key starts with a prefix, ignoring
+	 * case. If there is no such item, it is the index where it would be.
+	 *
+	 * @param prefix the prefix
+	 *
+	 * @return the index, between {@code 0} and {@link #size()}
+	 */
+	public int from(String prefix) {
+		update();
+		return PrefixIndex.from(size, i -> entries[i].folded, PrefixIndex.fold(prefix));
+	}
+
+	/**
+	 * Returns the index after the last item whose key starts with a prefix,
+	 * ignoring case. The items whose key starts with the prefix are those from
+	 * {@link #from(String) from(prefix)} up to but not including this index.
+	 *
+	 * @param prefix the prefix
+	 *
+	 * @return the index, between {@code from(prefix)} and {@link #size()}
+	 */
+	public int to(String prefix) {
+		update();
+		return PrefixIndex.to(size, i -> entries[i].folded, PrefixIndex.fold(prefix));
+	}
+
+	/**
+	 * Returns the index of the first item of a sorted List whose key starts with a
+	 * prefix, ignoring case, so that Lists that are already sorted, such as the
+	 * {@link #asList()} view, can be searched without being copied.
+	 *
+	 * @param <T>    the type of the items
+	 * @param items  the items, sorted by their keys ignoring case
+	 * @param key    the function that returns the key of an item
+	 * @param prefix the prefix
+	 *
+	 * @return the index, between {@code 0} and {@code items.size()}
+	 *
+	 * @see #from(String)
+	 */
+	public static <T> int from(List<T> items, Function<? super T, String> key, String prefix) {
+		return PrefixIndex.from(items.size(), i -> PrefixIndex.fold(key.apply(items.get(i))),
+		        PrefixIndex.fold(prefix));
+	}
+
+	/**
+	 * Returns the index after the last item of a sorted List whose key starts with
+	 * a prefix, ignoring case.
+	 *
+	 * @param <T>    the type of the items
+	 * @param items  the items, sorted by their keys ignoring case
+	 * @param key    the function that returns the key of an item
+	 * @param prefix the prefix
+	 *
+	 * @return the index, between {@code from(items, key, prefix)} and
+	 *         {@code items.size()}
+	 *
+	 * @see #to(String)
+	 */
+	public static <T> int to(List<T> items, Function<? super T, String> key, String prefix) {
+		return PrefixIndex.to(items.size(), i -> PrefixIndex.fold(key.apply(items.get(i))),
+		        PrefixIndex.fold(prefix));
+	}
+
+	/**
+	 * Returns the items in the order of their keys. The List is a view of this
+	 * PrefixIndex and reflects its changes.
+	 *
+	 * @return the items
+	 */
+	public View asList() {
+		return new View();
+	}
+
+	/**
+	 * Returns the number of times an item was added to or removed from this
+	 * PrefixIndex, so that a reader of it can tell whether it has changed since it
+	 * was last read, even if its size is the same.
+	 *
+	 * @return the number of modifications
+	 */
+	public int modifications() {
+		return modifications;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("PrefixIndex of %d items", size()); //$NON-NLS-1$
+	}
+
+	/* Brings the array up to date with the added and removed items */
+	private void update() {
+		if ((sorted == size) && removed.isEmpty())
+			return;
+
+		if (!removed.isEmpty()) {
+			int count = 0;
+			for (int i = 0; i < size; ++i)
+				if (!removed.contains(entries[i].item))
+					entries[count++] = entries[i];
+
+			Arrays.fill(entries, count, size, null);
+			size = count;
+			removed.clear();
+		}
+
+		// the items that were already sorted form a run, which the sort takes advantage of
+		Arrays.sort(entries, 0, size, PrefixIndex.ORDER);
+		sorted = size;
+	}
+
+	private static int from(int size, IntFunction<String> folded, String prefix) {
+		int low = 0, high = size;
+		while (low < high) {
+			final int mid = (low + high) >>> 1;
+			if (folded.apply(mid).compareTo(prefix) < 0)
+				low = mid + 1;
+			else
+				high = mid;
+		}
+		return low;
+	}
+
+	private static int to(int size, IntFunction<String> folded, String prefix) {
+		int low = 0, high = size;
+		while (low < high) {
+			final int mid = (low + high) >>> 1;
+			final String other = folded.apply(mid);
+			if ((other.compareTo(prefix) < 0) || other.startsWith(prefix))
+				low = mid + 1;
+			else
+				high = mid;
+		}
+		return low;
+	}
+
+	private static String fold(String key) {
+		return key.toUpperCase(Locale.ROOT);
+	}
+
+	/**
+	 * The items of a PrefixIndex in the order of their keys, returned by
+	 * {@link PrefixIndex#asList()}.
+	 *
+	 * @author Alex Mandelias
+	 */
+	public final class View extends AbstractList<T> implements RandomAccess {
+
+		private View() {}
+
+		@Override
+		public T get(int index) {
+			return PrefixIndex.this.get(index);
+		}
+
+		@Override
+		public int size() {
+			return PrefixIndex.this.size();
+		}
+
+		/**
+		 * Returns the number of modifications of the PrefixIndex.
+		 *
+		 * @return the number of modifications
+		 *
+		 * @see PrefixIndex#modifications()
+		 */
+		public int modifications() {
+			return modifications;
+		}
+	}
+
+	private static final class Entry {
+		final String folded, key;
+		final Object item;
+
+		Entry(String key, Object item) {
+			folded = PrefixIndex.fold(key);
+			this.key = key;
+			this.item = item;
+		}
+	}
+}
@@ -141,6 +141,10 @@ class AutoCompletion<E> extends PlainDocument {
 			} else
 				// User hit backspace with the cursor positioned on the start => beep
 				comboBox.getToolkit().beep(); // when available use: UIManager.getLookAndFeel().provideErrorFeedback(comboBox);
+
+			// show the items that match the shorter text again
+			if (model instanceof PrefixComboBoxModel)
+				((PrefixComboBoxModel<E>) model).filter(getText(0, newOffset));
 			highlightCompletedText(newOffset);
 		} else
 			super.remove(newOffset, len);
@@ -211,6 +215,16 @@ class AutoCompletion<E> extends PlainDocument {
 
 	private Object lookupItem(String pattern) {
 		final Object selectedItem = model.getSelectedItem();
+
+		// look the item up in the index of the model, which also filters its items
+		if (model instanceof PrefixComboBoxModel) {
+			final Object first = ((PrefixComboBoxModel<E>) model).filter(pattern);
+			if ((first != null) && (selectedItem != null)
+			        && AutoCompletion.startsWithIgnoreCase(selectedItem.toString(), pattern))
+				return selectedItem;
+			return first;
+		}
+
 		// only search for a different item if the currently selected does not match
 		if ((selectedItem != null)
 		        && AutoCompletion.startsWithIgnoreCase(selectedItem.toString(), pattern))
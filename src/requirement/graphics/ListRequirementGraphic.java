@@ -3,6 +3,8 @@ package requirement.graphics;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.GridLayout;
+import java.util.Collections;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Vector;
 
@@ -12,6 +14,7 @@ import javax.swing.JLabel;
 
 import localisation.Languages;
 import myUtil.MutableColorBorder;
+import myUtil.PrefixIndex;
 import requirement.requirements.ListRequirement;
 
 /**
@@ -26,8 +29,16 @@ import requirement.requirements.ListRequirement;
  */
 public class ListRequirementGraphic<T> extends AbstractRequirementGraphic<ListRequirement<T>> {
 
+	/*
+	 * The number of options from which on they are sorted, looked up by prefix
+	 * and filtered as the user types, even if they aren't sorted already. Fewer
+	 * unsorted options are shown in their own order. Only as many options are
+	 * measured to size the drop-down list.
+	 */
+	private static final int INDEXED_OPTIONS = 64;
+
 	private final JComboBox<T>       optionBox;
-	private Vector<T>                currentOptions;
+	private List<T>                  currentOptions;
 	private final MutableColorBorder border;
 
 	/**
@@ -40,7 +51,7 @@ public class ListRequirementGraphic<T> extends AbstractRequirementGraphic<ListRe
 		setLayout(new GridLayout(2, 1, 10, 0));
 
 		optionBox = new JComboBox<>();
-		currentOptions = new Vector<>();
+		currentOptions = Collections.emptyList();
 		border = new MutableColorBorder(Color.BLUE);
 
 		optionBox.setBorder(border);
@@ -54,16 +65,25 @@ public class ListRequirementGraphic<T> extends AbstractRequirementGraphic<ListRe
 
 	@Override
 	public void update() {
-		final Vector<T> newOptions = new Vector<>(requirement.getOptions());
+		// the view is the same until the options change, so it isn't compared
+		final List<T> newOptions = requirement.getOptionView();
 
-		if (!newOptions.equals(currentOptions)) {
+		if (newOptions != currentOptions) {
 			currentOptions = newOptions;
 			if (currentOptions.isEmpty())
 				throw new NoSuchElementException(
 				        String.format("No options for ListRequirement with key '%s'", //$NON-NLS-1$
 				                requirement.key()));
 
-			optionBox.setModel(new DefaultComboBoxModel<>(currentOptions = newOptions));
+			// sorted options, which may be many, are neither counted nor copied
+			if (requirement.optionsSorted())
+				setIndexedModel(currentOptions);
+			else if (currentOptions.size() >= ListRequirementGraphic.INDEXED_OPTIONS)
+				setIndexedModel(new PrefixIndex<>(currentOptions, String::valueOf).asList());
+			else {
+				optionBox.setPrototypeDisplayValue(null);
+				optionBox.setModel(new DefaultComboBoxModel<>(new Vector<>(currentOptions)));
+			}
 		}
 
 		if (requirement.finalised())
@@ -72,6 +92,8 @@ public class ListRequirementGraphic<T> extends AbstractRequirementGraphic<ListRe
 
 	@Override
 	public void reset() {
+		if (optionBox.getModel() instanceof PrefixComboBoxModel)
+			((PrefixComboBoxModel<T>) optionBox.getModel()).filter(""); //$NON-NLS-1$
 		optionBox.setSelectedItem(requirement.defaultValue());
 		border.setColor(Color.BLUE);
 	}
@@ -92,4 +114,17 @@ public class ListRequirementGraphic<T> extends AbstractRequirementGraphic<ListRe
 	protected void onFocusGained() {
 		optionBox.requestFocus();
 	}
+
+	private void setIndexedModel(List<T> sortedOptions) {
+		// measure the first few options instead of all of them, which are many
+		T longest = sortedOptions.get(0);
+		for (int i = 1; (i < ListRequirementGraphic.INDEXED_OPTIONS)
+		        && (i < sortedOptions.size()); ++i) {
+			final T option = sortedOptions.get(i);
+			if (String.valueOf(option).length() > String.valueOf(longest).length())
+				longest = option;
+		}
+		optionBox.setPrototypeDisplayValue(longest);
+		optionBox.setModel(new PrefixComboBoxModel<>(sortedOptions));
+	}
 }
@@ -0,0 +1,97 @@
+package requirement.graphics;
+
+import java.util.List;
+
+import javax.swing.AbstractListModel;
+import javax.swing.ComboBoxModel;
+
+import myUtil.PrefixIndex;
+
+/**
+ * A {@code ComboBoxModel} whose items are sorted and which only contains the
+ * items that start with a prefix, ignoring case. The prefix is changed as the
+ * user types, so that the list of the JComboBox shows only the items that
+ * match what has been typed so far. The items are looked up with binary
+ * searches, so that changing the prefix doesn't depend on the number of items.
+ * <p>
+ * The model is a view of a sorted List, which is neither copied nor read any
+ * further than the JComboBox needs: only the rows that are shown and those that
+ * the binary searches visit.
+ *
+ * @param <E> the type of items of the model
+ *
+ * @author Alex Mandelias
+ */
+final class PrefixComboBoxModel<E> extends AbstractListModel<E> implements ComboBoxModel<E> {
+
+	private final List<E> items;
+
+	// the range of the items that start with the prefix, `to` is -1 until needed
+	private int    from, to;
+	private Object selectedItem;
+
+	/**
+	 * Constructs the model.
+	 *
+	 * @param items the items, which are sorted by their String representation
+	 *              ignoring case and must not change while the model is used
+	 *
+	 * @see PrefixIndex#asList()
+	 */
+	PrefixComboBoxModel(List<E> items) {
+		this.items = items;
+		from = 0;
+		to = -1;
+		selectedItem = items.isEmpty() ? null : items.get(0);
+	}
+
+	/**
+	 * Changes the prefix of the items of this model, unless no item starts with
+	 * it.
+	 *
+	 * @param prefix the prefix
+	 *
+	 * @return the first item that starts with the prefix, or {@code null} if there
+	 *         is no such item in which case the prefix isn't changed
+	 */
+	E filter(String prefix) {
+		final int newFrom = PrefixIndex.from(items, String::valueOf, prefix);
+		final int newTo   = PrefixIndex.to(items, String::valueOf, prefix);
+		if (newFrom == newTo)
+			return null;
+
+		if ((newFrom != from) || (newTo != to)) {
+			final int oldSize = getSize();
+			from = newFrom;
+			to = newTo;
+			fireContentsChanged(this, 0, Math.max(oldSize, to - from) - 1);
+		}
+
+		return items.get(from);
+	}
+
+	@Override
+	public int getSize() {
+		if (to == -1)
+			to = items.size();
+		return to - from;
+	}
+
+	@Override
+	public E getElementAt(int i) {
+		return (i >= 0) && (i < getSize()) ? items.get(from + i) : null;
+	}
+
+	@Override
+	public void setSelectedItem(Object item) {
+		if ((selectedItem == null) ? (item != null) : !selectedItem.equals(item)) {
+			selectedItem = item;
+			fireContentsChanged(this, -1, -1);
+		}
+	}
+
+	@Override
+	public Object getSelectedItem() {
+		return selectedItem;
+	}
+}
@@ -1,11 +1,15 @@
 package requirement.requirements;
 
+import java.io.Serializable;
+import java.util.AbstractList;
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.RandomAccess;
 
 import component.ComponentType;
 import component.components.Component;
+import myUtil.PrefixIndex;
 
 /**
  * A {@link ListRequirement} for the {@link Component} class, utilises their
@@ -16,6 +20,9 @@ import component.components.Component;
  */
 public final class ComponentRequirement extends ListRequirement<String> {
 
+	// the value computed before the class changed, so that files written then are still read
+	private static final long serialVersionUID = 1182939885753467558L;
+
 	private final Policy policy;
 
 	/**
@@ -52,6 +59,22 @@ public final class ComponentRequirement extends ListRequirement<String> {
 		super.setOptions((ComponentRequirement.filterAndGetIDs(options, policy)));
 	}
 
+	/**
+	 * Set the list with components at runtime, without copying or filtering it
+	 * beforehand. The components are filtered lazily, only as far as the options
+	 * are read, so that offering a large list of components costs nothing until
+	 * the user looks through it.
+	 *
+	 * @param options the list with components, sorted by their IDs ignoring case,
+	 *                which must not change while the options are offered to the
+	 *                user
+	 *
+	 * @see application.editor.Editor#getSortedComponents()
+	 */
+	public void setSortedComponentOptions(List<Component> options) {
+		setOptionView(new IDView(options, policy), true);
+	}
+
 	/**
 	 * Filters out unnecessary components and returns a list with the remaining
 	 * components' IDs.
@@ -63,24 +86,105 @@ public final class ComponentRequirement extends ListRequirement<String> {
 	 * @return the list with the suitable components' IDs.
 	 */
 	private static List<String> filterAndGetIDs(List<Component> components, Policy policy) {
-		final LinkedList<String> ids = new LinkedList<>();
-		for (final Component comp : components) {
-			if ((policy == Policy.INPUT) && (comp.type() == ComponentType.OUTPUT_PIN))
-				continue; //don't suggest connecting an output pin as input
+		final List<String> ids = new ArrayList<>(components.size());
+		for (final Component comp : components)
+			if (ComponentRequirement.accepts(policy, comp))
+				ids.add(comp.getID());
+
+		return ids;
+	}
+
+	private static boolean accepts(Policy policy, Component comp) {
+		if ((policy == Policy.INPUT) && (comp.type() == ComponentType.OUTPUT_PIN))
+			return false; //don't suggest connecting an output pin as input
+
+		if ((policy == Policy.OUTPUT) && (comp.type() == ComponentType.INPUT_PIN))
+			return false; //don't suggest connecting an input pin as output
+
+		if ((policy == Policy.INPUT_PIN) && (comp.type() != ComponentType.INPUT_PIN))
+			return false; //don't suggest anything other than input pin for the INPUT_PIN type
+
+		if ((policy != Policy.ANY) && (comp.type() == ComponentType.BRANCH))
+			return false; //in the 2 above cases don't suggest directly connecting branches
+
+		return true;
+	}
 
-			if ((policy == Policy.OUTPUT) && (comp.type() == ComponentType.INPUT_PIN))
-				continue; //don't suggest connecting an input pin as output
+	/*
+	 * The IDs of the components that a Policy accepts, found as far as they are
+	 * read and remembered by the index of their component. If the list with the
+	 * components changes, the IDs are looked up again. It is serialised as a copy
+	 * of the IDs, like the options of other ListRequirements.
+	 */
+	private static final class IDView extends AbstractList<String>
+	        implements RandomAccess, Serializable {
+
+		private static final long serialVersionUID = 1L;
 
-			if ((policy == Policy.INPUT_PIN) && (comp.type() != ComponentType.INPUT_PIN))
-				continue; //don't suggest anything other than input pin for the INPUT_PIN type
+		private final transient List<Component> components;
+		private final transient Policy          policy;
 
-			if ((policy != Policy.ANY) && (comp.type() == ComponentType.BRANCH))
-				continue; //in the 2 above cases don't suggest directly connecting branches
+		private transient int[] indexes;
+		private transient int   count, scanned, total, modifications;
 
-			ids.add(comp.getID());
+		IDView(List<Component> components, Policy policy) {
+			this.components = components;
+			this.policy = policy;
+			indexes = new int[16];
+			total = components.size();
+			modifications = modifications();
 		}
 
-		return ids;
+		@Override
+		public String get(int index) {
+			scan(index + 1);
+			if ((index < 0) || (index >= count))
+				throw new IndexOutOfBoundsException(String.valueOf(index));
+
+			return components.get(indexes[index]).getID();
+		}
+
+		@Override
+		public int size() {
+			scan(Integer.MAX_VALUE);
+			return count;
+		}
+
+		@Override
+		public boolean isEmpty() {
+			scan(1);
+			return count == 0;
+		}
+
+		// find the IDs up to the `n`-th, unless the components have been exhausted
+		private void scan(int n) {
+			final int newModifications = modifications();
+			if ((newModifications != modifications) || (components.size() != total)) {
+				count = scanned = 0;
+				total = components.size();
+				modifications = newModifications;
+			}
+
+			while ((count < n) && (scanned < total)) {
+				if (ComponentRequirement.accepts(policy, components.get(scanned))) {
+					if (count == indexes.length)
+						indexes = Arrays.copyOf(indexes, 2 * count);
+					indexes[count++] = scanned;
+				}
+				++scanned;
+			}
+		}
+
+		// the number of modifications of the components, if their List counts them
+		private int modifications() {
+			return components instanceof PrefixIndex.View
+			        ? ((PrefixIndex<?>.View) components).modifications()
+			        : 0;
+		}
+
+		private Object writeReplace() {
+			return new ArrayList<>(this);
+		}
 	}
 
 	/**
@@ -1,6 +1,7 @@
 package requirement.requirements;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import localisation.Languages;
@@ -17,7 +18,12 @@ import requirement.graphics.ListRequirementGraphic;
  */
 public class ListRequirement<T> extends AbstractRequirement {
 
+	// the value computed before the class changed, so that files written then are still read
+	private static final long serialVersionUID = 937779662809758263L;
+
 	private List<T> options;
+	private transient List<T> view;
+	private boolean sorted;
 	private boolean error;
 	private String cause;
 
@@ -45,7 +51,7 @@ public class ListRequirement<T> extends AbstractRequirement {
 
 	@Override
 	protected AbstractRequirementGraphic<?> constructGraphicOfSubclass() {
-		if (options.size() == 0)
+		if (options.isEmpty())
 			return constructNullGraphic(cause, error);
 
 		return new ListRequirementGraphic<>(this);
@@ -69,7 +75,24 @@ public class ListRequirement<T> extends AbstractRequirement {
 	 * @param newOptions the list with the options
 	 */
 	public void setOptions(List<T> newOptions) {
-		this.options = new ArrayList<>(newOptions);
+		setOptionView(new ArrayList<>(newOptions), false);
+	}
+
+	/**
+	 * Provide a ListRequirement with a view of the options, which isn't copied so
+	 * that a large list of options may be computed lazily, only as far as it is
+	 * read.
+	 *
+	 * @param newView    the view of the options, which must not change while the
+	 *                   options are offered to the user
+	 * @param sortedView {@code true} if the options are sorted by their String
+	 *                   representation ignoring case, so that they can be looked
+	 *                   up by prefix, {@code false} otherwise
+	 */
+	protected void setOptionView(List<T> newView, boolean sortedView) {
+		options = newView;
+		view = null;
+		sorted = sortedView;
 	}
 
 	/**
@@ -82,6 +105,28 @@ public class ListRequirement<T> extends AbstractRequirement {
 		return new ArrayList<>(this.options);
 	}
 
+	/**
+	 * Get a read-only view of the options of the Requirement, without copying
+	 * them. The same view is returned until the options are changed.
+	 *
+	 * @return the view of the options
+	 */
+	public List<T> getOptionView() {
+		if (view == null)
+			view = Collections.unmodifiableList(options);
+		return view;
+	}
+
+	/**
+	 * Returns whether the options of the Requirement are sorted by their String
+	 * representation, ignoring case.
+	 *
+	 * @return {@code true} if they are sorted, {@code false} otherwise
+	 */
+	public boolean optionsSorted() {
+		return sorted;
+	}
+
 	/**
 	 * Defines the cause and severity of the {@code NullGraphic} that will be
 	 * constructed if this Requirement has no options and a Graphic is requested.
@@ -25,6 +25,13 @@ import requirement.requirements.ComponentRequirement.Policy;
  * of {@code Requirements}. It provides additional functionality for fulfilling
  * every Requirement simultaneously using a {@link RequirementsDialog Dialog}.
  * <p>
+ * Copies of a collection are copy-on-write: they share the Requirements of the
+ * original until either of them is about to change, so that copies which are
+ * only read, such as those of the Commands that create a composite Gate, cost
+ * next to nothing. Any method that may change a Requirement, including
+ * {@link #get(String)} and {@link #iterator()} which give access to it, first
+ * copies the Requirements; methods that only read their values don't.
+ * <p>
  * For method details refer to the {@link AbstractRequirement} class or use the
  * {@literal @see} links provided.
  *
@@ -35,7 +42,10 @@ public final class Requirements implements Iterable<AbstractRequirement>, Serial
 	private static final long serialVersionUID = 6L;
 
 	// map for simpler lookup, linked to retain the order
-	private final Map<String, AbstractRequirement> requirements = new LinkedHashMap<>(1, 1);
+	private Map<String, AbstractRequirement> requirements = new LinkedHashMap<>(1, 1);
+
+	// whether the map and its Requirements may be shared with another collection
+	private boolean shared;
 
 	/** Constructs the collection of Requirements */
 	public Requirements() {}
@@ -43,12 +53,14 @@ public final class Requirements implements Iterable<AbstractRequirement>, Serial
 	/**
 	 * Copy constructor that constructs this Requirements object by performing a
 	 * deep copy on another Requirements object. The deep copy means that every
-	 * individual Requirement in the other object is also copy-constructed.
+	 * individual Requirement in the other object is also copy-constructed, but
+	 * only once either of the objects is about to change.
 	 *
 	 * @param other the Requirements object to be copied
 	 */
 	public Requirements(Requirements other) {
-		Utility.foreach(other, req -> add(req.clone()));
+		requirements = other.requirements;
+		shared = other.shared = true;
 	}
 
 	/**
@@ -58,6 +70,7 @@ public final class Requirements implements Iterable<AbstractRequirement>, Serial
 	 * @param requirement the Requirement to add
 	 */
 	public void add(AbstractRequirement requirement) {
+		own();
 		requirements.put(requirement.key(), requirement);
 	}
 
@@ -128,11 +141,8 @@ public final class Requirements implements Iterable<AbstractRequirement>, Serial
 	 *                                     this collection
 	 */
 	public AbstractRequirement get(String key) {
-		final AbstractRequirement req = requirements.get(key);
-		if (req == null)
-			throw new MissingRequirementException(key);
-
-		return req;
+		own();
+		return find(key);
 	}
 
 	/**
@@ -144,6 +154,7 @@ public final class Requirements implements Iterable<AbstractRequirement>, Serial
 	 *                                     this collection
 	 */
 	public void remove(String key) {
+		own();
 		final AbstractRequirement req = requirements.remove(key);
 		if (req == null)
 			throw new MissingRequirementException(key);
@@ -161,7 +172,7 @@ public final class Requirements implements Iterable<AbstractRequirement>, Serial
 	 * @see AbstractRequirement#value
 	 */
 	public Object getValue(String key) {
-		return get(key).value();
+		return find(key).value();
 	}
 
 	/**
@@ -331,7 +342,7 @@ public final class Requirements implements Iterable<AbstractRequirement>, Serial
 	 * @see AbstractRequirement#fulfilled
 	 */
 	public boolean fulfilled() {
-		return Utility.all(this, AbstractRequirement::fulfilled);
+		return Utility.all(requirements.values(), AbstractRequirement::fulfilled);
 	}
 
 	/**
@@ -343,11 +354,12 @@ public final class Requirements implements Iterable<AbstractRequirement>, Serial
 	 * @see AbstractRequirement#fulfilled
 	 */
 	public boolean finalised() {
-		return Utility.all(this, AbstractRequirement::finalised);
+		return Utility.all(requirements.values(), AbstractRequirement::finalised);
 	}
 
 	@Override
 	public Iterator<AbstractRequirement> iterator() {
+		own();
 		return new RequirementsIterator();
 	}
 
@@ -357,10 +369,30 @@ public final class Requirements implements Iterable<AbstractRequirement>, Serial
 		sb.append(String.format("Requirements fulfilled: %s, finalised: %s%n", //$NON-NLS-1$
 				fulfilled() ? RequirementStrings.YES : RequirementStrings.NO,
 						finalised() ? RequirementStrings.YES : RequirementStrings.NO));
-		Utility.foreach(this, req -> sb.append(req));
+		Utility.foreach(requirements.values(), req -> sb.append(req));
 		return sb.toString();
 	}
 
+	/* Returns a Requirement without copying the Requirements, to only read it */
+	private AbstractRequirement find(String key) {
+		final AbstractRequirement req = requirements.get(key);
+		if (req == null)
+			throw new MissingRequirementException(key);
+
+		return req;
+	}
+
+	/* Copies the Requirements if they are shared, before they are changed */
+	private void own() {
+		if (!shared)
+			return;
+
+		final Map<String, AbstractRequirement> copy = new LinkedHashMap<>(requirements.size(), 1);
+		Utility.foreach(requirements.values(), req -> copy.put(req.key(), req.clone()));
+		requirements = copy;
+		shared = false;
+	}
+
 	/**
 	 * Iterator for the AbstractRequirements present in this collection.
 	 *
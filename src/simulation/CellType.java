@@ -0,0 +1,67 @@
+package simulation;
+
+import component.ComponentType;
+
+/**
+ * The type of a cell of a {@link Netlist}. Each type corresponds to a primitive
+ * {@link component.ComponentType ComponentType}, however cells are simpler than
+ * Components: each cell has exactly one output.
+ *
+ * @author Alex Mandelias
+ */
+public enum CellType {
+
+	/** The logical {@code and} of any number of inputs */
+	AND,
+
+	/** The logical {@code or} of any number of inputs */
+	OR,
+
+	/** The logical {@code xor} of any number of inputs */
+	XOR,
+
+	/** The logical {@code not} of exactly one input */
+	NOT,
+
+	/**
+	 * A single bit of a D Flip-Flop with exactly two inputs, the data input and
+	 * the clock input, in that order. Its output only changes on the rising edge
+	 * of the clock input.
+	 */
+	DFF;
+
+	/**
+	 * Returns whether or not cells of this type store a value, that is their output
+	 * isn't a function of their current inputs.
+	 *
+	 * @return {@code true} if the cells are sequential, {@code false} if they are
+	 *         combinational
+	 */
+	public boolean sequential() {
+		return this == DFF;
+	}
+
+	/**
+	 * Returns the type of the primitive {@code Components} that are compiled to
+	 * cells of this type.
+	 *
+	 * @return the ComponentType
+	 */
+	public ComponentType componentType() {
+		switch (this) {
+		case AND:
+			return ComponentType.GATEAND;
+		case OR:
+			return ComponentType.GATEOR;
+		case XOR:
+			return ComponentType.GATEXOR;
+		case NOT:
+			return ComponentType.GATENOT;
+		case DFF:
+			return ComponentType.DFLIPFLOP;
+		default:
+			throw new IllegalArgumentException(String.format(
+			        "Unknown CellType %s", this)); //$NON-NLS-1$
+		}
+	}
+}
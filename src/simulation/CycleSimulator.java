@@ -0,0 +1,281 @@
+package simulation;
+
+/**
+ * A cycle-based simulator for a {@link Netlist}. Instead of propagating each
+ * change of signal separately, the simulator uses an {@link Evaluator}, by
+ * default a {@link LevelizedEvaluator}, to evaluate each combinational cell
+ * affected by a change of the inputs or the clocks at most once. Then all
+ * Flip-Flops that observed a rising edge of their clock latch at the same
+ * moment and the affected cells are evaluated again.
+ * <p>
+ * A cycle consists of a rising and a falling edge of every clock of the
+ * Netlist. Since the simulator doesn't create any objects and only accesses
+ * arrays, small circuits can be simulated for millions of cycles per second
+ * without a GUI.
+ * <p>
+ * Changes to the inputs take effect the next time the signals are propagated,
+ * that is when {@link #settle()} or {@link #step()} is called.
+ *
+ * @author Alex Mandelias
+ */
+public final class CycleSimulator {
+
+	private final Netlist   netlist;
+	private final Evaluator evaluator;
+
+	// the state of the clock of each Flip-Flop the last time it was checked
+	private final boolean[] clocks;
+
+	// the Flip-Flops that latch in the current round and the values they latch
+	private final int[]     latching;
+	private final boolean[] latched;
+
+	private long cycle;
+
+	/**
+	 * Constructs a single-threaded simulator for a {@code Netlist}. Initially all
+	 * inputs, clocks and Flip-Flops are {@code false} and the signals have
+	 * settled.
+	 *
+	 * @param netlist the Netlist to simulate
+	 */
+	public CycleSimulator(Netlist netlist) {
+		this(netlist, SimulationMode.SINGLE_THREADED);
+	}
+
+	/**
+	 * Constructs a simulator for a {@code Netlist} whose combinational cells are
+	 * evaluated according to a {@code SimulationMode}. Initially all inputs,
+	 * clocks and Flip-Flops are {@code false} and the signals have settled.
+	 *
+	 * @param netlist the Netlist to simulate
+	 * @param mode    the SimulationMode
+	 */
+	public CycleSimulator(Netlist netlist, SimulationMode mode) {
+		this.netlist = netlist;
+		evaluator = mode.evaluator(netlist);
+		clocks = new boolean[netlist.flipFlops.length];
+		latching = new int[netlist.flipFlops.length];
+		latched = new boolean[netlist.flipFlops.length];
+		reset();
+	}
+
+	/**
+	 * Returns the simulated {@code Netlist}.
+	 *
+	 * @return the Netlist
+	 */
+	public Netlist netlist() {
+		return netlist;
+	}
+
+	/** Resets every input, clock and Flip-Flop to {@code false} and settles */
+	public void reset() {
+		evaluator.reset();
+		evaluator.settle();
+		cycle = 0;
+
+		// powering on is not a rising edge
+		sampleClocks();
+	}
+
+	/**
+	 * Settles the signals after the state of the circuit has been loaded with
+	 * {@link #set(int, boolean)}, without latching any Flip-Flop. The state of the
+	 * clocks after this method is the state from which the next edges are
+	 * observed.
+	 */
+	public void restore() {
+		evaluator.settle();
+		sampleClocks();
+	}
+
+	/**
+	 * Sets the value of an input.
+	 *
+	 * @param index  the index of the input
+	 * @param active the new value
+	 */
+	public void setInput(int index, boolean active) {
+		evaluator.set(netlist.inputNets[index], active);
+	}
+
+	/**
+	 * Sets the value of the input with a name.
+	 *
+	 * @param name   the name of the input
+	 * @param active the new value
+	 *
+	 * @throws IllegalArgumentException if no input with that name exists
+	 */
+	public void setInput(String name, boolean active) {
+		setInput(CycleSimulator.checkIndex(netlist.indexOfInput(name), name), active);
+	}
+
+	/**
+	 * Sets the value of an input net or of the output net of a Flip-Flop, so that
+	 * the state of a circuit that is simulated elsewhere, for example by its
+	 * {@code Components}, can be loaded. The changes take effect when the signals
+	 * are propagated or restored.
+	 *
+	 * @param net    the net
+	 * @param active the new value
+	 *
+	 * @throws IllegalArgumentException if the net is neither an input nor the
+	 *                                  output of a Flip-Flop
+	 *
+	 * @see #restore()
+	 */
+	public void set(int net, boolean active) {
+		final int cell = netlist.driver(net);
+		final boolean valid = cell == -1 ? (net > Netlist.TRUE) && !isClock(net)
+		        : netlist.cellType(cell) == CellType.DFF;
+
+		if (!valid)
+			throw new IllegalArgumentException(
+			        String.format("Net %d is neither an input nor a Flip-Flop", net)); //$NON-NLS-1$
+
+		evaluator.set(net, active);
+	}
+
+	/**
+	 * Returns the value of an output.
+	 *
+	 * @param index the index of the output
+	 *
+	 * @return the value
+	 */
+	public boolean getOutput(int index) {
+		return evaluator.values[netlist.outputNets[index]];
+	}
+
+	/**
+	 * Returns the value of the output with a name.
+	 *
+	 * @param name the name of the output
+	 *
+	 * @return the value
+	 *
+	 * @throws IllegalArgumentException if no output with that name exists
+	 */
+	public boolean getOutput(String name) {
+		return getOutput(CycleSimulator.checkIndex(netlist.indexOfOutput(name), name));
+	}
+
+	/**
+	 * Returns the value of any net.
+	 *
+	 * @param net the net
+	 *
+	 * @return the value
+	 */
+	public boolean get(int net) {
+		return evaluator.values[net];
+	}
+
+	/**
+	 * Returns the number of cycles simulated since the last reset.
+	 *
+	 * @return the number of cycles
+	 */
+	public long cycle() {
+		return cycle;
+	}
+
+	/**
+	 * Returns the number of times a combinational cell has been evaluated since
+	 * this simulator was constructed.
+	 *
+	 * @return the number of evaluations
+	 */
+	public long evaluations() {
+		return evaluator.evaluations();
+	}
+
+	/** Propagates the changes of the inputs without toggling the clocks */
+	public void settle() {
+		propagate();
+	}
+
+	/** Simulates one cycle: a rising and a falling edge of every clock */
+	public void step() {
+		setClocks(true);
+		propagate();
+		setClocks(false);
+		propagate();
+		++cycle;
+	}
+
+	/**
+	 * Simulates many cycles.
+	 *
+	 * @param cycles the number of cycles
+	 */
+	public void run(long cycles) {
+		for (long i = 0; i < cycles; ++i)
+			step();
+	}
+
+	private boolean isClock(int net) {
+		for (final int clock : netlist.clockNets)
+			if (clock == net)
+				return true;
+
+		return false;
+	}
+
+	private void sampleClocks() {
+		final int[] flipFlops = netlist.flipFlops;
+		for (int i = 0; i < flipFlops.length; ++i)
+			clocks[i] = evaluator.values[netlist.inputs[netlist.inputStart[flipFlops[i]] + 1]];
+	}
+
+	private void setClocks(boolean active) {
+		for (final int net : netlist.clockNets)
+			evaluator.set(net, active);
+	}
+
+	/*
+	 * Evaluates the combinational cells and then latches the Flip-Flops that
+	 * observed a rising edge, all at once, until no more edges are observed.
+	 */
+	private void propagate() {
+		final boolean[] values    = evaluator.values;
+		final int[]     flipFlops = netlist.flipFlops;
+		final int[]     inputs    = netlist.inputs;
+		final int[]     start     = netlist.inputStart;
+		final int[]     outputs   = netlist.outputs;
+
+		evaluator.settle();
+
+		// latching may produce more edges, e.g. in ripple counters, but there can't be
+		// more rounds than Flip-Flops unless the circuit oscillates
+		for (int round = 0; round <= flipFlops.length; ++round) {
+			int count = 0;
+			for (int i = 0; i < flipFlops.length; ++i) {
+				final int     cell  = flipFlops[i];
+				final boolean clock = values[inputs[start[cell] + 1]];
+				if (clock && !clocks[i]) {
+					latching[count] = cell;
+					latched[count++] = values[inputs[start[cell]]];
+				}
+				clocks[i] = clock;
+			}
+
+			if (count == 0)
+				return;
+
+			for (int i = 0; i < count; ++i)
+				evaluator.set(outputs[latching[i]], latched[i]);
+
+			evaluator.settle();
+		}
+	}
+
+	private static int checkIndex(int index, String name) {
+		if (index == -1)
+			throw new IllegalArgumentException(String.format("No pin named '%s'", name)); //$NON-NLS-1$
+
+		return index;
+	}
+}
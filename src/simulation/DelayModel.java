@@ -0,0 +1,58 @@
+package simulation;
+
+import java.util.Map;
+
+import component.ComponentType;
+
+/**
+ * The propagation delay of each type of primitive {@code Component}, used by
+ * the {@link TimingAnalysis}. The delay of a D Flip-Flop is the time from the
+ * edge of its clock until its output changes. The delays are in arbitrary time
+ * units.
+ *
+ * @author Alex Mandelias
+ */
+public final class DelayModel {
+
+	/** The DelayModel in which every cell has a delay of 1, which measures depth */
+	public static final DelayModel UNIT = new DelayModel();
+
+	private final int[] delays;
+
+	private DelayModel() {
+		delays = new int[CellType.values().length];
+		for (int i = 0; i < delays.length; ++i)
+			delays[i] = 1;
+	}
+
+	/**
+	 * Constructs a DelayModel with the delay of each type of primitive
+	 * {@code Component}. The types that aren't specified have a delay of 1.
+	 *
+	 * @param delays the delay of each ComponentType
+	 *
+	 * @throws IllegalArgumentException if a delay is negative
+	 */
+	public DelayModel(Map<ComponentType, Integer> delays) {
+		this();
+		for (final CellType type : CellType.values()) {
+			final int delay = delays.getOrDefault(type.componentType(), 1);
+			if (delay < 0)
+				throw new IllegalArgumentException(String.format(
+				        "Negative delay %d for %s", delay, type.componentType())); //$NON-NLS-1$
+
+			this.delays[type.ordinal()] = delay;
+		}
+	}
+
+	/**
+	 * Returns the delay of the cells of a type.
+	 *
+	 * @param type the type of the cells
+	 *
+	 * @return the delay
+	 */
+	public int delay(CellType type) {
+		return delays[type.ordinal()];
+	}
+}
@@ -0,0 +1,307 @@
+package simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import component.ComponentType;
+import component.components.Component;
+import component.components.ComponentFactory;
+import component.exceptions.MalformedBranchException;
+
+/**
+ * Compares the number of cell evaluations needed to propagate changes of the
+ * inputs of wide, acyclic circuits. The circuits are constructed from
+ * {@code Components} and then compiled. Each random input vector is applied:
+ * <ul>
+ * <li>to the Components themselves, which propagate each change of each input
+ * separately using {@code wake_up}</li>
+ * <li>to a Netlist evaluator that imitates {@code wake_up}: each cell is
+ * evaluated every time one of its inputs changes, depth-first</li>
+ * <li>to a {@link LevelizedEvaluator}, which evaluates each affected cell at
+ * most once per vector</li>
+ * </ul>
+ * The outputs of all three are checked against each other.
+ * <p>
+ * Finally, many copies of the adder are compiled into one large Netlist, which
+ * is evaluated by a {@link ParallelEvaluator} with an increasing number of
+ * threads.
+ * <p>
+ * Usage:
+ * {@code EvaluationBenchmark [adder width] [select bits] [vectors] [copies]}
+ *
+ * @author Alex Mandelias
+ */
+public final class EvaluationBenchmark {
+
+	/* Don't let anyone instantiate this class */
+	private EvaluationBenchmark() {}
+
+	/**
+	 * Runs the benchmark on a ripple-carry adder and a multiplexer.
+	 *
+	 * @param args the width of the adder, the number of select bits of the
+	 *             multiplexer, the number of random vectors and the number of
+	 *             copies of the adder for the parallel benchmark, all optional
+	 *
+	 * @throws MalformedBranchException never, the circuits are well-formed
+	 */
+	public static void main(String[] args) throws MalformedBranchException {
+		final int width   = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+		final int select  = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+		final int vectors = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+		final int copies  = args.length > 3 ? Integer.parseInt(args[3]) : 3000;
+
+		EvaluationBenchmark.run(String.format("%d-bit ripple-carry adder", width), //$NON-NLS-1$
+		        EvaluationBenchmark.rippleCarryAdder(width), vectors);
+		EvaluationBenchmark.run(String.format("%d-to-1 multiplexer", 1 << select), //$NON-NLS-1$
+		        EvaluationBenchmark.multiplexer(select), vectors);
+		EvaluationBenchmark.scaling(width, copies, Math.max(1, vectors / 10));
+	}
+
+	private static void run(String name, Circuit circuit, int vectorCount) {
+		final Netlist netlist = NetlistCompiler.compile(circuit.components);
+		final int     inCount = netlist.inputCount(), outCount = netlist.outputCount();
+
+		final Random      random  = new Random(0);
+		final boolean[][] vectors = new boolean[vectorCount][inCount];
+		for (final boolean[] vector : vectors)
+			for (int i = 0; i < inCount; ++i)
+				vector[i] = random.nextBoolean();
+
+		final WakeUpEvaluator    wakeUp    = new WakeUpEvaluator(netlist);
+		final LevelizedEvaluator levelized = new LevelizedEvaluator(netlist);
+		levelized.settle();
+
+		final long wakeUpStart    = wakeUp.evaluations;
+		final long levelizedStart = levelized.evaluations();
+
+		long componentTime = 0, wakeUpTime = 0, levelizedTime = 0;
+		int  mismatches    = 0;
+		for (final boolean[] vector : vectors) {
+			long start = System.nanoTime();
+			for (int i = 0; i < inCount; ++i)
+				ComponentFactory.setActive(circuit.inputs.get(i), vector[i]);
+			componentTime += System.nanoTime() - start;
+
+			start = System.nanoTime();
+			for (int i = 0; i < inCount; ++i)
+				wakeUp.set(netlist.inputNet(i), vector[i]);
+			wakeUpTime += System.nanoTime() - start;
+
+			start = System.nanoTime();
+			for (int i = 0; i < inCount; ++i)
+				levelized.set(netlist.inputNet(i), vector[i]);
+			levelized.settle();
+			levelizedTime += System.nanoTime() - start;
+
+			for (int i = 0; i < outCount; ++i) {
+				final boolean expected = levelized.get(netlist.outputNet(i));
+				if ((wakeUp.values[netlist.outputNet(i)] != expected)
+				        || (ComponentFactory.getActive(circuit.outputs.get(i)) != expected))
+					++mismatches;
+			}
+		}
+
+		final double wakeUpPerVector    = (double) (wakeUp.evaluations - wakeUpStart) / vectorCount;
+		final double levelizedPerVector = (double) (levelized.evaluations() - levelizedStart)
+		        / vectorCount;
+
+		System.out.printf("%s: %d cells, %d levels, %d vectors%n", name, //$NON-NLS-1$
+		        netlist.cellCount(), netlist.levelCount(), vectorCount);
+		System.out.printf("  %-12s %10s %12.2f ms%n", "components", "-", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		        componentTime / 1e6);
+		System.out.printf("  %-12s %10.1f %12.2f ms%n", "wake_up", wakeUpPerVector, //$NON-NLS-1$ //$NON-NLS-2$
+		        wakeUpTime / 1e6);
+		System.out.printf("  %-12s %10.1f %12.2f ms%n", "levelized", levelizedPerVector, //$NON-NLS-1$ //$NON-NLS-2$
+		        levelizedTime / 1e6);
+		System.out.printf("  evaluations per vector reduced %.2fx, %d mismatches%n%n", //$NON-NLS-1$
+		        wakeUpPerVector / levelizedPerVector, mismatches);
+	}
+
+	private static void scaling(int width, int copies, int vectorCount) {
+		final NetlistBuilder builder = new NetlistBuilder();
+		for (int copy = 0; copy < copies; ++copy) {
+			int carry = builder.addInput("c" + copy); //$NON-NLS-1$
+			for (int i = 0; i < width; ++i) {
+				final int a       = builder.addInput(null);
+				final int b       = builder.addInput(null);
+				final int halfSum = builder.add(CellType.XOR, a, b);
+				builder.addOutput(null, builder.add(CellType.XOR, halfSum, carry));
+				carry = builder.add(CellType.OR, builder.add(CellType.AND, a, b),
+				        builder.add(CellType.AND, halfSum, carry));
+			}
+			builder.addOutput(null, carry);
+		}
+
+		final Netlist netlist = builder.build();
+		final int     inCount = netlist.inputCount();
+
+		final Random      random  = new Random(0);
+		final boolean[][] vectors = new boolean[vectorCount][inCount];
+		for (final boolean[] vector : vectors)
+			for (int i = 0; i < inCount; ++i)
+				vector[i] = random.nextBoolean();
+
+		System.out.printf("%d copies of the adder: %d cells, %d levels, %d vectors%n", //$NON-NLS-1$
+		        copies, netlist.cellCount(), netlist.levelCount(), vectorCount);
+
+		final LevelizedEvaluator levelized = new LevelizedEvaluator(netlist);
+		final double             single    = EvaluationBenchmark.time(levelized, vectors);
+		System.out.printf("  %-12s %12.2f ms%n", "levelized", single); //$NON-NLS-1$ //$NON-NLS-2$
+
+		final int cores = Runtime.getRuntime().availableProcessors();
+		for (int threads = 1; threads <= cores; threads *= 2) {
+			final ForkJoinPool      pool      = new ForkJoinPool(threads);
+			final ParallelEvaluator evaluator = new ParallelEvaluator(netlist, pool);
+			final double            time      = EvaluationBenchmark.time(evaluator, vectors);
+			pool.shutdown();
+
+			// both evaluators have been given the same vectors
+			int mismatches = 0;
+			for (int i = 0; i < netlist.outputCount(); ++i)
+				if (evaluator.get(netlist.outputNet(i)) != levelized.get(netlist.outputNet(i)))
+					++mismatches;
+
+			System.out.printf( //
+			        "  %2d thread(s) %12.2f ms  %5.2fx, %d clusters, %d cut nets, %d mismatches%n", //$NON-NLS-1$
+			        threads, time, single / time, evaluator.clusterCount(),
+			        evaluator.cutNetCount(), mismatches);
+		}
+		System.out.println();
+	}
+
+	/* Applies the vectors once to warm up and once more to measure the time */
+	private static double time(Evaluator evaluator, boolean[][] vectors) {
+		final Netlist netlist = evaluator.netlist();
+
+		long start = 0;
+		for (int run = 0; run < 2; ++run) {
+			start = System.nanoTime();
+			for (final boolean[] vector : vectors) {
+				for (int i = 0; i < vector.length; ++i)
+					evaluator.set(netlist.inputNet(i), vector[i]);
+				evaluator.settle();
+			}
+		}
+
+		return (System.nanoTime() - start) / 1e6;
+	}
+
+	/* s = a ^ b ^ c, c' = (a & b) | (c & (a ^ b)) for each bit */
+	private static Circuit rippleCarryAdder(int width) throws MalformedBranchException {
+		final Circuit circuit = new Circuit();
+
+		final Component[] a = new Component[width], b = new Component[width];
+		for (int i = 0; i < width; ++i)
+			a[i] = circuit.input();
+		for (int i = 0; i < width; ++i)
+			b[i] = circuit.input();
+
+		Component carry = circuit.input();
+		for (int i = 0; i < width; ++i) {
+			final Component halfSum = circuit.gate(ComponentType.GATEXOR, a[i], b[i]);
+			circuit.output(circuit.gate(ComponentType.GATEXOR, halfSum, carry));
+			carry = circuit.gate(ComponentType.GATEOR,
+			        circuit.gate(ComponentType.GATEAND, a[i], b[i]),
+			        circuit.gate(ComponentType.GATEAND, halfSum, carry));
+		}
+		circuit.output(carry);
+
+		return circuit;
+	}
+
+	/* a tree of 2-to-1 multiplexers: out = (x & !s) | (y & s) */
+	private static Circuit multiplexer(int selectBits) throws MalformedBranchException {
+		final Circuit circuit = new Circuit();
+
+		final Component[] select = new Component[selectBits], notSelect = new Component[selectBits];
+		for (int i = 0; i < selectBits; ++i)
+			select[i] = circuit.input();
+
+		Component[] data = new Component[1 << selectBits];
+		for (int i = 0; i < data.length; ++i)
+			data[i] = circuit.input();
+
+		for (int i = 0; i < selectBits; ++i)
+			notSelect[i] = circuit.gate(ComponentType.GATENOT, select[i]);
+
+		for (int bit = 0; bit < selectBits; ++bit) {
+			final Component[] next = new Component[data.length / 2];
+			for (int i = 0; i < next.length; ++i)
+				next[i] = circuit.gate(ComponentType.GATEOR,
+				        circuit.gate(ComponentType.GATEAND, data[2 * i], notSelect[bit]),
+				        circuit.gate(ComponentType.GATEAND, data[(2 * i) + 1], select[bit]));
+			data = next;
+		}
+		circuit.output(data[0]);
+
+		return circuit;
+	}
+
+	/* A circuit of Components and its Input and Output Pins, in order */
+	private static final class Circuit {
+
+		final List<Component> components = new ArrayList<>();
+		final List<Component> inputs     = new ArrayList<>();
+		final List<Component> outputs    = new ArrayList<>();
+
+		Component input() {
+			final Component pin = ComponentFactory.createInputPin();
+			pin.setID("in" + inputs.size()); //$NON-NLS-1$
+			inputs.add(pin);
+			components.add(pin);
+			return pin;
+		}
+
+		void output(Component source) throws MalformedBranchException {
+			final Component pin = ComponentFactory.createOutputPin();
+			pin.setID("out" + outputs.size()); //$NON-NLS-1$
+			outputs.add(pin);
+			components.add(pin);
+			components.add(ComponentFactory.connectComponents(source, 0, pin, 0));
+		}
+
+		Component gate(ComponentType type, Component... sources) throws MalformedBranchException {
+			final Component gate = ComponentFactory.createPrimitiveGate(type, sources.length);
+			gate.setID(type.name().toLowerCase() + components.size());
+			components.add(gate);
+			for (int i = 0; i < sources.length; ++i)
+				components.add(ComponentFactory.connectComponents(sources[i], 0, gate, i));
+			return gate;
+		}
+	}
+
+	/* Evaluates a cell every time one of its inputs changes, like `wake_up` does */
+	private static final class WakeUpEvaluator {
+
+		private final Netlist netlist;
+		final boolean[]       values;
+		long                  evaluations;
+
+		WakeUpEvaluator(Netlist netlist) {
+			this.netlist = netlist;
+			values = new boolean[netlist.netCount];
+			values[Netlist.TRUE] = true;
+
+			for (final int cell : netlist.order)
+				values[netlist.outputs[cell]] = netlist.evaluate(cell, values);
+		}
+
+		void set(int net, boolean active) {
+			if (values[net] == active)
+				return;
+
+			values[net] = active;
+			for (int i = netlist.fanoutStart[net]; i < netlist.fanoutStart[net + 1]; ++i) {
+				final int cell = netlist.fanout[i];
+				if (netlist.level[cell] == 0)
+					continue;
+
+				++evaluations;
+				set(netlist.outputs[cell], netlist.evaluate(cell, values));
+			}
+		}
+	}
+}
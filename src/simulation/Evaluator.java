@@ -0,0 +1,92 @@
+package simulation;
+
+import java.util.Arrays;
+
+/**
+ * Evaluates the combinational cells of a {@link Netlist}. Clients set the
+ * signals of some nets, usually inputs, clocks or the outputs of Flip-Flops,
+ * and then request that the signals settle. How and when the cells are
+ * evaluated is up to each subclass.
+ * <p>
+ * Flip-Flops are not evaluated; it is up to the caller to check their clocks
+ * after the signals have settled and to {@link #set(int, boolean) set} their
+ * outputs.
+ *
+ * @author Alex Mandelias
+ *
+ * @see SimulationMode
+ */
+public abstract class Evaluator {
+
+	/** The evaluated Netlist */
+	final Netlist netlist;
+
+	/** The signal of each net */
+	final boolean[] values;
+
+	/** The number of cell evaluations so far */
+	long evaluations;
+
+	/**
+	 * Constructs an evaluator for a {@code Netlist}. Subclasses must call
+	 * {@link #reset()} once they are initialised.
+	 *
+	 * @param netlist the Netlist
+	 */
+	Evaluator(Netlist netlist) {
+		this.netlist = netlist;
+		values = new boolean[netlist.netCount];
+		evaluations = 0;
+	}
+
+	/**
+	 * Returns the evaluated {@code Netlist}.
+	 *
+	 * @return the Netlist
+	 */
+	public final Netlist netlist() {
+		return netlist;
+	}
+
+	/**
+	 * Returns the signal of a net.
+	 *
+	 * @param net the net
+	 *
+	 * @return the signal
+	 */
+	public final boolean get(int net) {
+		return values[net];
+	}
+
+	/**
+	 * Returns the number of times a cell has been evaluated since this evaluator
+	 * was constructed.
+	 *
+	 * @return the number of evaluations
+	 */
+	public final long evaluations() {
+		return evaluations;
+	}
+
+	/**
+	 * Sets every net to {@code false}, except for the {@link Netlist#TRUE TRUE}
+	 * net. Every cell is evaluated the next time {@link #settle()} is called.
+	 */
+	public void reset() {
+		Arrays.fill(values, false);
+		values[Netlist.TRUE] = true;
+	}
+
+	/**
+	 * Sets the signal of a net. The cells that read it are evaluated the next time
+	 * {@link #settle()} is called.
+	 *
+	 * @param net    the net
+	 * @param active the new signal
+	 */
+	public abstract void set(int net, boolean active);
+
+	/** Evaluates the cells until the signals settle */
+	public abstract void settle();
+}
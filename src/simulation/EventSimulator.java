@@ -0,0 +1,422 @@
+package simulation;
+
+import java.util.Arrays;
+
+/**
+ * An event-driven timing simulator for a {@link Netlist}. Unlike the
+ * {@link CycleSimulator}, which computes the values the signals settle to,
+ * each cell changes its output after the delay of a {@link DelayModel}, so
+ * that the glitches and hazards caused by paths with different delays can be
+ * observed and recorded in a {@link Waveform}.
+ * <p>
+ * The changes of the signals are <i>events</i> kept in a timing wheel, an array
+ * of buckets indexed by the time of their events modulo the size of the wheel.
+ * Since no delay is longer than the wheel, all events of a bucket happen at the
+ * same time and scheduling an event or finding the next one takes constant
+ * time. Events with no delay are processed at the same time, in the next
+ * <i>delta cycle</i>.
+ * <p>
+ * Delays are <i>inertial</i>: a cell that is going to change its output
+ * ignores pulses on its inputs shorter than its delay. When the output of a
+ * cell would change back before a scheduled event happens, the event is
+ * cancelled and the pulse is <i>filtered</i>.
+ * <p>
+ * Initially all nets are {@code false}, as when the circuit is powered on, and
+ * the events of the cells whose output isn't {@code false} are scheduled at
+ * time {@code 0}. Changes to the inputs and the clocks happen at the current
+ * time, when {@link #run(long)} is next called. Since the simulator doesn't
+ * create any objects while running, millions of events can be processed per
+ * second.
+ *
+ * @author Alex Mandelias
+ */
+public final class EventSimulator {
+
+	/** The number of delta cycles at the same time after which a circuit oscillates */
+	public static final int MAX_DELTA_CYCLES = 10_000;
+
+	private static final int INITIAL_BUCKET_CAPACITY = 16;
+
+	private static final int DFF = CellType.DFF.ordinal();
+
+	private final Netlist netlist;
+	private final int[]   delays;
+
+	private final boolean[] values;
+
+	// the state of the clock of each Flip-Flop cell the last time it was evaluated
+	private final boolean[] clocks;
+
+	// at most one event per net: its time and the new value
+	private final boolean[] pending;
+	private final long[]    pendingTimes;
+	private final boolean[] pendingValues;
+
+	// the timing wheel, each bucket has the nets of its events
+	private final int[][] buckets;
+	private final int[]   bucketSizes;
+	private final int     mask;
+	private long          queued;
+
+	// the cells to evaluate after a delta cycle
+	private final boolean[] dirty;
+	private final int[]     dirtyCells;
+
+	private long     time;
+	private long     events, filtered;
+	private Waveform waveform;
+
+	/**
+	 * Constructs a simulator for a {@code Netlist} with the delays of a
+	 * {@code DelayModel}.
+	 *
+	 * @param netlist the Netlist to simulate
+	 * @param model   the delays of the cells
+	 */
+	public EventSimulator(Netlist netlist, DelayModel model) {
+		this.netlist = netlist;
+
+		final CellType[] cellTypes = CellType.values();
+		delays = new int[cellTypes.length];
+		int maxDelay = 0;
+		for (final CellType type : cellTypes) {
+			delays[type.ordinal()] = model.delay(type);
+			maxDelay = Math.max(maxDelay, model.delay(type));
+		}
+
+		final int netCount  = netlist.netCount();
+		final int cellCount = netlist.cellCount();
+
+		values = new boolean[netCount];
+		values[Netlist.TRUE] = true;
+		clocks = new boolean[cellCount];
+
+		pending = new boolean[netCount];
+		pendingTimes = new long[netCount];
+		pendingValues = new boolean[netCount];
+
+		// every event is scheduled at most maxDelay after the current time
+		final int size = Integer.highestOneBit(Math.max(maxDelay, 1)) << 1;
+		buckets = new int[size][EventSimulator.INITIAL_BUCKET_CAPACITY];
+		bucketSizes = new int[size];
+		mask = size - 1;
+
+		dirty = new boolean[cellCount];
+		dirtyCells = new int[cellCount];
+
+		for (int cell = 0; cell < cellCount; ++cell)
+			if (!netlist.cellType(cell).sequential())
+				evaluate(cell);
+	}
+
+	/**
+	 * Returns the simulated {@code Netlist}.
+	 *
+	 * @return the Netlist
+	 */
+	public Netlist netlist() {
+		return netlist;
+	}
+
+	/**
+	 * Returns the current time.
+	 *
+	 * @return the time
+	 */
+	public long time() {
+		return time;
+	}
+
+	/**
+	 * Returns the number of events, that is changes of signals, processed since
+	 * this simulator was constructed.
+	 *
+	 * @return the number of events
+	 */
+	public long events() {
+		return events;
+	}
+
+	/**
+	 * Returns the number of pulses filtered because they were shorter than the
+	 * delay of a cell.
+	 *
+	 * @return the number of filtered pulses
+	 */
+	public long filtered() {
+		return filtered;
+	}
+
+	/**
+	 * Returns whether or not there are no more events scheduled, which means the
+	 * signals have settled.
+	 *
+	 * @return {@code true} if there are no events, {@code false} otherwise
+	 */
+	public boolean stable() {
+		return queued == 0;
+	}
+
+	/**
+	 * Sets the value of an input at the current time.
+	 *
+	 * @param index  the index of the input
+	 * @param active the new value
+	 */
+	public void setInput(int index, boolean active) {
+		force(netlist.inputNets[index], active);
+	}
+
+	/**
+	 * Sets the value of the input with a name at the current time.
+	 *
+	 * @param name   the name of the input
+	 * @param active the new value
+	 *
+	 * @throws IllegalArgumentException if no input with that name exists
+	 */
+	public void setInput(String name, boolean active) {
+		final int index = netlist.indexOfInput(name);
+		if (index == -1)
+			throw new IllegalArgumentException(String.format("No pin named '%s'", name)); //$NON-NLS-1$
+
+		setInput(index, active);
+	}
+
+	/**
+	 * Sets the value of every clock at the current time.
+	 *
+	 * @param active the new value
+	 */
+	public void setClocks(boolean active) {
+		for (final int net : netlist.clockNets)
+			force(net, active);
+	}
+
+	/**
+	 * Returns the value of an output.
+	 *
+	 * @param index the index of the output
+	 *
+	 * @return the value
+	 */
+	public boolean getOutput(int index) {
+		return values[netlist.outputNets[index]];
+	}
+
+	/**
+	 * Returns the value of any net.
+	 *
+	 * @param net the net
+	 *
+	 * @return the value
+	 */
+	public boolean get(int net) {
+		return values[net];
+	}
+
+	/**
+	 * Starts recording the changes of the inputs, the clocks and the outputs.
+	 *
+	 * @return the Waveform where the changes are recorded
+	 *
+	 * @see #record(int...)
+	 */
+	public Waveform recordPins() {
+		final int[] nets = new int[netlist.inputCount() + netlist.clockCount()
+		        + netlist.outputCount()];
+		int         i    = 0;
+		for (final int net : netlist.inputNets)
+			nets[i++] = net;
+		for (final int net : netlist.clockNets)
+			nets[i++] = net;
+		for (final int net : netlist.outputNets)
+			nets[i++] = net;
+		return record(nets);
+	}
+
+	/**
+	 * Starts recording the changes of every net, except for the constants.
+	 *
+	 * @return the Waveform where the changes are recorded
+	 *
+	 * @see #record(int...)
+	 */
+	public Waveform recordAll() {
+		final int[] nets = new int[netlist.netCount() - 2];
+		for (int i = 0; i < nets.length; ++i)
+			nets[i] = i + 2;
+		return record(nets);
+	}
+
+	/**
+	 * Starts recording the changes of some nets. The nets that appear more than
+	 * once are recorded once. The inputs, the clocks and the outputs are named
+	 * after their pins and the other nets after the cell that drives them.
+	 * Recording replaces any previous recording.
+	 *
+	 * @param nets the nets to record
+	 *
+	 * @return the Waveform where the changes are recorded
+	 */
+	public Waveform record(int... nets) {
+		final boolean[] traced = new boolean[netlist.netCount()];
+		int             count  = 0;
+		for (final int net : nets)
+			if (!traced[net]) {
+				traced[net] = true;
+				++count;
+			}
+
+		// the pins name their nets, the inputs take precedence over the outputs
+		final String[] pinNames = new String[netlist.netCount()];
+		for (int i = netlist.outputCount() - 1; i >= 0; --i)
+			pinNames[netlist.outputNets[i]] = netlist.outputNames[i];
+		for (int i = netlist.clockCount() - 1; i >= 0; --i)
+			pinNames[netlist.clockNets[i]] = netlist.clockNames[i];
+		for (int i = netlist.inputCount() - 1; i >= 0; --i)
+			pinNames[netlist.inputNets[i]] = netlist.inputNames[i];
+
+		final int[]    signals = new int[count];
+		final String[] names   = new String[count];
+		int            i       = 0;
+		for (final int net : nets)
+			if (traced[net]) {
+				traced[net] = false;
+				signals[i] = net;
+				names[i++] = pinNames[net] != null ? pinNames[net] : netName(net);
+			}
+
+		waveform = new Waveform(netlist, signals, names, values);
+		return waveform;
+	}
+
+	/* Names a net that isn't a pin after the cell that drives it */
+	private String netName(int net) {
+		final int    driver = netlist.driver(net);
+		final String name   = driver == -1 ? null : netlist.cellName(driver);
+		return String.format("%s.%d", name == null ? "net" : name, net); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Processes the events until a time, exclusive, and then advances the current
+	 * time to it.
+	 *
+	 * @param until the time
+	 *
+	 * @throws IllegalStateException if the circuit oscillates without delay
+	 */
+	public void run(long until) {
+		while (time < until) {
+			if (bucketSizes[(int) (time & mask)] > 0)
+				step();
+
+			if (queued == 0)
+				time = until;
+			else
+				++time;
+		}
+	}
+
+	/* Processes the events of the current time, in delta cycles */
+	private void step() {
+		final int   bucket      = (int) (time & mask);
+		final int[] fanoutStart = netlist.fanoutStart;
+		final int[] fanout      = netlist.fanout;
+
+		int start = 0, deltaCycles = 0;
+		while (start < bucketSizes[bucket]) {
+			if (++deltaCycles > EventSimulator.MAX_DELTA_CYCLES)
+				throw new IllegalStateException(String.format(
+				        "The circuit oscillates at time %d", time)); //$NON-NLS-1$
+
+			// the events with no delay are appended to the same bucket
+			final int end   = bucketSizes[bucket];
+			int       count = 0;
+			for (int i = start; i < end; ++i) {
+				final int net = buckets[bucket][i];
+				if (!pending[net] || (pendingTimes[net] != time))
+					continue;
+
+				pending[net] = false;
+				values[net] = pendingValues[net];
+				++events;
+				if (waveform != null)
+					waveform.record(time, net, values[net]);
+
+				for (int j = fanoutStart[net]; j < fanoutStart[net + 1]; ++j) {
+					final int cell = fanout[j];
+					if (!dirty[cell]) {
+						dirty[cell] = true;
+						dirtyCells[count++] = cell;
+					}
+				}
+			}
+
+			queued -= end - start;
+			start = end;
+
+			for (int i = 0; i < count; ++i) {
+				dirty[dirtyCells[i]] = false;
+				evaluate(dirtyCells[i]);
+			}
+		}
+
+		bucketSizes[bucket] = 0;
+	}
+
+	/* Schedules the change of the output of a cell after its delay, if any */
+	private void evaluate(int cell) {
+		final int type = netlist.types[cell];
+		final int net  = netlist.outputs[cell];
+
+		if (type == EventSimulator.DFF) {
+			final int     start = netlist.inputStart[cell];
+			final boolean clock = values[netlist.inputs[start + 1]];
+			if (clock && !clocks[cell])
+				schedule(net, values[netlist.inputs[start]], time + delays[type]);
+			clocks[cell] = clock;
+		} else
+			schedule(net, netlist.evaluate(cell, values), time + delays[type]);
+	}
+
+	/* Schedules a change of a net with inertial delay */
+	private void schedule(int net, boolean value, long at) {
+		if (pending[net]) {
+			// the net is already going to change to this value
+			if (pendingValues[net] == value)
+				return;
+
+			// the net changes back before the pending change happens
+			pending[net] = false;
+			++filtered;
+		} else if (values[net] != value)
+			enqueue(net, value, at);
+	}
+
+	/* Changes a net at the current time, replacing any pending change */
+	private void force(int net, boolean value) {
+		pending[net] = false;
+		if (values[net] != value)
+			enqueue(net, value, time);
+	}
+
+	private void enqueue(int net, boolean value, long at) {
+		pending[net] = true;
+		pendingTimes[net] = at;
+		pendingValues[net] = value;
+
+		final int bucket = (int) (at & mask);
+		if (bucketSizes[bucket] == buckets[bucket].length)
+			buckets[bucket] = Arrays.copyOf(buckets[bucket], 2 * bucketSizes[bucket]);
+
+		buckets[bucket][bucketSizes[bucket]++] = net;
+		++queued;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("Event simulation at time %d: %d events, %d filtered", time, //$NON-NLS-1$
+		        events, filtered);
+	}
+}
@@ -0,0 +1,147 @@
+package simulation;
+
+import java.util.Arrays;
+
+/**
+ * Evaluates the combinational cells of a {@link Netlist} after some nets have
+ * changed. Only the cells whose inputs changed are evaluated, level by level:
+ * when a cell is marked as dirty it is placed in the bucket of its level and
+ * the buckets are emptied in increasing order of level. Since every cell that
+ * reads the output of a cell has a higher level, each cell is evaluated at most
+ * once per call to {@link #settle()}, regardless of how many of its inputs
+ * changed and in which order.
+ * <p>
+ * Cells in combinational loops, which can't be levelised, are evaluated
+ * repeatedly after all other cells until they settle, if they ever do.
+ *
+ * @author Alex Mandelias
+ */
+public final class LevelizedEvaluator extends Evaluator {
+
+	// the dirty cells of level `l` are at bucket[base[l] .. base[l] + size[l]]
+	private final boolean[] dirty;
+	private final int[]     bucket;
+	private final int[]     base;
+	private final int[]     size;
+	private int             lowestDirtyLevel;
+
+	// the cells in loops that are evaluated in the current round
+	private final int[] loopCells;
+
+	/**
+	 * Constructs an evaluator for a {@code Netlist}. Initially all nets are
+	 * {@code false}, except for the {@link Netlist#TRUE} net, and every cell is
+	 * dirty.
+	 *
+	 * @param netlist the Netlist
+	 */
+	public LevelizedEvaluator(Netlist netlist) {
+		super(netlist);
+
+		final int levelCount = netlist.levelCount();
+		dirty = new boolean[netlist.types.length];
+		bucket = new int[netlist.order.length];
+		base = new int[levelCount + 2];
+		size = new int[levelCount + 2];
+
+		// each level has exactly as much space as it has cells
+		for (int l = 1; l <= levelCount; ++l)
+			base[l] = netlist.levelStart[l - 1];
+		base[levelCount + 1] = netlist.loopStart;
+		loopCells = new int[netlist.order.length - netlist.loopStart];
+
+		reset();
+	}
+
+	@Override
+	public void reset() {
+		super.reset();
+
+		Arrays.fill(dirty, false);
+		Arrays.fill(size, 0);
+		lowestDirtyLevel = size.length;
+		for (final int cell : netlist.order)
+			markDirty(cell);
+	}
+
+	/**
+	 * Sets the signal of a net and marks the cells that read it as dirty if it
+	 * changed.
+	 *
+	 * @param net    the net
+	 * @param active the new signal
+	 */
+	@Override
+	public void set(int net, boolean active) {
+		if (values[net] != active) {
+			values[net] = active;
+			markFanout(net);
+		}
+	}
+
+	/** Evaluates the dirty cells until no cell is dirty */
+	@Override
+	public void settle() {
+		final int   loopLevel = size.length - 1;
+		final int[] outputs   = netlist.outputs;
+
+		// the dirty cells of a level can only mark cells of higher levels as dirty
+		for (int l = lowestDirtyLevel; l < loopLevel; ++l) {
+			final int start = base[l];
+			for (int i = 0; i < size[l]; ++i) {
+				final int cell = bucket[start + i];
+				dirty[cell] = false;
+				set(outputs[cell], netlist.evaluate(cell, values));
+			}
+
+			evaluations += size[l];
+			size[l] = 0;
+		}
+
+		// the dirty cells in loops may mark each other as dirty, again and again
+		final int start = base[loopLevel];
+		for (int round = 0; (size[loopLevel] > 0) && (round <= loopCells.length); ++round) {
+			final int count = size[loopLevel];
+			System.arraycopy(bucket, start, loopCells, 0, count);
+			size[loopLevel] = 0;
+			for (int i = 0; i < count; ++i)
+				dirty[loopCells[i]] = false;
+
+			for (int i = 0; i < count; ++i) {
+				final int cell = loopCells[i];
+				set(outputs[cell], netlist.evaluate(cell, values));
+			}
+
+			evaluations += count;
+		}
+
+		// the loop didn't settle, give up on it
+		for (int i = 0; i < size[loopLevel]; ++i)
+			dirty[bucket[start + i]] = false;
+		size[loopLevel] = 0;
+
+		lowestDirtyLevel = size.length;
+	}
+
+	private void markFanout(int net) {
+		final int[] fanout = netlist.fanout;
+		for (int i = netlist.fanoutStart[net], end = netlist.fanoutStart[net + 1]; i < end; ++i)
+			markDirty(fanout[i]);
+	}
+
+	private void markDirty(int cell) {
+		if (dirty[cell])
+			return;
+
+		final int l = netlist.level[cell];
+
+		// Flip-Flops are at level 0 and are never evaluated
+		if (l == 0)
+			return;
+
+		dirty[cell] = true;
+		bucket[base[l] + size[l]++] = cell;
+		if (l < lowestDirtyLevel)
+			lowestDirtyLevel = l;
+	}
+}
@@ -0,0 +1,454 @@
+package simulation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.IntConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Computes a minimal {@link SumOfProducts} for each output of a combinational
+ * {@link Netlist}, from its truth table.
+ * <p>
+ * The truth tables of all the outputs are computed at once by evaluating the
+ * Netlist for 64 input combinations with each bitwise operation. The outputs are
+ * then minimised in parallel. The prime implicants of an output are found with
+ * the Quine-McCluskey method, merging the cubes that differ in a single input
+ * until no more can be merged. For functions with too many implicants, such as
+ * those of wide adders, the primes are instead found by expanding the minterms
+ * one input at a time, as in Espresso. The products are chosen among the primes
+ * in the same way as Espresso: first the essential primes, then greedily the
+ * primes that cover the most minterms that aren't covered yet and finally the
+ * products that the others cover are removed.
+ * <p>
+ * The size of the truth tables grows exponentially with the number of inputs,
+ * therefore only Netlists with up to {@value #MAX_INPUTS} inputs can be
+ * minimised.
+ *
+ * @author Alex Mandelias
+ */
+public final class LogicMinimizer {
+
+	/** The maximum number of inputs of a Netlist that can be minimised */
+	public static final int MAX_INPUTS = 16;
+
+	// the number of implicants after which the primes are found by expansion instead
+	private static final int IMPLICANT_LIMIT = 1 << 16;
+
+	// the values of the first 6 inputs for the 64 minterms of a block
+	private static final long[] PATTERNS = { 0xAAAAAAAAAAAAAAAAL, 0xCCCCCCCCCCCCCCCCL,
+	        0xF0F0F0F0F0F0F0F0L, 0xFF00FF00FF00FF00L, 0xFFFF0000FFFF0000L, 0xFFFFFFFF00000000L };
+
+	private LogicMinimizer() {}
+
+	/**
+	 * Returns whether or not a {@code Netlist} can be minimised. Netlists with
+	 * flip-flops, clocks, combinational loops or more than {@value #MAX_INPUTS}
+	 * inputs can't be.
+	 *
+	 * @param netlist the Netlist
+	 *
+	 * @return {@code true} if it can be minimised, {@code false} otherwise
+	 */
+	public static boolean minimizable(Netlist netlist) {
+		return (netlist.flipFlopCount() == 0) && (netlist.clockCount() == 0)
+		        && !netlist.hasLoops() && (netlist.inputCount() <= LogicMinimizer.MAX_INPUTS);
+	}
+
+	/**
+	 * Computes a minimal sum-of-products expression for each output of a
+	 * {@code Netlist}.
+	 *
+	 * @param netlist the Netlist
+	 *
+	 * @return a List with the expression of each output, in the same order
+	 *
+	 * @throws IllegalArgumentException if the Netlist can't be minimised
+	 *
+	 * @see #minimizable(Netlist)
+	 */
+	public static List<SumOfProducts> minimize(Netlist netlist) {
+		if (!LogicMinimizer.minimizable(netlist))
+			throw new IllegalArgumentException(String.format(
+			        "Only combinational Netlists with up to %d inputs can be minimised", //$NON-NLS-1$
+			        LogicMinimizer.MAX_INPUTS));
+
+		final long[][] tables     = LogicMinimizer.truthTables(netlist);
+		final String[] inputNames = new String[netlist.inputCount()];
+		for (int i = 0; i < inputNames.length; ++i)
+			inputNames[i] = netlist.inputName(i);
+
+		return IntStream.range(0, netlist.outputCount()).parallel()
+		        .mapToObj(o -> LogicMinimizer.minimize(netlist.outputName(o), inputNames, tables[o]))
+		        .collect(Collectors.toList());
+	}
+
+	/**
+	 * Synthesises a {@code Netlist} from the sum-of-products expressions of its
+	 * outputs. There is an AND cell for each distinct product, which is shared by
+	 * the outputs, and a NOT cell for each complemented input.
+	 *
+	 * @param netlist     the Netlist
+	 * @param expressions the expression of each output of the Netlist
+	 *
+	 * @return the synthesised Netlist, with the same inputs and outputs
+	 */
+	public static Netlist synthesize(Netlist netlist, List<SumOfProducts> expressions) {
+		final NetlistBuilder builder = new NetlistBuilder();
+
+		final int[] plain        = new int[netlist.inputCount()];
+		final int[] complemented = new int[netlist.inputCount()];
+		for (int i = 0; i < plain.length; ++i) {
+			plain[i] = builder.addInput(netlist.inputName(i));
+			complemented[i] = -1;
+		}
+
+		final Map<Long, Integer> products = new HashMap<>();
+		for (final SumOfProducts expression : expressions) {
+			final int[] terms = new int[expression.productCount()];
+			int         net   = Netlist.FALSE;
+
+			for (int p = 0; p < terms.length; ++p) {
+				final int care  = expression.care(p);
+				final int value = expression.value(p);
+				if (care == 0) {
+					net = Netlist.TRUE;
+					break;
+				}
+
+				final int[] literals = new int[Integer.bitCount(care)];
+				int         count    = 0;
+				for (int i = 0; i < plain.length; ++i) {
+					if ((care & (1 << i)) == 0)
+						continue;
+
+					if (((value & (1 << i)) == 0) && (complemented[i] == -1))
+						complemented[i] = builder.add(CellType.NOT, plain[i]);
+					literals[count++] = (value & (1 << i)) != 0 ? plain[i] : complemented[i];
+				}
+
+				terms[p] = literals.length == 1 ? literals[0]
+				        : products.computeIfAbsent(LogicMinimizer.cube(care, value),
+				                key -> builder.add(CellType.AND, literals));
+			}
+
+			if ((net != Netlist.TRUE) && (terms.length > 0))
+				net = terms.length == 1 ? terms[0] : builder.add(CellType.OR, terms);
+
+			builder.addOutput(expression.name(), net);
+		}
+
+		return builder.build();
+	}
+
+	/**
+	 * Returns the {@code Netlist} synthesised from the minimised expressions of a
+	 * Netlist if it is smaller, that is if its cells have fewer inputs in total.
+	 * Otherwise, or if the Netlist can't be minimised, returns the Netlist itself.
+	 *
+	 * @param netlist the Netlist
+	 *
+	 * @return the smaller of the two Netlists
+	 */
+	public static Netlist resynthesize(Netlist netlist) {
+		if (!LogicMinimizer.minimizable(netlist))
+			return netlist;
+
+		final Netlist minimized = LogicMinimizer.synthesize(netlist,
+		        LogicMinimizer.minimize(netlist));
+		return LogicMinimizer.cost(minimized) < LogicMinimizer.cost(netlist) ? minimized : netlist;
+	}
+
+	private static int cost(Netlist netlist) {
+		int cost = 0;
+		for (int cell = 0; cell < netlist.cellCount(); ++cell)
+			cost += netlist.cellInputCount(cell);
+		return cost;
+	}
+
+	/* Evaluates the Netlist for every minterm; bit `m % 64` of block `m / 64` is minterm `m` */
+	private static long[][] truthTables(Netlist netlist) {
+		final int      inputCount = netlist.inputCount();
+		final int      blocks     = inputCount <= 6 ? 1 : 1 << (inputCount - 6);
+		final long[][] tables     = new long[netlist.outputCount()][blocks];
+		final long[]   signals    = new long[netlist.netCount()];
+
+		signals[Netlist.FALSE] = 0L;
+		signals[Netlist.TRUE] = -1L;
+		for (int block = 0; block < blocks; ++block) {
+			for (int i = 0; i < inputCount; ++i)
+				signals[netlist.inputNet(i)] = i < 6 ? LogicMinimizer.PATTERNS[i]
+				        : ((block >>> (i - 6)) & 1) != 0 ? -1L : 0L;
+
+			for (int i = 0; i < netlist.combinationalCount(); ++i) {
+				final int cell  = netlist.ordered(i);
+				long      value = signals[netlist.cellInput(cell, 0)];
+
+				switch (netlist.cellType(cell)) {
+				case AND:
+					for (int slot = 1; slot < netlist.cellInputCount(cell); ++slot)
+						value &= signals[netlist.cellInput(cell, slot)];
+					break;
+				case OR:
+					for (int slot = 1; slot < netlist.cellInputCount(cell); ++slot)
+						value |= signals[netlist.cellInput(cell, slot)];
+					break;
+				case XOR:
+					for (int slot = 1; slot < netlist.cellInputCount(cell); ++slot)
+						value ^= signals[netlist.cellInput(cell, slot)];
+					break;
+				case NOT:
+					value = ~value;
+					break;
+				case DFF:
+				default:
+					throw new IllegalArgumentException(String.format(
+					        "Cell %d of type %s is not combinational", cell, netlist.cellType(cell))); //$NON-NLS-1$
+				}
+
+				signals[netlist.cellOutput(cell)] = value;
+			}
+
+			for (int o = 0; o < tables.length; ++o)
+				tables[o][block] = signals[netlist.outputNet(o)];
+		}
+
+		// with fewer than 6 inputs only the first minterms of the block exist
+		if (inputCount < 6)
+			for (final long[] table : tables)
+				table[0] &= (1L << (1 << inputCount)) - 1;
+
+		return tables;
+	}
+
+	private static SumOfProducts minimize(String name, String[] inputNames, long[] table) {
+		final int size = 1 << inputNames.length;
+		final int all  = size - 1;
+
+		final List<Long> exact  = LogicMinimizer.primes(table, all);
+		final List<Long> primes = exact != null ? exact : LogicMinimizer.expand(table, all);
+
+		// the number of primes that cover each minterm and the last one of them
+		final int[] covering = new int[size];
+		final int[] last     = new int[size];
+		for (int p = 0; p < primes.size(); ++p) {
+			final int prime = p;
+			LogicMinimizer.forEachMinterm(primes.get(p), all, m -> {
+				++covering[m];
+				last[m] = prime;
+			});
+		}
+
+		final boolean[]     selected  = new boolean[primes.size()];
+		final List<Integer> order     = new ArrayList<>();
+		final int[]         covered   = new int[size];
+		final int[]         uncovered = { 0 };
+		for (int m = 0; m < size; ++m)
+			if (covering[m] > 0)
+				++uncovered[0];
+
+		final IntConsumer select = p -> {
+			selected[p] = true;
+			order.add(p);
+			LogicMinimizer.forEachMinterm(primes.get(p), all, m -> {
+				if (covered[m]++ == 0)
+					--uncovered[0];
+			});
+		};
+
+		// the essential primes: the only ones that cover some minterm
+		for (int m = 0; m < size; ++m)
+			if ((covering[m] == 1) && !selected[last[m]])
+				select.accept(last[m]);
+
+		// the prime that covers the most uncovered minterms; the gains only decrease
+		final PriorityQueue<Long> queue = new PriorityQueue<>(Collections.reverseOrder());
+		for (int p = 0; p < primes.size(); ++p)
+			if (!selected[p])
+				queue.add(LogicMinimizer.entry(LogicMinimizer.gain(primes.get(p), all, covered), p));
+
+		while ((uncovered[0] > 0) && !queue.isEmpty()) {
+			final long entry = queue.poll();
+			final int  p     = Integer.MAX_VALUE - (int) entry;
+			final int  gain  = LogicMinimizer.gain(primes.get(p), all, covered);
+			if (gain == (int) (entry >>> 32))
+				select.accept(p);
+			else if (gain > 0)
+				queue.add(LogicMinimizer.entry(gain, p));
+		}
+
+		// remove the products whose minterms are all covered by others
+		for (int i = order.size() - 1; i >= 0; --i) {
+			final int     p         = order.get(i);
+			final boolean redundant = LogicMinimizer.gain(primes.get(p), all, covered, 1) == 0;
+			if (redundant) {
+				selected[p] = false;
+				LogicMinimizer.forEachMinterm(primes.get(p), all, m -> --covered[m]);
+			}
+		}
+
+		final List<Long> products = new ArrayList<>();
+		for (int p = 0; p < primes.size(); ++p)
+			if (selected[p])
+				products.add(primes.get(p));
+
+		final int[] cares  = new int[products.size()];
+		final int[] values = new int[products.size()];
+		for (int i = 0; i < cares.length; ++i) {
+			cares[i] = LogicMinimizer.care(products.get(i));
+			values[i] = LogicMinimizer.value(products.get(i));
+		}
+
+		return new SumOfProducts(name, inputNames, cares, values);
+	}
+
+	/*
+	 * The prime implicants: the cubes that can't be merged with another one.
+	 * Returns null if there are too many implicants to find them all.
+	 */
+	private static List<Long> primes(long[] table, int all) {
+		final List<Long> primes = new ArrayList<>();
+		Set<Long>        cubes  = new HashSet<>();
+		for (int m = 0; m <= all; ++m)
+			if (LogicMinimizer.onSet(table, m))
+				cubes.add(LogicMinimizer.cube(all, m));
+
+		int implicants = cubes.size();
+		while (!cubes.isEmpty()) {
+			if (implicants > LogicMinimizer.IMPLICANT_LIMIT)
+				return null;
+
+			final Set<Long> next   = new HashSet<>();
+			final Set<Long> merged = new HashSet<>();
+			for (final long cube : cubes) {
+				final int care  = LogicMinimizer.care(cube);
+				final int value = LogicMinimizer.value(cube);
+
+				// merge with the cube that has the clear input set
+				for (int rest = care & ~value; rest != 0; rest &= rest - 1) {
+					final int  input   = rest & -rest;
+					final long partner = LogicMinimizer.cube(care, value | input);
+					if (cubes.contains(partner)) {
+						next.add(LogicMinimizer.cube(care & ~input, value));
+						merged.add(cube);
+						merged.add(partner);
+					}
+				}
+			}
+
+			for (final long cube : cubes)
+				if (!merged.contains(cube))
+					primes.add(cube);
+			cubes = next;
+			implicants += cubes.size();
+		}
+
+		Collections.sort(primes);
+		return primes;
+	}
+
+	/*
+	 * Some prime implicants that cover the on-set, found by expanding each minterm
+	 * that isn't covered yet: an input is removed from the cube as long as the
+	 * cube stays in the on-set, preferring the input that covers the most new
+	 * minterms.
+	 */
+	private static List<Long> expand(long[] table, int all) {
+		final List<Long> primes  = new ArrayList<>();
+		final boolean[]  covered = new boolean[all + 1];
+
+		for (int m = 0; m <= all; ++m) {
+			if (covered[m] || !LogicMinimizer.onSet(table, m))
+				continue;
+
+			int care = all;
+			while (true) {
+				int best = 0, bestGain = -1;
+				for (int rest = care; rest != 0; rest &= rest - 1) {
+					final int input = rest & -rest;
+
+					// the half that is added to the cube when the input is removed
+					final int free  = all & ~care;
+					final int value = (m & care) ^ input;
+					int       gain  = 0;
+					for (int subset = free;; subset = (subset - 1) & free) {
+						if (!LogicMinimizer.onSet(table, value | subset)) {
+							gain = -1;
+							break;
+						}
+						if (!covered[value | subset])
+							++gain;
+						if (subset == 0)
+							break;
+					}
+
+					if (gain > bestGain) {
+						best = input;
+						bestGain = gain;
+					}
+				}
+
+				if (best == 0)
+					break;
+				care &= ~best;
+			}
+
+			final long prime = LogicMinimizer.cube(care, m & care);
+			primes.add(prime);
+			LogicMinimizer.forEachMinterm(prime, all, minterm -> covered[minterm] = true);
+		}
+
+		return primes;
+	}
+
+	private static boolean onSet(long[] table, int minterm) {
+		return (table[minterm >>> 6] & (1L << minterm)) != 0;
+	}
+
+	private static long cube(int care, int value) {
+		return ((long) care << 32) | value;
+	}
+
+	private static int care(long cube) {
+		return (int) (cube >>> 32);
+	}
+
+	private static int value(long cube) {
+		return (int) cube;
+	}
+
+	/* An entry of the queue, ordered by gain and then by index of the prime */
+	private static long entry(int gain, int prime) {
+		return ((long) gain << 32) | (Integer.MAX_VALUE - prime);
+	}
+
+	private static int gain(long cube, int all, int[] covered) {
+		return LogicMinimizer.gain(cube, all, covered, 0);
+	}
+
+	/* The number of minterms of the cube that are covered at most `limit` times */
+	private static int gain(long cube, int all, int[] covered, int limit) {
+		final int[] gain = { 0 };
+		LogicMinimizer.forEachMinterm(cube, all, m -> {
+			if (covered[m] <= limit)
+				++gain[0];
+		});
+		return gain[0];
+	}
+
+	private static void forEachMinterm(long cube, int all, IntConsumer action) {
+		final int free  = all & ~LogicMinimizer.care(cube);
+		final int value = LogicMinimizer.value(cube);
+		for (int subset = free;; subset = (subset - 1) & free) {
+			action.accept(value | subset);
+			if (subset == 0)
+				break;
+		}
+	}
+}
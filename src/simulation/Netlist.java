@@ -0,0 +1,545 @@
+package simulation;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * An immutable, compiled representation of a circuit. The circuit consists of
+ * nets, each of which carries a single signal, and cells, each of which computes
+ * the signal of exactly one net from the signals of other nets. Nets and cells
+ * are identified by their index and all information about them is stored in
+ * arrays, so that simulators don't create any objects.
+ * <p>
+ * The nets {@link #FALSE} and {@link #TRUE} are constant. The inputs and clocks
+ * of the circuit have no driver, while each output observes one net.
+ * <p>
+ * During construction the combinational cells are sorted in topological levels:
+ * the inputs of a cell at level {@code n} are only driven by cells at levels
+ * lower than {@code n}, by Flip-Flops or by inputs. Evaluating the cells in that
+ * order computes each cell exactly once. Cells that are part of a combinational
+ * loop can't be levelised; they are placed after all other cells and must be
+ * evaluated repeatedly until the signals settle.
+ * <p>
+ * Netlists are constructed using a {@link NetlistBuilder} or compiled from
+ * {@code Components} using a {@link NetlistCompiler}.
+ *
+ * @author Alex Mandelias
+ */
+public final class Netlist implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/** The net that is always {@code false} */
+	public static final int FALSE = 0;
+
+	/** The net that is always {@code true} */
+	public static final int TRUE = 1;
+
+	private static final CellType[] cellTypes = CellType.values();
+
+	// structure
+	final int    netCount;
+	final byte[] types;
+	final int[]  outputs;
+	final int[]  inputStart;
+	final int[]  inputs;
+
+	private final String[] cellNames, slotNames;
+
+	final String[] inputNames, outputNames, clockNames;
+	final int[]    inputNets, outputNets, clockNets;
+
+	// derived information
+	final int[] driver;
+	final int[] fanoutStart;
+	final int[] fanout;
+	final int[] level;
+	final int[] order;
+	final int[] levelStart;
+	final int   loopStart;
+	final int[] flipFlops;
+
+	/**
+	 * Constructs the Netlist and computes the derived information. Should only be
+	 * called by the {@link NetlistBuilder}.
+	 */
+	Netlist(int netCount, byte[] types, int[] outputs, int[] inputStart, int[] inputs,
+	        String[] cellNames, String[] slotNames, String[] inputNames, int[] inputNets,
+	        String[] outputNames, int[] outputNets, String[] clockNames, int[] clockNets) {
+		this.netCount = netCount;
+		this.types = types;
+		this.outputs = outputs;
+		this.inputStart = inputStart;
+		this.inputs = inputs;
+		this.cellNames = cellNames;
+		this.slotNames = slotNames;
+		this.inputNames = inputNames;
+		this.inputNets = inputNets;
+		this.outputNames = outputNames;
+		this.outputNets = outputNets;
+		this.clockNames = clockNames;
+		this.clockNets = clockNets;
+
+		final int cellCount = types.length;
+
+		// the cell that drives each net
+		driver = new int[netCount];
+		Arrays.fill(driver, -1);
+		for (int cell = 0; cell < cellCount; ++cell)
+			driver[outputs[cell]] = cell;
+
+		// the cells that read each net
+		fanoutStart = new int[netCount + 1];
+		for (final int net : inputs)
+			++fanoutStart[net + 1];
+		for (int net = 0; net < netCount; ++net)
+			fanoutStart[net + 1] += fanoutStart[net];
+
+		fanout = new int[inputs.length];
+		final int[] fill = Arrays.copyOf(fanoutStart, netCount);
+		for (int cell = 0; cell < cellCount; ++cell)
+			for (int i = inputStart[cell]; i < inputStart[cell + 1]; ++i)
+				fanout[fill[inputs[i]]++] = cell;
+
+		// the Flip-Flops
+		int flipFlopCount = 0;
+		for (int cell = 0; cell < cellCount; ++cell)
+			if (cellTypes[types[cell]].sequential())
+				++flipFlopCount;
+
+		flipFlops = new int[flipFlopCount];
+		for (int cell = 0, i = 0; cell < cellCount; ++cell)
+			if (cellTypes[types[cell]].sequential())
+				flipFlops[i++] = cell;
+
+		// levelise the combinational cells using Kahn's algorithm: a cell is ready when
+		// all of the combinational cells that drive its inputs have been levelised
+		level = new int[cellCount];
+		final int[] pending = new int[cellCount];
+		for (int cell = 0; cell < cellCount; ++cell)
+			if (!cellTypes[types[cell]].sequential())
+				for (int i = inputStart[cell]; i < inputStart[cell + 1]; ++i)
+					if (combinational(driver[inputs[i]]))
+						++pending[cell];
+
+		order = new int[cellCount - flipFlopCount];
+		int head = 0, tail = 0;
+		for (int cell = 0; cell < cellCount; ++cell)
+			if (!cellTypes[types[cell]].sequential() && (pending[cell] == 0)) {
+				level[cell] = 1;
+				order[tail++] = cell;
+			}
+
+		while (head < tail) {
+			final int cell = order[head++];
+			final int net  = outputs[cell];
+			for (int i = fanoutStart[net]; i < fanoutStart[net + 1]; ++i) {
+				final int next = fanout[i];
+				if (cellTypes[types[next]].sequential())
+					continue;
+
+				level[next] = Math.max(level[next], level[cell] + 1);
+				if (--pending[next] == 0)
+					order[tail++] = next;
+			}
+		}
+
+		// stable sort by level so that each level is contiguous
+		loopStart = tail;
+		int levelCount = 0;
+		for (int i = 0; i < loopStart; ++i)
+			levelCount = Math.max(levelCount, level[order[i]]);
+
+		levelStart = new int[levelCount + 1];
+		for (int i = 0; i < loopStart; ++i)
+			++levelStart[level[order[i]]];
+		for (int l = 0; l < levelCount; ++l)
+			levelStart[l + 1] += levelStart[l];
+
+		final int[] sorted   = new int[loopStart];
+		final int[] position = Arrays.copyOf(levelStart, levelCount);
+		for (int i = 0; i < loopStart; ++i)
+			sorted[position[level[order[i]] - 1]++] = order[i];
+		System.arraycopy(sorted, 0, order, 0, loopStart);
+
+		// the remaining cells are part of (or depend on) a combinational loop
+		for (int cell = 0; cell < cellCount; ++cell)
+			if (!cellTypes[types[cell]].sequential() && (pending[cell] > 0)) {
+				level[cell] = levelCount + 1;
+				order[tail++] = cell;
+			}
+	}
+
+	private boolean combinational(int cell) {
+		return (cell != -1) && !cellTypes[types[cell]].sequential();
+	}
+
+	/**
+	 * Computes the output of a combinational cell from the current signals.
+	 *
+	 * @param cell   the cell
+	 * @param values the signal of each net
+	 *
+	 * @return the output of the cell
+	 */
+	boolean evaluate(int cell, boolean[] values) {
+		final int start = inputStart[cell], end = inputStart[cell + 1];
+
+		boolean result;
+		switch (types[cell]) {
+		case 0: // AND
+			result = true;
+			for (int i = start; result && (i < end); ++i)
+				result = values[inputs[i]];
+			return result;
+		case 1: // OR
+			result = false;
+			for (int i = start; !result && (i < end); ++i)
+				result = values[inputs[i]];
+			return result;
+		case 2: // XOR
+			result = false;
+			for (int i = start; i < end; ++i)
+				result ^= values[inputs[i]];
+			return result;
+		case 3: // NOT
+			return !values[inputs[start]];
+		default:
+			throw new IllegalArgumentException(String.format(
+			        "Cell %d of type %s is not combinational", cell, cellType(cell))); //$NON-NLS-1$
+		}
+	}
+
+	// nets
+
+	/**
+	 * Returns the number of nets, including the two constant nets.
+	 *
+	 * @return the number of nets
+	 */
+	public int netCount() {
+		return netCount;
+	}
+
+	/**
+	 * Returns the cell that drives a net.
+	 *
+	 * @param net the net
+	 *
+	 * @return the cell or {@code -1} if the net is constant, an input or a clock
+	 */
+	public int driver(int net) {
+		return driver[net];
+	}
+
+	/**
+	 * Returns the number of cell inputs that a net is connected to.
+	 *
+	 * @param net the net
+	 *
+	 * @return the fan-out of the net
+	 */
+	public int fanoutCount(int net) {
+		return fanoutStart[net + 1] - fanoutStart[net];
+	}
+
+	/**
+	 * Returns a cell that reads a net. A cell that reads the net many times is
+	 * returned as many times.
+	 *
+	 * @param net the net
+	 * @param i   the position of the cell among those that read the net
+	 *
+	 * @return the cell
+	 */
+	public int fanout(int net, int i) {
+		return fanout[fanoutStart[net] + i];
+	}
+
+	// cells
+
+	/**
+	 * Returns the number of cells.
+	 *
+	 * @return the number of cells
+	 */
+	public int cellCount() {
+		return types.length;
+	}
+
+	/**
+	 * Returns the type of a cell.
+	 *
+	 * @param cell the cell
+	 *
+	 * @return the type
+	 */
+	public CellType cellType(int cell) {
+		return cellTypes[types[cell]];
+	}
+
+	/**
+	 * Returns the net driven by a cell.
+	 *
+	 * @param cell the cell
+	 *
+	 * @return the net
+	 */
+	public int cellOutput(int cell) {
+		return outputs[cell];
+	}
+
+	/**
+	 * Returns the number of inputs of a cell.
+	 *
+	 * @param cell the cell
+	 *
+	 * @return the number of inputs
+	 */
+	public int cellInputCount(int cell) {
+		return inputStart[cell + 1] - inputStart[cell];
+	}
+
+	/**
+	 * Returns the net connected to an input of a cell.
+	 *
+	 * @param cell the cell
+	 * @param slot the index of the input
+	 *
+	 * @return the net
+	 */
+	public int cellInput(int cell, int slot) {
+		return inputs[inputStart[cell] + slot];
+	}
+
+	/**
+	 * Returns the name of a cell, usually the ID of the top-level Component it was
+	 * compiled from.
+	 *
+	 * @param cell the cell
+	 *
+	 * @return the name, may be {@code null}
+	 */
+	public String cellName(int cell) {
+		return cellNames[cell];
+	}
+
+	/**
+	 * Returns the name of the connection to an input of a cell, usually the ID of
+	 * the top-level Branch it was compiled from.
+	 *
+	 * @param cell the cell
+	 * @param slot the index of the input
+	 *
+	 * @return the name, may be {@code null}
+	 */
+	public String slotName(int cell, int slot) {
+		return slotNames[inputStart[cell] + slot];
+	}
+
+	// levels
+
+	/**
+	 * Returns the level of a cell. Flip-Flops have level {@code 0}, combinational
+	 * cells have levels {@code 1} to {@code levelCount()} and cells in
+	 * combinational loops have level {@code levelCount() + 1}.
+	 *
+	 * @param cell the cell
+	 *
+	 * @return the level
+	 */
+	public int level(int cell) {
+		return level[cell];
+	}
+
+	/**
+	 * Returns the number of levels of combinational cells, the length of the
+	 * longest combinational path, not counting loops.
+	 *
+	 * @return the number of levels
+	 */
+	public int levelCount() {
+		return levelStart.length - 1;
+	}
+
+	/**
+	 * Returns the number of combinational cells, including those in loops.
+	 *
+	 * @return the number of cells
+	 */
+	public int combinationalCount() {
+		return order.length;
+	}
+
+	/**
+	 * Returns a combinational cell in evaluation order: by level and then the
+	 * cells in loops.
+	 *
+	 * @param i the position of the cell in the order
+	 *
+	 * @return the cell
+	 */
+	public int ordered(int i) {
+		return order[i];
+	}
+
+	/**
+	 * Returns whether or not the Netlist contains combinational loops.
+	 *
+	 * @return {@code true} if it does, {@code false} otherwise
+	 */
+	public boolean hasLoops() {
+		return loopStart != order.length;
+	}
+
+	/**
+	 * Returns the number of Flip-Flop cells.
+	 *
+	 * @return the number of Flip-Flops
+	 */
+	public int flipFlopCount() {
+		return flipFlops.length;
+	}
+
+	/**
+	 * Returns a Flip-Flop cell.
+	 *
+	 * @param i the index of the Flip-Flop
+	 *
+	 * @return the cell
+	 */
+	public int flipFlop(int i) {
+		return flipFlops[i];
+	}
+
+	// inputs, outputs and clocks
+
+	/**
+	 * Returns the number of inputs.
+	 *
+	 * @return the number of inputs
+	 */
+	public int inputCount() {
+		return inputNets.length;
+	}
+
+	/**
+	 * Returns the name of an input.
+	 *
+	 * @param i the index of the input
+	 *
+	 * @return the name
+	 */
+	public String inputName(int i) {
+		return inputNames[i];
+	}
+
+	/**
+	 * Returns the net of an input.
+	 *
+	 * @param i the index of the input
+	 *
+	 * @return the net
+	 */
+	public int inputNet(int i) {
+		return inputNets[i];
+	}
+
+	/**
+	 * Returns the index of the input with a name.
+	 *
+	 * @param name the name
+	 *
+	 * @return the index or {@code -1} if no such input exists
+	 */
+	public int indexOfInput(String name) {
+		return Netlist.indexOf(inputNames, name);
+	}
+
+	/**
+	 * Returns the number of outputs.
+	 *
+	 * @return the number of outputs
+	 */
+	public int outputCount() {
+		return outputNets.length;
+	}
+
+	/**
+	 * Returns the name of an output.
+	 *
+	 * @param i the index of the output
+	 *
+	 * @return the name
+	 */
+	public String outputName(int i) {
+		return outputNames[i];
+	}
+
+	/**
+	 * Returns the net observed by an output.
+	 *
+	 * @param i the index of the output
+	 *
+	 * @return the net
+	 */
+	public int outputNet(int i) {
+		return outputNets[i];
+	}
+
+	/**
+	 * Returns the index of the output with a name.
+	 *
+	 * @param name the name
+	 *
+	 * @return the index or {@code -1} if no such output exists
+	 */
+	public int indexOfOutput(String name) {
+		return Netlist.indexOf(outputNames, name);
+	}
+
+	/**
+	 * Returns the number of clocks.
+	 *
+	 * @return the number of clocks
+	 */
+	public int clockCount() {
+		return clockNets.length;
+	}
+
+	/**
+	 * Returns the name of a clock.
+	 *
+	 * @param i the index of the clock
+	 *
+	 * @return the name
+	 */
+	public String clockName(int i) {
+		return clockNames[i];
+	}
+
+	/**
+	 * Returns the net of a clock.
+	 *
+	 * @param i the index of the clock
+	 *
+	 * @return the net
+	 */
+	public int clockNet(int i) {
+		return clockNets[i];
+	}
+
+	private static int indexOf(String[] names, String name) {
+		for (int i = 0; i < names.length; ++i)
+			if (name.equals(names[i]))
+				return i;
+
+		return -1;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("Netlist: %d inputs, %d outputs, %d clocks, %d nets, %d cells, %d levels", //$NON-NLS-1$
+		        inputCount(), outputCount(), clockCount(), netCount, cellCount(), levelCount());
+	}
+}
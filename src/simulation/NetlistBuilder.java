@@ -0,0 +1,243 @@
+package simulation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Incrementally constructs a {@link Netlist}. Nets are identified by their
+ * index; the constant nets {@link Netlist#FALSE} and {@link Netlist#TRUE} always
+ * exist and every input, clock and cell adds exactly one new net.
+ * <p>
+ * The inputs of a cell may be specified after the cell is added, so that
+ * circuits with feedback (e.g. through Flip-Flops) can be constructed. Every
+ * input of every cell must have been specified before the {@link #build()}
+ * method is called.
+ *
+ * @author Alex Mandelias
+ */
+public final class NetlistBuilder {
+
+	private int netCount;
+
+	// cells
+	private int    cellCount;
+	private byte[] types;
+	private int[]  outputs;
+	private int[]  inputStart;
+	private int[]  inputs;
+	private int    inputsSize;
+
+	private final List<String> cellNames, slotNames;
+
+	// sources and sinks
+	private final List<String>  inputNames, outputNames, clockNames;
+	private final IntList       inputNets, outputNets, clockNets;
+
+	/** Constructs an empty NetlistBuilder */
+	public NetlistBuilder() {
+		netCount = 2;
+
+		cellCount = 0;
+		types = new byte[16];
+		outputs = new int[16];
+		inputStart = new int[17];
+		inputs = new int[32];
+		inputsSize = 0;
+
+		cellNames = new ArrayList<>();
+		slotNames = new ArrayList<>();
+
+		inputNames = new ArrayList<>();
+		outputNames = new ArrayList<>();
+		clockNames = new ArrayList<>();
+		inputNets = new IntList();
+		outputNets = new IntList();
+		clockNets = new IntList();
+	}
+
+	/**
+	 * Adds an input to the Netlist.
+	 *
+	 * @param name the name of the input
+	 *
+	 * @return the net of the input
+	 */
+	public int addInput(String name) {
+		inputNames.add(name);
+		inputNets.add(netCount);
+		return netCount++;
+	}
+
+	/**
+	 * Adds a clock to the Netlist. Clocks are inputs that are toggled by the
+	 * simulators once per cycle.
+	 *
+	 * @param name the name of the clock
+	 *
+	 * @return the net of the clock
+	 */
+	public int addClock(String name) {
+		clockNames.add(name);
+		clockNets.add(netCount);
+		return netCount++;
+	}
+
+	/**
+	 * Adds an output to the Netlist. Any net, including the net of an input, may
+	 * be an output.
+	 *
+	 * @param name the name of the output
+	 * @param net  the net whose value is output
+	 */
+	public void addOutput(String name, int net) {
+		checkNet(net);
+		outputNames.add(name);
+		outputNets.add(net);
+	}
+
+	/**
+	 * Adds a cell whose inputs are specified later using the
+	 * {@link #setInput(int, int, int, String)} method.
+	 *
+	 * @param type       the type of the cell
+	 * @param inputCount the number of inputs of the cell
+	 * @param name       the name of the cell, usually the ID of the Component that
+	 *                   it was compiled from, may be {@code null}
+	 *
+	 * @return the index of the cell
+	 *
+	 * @throws IllegalArgumentException if the number of inputs is invalid for the
+	 *                                  type of the cell
+	 */
+	public int addCell(CellType type, int inputCount, String name) {
+		if ((inputCount < 1) || ((type == CellType.NOT) && (inputCount != 1))
+		        || ((type == CellType.DFF) && (inputCount != 2)))
+			throw new IllegalArgumentException(String.format(
+			        "Cells of type %s can't have %d inputs", type, inputCount)); //$NON-NLS-1$
+
+		if (cellCount == types.length) {
+			types = Arrays.copyOf(types, 2 * cellCount);
+			outputs = Arrays.copyOf(outputs, 2 * cellCount);
+			inputStart = Arrays.copyOf(inputStart, (2 * cellCount) + 1);
+		}
+
+		while ((inputsSize + inputCount) > inputs.length)
+			inputs = Arrays.copyOf(inputs, 2 * inputs.length);
+
+		final int cell = cellCount++;
+		types[cell] = (byte) type.ordinal();
+		outputs[cell] = netCount++;
+		inputStart[cell] = inputsSize;
+		Arrays.fill(inputs, inputsSize, inputsSize + inputCount, -1);
+		inputsSize += inputCount;
+		inputStart[cellCount] = inputsSize;
+
+		cellNames.add(name);
+		for (int i = 0; i < inputCount; ++i)
+			slotNames.add(null);
+
+		return cell;
+	}
+
+	/**
+	 * Specifies one of the inputs of a cell.
+	 *
+	 * @param cell     the index of the cell
+	 * @param slot     the index of the input on the cell
+	 * @param net      the net connected to that input
+	 * @param slotName the name of the connection, usually the ID of the Branch
+	 *                 that it was compiled from, may be {@code null}
+	 */
+	public void setInput(int cell, int slot, int net, String slotName) {
+		checkNet(net);
+		final int index = inputStart[cell] + slot;
+		if ((slot < 0) || (index >= inputStart[cell + 1]))
+			throw new IndexOutOfBoundsException(String.format(
+			        "Cell %d doesn't have an input at index %d", cell, slot)); //$NON-NLS-1$
+
+		inputs[index] = net;
+		slotNames.set(index, slotName);
+	}
+
+	/**
+	 * Adds a cell whose inputs are known.
+	 *
+	 * @param type      the type of the cell
+	 * @param inputNets the nets connected to the inputs of the cell
+	 *
+	 * @return the net of the output of the cell
+	 */
+	public int add(CellType type, int... inputNets) {
+		final int cell = addCell(type, inputNets.length, null);
+		for (int i = 0; i < inputNets.length; ++i)
+			setInput(cell, i, inputNets[i], null);
+
+		return outputs[cell];
+	}
+
+	/**
+	 * Returns the net of the output of a cell.
+	 *
+	 * @param cell the index of the cell
+	 *
+	 * @return the net
+	 */
+	public int cellOutput(int cell) {
+		return outputs[cell];
+	}
+
+	/**
+	 * Returns the number of nets added so far, including the two constant nets.
+	 *
+	 * @return the number of nets
+	 */
+	public int netCount() {
+		return netCount;
+	}
+
+	/**
+	 * Constructs the Netlist. The builder may be used to construct more Netlists
+	 * afterwards, which will contain everything added so far.
+	 *
+	 * @return the Netlist
+	 *
+	 * @throws IllegalStateException if an input of a cell hasn't been specified
+	 */
+	public Netlist build() {
+		for (int i = 0; i < inputsSize; ++i)
+			if (inputs[i] == -1)
+				throw new IllegalStateException(String.format(
+				        "Input %d of a cell hasn't been specified", i)); //$NON-NLS-1$
+
+		return new Netlist(netCount, Arrays.copyOf(types, cellCount),
+		        Arrays.copyOf(outputs, cellCount), Arrays.copyOf(inputStart, cellCount + 1),
+		        Arrays.copyOf(inputs, inputsSize), cellNames.toArray(new String[0]),
+		        slotNames.toArray(new String[0]), inputNames.toArray(new String[0]),
+		        inputNets.toArray(), outputNames.toArray(new String[0]), outputNets.toArray(),
+		        clockNames.toArray(new String[0]), clockNets.toArray());
+	}
+
+	private void checkNet(int net) {
+		if ((net < 0) || (net >= netCount))
+			throw new IndexOutOfBoundsException(String.format("Net %d doesn't exist", net)); //$NON-NLS-1$
+	}
+
+	/** A growable array of ints that doesn't box its elements */
+	private static final class IntList {
+
+		private int[] array = new int[8];
+		private int   size  = 0;
+
+		void add(int value) {
+			if (size == array.length)
+				array = Arrays.copyOf(array, 2 * size);
+
+			array[size++] = value;
+		}
+
+		int[] toArray() {
+			return Arrays.copyOf(array, size);
+		}
+	}
+}
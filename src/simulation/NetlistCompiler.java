@@ -0,0 +1,357 @@
+package simulation;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import component.ComponentType;
+import component.components.Component;
+import component.components.SimulationHook;
+
+/**
+ * Compiles a circuit of {@link Component Components} into a {@link Netlist}.
+ * <p>
+ * The circuit is flattened: Branches, Pins and composite Gates don't produce
+ * cells, instead the cells that read their signal are connected directly to the
+ * net that drives it. Only primitive Gates produce cells, one for each output
+ * pin. The compiled circuit behaves exactly like the circuit of Components:
+ * <ul>
+ * <li>an unconnected input of a Gate or an Output Pin reads {@code false}</li>
+ * <li>AND, OR and XOR Gates with an unconnected input, as well as composite
+ * Gates with an unconnected input, never produce an output, therefore their
+ * outputs are always {@code false}</li>
+ * <li>each NOT Gate of a multi-input NOT Gate is independent</li>
+ * <li>a D Flip-Flop whose clock is not connected never latches</li>
+ * </ul>
+ * The name of each cell is the ID of the top-level Component that contains it
+ * and the name of each input of a cell is the ID of the top-level Branch
+ * nearest to it on the way to the Component that drives it, if any. For a cell
+ * of a top-level Gate this is the Branch connected to it and for a cell inside
+ * a composite Gate it is the Branch connected to the Gate.
+ * <p>
+ * The compilation doesn't use recursion, therefore circuits of any size and
+ * depth can be compiled.
+ *
+ * @author Alex Mandelias
+ */
+public final class NetlistCompiler {
+
+	/** Alias chains longer than this are checked for loops of plain wires */
+	private static final int LOOP_CHECK_THRESHOLD = 64;
+
+	private final NetlistBuilder builder;
+
+	// the nets of the sources and the primitive Gates that have been compiled
+	private final Map<Component, int[]> nets;
+
+	// the composite Gate and the index of each of their inner Input Pins
+	private final Map<Component, Component> outerGates;
+	private final Map<Component, Integer>   outerIndexes;
+
+	// the inputs of cells that haven't been resolved yet
+	private final Deque<PendingInput> pending;
+
+	// the ID of the nearest top-level Branch crossed by the last `resolveInput`
+	private String crossedBranch;
+
+	private NetlistCompiler() {
+		builder = new NetlistBuilder();
+		nets = new IdentityHashMap<>();
+		outerGates = new IdentityHashMap<>();
+		outerIndexes = new IdentityHashMap<>();
+		pending = new ArrayDeque<>();
+	}
+
+	/**
+	 * Compiles the top-level {@code Components} of a circuit, for example the
+	 * Components of an {@code Editor}. The inputs, outputs and clocks of the
+	 * Netlist are the Input Pins, Output Pins and Clocks of the circuit, in the
+	 * order they are provided and named after their IDs. Hidden Components are
+	 * ignored; the circuits inside composite Gates are compiled when the Gates
+	 * are.
+	 *
+	 * @param components the Components of the circuit
+	 *
+	 * @return the compiled Netlist
+	 */
+	public static Netlist compile(Collection<Component> components) {
+		return NetlistCompiler.compile(components, new IdentityHashMap<>());
+	}
+
+	/**
+	 * Compiles the top-level {@code Components} of a circuit exactly like
+	 * {@link #compile(Collection)} and additionally records which nets hold the
+	 * state of the circuit: the net of each Input Pin and the nets of the outputs
+	 * of each D Flip-Flop, including those inside composite Gates, whose outputs
+	 * are observed. The net of an output of a Flip-Flop that never latches is
+	 * {@link Netlist#FALSE}.
+	 *
+	 * @param components the Components of the circuit
+	 * @param stateNets  the Map in which to put the nets of each Input Pin and
+	 *                   Flip-Flop
+	 *
+	 * @return the compiled Netlist
+	 */
+	public static Netlist compile(Collection<Component> components,
+	        Map<Component, int[]> stateNets) {
+		final NetlistCompiler compiler = new NetlistCompiler();
+
+		// first the sources so that they keep their order
+		for (final Component component : components) {
+			if (SimulationHook.hidden(component))
+				continue;
+
+			if (component.type() == ComponentType.INPUT_PIN)
+				compiler.nets.put(component,
+				        new int[] { compiler.builder.addInput(component.getID()) });
+			else if (component.type() == ComponentType.CLOCK)
+				compiler.nets.put(component,
+				        new int[] { compiler.builder.addClock(component.getID()) });
+		}
+
+		// then the outputs and every Gate, even if its outputs aren't observed
+		for (final Component component : components) {
+			if (SimulationHook.hidden(component))
+				continue;
+
+			final String id = component.getID();
+
+			switch (component.type()) {
+			case INPUT_PIN:
+			case CLOCK:
+			case BRANCH:
+				break;
+			case OUTPUT_PIN:
+				compiler.builder.addOutput(id, compiler.resolveInput(component, 0, id));
+				break;
+			default:
+				for (int i = 0, count = SimulationHook.outCount(component); i < count; ++i)
+					compiler.resolve(component, i, id);
+				break;
+			}
+		}
+
+		compiler.resolvePending();
+
+		compiler.nets.forEach((component, nets) -> {
+			final ComponentType type = component.type();
+			if ((type == ComponentType.INPUT_PIN) || (type == ComponentType.DFLIPFLOP))
+				stateNets.put(component, nets);
+		});
+
+		return compiler.builder.build();
+	}
+
+	/**
+	 * Compiles the circuit inside a composite {@code Gate}. The inputs and outputs
+	 * of the Netlist are the inner Input and Output Pins of the Gate, in the order
+	 * of the Gate's pins.
+	 *
+	 * @param gate the composite Gate
+	 *
+	 * @return the compiled Netlist
+	 */
+	public static Netlist compileGate(Component gate) {
+		final NetlistCompiler compiler = new NetlistCompiler();
+
+		for (int i = 0, count = SimulationHook.inCount(gate); i < count; ++i) {
+			final Component pin = SimulationHook.innerInputPin(gate, i);
+			compiler.nets.put(pin,
+			        new int[] { compiler.builder.addInput(NetlistCompiler.name(pin, "in", i)) }); //$NON-NLS-1$
+		}
+
+		for (int i = 0, count = SimulationHook.outCount(gate); i < count; ++i) {
+			final Component pin = SimulationHook.innerOutputPin(gate, i);
+			compiler.builder.addOutput(NetlistCompiler.name(pin, "out", i), //$NON-NLS-1$
+			        compiler.resolveInput(pin, 0, null));
+		}
+
+		compiler.resolvePending();
+		return compiler.builder.build();
+	}
+
+	private static String name(Component pin, String prefix, int index) {
+		final String id = pin.getID();
+		return id.isEmpty() ? prefix + index : id;
+	}
+
+	/* Returns the net connected to an input pin of a Component */
+	private int resolveInput(Component component, int index, String owner) {
+		final Component branch = SimulationHook.inputAt(component, index);
+		if (branch == null) {
+			crossedBranch = null;
+			return Netlist.FALSE;
+		}
+
+		crossedBranch = SimulationHook.hidden(branch) ? null : branch.getID();
+		return resolve(SimulationHook.source(branch), SimulationHook.sourceIndex(branch), owner);
+	}
+
+	/* Returns the net driven by the output pin of a Component */
+	private int resolve(Component component, int index, String owner) {
+		Component current = component;
+		int       i       = index;
+		String    o       = owner;
+
+		// follow Pins and composite Gates until a source or a primitive Gate is found
+		Map<Component, Boolean> seen = null;
+		for (int steps = 0;; ++steps) {
+			if (steps == NetlistCompiler.LOOP_CHECK_THRESHOLD)
+				seen = new IdentityHashMap<>();
+
+			if (!SimulationHook.hidden(current))
+				o = current.getID();
+
+			final Component branch;
+			switch (current.type()) {
+			case INPUT_PIN:
+				final int[] pinNets = nets.get(current);
+				if (pinNets != null)
+					return pinNets[0];
+
+				final Component gate = outerGates.get(current);
+				if ((gate == null) || !NetlistCompiler.allConnected(gate))
+					return Netlist.FALSE;
+
+				branch = SimulationHook.inputAt(gate, outerIndexes.get(current));
+				if ((crossedBranch == null) && !SimulationHook.hidden(branch))
+					crossedBranch = branch.getID();
+				break;
+			case CLOCK:
+				// a Clock inside a composite Gate is never toggled
+				final int[] clockNets = nets.get(current);
+				return clockNets == null ? Netlist.FALSE : clockNets[0];
+			case GATE:
+				registerInnerPins(current);
+				branch = SimulationHook.inputAt(SimulationHook.innerOutputPin(current, i), 0);
+				if (branch == null)
+					return Netlist.FALSE;
+
+				// a loop of plain wires is never driven
+				if ((seen != null) && (seen.put(branch, Boolean.TRUE) != null))
+					return Netlist.FALSE;
+
+				break;
+			case GATEAND:
+			case GATEOR:
+			case GATEXOR:
+			case GATENOT:
+			case DFLIPFLOP:
+				return compilePrimitive(current, o)[i];
+			case OUTPUT_PIN:
+			case BRANCH:
+			default:
+				throw new IllegalArgumentException(String.format(
+				        "Component %s can't drive a Branch", current)); //$NON-NLS-1$
+			}
+
+			current = SimulationHook.source(branch);
+			i = SimulationHook.sourceIndex(branch);
+		}
+	}
+
+	/* Adds the cells of a primitive Gate and returns the nets of its outputs */
+	private int[] compilePrimitive(Component gate, String owner) {
+		int[] outputNets = nets.get(gate);
+		if (outputNets != null)
+			return outputNets;
+
+		final ComponentType type    = gate.type();
+		final int           inCount = SimulationHook.inCount(gate);
+		outputNets = new int[SimulationHook.outCount(gate)];
+		nets.put(gate, outputNets);
+
+		switch (type) {
+		case GATEAND:
+		case GATEOR:
+		case GATEXOR:
+			if (!NetlistCompiler.allConnected(gate)) {
+				outputNets[0] = Netlist.FALSE;
+				break;
+			}
+
+			final CellType cellType = type == ComponentType.GATEAND ? CellType.AND
+			        : type == ComponentType.GATEOR ? CellType.OR : CellType.XOR;
+			final int cell = builder.addCell(cellType, inCount, owner);
+			outputNets[0] = builder.cellOutput(cell);
+			for (int i = 0; i < inCount; ++i)
+				pending.add(new PendingInput(cell, i, gate, i, owner));
+			break;
+		case GATENOT:
+			for (int i = 0; i < inCount; ++i) {
+				if (SimulationHook.inputAt(gate, i) == null) {
+					outputNets[i] = Netlist.FALSE;
+					continue;
+				}
+
+				final int notCell = builder.addCell(CellType.NOT, 1, owner);
+				outputNets[i] = builder.cellOutput(notCell);
+				pending.add(new PendingInput(notCell, 0, gate, i, owner));
+			}
+			break;
+		case DFLIPFLOP:
+			final int clock = inCount - 1;
+			for (int i = 0; i < outputNets.length; ++i) {
+				if (SimulationHook.inputAt(gate, clock) == null) {
+					outputNets[i] = Netlist.FALSE;
+					continue;
+				}
+
+				final int flipFlop = builder.addCell(CellType.DFF, 2, owner);
+				outputNets[i] = builder.cellOutput(flipFlop);
+				pending.add(new PendingInput(flipFlop, 0, gate, i, owner));
+				pending.add(new PendingInput(flipFlop, 1, gate, clock, owner));
+			}
+			break;
+		default:
+			throw new IllegalArgumentException(String.format(
+			        "Component %s is not a primitive Gate", gate)); //$NON-NLS-1$
+		}
+
+		return outputNets;
+	}
+
+	/* Connects the inputs of the cells, which may add more cells */
+	private void resolvePending() {
+		while (!pending.isEmpty()) {
+			final PendingInput input = pending.poll();
+			final int          net   = resolveInput(input.component, input.index, input.owner);
+			builder.setInput(input.cell, input.slot, net, crossedBranch);
+		}
+	}
+
+	private void registerInnerPins(Component gate) {
+		for (int i = 0, count = SimulationHook.inCount(gate); i < count; ++i) {
+			final Component pin = SimulationHook.innerInputPin(gate, i);
+			if (outerGates.put(pin, gate) == null)
+				outerIndexes.put(pin, i);
+		}
+	}
+
+	private static boolean allConnected(Component gate) {
+		for (int i = 0, count = SimulationHook.inCount(gate); i < count; ++i)
+			if (SimulationHook.inputAt(gate, i) == null)
+				return false;
+
+		return true;
+	}
+
+	/* An input of a cell that corresponds to an input pin of a Component */
+	private static final class PendingInput {
+
+		final int       cell, slot;
+		final Component component;
+		final int       index;
+		final String    owner;
+
+		PendingInput(int cell, int slot, Component component, int index, String owner) {
+			this.cell = cell;
+			this.slot = slot;
+			this.component = component;
+			this.index = index;
+			this.owner = owner;
+		}
+	}
+}
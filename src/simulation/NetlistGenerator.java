@@ -0,0 +1,224 @@
+package simulation;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Generators of parametric {@link Netlist Netlists} of common datapath
+ * circuits, whose only parameter is their size. Generated Netlists are
+ * immutable and are cached by their generator and size, so that generating the
+ * same circuit again costs a lookup.
+ * <p>
+ * The inputs and outputs of each Netlist are named after the bits they carry,
+ * least significant bit first, e.g. {@code A0}, {@code A1}, ... .
+ *
+ * @author Alex Mandelias
+ */
+public enum NetlistGenerator {
+
+	/**
+	 * A ripple-carry adder of two {@code size}-bit numbers {@code A} and {@code B}
+	 * and a carry {@code Cin}, with outputs the sum {@code S} and the carry
+	 * {@code Cout}.
+	 */
+	RIPPLE_ADDER(4096) {
+		@Override
+		protected void generate(NetlistBuilder builder, int size) {
+			final int[] a = NetlistGenerator.inputs(builder, "A", size); //$NON-NLS-1$
+			final int[] b = NetlistGenerator.inputs(builder, "B", size); //$NON-NLS-1$
+			int         carry = builder.addInput("Cin"); //$NON-NLS-1$
+
+			for (int i = 0; i < size; ++i) {
+				final int halfSum = builder.add(CellType.XOR, a[i], b[i]);
+				builder.addOutput("S" + i, builder.add(CellType.XOR, halfSum, carry)); //$NON-NLS-1$
+				carry = builder.add(CellType.OR, builder.add(CellType.AND, a[i], b[i]),
+				        builder.add(CellType.AND, halfSum, carry));
+			}
+			builder.addOutput("Cout", carry); //$NON-NLS-1$
+		}
+	},
+
+	/**
+	 * The same adder as the {@link #RIPPLE_ADDER}, in which the carries of each
+	 * group of 4 bits are computed at once from the carry into the group, so that
+	 * the carry ripples between groups instead of between bits.
+	 */
+	LOOKAHEAD_ADDER(4096) {
+		@Override
+		protected void generate(NetlistBuilder builder, int size) {
+			final int[] a = NetlistGenerator.inputs(builder, "A", size); //$NON-NLS-1$
+			final int[] b = NetlistGenerator.inputs(builder, "B", size); //$NON-NLS-1$
+			int         carry = builder.addInput("Cin"); //$NON-NLS-1$
+
+			final int[] p = new int[size], g = new int[size];
+			for (int i = 0; i < size; ++i) {
+				p[i] = builder.add(CellType.XOR, a[i], b[i]);
+				g[i] = builder.add(CellType.AND, a[i], b[i]);
+			}
+
+			for (int group = 0; group < size; group += NetlistGenerator.GROUP) {
+				final int end     = Math.min(group + NetlistGenerator.GROUP, size);
+				final int carryIn = carry;
+				for (int i = group; i < end; ++i) {
+					builder.addOutput("S" + i, builder.add(CellType.XOR, p[i], carry)); //$NON-NLS-1$
+
+					// c(i+1) = g(i) + p(i)g(i-1) + ... + p(i)...p(group)c(group)
+					final int[] terms = new int[(i - group) + 2];
+					terms[0] = g[i];
+					for (int j = i - 1; j >= (group - 1); --j) {
+						final int[] factors = new int[(i - j) + 1];
+						for (int k = j + 1; k <= i; ++k)
+							factors[k - (j + 1)] = p[k];
+						factors[i - j] = j >= group ? g[j] : carryIn;
+						terms[i - j] = builder.add(CellType.AND, factors);
+					}
+					carry = builder.add(CellType.OR, terms);
+				}
+			}
+			builder.addOutput("Cout", carry); //$NON-NLS-1$
+		}
+	},
+
+	/**
+	 * A multiplexer of {@code size} data inputs {@code D} with as many select
+	 * inputs {@code S} as needed to choose among them, and the chosen input as the
+	 * output {@code Y}. If the select inputs choose an input that doesn't exist,
+	 * the output is {@code false}.
+	 */
+	MULTIPLEXER(1 << 16) {
+		@Override
+		protected void generate(NetlistBuilder builder, int size) {
+			final int[] d      = NetlistGenerator.inputs(builder, "D", size); //$NON-NLS-1$
+			final int[] select = NetlistGenerator.inputs(builder, "S", //$NON-NLS-1$
+			        32 - Integer.numberOfLeadingZeros(size - 1));
+			final int[] not    = NetlistGenerator.not(builder, select);
+
+			final int[] terms = new int[size];
+			for (int i = 0; i < size; ++i) {
+				final int[] factors = new int[select.length + 1];
+				for (int j = 0; j < select.length; ++j)
+					factors[j] = ((i >>> j) & 1) != 0 ? select[j] : not[j];
+				factors[select.length] = d[i];
+				terms[i] = builder.add(CellType.AND, factors);
+			}
+			builder.addOutput("Y", builder.add(CellType.OR, terms)); //$NON-NLS-1$
+		}
+	},
+
+	/**
+	 * A decoder of {@code size} select inputs {@code S} to {@code 2^size} outputs
+	 * {@code Y}, of which only the one chosen by the select inputs is
+	 * {@code true}.
+	 */
+	DECODER(16) {
+		@Override
+		protected void generate(NetlistBuilder builder, int size) {
+			final int[] select = NetlistGenerator.inputs(builder, "S", size); //$NON-NLS-1$
+			final int[] not    = NetlistGenerator.not(builder, select);
+
+			for (int i = 0; i < (1 << size); ++i) {
+				final int[] factors = new int[size];
+				for (int j = 0; j < size; ++j)
+					factors[j] = ((i >>> j) & 1) != 0 ? select[j] : not[j];
+				builder.addOutput("Y" + i, builder.add(CellType.AND, factors)); //$NON-NLS-1$
+			}
+		}
+	},
+
+	/**
+	 * A comparator of two unsigned {@code size}-bit numbers {@code A} and
+	 * {@code B}, with outputs whether {@code A} is less than ({@code LT}), equal
+	 * to ({@code EQ}) or greater than ({@code GT}) {@code B}.
+	 */
+	COMPARATOR(4096) {
+		@Override
+		protected void generate(NetlistBuilder builder, int size) {
+			final int[] a    = NetlistGenerator.inputs(builder, "A", size); //$NON-NLS-1$
+			final int[] b    = NetlistGenerator.inputs(builder, "B", size); //$NON-NLS-1$
+			final int[] notA = NetlistGenerator.not(builder, a);
+			final int[] notB = NetlistGenerator.not(builder, b);
+
+			// from the most significant bit, the first bit that differs decides
+			final int[] less = new int[size], greater = new int[size];
+			int         equal = Netlist.TRUE;
+			for (int i = size - 1; i >= 0; --i) {
+				less[i] = equal == Netlist.TRUE ? builder.add(CellType.AND, notA[i], b[i])
+				        : builder.add(CellType.AND, notA[i], b[i], equal);
+				greater[i] = equal == Netlist.TRUE ? builder.add(CellType.AND, a[i], notB[i])
+				        : builder.add(CellType.AND, a[i], notB[i], equal);
+
+				final int same = builder.add(CellType.NOT, builder.add(CellType.XOR, a[i], b[i]));
+				equal = equal == Netlist.TRUE ? same : builder.add(CellType.AND, equal, same);
+			}
+
+			builder.addOutput("LT", builder.add(CellType.OR, less)); //$NON-NLS-1$
+			builder.addOutput("EQ", equal); //$NON-NLS-1$
+			builder.addOutput("GT", builder.add(CellType.OR, greater)); //$NON-NLS-1$
+		}
+	};
+
+	/* The number of bits whose carries the LOOKAHEAD_ADDER computes at once */
+	private static final int GROUP = 4;
+
+	private static final Map<Long, Netlist> cache = new ConcurrentHashMap<>();
+
+	private final int maxSize;
+
+	NetlistGenerator(int maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Returns the largest size of the Netlists this generator can generate.
+	 *
+	 * @return the largest size
+	 */
+	public int maxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * Returns the Netlist of a specific size, generating it only if it isn't
+	 * cached.
+	 *
+	 * @param size the size
+	 *
+	 * @return the Netlist
+	 *
+	 * @throws IllegalArgumentException if the size is less than {@code 1} or
+	 *                                  greater than {@link #maxSize()}
+	 */
+	public Netlist netlist(int size) {
+		if ((size < 1) || (size > maxSize))
+			throw new IllegalArgumentException(String.format(
+			        "The size of a %s must be between 1 and %d", this, maxSize)); //$NON-NLS-1$
+
+		return NetlistGenerator.cache.computeIfAbsent(((long) ordinal() << 32) | size, key -> {
+			final NetlistBuilder builder = new NetlistBuilder();
+			generate(builder, size);
+			return builder.build();
+		});
+	}
+
+	/**
+	 * Adds the inputs, cells and outputs of the Netlist of a specific size.
+	 *
+	 * @param builder the builder of the Netlist
+	 * @param size    the size, between {@code 1} and {@link #maxSize()}
+	 */
+	protected abstract void generate(NetlistBuilder builder, int size);
+
+	private static int[] inputs(NetlistBuilder builder, String name, int count) {
+		final int[] nets = new int[count];
+		for (int i = 0; i < count; ++i)
+			nets[i] = builder.addInput(name + i);
+		return nets;
+	}
+
+	private static int[] not(NetlistBuilder builder, int[] nets) {
+		final int[] not = new int[nets.length];
+		for (int i = 0; i < nets.length; ++i)
+			not[i] = builder.add(CellType.NOT, nets[i]);
+		return not;
+	}
+}
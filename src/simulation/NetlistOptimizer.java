@@ -0,0 +1,346 @@
+package simulation;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Simplifies a {@link Netlist} without altering the function it computes. The
+ * inputs, outputs and clocks are kept exactly as they are, while the cells are
+ * simplified using:
+ * <ul>
+ * <li><b>constant propagation</b>: cells with constant inputs are folded, e.g.
+ * {@code x & 0 = 0}, {@code x | 0 = x} and {@code x ^ 1 = !x}</li>
+ * <li><b>double negation removal</b>: {@code !!x = x}</li>
+ * <li><b>local identities</b>: duplicate inputs are merged, e.g.
+ * {@code x & x = x} and {@code x ^ x = 0}, and complementary inputs are
+ * folded, e.g. {@code x & !x = 0}</li>
+ * <li><b>structural hashing</b>: cells of the same type with the same inputs,
+ * in any order, are merged into one</li>
+ * <li><b>dead logic removal</b>: cells that don't affect any output are
+ * removed</li>
+ * </ul>
+ * Flip-Flops are kept, only the logic that drives them is simplified. Netlists
+ * with combinational loops are not optimised.
+ *
+ * @author Alex Mandelias
+ */
+public final class NetlistOptimizer {
+
+	private final Netlist        source;
+	private final NetlistBuilder builder;
+
+	// the net of the optimised Netlist that corresponds to each net of the source
+	private final int[] map;
+
+	// for each net of the optimised Netlist driven by a NOT cell, the input of that cell
+	private int[] inverse;
+
+	private final Map<Key, Integer> table;
+
+	private NetlistOptimizer(Netlist netlist) {
+		source = netlist;
+		builder = new NetlistBuilder();
+		map = new int[netlist.netCount];
+		inverse = new int[netlist.netCount];
+		Arrays.fill(inverse, -1);
+		table = new HashMap<>();
+	}
+
+	/**
+	 * Returns whether or not a {@code Netlist} can be optimised. Netlists with
+	 * combinational loops can't be.
+	 *
+	 * @param netlist the Netlist
+	 *
+	 * @return {@code true} if it can be optimised, {@code false} otherwise
+	 */
+	public static boolean optimizable(Netlist netlist) {
+		return !netlist.hasLoops();
+	}
+
+	/**
+	 * Optimises a {@code Netlist}.
+	 *
+	 * @param netlist the Netlist
+	 *
+	 * @return the optimised Netlist, or the same Netlist if it can't be optimised
+	 */
+	public static Netlist optimize(Netlist netlist) {
+		if (!NetlistOptimizer.optimizable(netlist))
+			return netlist;
+
+		// removing dead logic may expose more opportunities, e.g. to hash Flip-Flop inputs
+		Netlist current = netlist;
+		while (true) {
+			final Netlist next = NetlistOptimizer.sweep(new NetlistOptimizer(current).simplify());
+			if (next.cellCount() >= current.cellCount())
+				return next.cellCount() > current.cellCount() ? current : next;
+
+			current = next;
+		}
+	}
+
+	/* Constructs the simplified Netlist, which may contain dead logic */
+	private Netlist simplify() {
+		map[Netlist.FALSE] = Netlist.FALSE;
+		map[Netlist.TRUE] = Netlist.TRUE;
+
+		for (int i = 0; i < source.inputNets.length; ++i)
+			map[source.inputNets[i]] = builder.addInput(source.inputNames[i]);
+		for (int i = 0; i < source.clockNets.length; ++i)
+			map[source.clockNets[i]] = builder.addClock(source.clockNames[i]);
+
+		// the Flip-Flops first, since the combinational cells may read them
+		final int[] flipFlops = new int[source.flipFlops.length];
+		for (int i = 0; i < flipFlops.length; ++i) {
+			final int flipFlop = source.flipFlops[i];
+			flipFlops[i] = builder.addCell(CellType.DFF, 2, source.cellName(flipFlop));
+			map[source.outputs[flipFlop]] = builder.cellOutput(flipFlops[i]);
+		}
+
+		for (int i = 0; i < source.loopStart; ++i) {
+			final int cell = source.order[i];
+			map[source.outputs[cell]] = simplify(cell);
+		}
+
+		for (int i = 0; i < flipFlops.length; ++i) {
+			final int flipFlop = source.flipFlops[i];
+			for (int slot = 0; slot < 2; ++slot)
+				builder.setInput(flipFlops[i], slot,
+				        map[source.cellInput(flipFlop, slot)], source.slotName(flipFlop, slot));
+		}
+
+		for (int i = 0; i < source.outputNets.length; ++i)
+			builder.addOutput(source.outputNames[i], map[source.outputNets[i]]);
+
+		return builder.build();
+	}
+
+	/* Returns the net of the optimised Netlist that computes the output of a cell */
+	private int simplify(int cell) {
+		final String name   = source.cellName(cell);
+		final int[]  inputs = new int[source.cellInputCount(cell)];
+		for (int i = 0; i < inputs.length; ++i)
+			inputs[i] = map[source.cellInput(cell, i)];
+
+		switch (source.cellType(cell)) {
+		case AND:
+			return andOr(CellType.AND, inputs, name);
+		case OR:
+			return andOr(CellType.OR, inputs, name);
+		case XOR:
+			return xor(inputs, name);
+		case NOT:
+			return not(inputs[0], name);
+		case DFF:
+		default:
+			throw new IllegalArgumentException(String.format(
+			        "Cell %d of type %s is not combinational", cell, source.cellType(cell))); //$NON-NLS-1$
+		}
+	}
+
+	private int not(int input, String name) {
+		if (input == Netlist.FALSE)
+			return Netlist.TRUE;
+		if (input == Netlist.TRUE)
+			return Netlist.FALSE;
+		if (inverseOf(input) != -1)
+			return inverseOf(input);
+
+		final int net = hash(CellType.NOT, new int[] { input }, name);
+		inverse[net] = input;
+		return net;
+	}
+
+	/* AND and OR are dual: the `dominant` constant decides the output on its own */
+	private int andOr(CellType type, int[] inputs, String name) {
+		final int dominant = type == CellType.AND ? Netlist.FALSE : Netlist.TRUE;
+		final int neutral  = type == CellType.AND ? Netlist.TRUE : Netlist.FALSE;
+
+		Arrays.sort(inputs);
+		int count = 0;
+		for (int i = 0; i < inputs.length; ++i) {
+			final int input = inputs[i];
+			if (input == dominant)
+				return dominant;
+
+			// skip the neutral constant and duplicates
+			if ((input != neutral) && ((count == 0) || (inputs[count - 1] != input)))
+				inputs[count++] = input;
+		}
+
+		// x & !x = 0, x | !x = 1
+		for (int i = 0; i < count; ++i)
+			if ((inverseOf(inputs[i]) != -1)
+			        && (Arrays.binarySearch(inputs, 0, count, inverseOf(inputs[i])) >= 0))
+				return dominant;
+
+		if (count == 0)
+			return neutral;
+		if (count == 1)
+			return inputs[0];
+
+		return hash(type, Arrays.copyOf(inputs, count), name);
+	}
+
+	private int xor(int[] inputs, String name) {
+		// !x ^ y = !(x ^ y) and 1 ^ y = !y, so that only the parity of the inversions matters
+		boolean inverted = false;
+		for (int i = 0; i < inputs.length; ++i) {
+			if (inputs[i] == Netlist.TRUE) {
+				inverted = !inverted;
+				inputs[i] = Netlist.FALSE;
+			} else if (inverseOf(inputs[i]) != -1) {
+				inverted = !inverted;
+				inputs[i] = inverseOf(inputs[i]);
+			}
+		}
+
+		// 0 ^ y = y and x ^ x = 0, so pairs of equal inputs cancel out
+		Arrays.sort(inputs);
+		int count = 0;
+		for (int i = 0; i < inputs.length; ++i) {
+			if (inputs[i] == Netlist.FALSE)
+				continue;
+
+			if ((count > 0) && (inputs[count - 1] == inputs[i]))
+				--count;
+			else
+				inputs[count++] = inputs[i];
+		}
+
+		final int net;
+		if (count == 0)
+			net = Netlist.FALSE;
+		else if (count == 1)
+			net = inputs[0];
+		else
+			net = hash(CellType.XOR, Arrays.copyOf(inputs, count), name);
+
+		return inverted ? not(net, name) : net;
+	}
+
+	/* Returns the input of the NOT cell that drives a net or -1 */
+	private int inverseOf(int net) {
+		return net < inverse.length ? inverse[net] : -1;
+	}
+
+	/* Returns the net of an existing cell with the same type and inputs or adds a new one */
+	private int hash(CellType type, int[] inputs, String name) {
+		final Key     key      = new Key(type, inputs);
+		final Integer existing = table.get(key);
+		if (existing != null)
+			return existing;
+
+		final int cell = builder.addCell(type, inputs.length, name);
+		for (int i = 0; i < inputs.length; ++i)
+			builder.setInput(cell, i, inputs[i], null);
+
+		final int net = builder.cellOutput(cell);
+		if (net >= inverse.length) {
+			final int oldLength = inverse.length;
+			inverse = Arrays.copyOf(inverse, Math.max(2 * oldLength, net + 1));
+			Arrays.fill(inverse, oldLength, inverse.length, -1);
+		}
+
+		table.put(key, net);
+		return net;
+	}
+
+	/* Removes the cells that don't affect any output */
+	private static Netlist sweep(Netlist netlist) {
+		final boolean[] live  = new boolean[netlist.types.length];
+		final int[]     stack = new int[netlist.types.length];
+		int             size  = 0;
+
+		for (final int net : netlist.outputNets) {
+			final int driver = netlist.driver[net];
+			if ((driver != -1) && !live[driver]) {
+				live[driver] = true;
+				stack[size++] = driver;
+			}
+		}
+
+		while (size > 0) {
+			final int cell = stack[--size];
+			for (int i = netlist.inputStart[cell]; i < netlist.inputStart[cell + 1]; ++i) {
+				final int driver = netlist.driver[netlist.inputs[i]];
+				if ((driver != -1) && !live[driver]) {
+					live[driver] = true;
+					stack[size++] = driver;
+				}
+			}
+		}
+
+		final NetlistBuilder builder = new NetlistBuilder();
+		final int[]          map     = new int[netlist.netCount];
+		map[Netlist.TRUE] = Netlist.TRUE;
+
+		for (int i = 0; i < netlist.inputNets.length; ++i)
+			map[netlist.inputNets[i]] = builder.addInput(netlist.inputNames[i]);
+		for (int i = 0; i < netlist.clockNets.length; ++i)
+			map[netlist.clockNets[i]] = builder.addClock(netlist.clockNames[i]);
+
+		final int[] flipFlops = new int[netlist.flipFlops.length];
+		for (int i = 0; i < flipFlops.length; ++i) {
+			final int flipFlop = netlist.flipFlops[i];
+			if (live[flipFlop]) {
+				flipFlops[i] = builder.addCell(CellType.DFF, 2, netlist.cellName(flipFlop));
+				map[netlist.outputs[flipFlop]] = builder.cellOutput(flipFlops[i]);
+			}
+		}
+
+		for (int i = 0; i < netlist.loopStart; ++i) {
+			final int cell = netlist.order[i];
+			if (!live[cell])
+				continue;
+
+			final int newCell = builder.addCell(netlist.cellType(cell),
+			        netlist.cellInputCount(cell), netlist.cellName(cell));
+			for (int slot = 0; slot < netlist.cellInputCount(cell); ++slot)
+				builder.setInput(newCell, slot, map[netlist.cellInput(cell, slot)],
+				        netlist.slotName(cell, slot));
+			map[netlist.outputs[cell]] = builder.cellOutput(newCell);
+		}
+
+		for (int i = 0; i < flipFlops.length; ++i) {
+			final int flipFlop = netlist.flipFlops[i];
+			if (live[flipFlop])
+				for (int slot = 0; slot < 2; ++slot)
+					builder.setInput(flipFlops[i], slot, map[netlist.cellInput(flipFlop, slot)],
+					        netlist.slotName(flipFlop, slot));
+		}
+
+		for (int i = 0; i < netlist.outputNets.length; ++i)
+			builder.addOutput(netlist.outputNames[i], map[netlist.outputNets[i]]);
+
+		return builder.build();
+	}
+
+	/* The type and the sorted inputs of a cell */
+	private static final class Key {
+
+		private final int   type;
+		private final int[] inputs;
+
+		Key(CellType type, int[] inputs) {
+			this.type = type.ordinal();
+			this.inputs = inputs;
+		}
+
+		@Override
+		public int hashCode() {
+			return (31 * type) + Arrays.hashCode(inputs);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key))
+				return false;
+
+			final Key other = (Key) obj;
+			return (type == other.type) && Arrays.equals(inputs, other.inputs);
+		}
+	}
+}
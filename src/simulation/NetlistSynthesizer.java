@@ -0,0 +1,143 @@
+package simulation;
+
+import component.ComponentType;
+import component.components.Component;
+import component.components.ComponentFactory;
+import component.exceptions.MalformedBranchException;
+
+/**
+ * Synthesises a {@link Netlist} back into a circuit of {@code Components},
+ * packed in a composite {@code Gate}. It is the inverse of the
+ * {@link NetlistCompiler}: each cell becomes a primitive Gate, each input and
+ * output of the Netlist becomes an Input or Output Pin of the composite Gate and
+ * each connection becomes a Branch.
+ * <p>
+ * The constant nets are synthesised using the fact that a Gate with an
+ * unconnected input never produces an output: a single-input AND Gate whose
+ * input isn't connected is always {@code false} and a NOT Gate that reads it is
+ * always {@code true}. Output Pins that are always {@code false} are simply left
+ * unconnected.
+ *
+ * @author Alex Mandelias
+ */
+public final class NetlistSynthesizer {
+
+	private final Netlist netlist;
+
+	// the Component that drives each net, always from its first output pin
+	private final Component[] sources;
+
+	private NetlistSynthesizer(Netlist netlist) {
+		this.netlist = netlist;
+		sources = new Component[netlist.netCount];
+	}
+
+	/**
+	 * Synthesises a {@code Netlist} into a composite {@code Gate}. The pins of the
+	 * Gate correspond to the inputs and outputs of the Netlist, in the same order.
+	 *
+	 * @param netlist     the Netlist
+	 * @param description the description of the Gate
+	 *
+	 * @return the composite Gate
+	 *
+	 * @throws IllegalArgumentException if the Netlist has clocks, which can't be
+	 *                                  toggled inside a Gate
+	 */
+	public static Component synthesizeGate(Netlist netlist, String description) {
+		if (netlist.clockCount() > 0)
+			throw new IllegalArgumentException("Netlists with clocks can't be synthesised"); //$NON-NLS-1$
+
+		try {
+			return new NetlistSynthesizer(netlist).synthesize(description);
+		} catch (final MalformedBranchException e) {
+			// every Branch connects an existing pin of one Component to another
+			throw new RuntimeException(e);
+		}
+	}
+
+	private Component synthesize(String description) throws MalformedBranchException {
+		final Component[] inputPins = new Component[netlist.inputCount()];
+		for (int i = 0; i < inputPins.length; ++i) {
+			inputPins[i] = ComponentFactory.createInputPin();
+			inputPins[i].setID(netlist.inputName(i));
+			sources[netlist.inputNet(i)] = inputPins[i];
+		}
+
+		final Component[] cells = new Component[netlist.cellCount()];
+		for (int i = 0; i < netlist.flipFlopCount(); ++i)
+			createCell(netlist.flipFlop(i), cells);
+		for (int i = 0; i < netlist.combinationalCount(); ++i)
+			createCell(netlist.ordered(i), cells);
+
+		// connect the cells in topological order, so that signals are propagated once
+		for (int i = 0; i < netlist.combinationalCount(); ++i)
+			connectInputs(netlist.ordered(i), cells);
+		for (int i = 0; i < netlist.flipFlopCount(); ++i)
+			connectInputs(netlist.flipFlop(i), cells);
+
+		final Component[] outputPins = new Component[netlist.outputCount()];
+		for (int i = 0; i < outputPins.length; ++i) {
+			outputPins[i] = ComponentFactory.createOutputPin();
+			outputPins[i].setID(netlist.outputName(i));
+			if (netlist.outputNet(i) != Netlist.FALSE)
+				connect(netlist.outputNet(i), outputPins[i], 0);
+		}
+
+		return ComponentFactory.createGate(inputPins, outputPins, description);
+	}
+
+	private void createCell(int cell, Component[] cells) {
+		final ComponentType type;
+		int                 inCount = netlist.cellInputCount(cell);
+		switch (netlist.cellType(cell)) {
+		case AND:
+			type = ComponentType.GATEAND;
+			break;
+		case OR:
+			type = ComponentType.GATEOR;
+			break;
+		case XOR:
+			type = ComponentType.GATEXOR;
+			break;
+		case NOT:
+			type = ComponentType.GATENOT;
+			break;
+		case DFF:
+			// a single data pin, the second input is the clock
+			type = ComponentType.DFLIPFLOP;
+			inCount = 1;
+			break;
+		default:
+			throw new IllegalArgumentException(String.format(
+			        "Cell %d has an unknown type", cell)); //$NON-NLS-1$
+		}
+
+		cells[cell] = ComponentFactory.createPrimitiveGate(type, inCount);
+		if (netlist.cellName(cell) != null)
+			cells[cell].setID(netlist.cellName(cell));
+
+		sources[netlist.cellOutput(cell)] = cells[cell];
+	}
+
+	private void connectInputs(int cell, Component[] cells) throws MalformedBranchException {
+		for (int slot = 0; slot < netlist.cellInputCount(cell); ++slot)
+			connect(netlist.cellInput(cell, slot), cells[cell], slot);
+	}
+
+	private void connect(int net, Component component, int index) throws MalformedBranchException {
+		if ((sources[net] == null) && (net <= Netlist.TRUE))
+			createConstants();
+
+		ComponentFactory.connectComponents(sources[net], 0, component, index);
+	}
+
+	private void createConstants() throws MalformedBranchException {
+		final Component alwaysFalse = ComponentFactory.createPrimitiveGate(ComponentType.GATEAND, 1);
+		final Component alwaysTrue  = ComponentFactory.createPrimitiveGate(ComponentType.GATENOT, 1);
+		ComponentFactory.connectComponents(alwaysFalse, 0, alwaysTrue, 0);
+
+		sources[Netlist.FALSE] = alwaysFalse;
+		sources[Netlist.TRUE] = alwaysTrue;
+	}
+}
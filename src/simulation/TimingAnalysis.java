@@ -0,0 +1,236 @@
+package simulation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Static timing analysis of a {@link Netlist} with the delays of a
+ * {@link DelayModel}. Instead of simulating vectors, the latest time at which
+ * each net may change, its <i>arrival time</i>, is computed with a single pass
+ * over the cells in topological order.
+ * <p>
+ * The timing paths start at the inputs, which arrive at time {@code 0}, and at
+ * the outputs of flip-flops, which arrive after the delay of the flip-flop. They
+ * end at the outputs and at the data inputs of flip-flops. The path that arrives
+ * last is the <i>critical path</i> and its delay is the minimum time that the
+ * circuit needs to settle, for example the minimum period of its clocks. The
+ * <i>slack</i> of an output is how much later it could arrive without becoming
+ * critical.
+ *
+ * @author Alex Mandelias
+ */
+public final class TimingAnalysis {
+
+	private final Netlist netlist;
+
+	private final int[] arrivals;
+
+	// the input of each cell that arrives last, through which the critical path goes
+	private final int[] latest;
+
+	// the net at which the critical path ends and the output or the flip-flop there
+	private int criticalNet, criticalOutput, criticalFlipFlop;
+
+	private TimingAnalysis(Netlist netlist) {
+		this.netlist = netlist;
+		arrivals = new int[netlist.netCount()];
+		latest = new int[netlist.cellCount()];
+	}
+
+	/**
+	 * Returns whether or not the timing of a {@code Netlist} can be analysed.
+	 * Netlists with combinational loops can't be, since the signals of a loop
+	 * never arrive.
+	 *
+	 * @param netlist the Netlist
+	 *
+	 * @return {@code true} if it can be analysed, {@code false} otherwise
+	 */
+	public static boolean analyzable(Netlist netlist) {
+		return !netlist.hasLoops();
+	}
+
+	/**
+	 * Analyses the timing of a {@code Netlist}.
+	 *
+	 * @param netlist the Netlist
+	 * @param model   the delays of the cells
+	 *
+	 * @return the TimingAnalysis
+	 *
+	 * @throws IllegalArgumentException if the Netlist has combinational loops
+	 *
+	 * @see #analyzable(Netlist)
+	 */
+	public static TimingAnalysis analyze(Netlist netlist, DelayModel model) {
+		if (!TimingAnalysis.analyzable(netlist))
+			throw new IllegalArgumentException(
+			        "Netlists with combinational loops can't be analysed"); //$NON-NLS-1$
+
+		final TimingAnalysis analysis = new TimingAnalysis(netlist);
+		analysis.analyze(model);
+		return analysis;
+	}
+
+	private void analyze(DelayModel model) {
+		// the inputs, the clocks and the constants arrive at 0
+		for (int i = 0; i < netlist.flipFlopCount(); ++i) {
+			final int flipFlop = netlist.flipFlop(i);
+			arrivals[netlist.cellOutput(flipFlop)] = model.delay(CellType.DFF);
+		}
+
+		for (int i = 0; i < netlist.combinationalCount(); ++i) {
+			final int cell = netlist.ordered(i);
+
+			int slot = 0;
+			for (int s = 1; s < netlist.cellInputCount(cell); ++s)
+				if (arrivals[netlist.cellInput(cell, s)] > arrivals[netlist.cellInput(cell, slot)])
+					slot = s;
+
+			latest[cell] = slot;
+			arrivals[netlist.cellOutput(cell)] = arrivals[netlist.cellInput(cell, slot)]
+			        + model.delay(netlist.cellType(cell));
+		}
+
+		criticalNet = Netlist.FALSE;
+		criticalOutput = -1;
+		criticalFlipFlop = -1;
+		for (int o = 0; o < netlist.outputCount(); ++o)
+			if ((criticalOutput == -1) || (arrivals[netlist.outputNet(o)] > arrivals[criticalNet])) {
+				criticalNet = netlist.outputNet(o);
+				criticalOutput = o;
+			}
+
+		for (int i = 0; i < netlist.flipFlopCount(); ++i) {
+			final int data = netlist.cellInput(netlist.flipFlop(i), 0);
+			if (arrivals[data] > arrivals[criticalNet]) {
+				criticalNet = data;
+				criticalOutput = -1;
+				criticalFlipFlop = netlist.flipFlop(i);
+			}
+		}
+	}
+
+	/**
+	 * Returns the time at which a net arrives.
+	 *
+	 * @param net the net
+	 *
+	 * @return the arrival time
+	 */
+	public int arrival(int net) {
+		return arrivals[net];
+	}
+
+	/**
+	 * Returns the time at which an output arrives.
+	 *
+	 * @param output the index of the output
+	 *
+	 * @return the arrival time
+	 */
+	public int outputArrival(int output) {
+		return arrivals[netlist.outputNet(output)];
+	}
+
+	/**
+	 * Returns the slack of an output, the difference between the delay of the
+	 * critical path and the arrival time of the output.
+	 *
+	 * @param output the index of the output
+	 *
+	 * @return the slack, {@code 0} for the outputs on the critical path
+	 */
+	public int outputSlack(int output) {
+		return criticalDelay() - outputArrival(output);
+	}
+
+	/**
+	 * Returns the delay of the critical path.
+	 *
+	 * @return the delay
+	 */
+	public int criticalDelay() {
+		return arrivals[criticalNet];
+	}
+
+	/**
+	 * Returns the output at which the critical path ends.
+	 *
+	 * @return the index of the output, or {@code -1} if the critical path ends at
+	 *         a flip-flop or if there are no outputs or flip-flops
+	 */
+	public int criticalOutput() {
+		return criticalOutput;
+	}
+
+	/**
+	 * Returns the cells of the critical path, from its start to its end. The
+	 * first cell is a flip-flop if the path starts at one and the last cell is a
+	 * flip-flop if the path ends at one.
+	 *
+	 * @return a List with the cells
+	 */
+	public List<Integer> criticalCells() {
+		final List<Integer> cells = new ArrayList<>();
+		if (criticalFlipFlop != -1)
+			cells.add(criticalFlipFlop);
+
+		for (int driver = netlist.driver(criticalNet); driver != -1;) {
+			cells.add(driver);
+			if (netlist.cellType(driver).sequential())
+				break;
+			driver = netlist.driver(netlist.cellInput(driver, latest[driver]));
+		}
+
+		Collections.reverse(cells);
+		return cells;
+	}
+
+	/**
+	 * Returns the names of the critical path, from its start to its end: the name
+	 * of the input it starts at, if any, the names of its cells and of the inputs
+	 * of the cells it goes through and the name of the output it ends at, if any.
+	 * Consecutive equal names, such as those of the cells of the same composite
+	 * Gate, appear once.
+	 *
+	 * @return a List with the names
+	 *
+	 * @see NetlistCompiler
+	 */
+	public List<String> criticalNames() {
+		final List<String>  names = new ArrayList<>();
+		final List<Integer> cells = criticalCells();
+
+		final int start = cells.isEmpty() ? criticalNet
+		        : netlist.cellType(cells.get(0)).sequential() ? -1
+		                : netlist.cellInput(cells.get(0), latest[cells.get(0)]);
+		for (int i = 0; (start != -1) && (i < netlist.inputCount()); ++i)
+			if (netlist.inputNet(i) == start)
+				TimingAnalysis.add(names, netlist.inputName(i));
+
+		for (int i = 0; i < cells.size(); ++i) {
+			final int cell = cells.get(i);
+			if ((i > 0) || !netlist.cellType(cell).sequential())
+				TimingAnalysis.add(names, netlist.slotName(cell, latest[cell]));
+			TimingAnalysis.add(names, netlist.cellName(cell));
+		}
+
+		if (criticalOutput != -1)
+			TimingAnalysis.add(names, netlist.outputName(criticalOutput));
+
+		return names;
+	}
+
+	private static void add(List<String> names, String name) {
+		if ((name != null) && (names.isEmpty() || !names.get(names.size() - 1).equals(name)))
+			names.add(name);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("Critical path with delay %d: %s", criticalDelay(), //$NON-NLS-1$
+		        criticalNames());
+	}
+}
@@ -0,0 +1,312 @@
+package simulation;
+
+import java.util.Arrays;
+
+/**
+ * A compressed, read-only copy of a {@link Waveform} that is indexed by signal
+ * and by time, so that the values of a signal in a window of time can be found
+ * without decoding the changes outside of it.
+ * <p>
+ * Since every change of a signal inverts its value, only the times of the
+ * changes are stored, as variable-length differences from the previous change
+ * of the same signal, which usually take one or two bytes. The changes of each
+ * signal are split in blocks of {@value #BLOCK_SIZE}; the time of the first
+ * change of each block and the value before it are stored separately, so that
+ * a binary search over the blocks finds any time and decoding starts at the
+ * beginning of a block.
+ * <p>
+ * When many changes fall in the same interval, for example the same pixel of a
+ * zoomed out view, {@link #summarize(int, double, double, byte[])} reports that
+ * the signal is both {@code false} and {@code true} in it and skips the blocks
+ * inside the interval instead of decoding them.
+ *
+ * @author Alex Mandelias
+ */
+public final class ValueChangeStore {
+
+	/** The number of changes of each block of a signal */
+	public static final int BLOCK_SIZE = 64;
+
+	/** The signal is {@code false} for some time of an interval */
+	public static final byte LOW = 1;
+
+	/** The signal is {@code true} for some time of an interval */
+	public static final byte HIGH = 2;
+
+	/** The signal is both {@code false} and {@code true} during an interval */
+	public static final byte BOTH = ValueChangeStore.LOW | ValueChangeStore.HIGH;
+
+	private final String[] names;
+	private final Track[]  tracks;
+	private final long     endTime;
+
+	private ValueChangeStore(String[] names, Track[] tracks, long endTime) {
+		this.names = names;
+		this.tracks = tracks;
+		this.endTime = endTime;
+	}
+
+	/**
+	 * Compresses the changes of a {@code Waveform}.
+	 *
+	 * @param waveform the Waveform
+	 * @param endTime  the time at which the recording ended, at least the time of
+	 *                 the last change
+	 *
+	 * @return the ValueChangeStore
+	 */
+	public static ValueChangeStore of(Waveform waveform, long endTime) {
+		final int      signalCount = waveform.signalCount();
+		final String[] names       = new String[signalCount];
+		final Track[]  tracks      = new Track[signalCount];
+		for (int s = 0; s < signalCount; ++s) {
+			names[s] = waveform.name(s);
+			tracks[s] = new Track(waveform.initialValue(s));
+		}
+
+		long last = 0;
+		for (int c = 0; c < waveform.changeCount(); ++c) {
+			tracks[waveform.signal(c)].append(waveform.time(c));
+			last = waveform.time(c);
+		}
+
+		for (final Track track : tracks)
+			track.trim();
+
+		return new ValueChangeStore(names, tracks, Math.max(last, endTime));
+	}
+
+	/**
+	 * Returns the number of signals.
+	 *
+	 * @return the number of signals
+	 */
+	public int signalCount() {
+		return tracks.length;
+	}
+
+	/**
+	 * Returns the name of a signal.
+	 *
+	 * @param signal the signal
+	 *
+	 * @return the name
+	 */
+	public String name(int signal) {
+		return names[signal];
+	}
+
+	/**
+	 * Returns the number of changes of a signal.
+	 *
+	 * @param signal the signal
+	 *
+	 * @return the number of changes
+	 */
+	public int changeCount(int signal) {
+		return tracks[signal].size;
+	}
+
+	/**
+	 * Returns the time at which the recording ended.
+	 *
+	 * @return the time
+	 */
+	public long endTime() {
+		return endTime;
+	}
+
+	/**
+	 * Returns the number of bytes used to store the changes.
+	 *
+	 * @return the number of bytes
+	 */
+	public long byteCount() {
+		long bytes = 0;
+		for (final Track track : tracks)
+			bytes += track.data.length + (track.blockTimes.length * (8L + 4L + 1L));
+		return bytes;
+	}
+
+	/**
+	 * Returns the value of a signal at a time, after all of its changes at that
+	 * time.
+	 *
+	 * @param signal the signal
+	 * @param time   the time
+	 *
+	 * @return the value
+	 */
+	public boolean valueAt(int signal, long time) {
+		final Cursor cursor = new Cursor(tracks[signal]);
+		cursor.skipBefore(time == Long.MAX_VALUE ? time : time + 1);
+		return cursor.value;
+	}
+
+	/**
+	 * Summarises the values of a signal in consecutive intervals of equal length.
+	 * Interval {@code i} contains the times from {@code start + i * step},
+	 * inclusive, to {@code start + (i + 1) * step}, exclusive, both rounded up.
+	 * Only the changes near the boundaries of the intervals are decoded.
+	 *
+	 * @param signal  the signal
+	 * @param start   the start of the first interval
+	 * @param step    the length of each interval, may be less than {@code 1}
+	 * @param summary the array where the summary of each interval is stored:
+	 *                {@link #LOW}, {@link #HIGH} or {@link #BOTH}
+	 */
+	public void summarize(int signal, double start, double step, byte[] summary) {
+		final Cursor cursor = new Cursor(tracks[signal]);
+		cursor.skipBefore((long) Math.ceil(start));
+
+		for (int i = 0; i < summary.length; ++i) {
+			final long to = (long) Math.ceil(start + ((i + 1) * step));
+			if (cursor.time >= to)
+				summary[i] = cursor.value ? ValueChangeStore.HIGH : ValueChangeStore.LOW;
+			else {
+				summary[i] = ValueChangeStore.BOTH;
+				cursor.skipBefore(to);
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return String.format("ValueChangeStore of %d signals until time %d in %d bytes", //$NON-NLS-1$
+		        signalCount(), endTime, byteCount());
+	}
+
+	/* The changes of a signal */
+	private static final class Track {
+
+		final boolean initialValue;
+
+		// the differences of the times of the changes, except for the first of each block
+		byte[] data;
+		int    dataSize;
+
+		// the time of the first change of each block, the value before it and the data after it
+		long[]    blockTimes;
+		boolean[] blockValues;
+		int[]     blockOffsets;
+
+		int     size;
+		long    lastTime;
+		boolean lastValue;
+
+		Track(boolean initialValue) {
+			this.initialValue = initialValue;
+			data = new byte[16];
+			blockTimes = new long[4];
+			blockValues = new boolean[4];
+			blockOffsets = new int[4];
+			lastValue = initialValue;
+		}
+
+		void append(long time) {
+			if ((size % ValueChangeStore.BLOCK_SIZE) == 0) {
+				final int block = size / ValueChangeStore.BLOCK_SIZE;
+				if (block == blockTimes.length) {
+					blockTimes = Arrays.copyOf(blockTimes, 2 * block);
+					blockValues = Arrays.copyOf(blockValues, 2 * block);
+					blockOffsets = Arrays.copyOf(blockOffsets, 2 * block);
+				}
+
+				blockTimes[block] = time;
+				blockValues[block] = lastValue;
+				blockOffsets[block] = dataSize;
+			} else {
+				if (dataSize + 10 > data.length)
+					data = Arrays.copyOf(data, 2 * data.length);
+
+				// unsigned LEB128
+				long delta = time - lastTime;
+				while ((delta & ~0x7FL) != 0) {
+					data[dataSize++] = (byte) ((delta & 0x7F) | 0x80);
+					delta >>>= 7;
+				}
+				data[dataSize++] = (byte) delta;
+			}
+
+			++size;
+			lastTime = time;
+			lastValue = !lastValue;
+		}
+
+		void trim() {
+			final int blocks = (size + ValueChangeStore.BLOCK_SIZE - 1) / ValueChangeStore.BLOCK_SIZE;
+			data = Arrays.copyOf(data, dataSize);
+			blockTimes = Arrays.copyOf(blockTimes, blocks);
+			blockValues = Arrays.copyOf(blockValues, blocks);
+			blockOffsets = Arrays.copyOf(blockOffsets, blocks);
+		}
+	}
+
+	/* The position of the next change of a Track to decode and the value before it */
+	private static final class Cursor {
+
+		private final Track track;
+
+		private int offset, index;
+		long        time;
+		boolean     value;
+
+		Cursor(Track track) {
+			this.track = track;
+			if (track.size == 0) {
+				time = Long.MAX_VALUE;
+				value = track.initialValue;
+			} else
+				seek(0);
+		}
+
+		/* Decodes every change before a time, skipping whole blocks when possible */
+		void skipBefore(long to) {
+			if (time >= to)
+				return;
+
+			// the last block that starts before the time
+			int low = (index / ValueChangeStore.BLOCK_SIZE) + 1, high = track.blockTimes.length - 1;
+			while (low <= high) {
+				final int mid = (low + high) >>> 1;
+				if (track.blockTimes[mid] < to)
+					low = mid + 1;
+				else
+					high = mid - 1;
+			}
+			if (high > (index / ValueChangeStore.BLOCK_SIZE))
+				seek(high);
+
+			while (time < to)
+				next();
+		}
+
+		private void seek(int block) {
+			index = block * ValueChangeStore.BLOCK_SIZE;
+			offset = track.blockOffsets[block];
+			time = track.blockTimes[block];
+			value = track.blockValues[block];
+		}
+
+		private void next() {
+			value = !value;
+			++index;
+
+			if (index == track.size)
+				time = Long.MAX_VALUE;
+			else if ((index % ValueChangeStore.BLOCK_SIZE) == 0)
+				seek(index / ValueChangeStore.BLOCK_SIZE);
+			else {
+				long delta = 0;
+				int  shift = 0;
+				byte b;
+				do {
+					b = track.data[offset++];
+					delta |= (long) (b & 0x7F) << shift;
+					shift += 7;
+				} while (b < 0);
+				time += delta;
+			}
+		}
+	}
+}
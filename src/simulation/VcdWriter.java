@@ -0,0 +1,86 @@
+package simulation;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes a {@link Waveform} in the Value Change Dump format of IEEE 1364, which
+ * most waveform viewers can display. Each signal is a one-bit wire in a single
+ * module and each time unit of the {@link DelayModel} is a nanosecond.
+ * <p>
+ * The identifier of each signal is its index written with the 94 printable
+ * ASCII characters as digits and the whitespace of the names is replaced with
+ * underscores, since the format doesn't allow it.
+ *
+ * @author Alex Mandelias
+ */
+public final class VcdWriter {
+
+	private static final char FIRST_CHAR = '!';
+	private static final int  BASE       = ('~' - VcdWriter.FIRST_CHAR) + 1;
+
+	/* Don't let anyone instantiate this class */
+	private VcdWriter() {}
+
+	/**
+	 * Writes a {@code Waveform}. The Writer isn't closed.
+	 *
+	 * @param waveform the Waveform
+	 * @param module   the name of the module of the signals
+	 * @param writer   the Writer
+	 *
+	 * @throws IOException if an I/O error occurs
+	 */
+	public static void write(Waveform waveform, String module, Writer writer)
+	        throws IOException {
+		final String[] ids = new String[waveform.signalCount()];
+		for (int i = 0; i < ids.length; ++i)
+			ids[i] = VcdWriter.identifier(i);
+
+		writer.write("$version Simple-CAD-Tool $end\n"); //$NON-NLS-1$
+		writer.write("$timescale 1ns $end\n"); //$NON-NLS-1$
+		writer.write(String.format("$scope module %s $end\n", VcdWriter.sanitize(module))); //$NON-NLS-1$
+		for (int i = 0; i < ids.length; ++i)
+			writer.write(String.format("$var wire 1 %s %s $end\n", ids[i], //$NON-NLS-1$
+			        VcdWriter.sanitize(waveform.name(i))));
+		writer.write("$upscope $end\n"); //$NON-NLS-1$
+		writer.write("$enddefinitions $end\n"); //$NON-NLS-1$
+
+		writer.write("#0\n$dumpvars\n"); //$NON-NLS-1$
+		for (int i = 0; i < ids.length; ++i)
+			VcdWriter.writeChange(writer, waveform.initialValue(i), ids[i]);
+		writer.write("$end\n"); //$NON-NLS-1$
+
+		long time = 0;
+		for (int c = 0; c < waveform.changeCount(); ++c) {
+			if (waveform.time(c) != time) {
+				time = waveform.time(c);
+				writer.write('#');
+				writer.write(Long.toString(time));
+				writer.write('\n');
+			}
+
+			VcdWriter.writeChange(writer, waveform.value(c), ids[waveform.signal(c)]);
+		}
+	}
+
+	private static void writeChange(Writer writer, boolean value, String id) throws IOException {
+		writer.write(value ? '1' : '0');
+		writer.write(id);
+		writer.write('\n');
+	}
+
+	private static String identifier(int signal) {
+		final StringBuilder sb = new StringBuilder();
+		int                 n  = signal;
+		do {
+			sb.append((char) (VcdWriter.FIRST_CHAR + (n % VcdWriter.BASE)));
+			n /= VcdWriter.BASE;
+		} while (n > 0);
+		return sb.toString();
+	}
+
+	private static String sanitize(String name) {
+		return name.isEmpty() ? "_" : name.replaceAll("\\s", "_"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+}
@@ -0,0 +1,178 @@
+package simulation;
+
+import java.util.Arrays;
+
+/**
+ * The changes of the values of some nets of a {@link Netlist} recorded by an
+ * {@link EventSimulator}. Each traced net is a <i>signal</i> with a name and an
+ * initial value and each change is stored in a single {@code long} that packs
+ * its time, its signal and its new value, so that millions of changes can be
+ * recorded without creating any objects.
+ * <p>
+ * The changes are recorded in the order they happen, therefore their times
+ * never decrease. A signal may change more than once at the same time, during
+ * consecutive delta cycles.
+ *
+ * @author Alex Mandelias
+ */
+public final class Waveform {
+
+	private static final int SIGNAL_BITS = 24;
+
+	/** The maximum number of signals of a Waveform */
+	public static final int MAX_SIGNALS = 1 << Waveform.SIGNAL_BITS;
+
+	/** The latest time at which a change can be recorded */
+	public static final long MAX_TIME = Long.MAX_VALUE >>> (Waveform.SIGNAL_BITS + 1);
+
+	private static final int INITIAL_CAPACITY = 1 << 10;
+
+	private final int[]     nets;
+	private final String[]  names;
+	private final boolean[] initialValues;
+
+	// the signal of each net, -1 for the nets that aren't traced
+	private final int[] signals;
+
+	private long[] changes;
+	private int    size;
+
+	/**
+	 * Constructs an empty Waveform.
+	 *
+	 * @param netlist the Netlist whose nets are traced
+	 * @param nets    the traced nets, each of them once
+	 * @param names   the name of each traced net
+	 * @param values  the value of each net at the start of the recording
+	 *
+	 * @throws IllegalArgumentException if there are too many nets
+	 */
+	Waveform(Netlist netlist, int[] nets, String[] names, boolean[] values) {
+		if (nets.length > Waveform.MAX_SIGNALS)
+			throw new IllegalArgumentException(String.format(
+			        "Can't trace more than %d nets", Waveform.MAX_SIGNALS)); //$NON-NLS-1$
+
+		this.nets = nets;
+		this.names = names;
+
+		initialValues = new boolean[nets.length];
+		signals = new int[netlist.netCount()];
+		Arrays.fill(signals, -1);
+		for (int i = 0; i < nets.length; ++i) {
+			initialValues[i] = values[nets[i]];
+			signals[nets[i]] = i;
+		}
+
+		changes = new long[Waveform.INITIAL_CAPACITY];
+	}
+
+	/* Records a change of a net, if it is traced */
+	void record(long time, int net, boolean value) {
+		final int signal = signals[net];
+		if (signal == -1)
+			return;
+
+		if (time > Waveform.MAX_TIME)
+			throw new IllegalStateException(String.format(
+			        "Can't record changes after time %d", Waveform.MAX_TIME)); //$NON-NLS-1$
+
+		if (size == changes.length)
+			changes = Arrays.copyOf(changes, 2 * size);
+
+		changes[size++] = (time << (Waveform.SIGNAL_BITS + 1)) | (signal << 1) | (value ? 1 : 0);
+	}
+
+	// signals
+
+	/**
+	 * Returns the number of traced nets.
+	 *
+	 * @return the number of signals
+	 */
+	public int signalCount() {
+		return nets.length;
+	}
+
+	/**
+	 * Returns the net of a signal.
+	 *
+	 * @param signal the signal
+	 *
+	 * @return the net
+	 */
+	public int net(int signal) {
+		return nets[signal];
+	}
+
+	/**
+	 * Returns the name of a signal.
+	 *
+	 * @param signal the signal
+	 *
+	 * @return the name
+	 */
+	public String name(int signal) {
+		return names[signal];
+	}
+
+	/**
+	 * Returns the value of a signal at the start of the recording.
+	 *
+	 * @param signal the signal
+	 *
+	 * @return the initial value
+	 */
+	public boolean initialValue(int signal) {
+		return initialValues[signal];
+	}
+
+	// changes
+
+	/**
+	 * Returns the number of recorded changes.
+	 *
+	 * @return the number of changes
+	 */
+	public int changeCount() {
+		return size;
+	}
+
+	/**
+	 * Returns the time of a change.
+	 *
+	 * @param change the index of the change
+	 *
+	 * @return the time
+	 */
+	public long time(int change) {
+		return changes[change] >>> (Waveform.SIGNAL_BITS + 1);
+	}
+
+	/**
+	 * Returns the signal that changed.
+	 *
+	 * @param change the index of the change
+	 *
+	 * @return the signal
+	 */
+	public int signal(int change) {
+		return (int) (changes[change] >>> 1) & (Waveform.MAX_SIGNALS - 1);
+	}
+
+	/**
+	 * Returns the new value of the signal that changed.
+	 *
+	 * @param change the index of the change
+	 *
+	 * @return the value
+	 */
+	public boolean value(int change) {
+		return (changes[change] & 1) != 0;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("Waveform of %d signals with %d changes", signalCount(), //$NON-NLS-1$
+		        changeCount());
+	}
+}
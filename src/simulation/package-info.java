@@ -0,0 +1,23 @@
+/**
+ * Defines a compiled representation of a circuit, the
+ * {@link simulation.Netlist Netlist}, and the engines that simulate it.
+ * <p>
+ * A circuit of {@link component.components.Component Components} propagates
+ * each signal with one method call per Component, which is convenient for an
+ * interactive Editor but slow for large circuits and many cycles. The
+ * {@link simulation.NetlistCompiler NetlistCompiler} flattens such a circuit,
+ * including the circuits inside composite Gates, into a Netlist of primitive
+ * cells whose nets are stored in arrays and whose cells are sorted in
+ * topological levels. The simulators then evaluate the Netlist without creating
+ * any objects, which makes them suitable for headless use. The
+ * {@link simulation.LevelizedEvaluator LevelizedEvaluator} uses the levels to
+ * evaluate each cell at most once per change of the inputs, no matter how many
+ * of its inputs changed, while the {@link simulation.EventSimulator
+ * EventSimulator} delays each cell to expose the glitches that the other
+ * engines hide. The {@link simulation.NetlistGenerator NetlistGenerator}
+ * generates the Netlists of common datapath circuits, such as adders, of any
+ * size.
+ *
+ * @author Alex Mandelias
+ */
+package simulation;
@@ -0,0 +1,616 @@
+package verification;
+
+import java.util.Arrays;
+
+/**
+ * A manager of Reduced Ordered Binary Decision Diagrams. Each boolean function
+ * of the variables of the manager is represented by exactly one node, so that
+ * two functions are equal if and only if their nodes are equal. Nodes are
+ * plain {@code ints}; {@link #FALSE} and {@link #TRUE} are the two terminals.
+ * <p>
+ * The nodes are stored in arrays and are made unique by a hash table per
+ * variable. The results of the operations are remembered in a direct-mapped
+ * cache, in which an entry is simply overwritten by any other entry that hashes
+ * to the same slot.
+ * <p>
+ * Nodes that are no longer needed are reclaimed by garbage collection. A node
+ * survives a collection only if it is reachable from a node that has been
+ * {@link #ref(int) referenced}, therefore the client must reference the nodes it
+ * holds on to and {@link #deref(int) dereference} them when it no longer needs
+ * them. Collections only happen at the start of the operations, and they keep
+ * the operands, so the operands of an operation need not be referenced.
+ * <p>
+ * When the number of nodes grows, the variables are reordered by
+ * <i>sifting</i>: each variable is moved, by swapping adjacent levels, to the
+ * level at which the diagram is smallest. Reordering changes the structure of
+ * the nodes in place but not the function each node represents.
+ *
+ * @author Alex Mandelias
+ */
+public final class Bdd {
+
+	/** The constant function {@code false} */
+	public static final int FALSE = 0;
+
+	/** The constant function {@code true} */
+	public static final int TRUE = 1;
+
+	private static final int AND = 0, OR = 1, XOR = 2;
+
+	private static final int INITIAL_CAPACITY = 1 << 12;
+	private static final int CACHE_SIZE       = 1 << 16;
+
+	/** How much a diagram may grow while a variable is sifted in one direction */
+	private static final double MAX_GROWTH = 1.2;
+
+	private final int   variableCount;
+	private final int[] levelOf, variableAt;
+
+	// the nodes; the variable of the terminals is `variableCount` and of free nodes -1
+	private int[] var, low, high, next, refs;
+	private int   size, freeList, freeCount;
+
+	// the unique table: a hash table for each variable, chained through `next`
+	private final int[][] buckets;
+	private final int[]   entries;
+
+	// the operation cache
+	private final int[] cacheOp, cacheF, cacheG, cacheResult;
+
+	private int     collectThreshold, reorderThreshold;
+	private boolean autoReorder;
+
+	/**
+	 * Constructs a manager for a number of variables. Initially, variable
+	 * {@code i} is at level {@code i}.
+	 *
+	 * @param variableCount the number of variables
+	 */
+	public Bdd(int variableCount) {
+		this.variableCount = variableCount;
+		levelOf = new int[variableCount];
+		variableAt = new int[variableCount];
+		for (int i = 0; i < variableCount; ++i) {
+			levelOf[i] = i;
+			variableAt[i] = i;
+		}
+
+		var = new int[Bdd.INITIAL_CAPACITY];
+		low = new int[Bdd.INITIAL_CAPACITY];
+		high = new int[Bdd.INITIAL_CAPACITY];
+		next = new int[Bdd.INITIAL_CAPACITY];
+		refs = new int[Bdd.INITIAL_CAPACITY];
+		var[Bdd.FALSE] = variableCount;
+		var[Bdd.TRUE] = variableCount;
+		size = 2;
+		freeList = -1;
+
+		buckets = new int[variableCount][];
+		entries = new int[variableCount];
+		for (int v = 0; v < variableCount; ++v) {
+			buckets[v] = new int[16];
+			Arrays.fill(buckets[v], -1);
+		}
+
+		cacheOp = new int[Bdd.CACHE_SIZE];
+		cacheF = new int[Bdd.CACHE_SIZE];
+		cacheG = new int[Bdd.CACHE_SIZE];
+		cacheResult = new int[Bdd.CACHE_SIZE];
+		Arrays.fill(cacheOp, -1);
+
+		collectThreshold = Bdd.INITIAL_CAPACITY;
+		reorderThreshold = Bdd.INITIAL_CAPACITY;
+		autoReorder = true;
+	}
+
+	/**
+	 * Returns the number of variables of this manager.
+	 *
+	 * @return the number of variables
+	 */
+	public int variableCount() {
+		return variableCount;
+	}
+
+	/**
+	 * Returns the level of a variable, its position in the current order.
+	 *
+	 * @param variable the variable
+	 *
+	 * @return the level
+	 */
+	public int levelOf(int variable) {
+		return levelOf[variable];
+	}
+
+	/**
+	 * Sets whether or not the variables are reordered automatically when the
+	 * number of nodes grows. It is enabled by default.
+	 *
+	 * @param enabled {@code true} to enable it, {@code false} to disable it
+	 */
+	public void setAutoReorder(boolean enabled) {
+		autoReorder = enabled;
+	}
+
+	/**
+	 * Returns the number of nodes that are currently allocated, including the
+	 * ones that will be reclaimed by the next collection.
+	 *
+	 * @return the number of nodes
+	 */
+	public int nodeCount() {
+		return size - 2 - freeCount;
+	}
+
+	/**
+	 * Returns the node of the function that is equal to a variable.
+	 *
+	 * @param variable the variable
+	 *
+	 * @return the node
+	 */
+	public int variable(int variable) {
+		return mk(variable, Bdd.FALSE, Bdd.TRUE);
+	}
+
+	/**
+	 * Returns the node of the negation of a function.
+	 *
+	 * @param f the function
+	 *
+	 * @return the node of {@code !f}
+	 */
+	public int not(int f) {
+		return apply(Bdd.XOR, f, Bdd.TRUE);
+	}
+
+	/**
+	 * Returns the node of the conjunction of two functions.
+	 *
+	 * @param f the first function
+	 * @param g the second function
+	 *
+	 * @return the node of {@code f & g}
+	 */
+	public int and(int f, int g) {
+		return apply(Bdd.AND, f, g);
+	}
+
+	/**
+	 * Returns the node of the disjunction of two functions.
+	 *
+	 * @param f the first function
+	 * @param g the second function
+	 *
+	 * @return the node of {@code f | g}
+	 */
+	public int or(int f, int g) {
+		return apply(Bdd.OR, f, g);
+	}
+
+	/**
+	 * Returns the node of the exclusive disjunction of two functions.
+	 *
+	 * @param f the first function
+	 * @param g the second function
+	 *
+	 * @return the node of {@code f ^ g}
+	 */
+	public int xor(int f, int g) {
+		return apply(Bdd.XOR, f, g);
+	}
+
+	/**
+	 * References a node so that it isn't reclaimed by garbage collection.
+	 *
+	 * @param f the node
+	 *
+	 * @return the node (used for chaining)
+	 */
+	public int ref(int f) {
+		if (f > Bdd.TRUE)
+			++refs[f];
+		return f;
+	}
+
+	/**
+	 * Removes a reference from a node, previously added with {@link #ref(int)}.
+	 *
+	 * @param f the node
+	 */
+	public void deref(int f) {
+		if (f > Bdd.TRUE) {
+			if (refs[f] == 0)
+				throw new IllegalStateException(String.format("Node %d isn't referenced", f)); //$NON-NLS-1$
+			--refs[f];
+		}
+	}
+
+	/**
+	 * Evaluates a function for an assignment of values to the variables.
+	 *
+	 * @param f          the function
+	 * @param assignment the value of each variable
+	 *
+	 * @return the value of the function
+	 */
+	public boolean evaluate(int f, boolean[] assignment) {
+		while (f > Bdd.TRUE)
+			f = assignment[var[f]] ? high[f] : low[f];
+		return f == Bdd.TRUE;
+	}
+
+	/**
+	 * Returns an assignment of values to the variables for which a function is
+	 * {@code true}. The variables the function doesn't depend on are
+	 * {@code false}.
+	 *
+	 * @param f the function
+	 *
+	 * @return the value of each variable or {@code null} if {@code f} is
+	 *         {@code false}
+	 */
+	public boolean[] satisfy(int f) {
+		if (f == Bdd.FALSE)
+			return null;
+
+		// since the diagram is reduced, every node other than FALSE leads to TRUE
+		final boolean[] assignment = new boolean[variableCount];
+		while (f > Bdd.TRUE) {
+			if (low[f] != Bdd.FALSE)
+				f = low[f];
+			else {
+				assignment[var[f]] = true;
+				f = high[f];
+			}
+		}
+		return assignment;
+	}
+
+	/**
+	 * Returns the number of nodes, other than the terminals, that represent a
+	 * function.
+	 *
+	 * @param f the function
+	 *
+	 * @return the number of nodes
+	 */
+	public int size(int f) {
+		final boolean[] visited = new boolean[size];
+		final int[]     stack   = new int[size];
+		int             top     = 0, count = 0;
+
+		if (f > Bdd.TRUE) {
+			visited[f] = true;
+			stack[top++] = f;
+		}
+
+		while (top > 0) {
+			final int node = stack[--top];
+			++count;
+			if ((low[node] > Bdd.TRUE) && !visited[low[node]]) {
+				visited[low[node]] = true;
+				stack[top++] = low[node];
+			}
+			if ((high[node] > Bdd.TRUE) && !visited[high[node]]) {
+				visited[high[node]] = true;
+				stack[top++] = high[node];
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Reclaims the nodes that aren't reachable from any referenced node and
+	 * empties the operation cache.
+	 *
+	 * @return the number of nodes that are still alive
+	 */
+	public int collect() {
+		final boolean[] marked = new boolean[size];
+		final int[]     stack  = new int[size];
+		int             top    = 0;
+
+		for (int node = 2; node < size; ++node)
+			if ((var[node] != -1) && (refs[node] > 0) && !marked[node]) {
+				marked[node] = true;
+				stack[top++] = node;
+			}
+
+		while (top > 0) {
+			final int node = stack[--top];
+			if ((low[node] > Bdd.TRUE) && !marked[low[node]]) {
+				marked[low[node]] = true;
+				stack[top++] = low[node];
+			}
+			if ((high[node] > Bdd.TRUE) && !marked[high[node]]) {
+				marked[high[node]] = true;
+				stack[top++] = high[node];
+			}
+		}
+
+		// rebuild the unique table from the marked nodes and free the rest
+		for (int v = 0; v < variableCount; ++v) {
+			Arrays.fill(buckets[v], -1);
+			entries[v] = 0;
+		}
+
+		int live = 0;
+		for (int node = 2; node < size; ++node) {
+			if (var[node] == -1)
+				continue;
+
+			if (marked[node]) {
+				insert(node);
+				++live;
+			} else {
+				var[node] = -1;
+				next[node] = freeList;
+				freeList = node;
+				++freeCount;
+			}
+		}
+
+		Arrays.fill(cacheOp, -1);
+		return live;
+	}
+
+	/**
+	 * Reorders the variables by sifting, in order to reduce the number of nodes
+	 * of the referenced functions. The nodes keep representing the same
+	 * functions.
+	 *
+	 * @return the number of nodes after reordering
+	 */
+	public int reorder() {
+		int live = collect();
+
+		// sift the variables with the most nodes first, since they matter the most
+		final Integer[] variables = new Integer[variableCount];
+		for (int v = 0; v < variableCount; ++v)
+			variables[v] = v;
+		Arrays.sort(variables, (v1, v2) -> Integer.compare(entries[v2], entries[v1]));
+
+		for (final int v : variables)
+			live = sift(v, live);
+
+		return live;
+	}
+
+	/* Moves a variable to the level where the number of nodes is the smallest */
+	private int sift(int v, int live) {
+		int best = live, bestLevel = levelOf[v];
+
+		while (levelOf[v] < (variableCount - 1)) {
+			swap(levelOf[v]);
+			live = collect();
+			if (live < best) {
+				best = live;
+				bestLevel = levelOf[v];
+			} else if (live > (Bdd.MAX_GROWTH * best))
+				break;
+		}
+
+		while (levelOf[v] > 0) {
+			swap(levelOf[v] - 1);
+			live = collect();
+			if (live < best) {
+				best = live;
+				bestLevel = levelOf[v];
+			} else if (live > (Bdd.MAX_GROWTH * best))
+				break;
+		}
+
+		while (levelOf[v] > bestLevel)
+			swap(levelOf[v] - 1);
+		while (levelOf[v] < bestLevel)
+			swap(levelOf[v]);
+
+		return collect();
+	}
+
+	/*
+	 * Swaps the variables at a level and the level below it. A node of the upper
+	 * variable x that depends on the lower variable y is rewritten in place as a
+	 * node of y whose children are nodes of x, so it keeps its function.
+	 */
+	private void swap(int level) {
+		final int x = variableAt[level], y = variableAt[level + 1];
+
+		// take the nodes of x out of the unique table
+		final int[] nodes = new int[entries[x]];
+		int         count = 0;
+		for (final int head : buckets[x])
+			for (int node = head; node != -1; node = next[node])
+				nodes[count++] = node;
+		Arrays.fill(buckets[x], -1);
+		entries[x] = 0;
+
+		variableAt[level] = y;
+		variableAt[level + 1] = x;
+		levelOf[x] = level + 1;
+		levelOf[y] = level;
+
+		// the nodes that don't depend on y stay as they are, one level lower
+		int dependent = 0;
+		for (int i = 0; i < count; ++i) {
+			final int node = nodes[i];
+			if ((var[low[node]] != y) && (var[high[node]] != y))
+				insert(node);
+			else
+				nodes[dependent++] = node;
+		}
+
+		for (int i = 0; i < dependent; ++i) {
+			final int node = nodes[i];
+			final int f0   = low[node], f1 = high[node];
+			final int f00  = var[f0] == y ? low[f0] : f0;
+			final int f01  = var[f0] == y ? high[f0] : f0;
+			final int f10  = var[f1] == y ? low[f1] : f1;
+			final int f11  = var[f1] == y ? high[f1] : f1;
+
+			final int newLow  = mk(x, f00, f10);
+			final int newHigh = mk(x, f01, f11);
+
+			var[node] = y;
+			low[node] = newLow;
+			high[node] = newHigh;
+			insert(node);
+		}
+	}
+
+	private int apply(int op, int f, int g) {
+		if ((size - freeCount) >= collectThreshold) {
+			// the operands survive the collection even if the client doesn't reference them
+			ref(f);
+			ref(g);
+
+			int live = collect();
+			if (autoReorder && (live >= reorderThreshold)) {
+				live = reorder();
+				reorderThreshold = 2 * live;
+			}
+			collectThreshold = Math.max(collectThreshold, 2 * live);
+
+			deref(f);
+			deref(g);
+		}
+
+		return applyRecursive(op, f, g);
+	}
+
+	private int applyRecursive(int op, int f, int g) {
+		switch (op) {
+		case AND:
+			if ((f == Bdd.FALSE) || (g == Bdd.FALSE))
+				return Bdd.FALSE;
+			if ((f == Bdd.TRUE) || (f == g))
+				return g;
+			if (g == Bdd.TRUE)
+				return f;
+			break;
+		case OR:
+			if ((f == Bdd.TRUE) || (g == Bdd.TRUE))
+				return Bdd.TRUE;
+			if ((f == Bdd.FALSE) || (f == g))
+				return g;
+			if (g == Bdd.FALSE)
+				return f;
+			break;
+		case XOR:
+			if (f == g)
+				return Bdd.FALSE;
+			if (f == Bdd.FALSE)
+				return g;
+			if (g == Bdd.FALSE)
+				return f;
+			break;
+		default:
+			throw new IllegalArgumentException(String.format("Unknown operation %d", op)); //$NON-NLS-1$
+		}
+
+		// every operation is commutative
+		if (f > g) {
+			final int temp = f;
+			f = g;
+			g = temp;
+		}
+
+		final int slot = Bdd.hash(Bdd.hash(op, f), g) & (Bdd.CACHE_SIZE - 1);
+		if ((cacheOp[slot] == op) && (cacheF[slot] == f) && (cacheG[slot] == g))
+			return cacheResult[slot];
+
+		final int levelF = level(f), levelG = level(g);
+		final int top    = Math.min(levelF, levelG);
+
+		final int low0  = applyRecursive(op, levelF == top ? low[f] : f, levelG == top ? low[g] : g);
+		final int high0 = applyRecursive(op, levelF == top ? high[f] : f,
+		        levelG == top ? high[g] : g);
+		final int result = mk(variableAt[top], low0, high0);
+
+		cacheOp[slot] = op;
+		cacheF[slot] = f;
+		cacheG[slot] = g;
+		cacheResult[slot] = result;
+		return result;
+	}
+
+	private int level(int f) {
+		return f > Bdd.TRUE ? levelOf[var[f]] : variableCount;
+	}
+
+	/* Returns the unique node with a variable and two children, creating it if necessary */
+	private int mk(int v, int lowChild, int highChild) {
+		if (lowChild == highChild)
+			return lowChild;
+
+		final int[] table = buckets[v];
+		for (int node = table[Bdd.hash(lowChild, highChild) & (table.length - 1)]; node != -1;
+		        node = next[node])
+			if ((low[node] == lowChild) && (high[node] == highChild))
+				return node;
+
+		final int node;
+		if (freeList != -1) {
+			node = freeList;
+			freeList = next[node];
+			--freeCount;
+		} else {
+			if (size == var.length)
+				grow();
+			node = size++;
+		}
+
+		var[node] = v;
+		low[node] = lowChild;
+		high[node] = highChild;
+		refs[node] = 0;
+		insert(node);
+		return node;
+	}
+
+	private void insert(int node) {
+		final int v = var[node];
+		if (entries[v] >= buckets[v].length)
+			rehash(v);
+
+		final int[] table  = buckets[v];
+		final int   bucket = Bdd.hash(low[node], high[node]) & (table.length - 1);
+		next[node] = table[bucket];
+		table[bucket] = node;
+		++entries[v];
+	}
+
+	private void rehash(int v) {
+		final int[] table = new int[2 * buckets[v].length];
+		Arrays.fill(table, -1);
+
+		for (final int head : buckets[v]) {
+			int node = head;
+			while (node != -1) {
+				final int following = next[node];
+				final int bucket    = Bdd.hash(low[node], high[node]) & (table.length - 1);
+				next[node] = table[bucket];
+				table[bucket] = node;
+				node = following;
+			}
+		}
+
+		buckets[v] = table;
+	}
+
+	private void grow() {
+		final int capacity = 2 * var.length;
+		var = Arrays.copyOf(var, capacity);
+		low = Arrays.copyOf(low, capacity);
+		high = Arrays.copyOf(high, capacity);
+		next = Arrays.copyOf(next, capacity);
+		refs = Arrays.copyOf(refs, capacity);
+	}
+
+	private static int hash(int a, int b) {
+		final int h = (a * 0x9E3779B1) + (b * 0x85EBCA6B);
+		return h ^ (h >>> 16);
+	}
+}
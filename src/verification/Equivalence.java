@@ -0,0 +1,187 @@
+package verification;
+
+import java.util.StringJoiner;
+
+/**
+ * The result of checking two circuits for equivalence with the
+ * {@link EquivalenceChecker}. If the circuits aren't equivalent it contains a
+ * counterexample: an input vector for which at least one output differs,
+ * together with the outputs of both circuits for it. The inputs and outputs are
+ * those of the first circuit, in the same order.
+ *
+ * @author Alex Mandelias
+ */
+public final class Equivalence {
+
+	private final String[]  inputNames, outputNames;
+	private final boolean[] inputs, firstOutputs, secondOutputs;
+	private final int       nodeCount;
+
+	/**
+	 * Constructs the result of a check.
+	 *
+	 * @param inputNames    the names of the inputs
+	 * @param outputNames   the names of the outputs
+	 * @param inputs        the counterexample or {@code null} if the circuits are
+	 *                      equivalent
+	 * @param firstOutputs  the outputs of the first circuit for the counterexample
+	 * @param secondOutputs the outputs of the second circuit for the counterexample
+	 * @param nodeCount     the number of BDD nodes used for the check
+	 */
+	Equivalence(String[] inputNames, String[] outputNames, boolean[] inputs,
+	        boolean[] firstOutputs, boolean[] secondOutputs, int nodeCount) {
+		this.inputNames = inputNames;
+		this.outputNames = outputNames;
+		this.inputs = inputs;
+		this.firstOutputs = firstOutputs;
+		this.secondOutputs = secondOutputs;
+		this.nodeCount = nodeCount;
+	}
+
+	/**
+	 * Returns whether or not the circuits are equivalent.
+	 *
+	 * @return {@code true} if they are, {@code false} otherwise
+	 */
+	public boolean equivalent() {
+		return inputs == null;
+	}
+
+	/**
+	 * Returns the number of inputs.
+	 *
+	 * @return the number of inputs
+	 */
+	public int inputCount() {
+		return inputNames.length;
+	}
+
+	/**
+	 * Returns the name of an input.
+	 *
+	 * @param index the index of the input
+	 *
+	 * @return the name
+	 */
+	public String inputName(int index) {
+		return inputNames[index];
+	}
+
+	/**
+	 * Returns the value of an input in the counterexample.
+	 *
+	 * @param index the index of the input
+	 *
+	 * @return the value
+	 *
+	 * @throws IllegalStateException if the circuits are equivalent
+	 */
+	public boolean input(int index) {
+		checkCounterexample();
+		return inputs[index];
+	}
+
+	/**
+	 * Returns the number of outputs.
+	 *
+	 * @return the number of outputs
+	 */
+	public int outputCount() {
+		return outputNames.length;
+	}
+
+	/**
+	 * Returns the name of an output.
+	 *
+	 * @param index the index of the output
+	 *
+	 * @return the name
+	 */
+	public String outputName(int index) {
+		return outputNames[index];
+	}
+
+	/**
+	 * Returns the value of an output of the first circuit for the counterexample.
+	 *
+	 * @param index the index of the output
+	 *
+	 * @return the value
+	 *
+	 * @throws IllegalStateException if the circuits are equivalent
+	 */
+	public boolean firstOutput(int index) {
+		checkCounterexample();
+		return firstOutputs[index];
+	}
+
+	/**
+	 * Returns the value of an output of the second circuit for the counterexample.
+	 *
+	 * @param index the index of the output
+	 *
+	 * @return the value
+	 *
+	 * @throws IllegalStateException if the circuits are equivalent
+	 */
+	public boolean secondOutput(int index) {
+		checkCounterexample();
+		return secondOutputs[index];
+	}
+
+	/**
+	 * Returns the number of BDD nodes that were used for the check.
+	 *
+	 * @return the number of nodes
+	 */
+	public int nodeCount() {
+		return nodeCount;
+	}
+
+	/**
+	 * Formats the counterexample as a list of assignments to the inputs, for
+	 * example {@code "in0=1, in1=0"}.
+	 *
+	 * @return the formatted counterexample
+	 *
+	 * @throws IllegalStateException if the circuits are equivalent
+	 */
+	public String formatInputs() {
+		checkCounterexample();
+
+		final StringJoiner joiner = new StringJoiner(", "); //$NON-NLS-1$
+		for (int i = 0; i < inputs.length; ++i)
+			joiner.add(String.format("%s=%d", inputNames[i], inputs[i] ? 1 : 0)); //$NON-NLS-1$
+		return joiner.toString();
+	}
+
+	/**
+	 * Formats the outputs that differ for the counterexample, with the value of
+	 * each circuit, for example {@code "out0: 1/0"}.
+	 *
+	 * @return the formatted outputs
+	 *
+	 * @throws IllegalStateException if the circuits are equivalent
+	 */
+	public String formatOutputs() {
+		checkCounterexample();
+
+		final StringJoiner joiner = new StringJoiner(", "); //$NON-NLS-1$
+		for (int i = 0; i < outputNames.length; ++i)
+			if (firstOutputs[i] != secondOutputs[i])
+				joiner.add(String.format("%s: %d/%d", outputNames[i], //$NON-NLS-1$
+				        firstOutputs[i] ? 1 : 0, secondOutputs[i] ? 1 : 0));
+		return joiner.toString();
+	}
+
+	private void checkCounterexample() {
+		if (equivalent())
+			throw new IllegalStateException("Equivalent circuits have no counterexample"); //$NON-NLS-1$
+	}
+
+	@Override
+	public String toString() {
+		return equivalent() ? "Equivalent" //$NON-NLS-1$
+		        : String.format("Not equivalent: %s gives %s", formatInputs(), formatOutputs()); //$NON-NLS-1$
+	}
+}
@@ -0,0 +1,292 @@
+package verification;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import simulation.Netlist;
+
+/**
+ * Checks whether two circuits compute the same function, without simulating
+ * every input vector. The function of each output of both circuits is built as
+ * a {@link Bdd}, over the same variables, and since the representation is
+ * canonical two outputs are equivalent if and only if their nodes are equal.
+ * When they aren't, the difference of the two outputs gives an input vector for
+ * which they differ.
+ * <p>
+ * The inputs and outputs of the circuits are matched by name, if both circuits
+ * have the same, distinct, names, and by position otherwise. Only combinational
+ * circuits without loops can be checked.
+ *
+ * @author Alex Mandelias
+ */
+public final class EquivalenceChecker {
+
+	/* Don't let anyone initialise this class */
+	private EquivalenceChecker() {}
+
+	/**
+	 * Returns whether or not a {@code Netlist} can be checked for equivalence, that
+	 * is whether it is combinational and has no loops.
+	 *
+	 * @param netlist the Netlist
+	 *
+	 * @return {@code true} if it can be checked, {@code false} otherwise
+	 */
+	public static boolean supports(Netlist netlist) {
+		return (netlist.flipFlopCount() == 0) && (netlist.clockCount() == 0)
+		        && !netlist.hasLoops();
+	}
+
+	/**
+	 * Returns whether or not the inputs and the outputs of two {@code Netlists}
+	 * can be matched, that is whether they have the same number of inputs and the
+	 * same number of outputs.
+	 *
+	 * @param first  the first Netlist
+	 * @param second the second Netlist
+	 *
+	 * @return {@code true} if they can be matched, {@code false} otherwise
+	 */
+	public static boolean comparable(Netlist first, Netlist second) {
+		return (first.inputCount() == second.inputCount())
+		        && (first.outputCount() == second.outputCount());
+	}
+
+	/**
+	 * Checks whether two {@code Netlists} are equivalent.
+	 *
+	 * @param first  the first Netlist
+	 * @param second the second Netlist
+	 *
+	 * @return the result of the check, with a counterexample if they aren't
+	 *         equivalent
+	 *
+	 * @throws IllegalArgumentException if either Netlist isn't
+	 *                                  {@link #supports(Netlist) supported} or if
+	 *                                  they aren't {@link #comparable(Netlist,
+	 *                                  Netlist) comparable}
+	 */
+	public static Equivalence check(Netlist first, Netlist second) {
+		if (!EquivalenceChecker.supports(first) || !EquivalenceChecker.supports(second))
+			throw new IllegalArgumentException(
+			        "Only combinational Netlists without loops can be checked"); //$NON-NLS-1$
+		if (!EquivalenceChecker.comparable(first, second))
+			throw new IllegalArgumentException(
+			        "The Netlists have different numbers of inputs or outputs"); //$NON-NLS-1$
+
+		final String[] inputNames   = new String[first.inputCount()];
+		final String[] outputNames  = new String[first.outputCount()];
+		final String[] otherInputs  = new String[second.inputCount()];
+		final String[] otherOutputs = new String[second.outputCount()];
+		for (int i = 0; i < inputNames.length; ++i) {
+			inputNames[i] = first.inputName(i);
+			otherInputs[i] = second.inputName(i);
+		}
+		for (int i = 0; i < outputNames.length; ++i) {
+			outputNames[i] = first.outputName(i);
+			otherOutputs[i] = second.outputName(i);
+		}
+
+		final int[] inputMap  = EquivalenceChecker.match(inputNames, otherInputs);
+		final int[] outputMap = EquivalenceChecker.match(outputNames, otherOutputs);
+
+		// both circuits share the variables, one for each input of the first circuit
+		final Bdd   bdd        = new Bdd(inputNames.length);
+		final int[] variableOf = EquivalenceChecker.order(first);
+		final int[] otherOf    = new int[otherInputs.length];
+		for (int i = 0; i < otherOf.length; ++i)
+			otherOf[i] = variableOf[inputMap[i]];
+
+		final int[] firstNodes  = EquivalenceChecker.build(bdd, first, variableOf);
+		final int[] secondNodes = EquivalenceChecker.build(bdd, second, otherOf);
+
+		for (int i = 0; i < otherOutputs.length; ++i) {
+			final int difference = bdd.xor(firstNodes[outputMap[i]], secondNodes[i]);
+			if (difference == Bdd.FALSE)
+				continue;
+
+			final boolean[] assignment = bdd.satisfy(difference);
+			final boolean[] inputs     = new boolean[inputNames.length];
+			for (int j = 0; j < inputs.length; ++j)
+				inputs[j] = assignment[variableOf[j]];
+
+			final boolean[] firstOutputs  = new boolean[outputNames.length];
+			final boolean[] secondOutputs = new boolean[outputNames.length];
+			for (int j = 0; j < outputNames.length; ++j) {
+				firstOutputs[j] = bdd.evaluate(firstNodes[j], assignment);
+				secondOutputs[outputMap[j]] = bdd.evaluate(secondNodes[j], assignment);
+			}
+
+			return new Equivalence(inputNames, outputNames, inputs, firstOutputs, secondOutputs,
+			        bdd.nodeCount());
+		}
+
+		return new Equivalence(inputNames, outputNames, null, null, null, bdd.nodeCount());
+	}
+
+	/*
+	 * Returns the index in `first` of each name of `second`, if both have the same
+	 * distinct names, or the identity otherwise.
+	 */
+	private static int[] match(String[] first, String[] second) {
+		final Map<String, Integer> index = new HashMap<>();
+		for (int i = 0; i < first.length; ++i)
+			if (first[i] != null)
+				index.put(first[i], i);
+
+		final int[]     map    = new int[second.length];
+		final boolean[] used   = new boolean[first.length];
+		boolean         byName = index.size() == first.length;
+		for (int i = 0; byName && (i < second.length); ++i) {
+			final Integer j = second[i] == null ? null : index.get(second[i]);
+			if ((j == null) || used[j])
+				byName = false;
+			else {
+				used[j] = true;
+				map[i] = j;
+			}
+		}
+
+		if (!byName)
+			for (int i = 0; i < map.length; ++i)
+				map[i] = i;
+
+		return map;
+	}
+
+	/*
+	 * Returns the variable of each input, in the order in which a depth-first
+	 * traversal from the outputs reaches them. Inputs that are used together end
+	 * up close together, which usually keeps the diagrams small from the start.
+	 */
+	private static int[] order(Netlist netlist) {
+		final int[] inputOf = new int[netlist.netCount()];
+		Arrays.fill(inputOf, -1);
+		for (int i = 0; i < netlist.inputCount(); ++i)
+			inputOf[netlist.inputNet(i)] = i;
+
+		final int[] variableOf = new int[netlist.inputCount()];
+		Arrays.fill(variableOf, -1);
+		int count = 0;
+
+		final boolean[] visited = new boolean[netlist.netCount()];
+		final int[]     stack   = new int[netlist.netCount()];
+		for (int o = 0; o < netlist.outputCount(); ++o) {
+			int size = 0;
+			if (!visited[netlist.outputNet(o)]) {
+				visited[netlist.outputNet(o)] = true;
+				stack[size++] = netlist.outputNet(o);
+			}
+
+			while (size > 0) {
+				final int net = stack[--size];
+				if (inputOf[net] != -1)
+					variableOf[inputOf[net]] = count++;
+
+				final int driver = netlist.driver(net);
+				if (driver == -1)
+					continue;
+
+				// in reverse, so that the first input is visited first
+				for (int slot = netlist.cellInputCount(driver) - 1; slot >= 0; --slot) {
+					final int input = netlist.cellInput(driver, slot);
+					if (!visited[input]) {
+						visited[input] = true;
+						stack[size++] = input;
+					}
+				}
+			}
+		}
+
+		// the inputs that don't affect any output
+		for (int i = 0; i < variableOf.length; ++i)
+			if (variableOf[i] == -1)
+				variableOf[i] = count++;
+
+		return variableOf;
+	}
+
+	/* Returns the referenced node of the function of each output of a Netlist */
+	private static int[] build(Bdd bdd, Netlist netlist, int[] variableOf) {
+		final int[] nodes = new int[netlist.netCount()];
+
+		// the number of times each net is read, so that its node is released afterwards
+		final int[] readers = new int[netlist.netCount()];
+		for (int cell = 0; cell < netlist.cellCount(); ++cell)
+			for (int slot = 0; slot < netlist.cellInputCount(cell); ++slot)
+				++readers[netlist.cellInput(cell, slot)];
+		for (int o = 0; o < netlist.outputCount(); ++o)
+			++readers[netlist.outputNet(o)];
+
+		nodes[Netlist.FALSE] = Bdd.FALSE;
+		nodes[Netlist.TRUE] = Bdd.TRUE;
+		for (int i = 0; i < netlist.inputCount(); ++i)
+			EquivalenceChecker.define(bdd, nodes, readers, netlist.inputNet(i),
+			        bdd.variable(variableOf[i]));
+
+		for (int i = 0; i < netlist.combinationalCount(); ++i) {
+			final int cell = netlist.ordered(i);
+			EquivalenceChecker.define(bdd, nodes, readers, netlist.cellOutput(cell),
+			        EquivalenceChecker.function(bdd, netlist, cell, nodes));
+
+			for (int slot = 0; slot < netlist.cellInputCount(cell); ++slot) {
+				final int input = netlist.cellInput(cell, slot);
+				if (--readers[input] == 0)
+					bdd.deref(nodes[input]);
+			}
+		}
+
+		// the outputs are still referenced, since their readers were never released
+		final int[] outputs = new int[netlist.outputCount()];
+		for (int o = 0; o < outputs.length; ++o)
+			outputs[o] = nodes[netlist.outputNet(o)];
+		return outputs;
+	}
+
+	/* Stores the node of a net, referenced only if the net is read */
+	private static void define(Bdd bdd, int[] nodes, int[] readers, int net, int node) {
+		nodes[net] = node;
+		if (readers[net] > 0)
+			bdd.ref(node);
+	}
+
+	/* Returns the node of the function of a cell, which must be referenced immediately */
+	private static int function(Bdd bdd, Netlist netlist, int cell, int[] nodes) {
+		final int first = nodes[netlist.cellInput(cell, 0)];
+
+		switch (netlist.cellType(cell)) {
+		case NOT:
+			return bdd.not(first);
+		case AND:
+		case OR:
+		case XOR:
+			// the partial result must survive the collections of the next operations
+			int result = bdd.ref(first);
+			for (int slot = 1; slot < netlist.cellInputCount(cell); ++slot) {
+				final int input = nodes[netlist.cellInput(cell, slot)];
+				final int next;
+				switch (netlist.cellType(cell)) {
+				case AND:
+					next = bdd.and(result, input);
+					break;
+				case OR:
+					next = bdd.or(result, input);
+					break;
+				default:
+					next = bdd.xor(result, input);
+					break;
+				}
+				bdd.ref(next);
+				bdd.deref(result);
+				result = next;
+			}
+			bdd.deref(result);
+			return result;
+		case DFF:
+		default:
+			throw new IllegalArgumentException(String.format(
+			        "Cell %d of type %s is not combinational", cell, netlist.cellType(cell))); //$NON-NLS-1$
+		}
+	}
+}
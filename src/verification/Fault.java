@@ -0,0 +1,71 @@
+package verification;
+
+/**
+ * A stuck-at fault of a {@code Branch}: the Branch always carries the same
+ * value, regardless of the value of the Component that drives it. In the
+ * compiled {@link simulation.Netlist Netlist} the Branch corresponds to the
+ * inputs of the cells and the outputs that read its signal, its <i>sites</i>,
+ * which are forced to the stuck value.
+ *
+ * @author Alex Mandelias
+ *
+ * @see FaultModel
+ */
+public final class Fault {
+
+	private final String  branch;
+	private final boolean stuckAt;
+
+	// the sites: the inputs of the cells, as pairs of cell and slot, and the outputs
+	final int[] cells, slots, outputs;
+
+	/**
+	 * Constructs a Fault.
+	 *
+	 * @param branch  the ID of the Branch
+	 * @param stuckAt the value the Branch is stuck at
+	 * @param cells   the cells whose inputs read the Branch
+	 * @param slots   the input of each of these cells
+	 * @param outputs the outputs that read the Branch
+	 */
+	Fault(String branch, boolean stuckAt, int[] cells, int[] slots, int[] outputs) {
+		this.branch = branch;
+		this.stuckAt = stuckAt;
+		this.cells = cells;
+		this.slots = slots;
+		this.outputs = outputs;
+	}
+
+	/**
+	 * Returns the ID of the faulty Branch.
+	 *
+	 * @return the ID
+	 */
+	public String branch() {
+		return branch;
+	}
+
+	/**
+	 * Returns the value the Branch is stuck at.
+	 *
+	 * @return the value
+	 */
+	public boolean stuckAt() {
+		return stuckAt;
+	}
+
+	/**
+	 * Returns the number of places in the compiled Netlist that the Fault
+	 * affects. A Fault that affects nothing can't be detected.
+	 *
+	 * @return the number of sites
+	 */
+	public int siteCount() {
+		return cells.length + outputs.length;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s/%d", branch, stuckAt ? 1 : 0); //$NON-NLS-1$
+	}
+}
@@ -0,0 +1,119 @@
+package verification;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import component.ComponentType;
+import component.components.Component;
+import component.components.SimulationHook;
+import simulation.Netlist;
+import simulation.NetlistCompiler;
+
+/**
+ * The stuck-at-0 and stuck-at-1 {@link Fault Faults} of every top-level
+ * {@code Branch} of a circuit, together with the {@link Netlist} they refer to.
+ * <p>
+ * The sites of each Fault are found using the names of the inputs of the
+ * cells, which the {@link NetlistCompiler} sets to the ID of the nearest
+ * top-level Branch, and the Output Pins that the Branches are connected to. A
+ * Branch connected to a composite Gate therefore affects every cell inside the
+ * Gate that reads the corresponding Input Pin.
+ *
+ * @author Alex Mandelias
+ */
+public final class FaultModel {
+
+	private final Netlist     netlist;
+	private final List<Fault> faults;
+
+	private FaultModel(Netlist netlist, List<Fault> faults) {
+		this.netlist = netlist;
+		this.faults = Collections.unmodifiableList(faults);
+	}
+
+	/**
+	 * Compiles the top-level {@code Components} of a circuit and constructs the
+	 * Faults of its Branches, in the order of the Branches.
+	 *
+	 * @param components the Components of the circuit
+	 *
+	 * @return the FaultModel
+	 */
+	public static FaultModel of(Collection<Component> components) {
+		final Netlist netlist = NetlistCompiler.compile(components);
+
+		// the sites of each Branch: pairs of cell and slot, and then outputs
+		final Map<String, List<Integer>> cellSites   = new HashMap<>();
+		final Map<String, List<Integer>> outputSites = new HashMap<>();
+
+		for (int cell = 0; cell < netlist.cellCount(); ++cell)
+			for (int slot = 0; slot < netlist.cellInputCount(cell); ++slot) {
+				final String branch = netlist.slotName(cell, slot);
+				if (branch != null) {
+					final List<Integer> sites = cellSites.computeIfAbsent(branch,
+					        b -> new ArrayList<>());
+					sites.add(cell);
+					sites.add(slot);
+				}
+			}
+
+		// the Output Pins are compiled in the order they are provided
+		int output = 0;
+		for (final Component component : components) {
+			if (SimulationHook.hidden(component) || (component.type() != ComponentType.OUTPUT_PIN))
+				continue;
+
+			final Component branch = SimulationHook.inputAt(component, 0);
+			if ((branch != null) && !SimulationHook.hidden(branch))
+				outputSites.computeIfAbsent(branch.getID(), b -> new ArrayList<>()).add(output);
+			++output;
+		}
+
+		final List<Fault> faults = new ArrayList<>();
+		for (final Component component : components) {
+			if (SimulationHook.hidden(component) || (component.type() != ComponentType.BRANCH))
+				continue;
+
+			final String        id      = component.getID();
+			final List<Integer> cells   = cellSites.getOrDefault(id, Collections.emptyList());
+			final List<Integer> outputs = outputSites.getOrDefault(id, Collections.emptyList());
+
+			final int[] cellArray   = new int[cells.size() / 2];
+			final int[] slotArray   = new int[cells.size() / 2];
+			final int[] outputArray = new int[outputs.size()];
+			for (int i = 0; i < cellArray.length; ++i) {
+				cellArray[i] = cells.get(2 * i);
+				slotArray[i] = cells.get((2 * i) + 1);
+			}
+			for (int i = 0; i < outputArray.length; ++i)
+				outputArray[i] = outputs.get(i);
+
+			faults.add(new Fault(id, false, cellArray, slotArray, outputArray));
+			faults.add(new Fault(id, true, cellArray, slotArray, outputArray));
+		}
+
+		return new FaultModel(netlist, faults);
+	}
+
+	/**
+	 * Returns the compiled circuit.
+	 *
+	 * @return the Netlist
+	 */
+	public Netlist netlist() {
+		return netlist;
+	}
+
+	/**
+	 * Returns the Faults of the circuit.
+	 *
+	 * @return an unmodifiable List with the Faults
+	 */
+	public List<Fault> faults() {
+		return faults;
+	}
+}
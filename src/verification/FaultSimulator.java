@@ -0,0 +1,146 @@
+package verification;
+
+import java.util.List;
+
+import simulation.Netlist;
+
+/**
+ * Simulates many {@link Fault Faults} of a combinational {@link Netlist} at
+ * once. The signal of each net is a {@code long} whose bits are separate copies
+ * of the circuit: bit {@code 0} is the fault-free circuit and each of the other
+ * {@value #BATCH_SIZE} bits is the circuit with one of the Faults. A cell is
+ * evaluated for all of them with a single bitwise operation and the inputs of
+ * the cells that are sites of a Fault are forced to the stuck value only in the
+ * bit of that Fault.
+ * <p>
+ * A Fault is detected by an input vector if an output of the faulty circuit
+ * differs from the fault-free one.
+ *
+ * @author Alex Mandelias
+ */
+public final class FaultSimulator {
+
+	/** The number of Faults that are simulated at once */
+	public static final int BATCH_SIZE = Long.SIZE - 1;
+
+	private final Netlist netlist;
+
+	// the first slot of each cell in the arrays of forced bits
+	private final int[] slotStart;
+
+	private final long[] signals;
+	private final long[] forceLow, forceHigh;
+	private final long[] outputLow, outputHigh;
+
+	/**
+	 * Constructs a simulator for a {@code Netlist}.
+	 *
+	 * @param netlist the Netlist
+	 *
+	 * @throws IllegalArgumentException if the Netlist isn't combinational
+	 *
+	 * @see EquivalenceChecker#supports(Netlist)
+	 */
+	public FaultSimulator(Netlist netlist) {
+		if (!EquivalenceChecker.supports(netlist))
+			throw new IllegalArgumentException(
+			        "Only combinational Netlists without loops can be fault simulated"); //$NON-NLS-1$
+
+		this.netlist = netlist;
+		slotStart = new int[netlist.cellCount() + 1];
+		for (int cell = 0; cell < netlist.cellCount(); ++cell)
+			slotStart[cell + 1] = slotStart[cell] + netlist.cellInputCount(cell);
+
+		signals = new long[netlist.netCount()];
+		forceLow = new long[slotStart[netlist.cellCount()]];
+		forceHigh = new long[slotStart[netlist.cellCount()]];
+		outputLow = new long[netlist.outputCount()];
+		outputHigh = new long[netlist.outputCount()];
+	}
+
+	/**
+	 * Simulates an input vector for up to {@value #BATCH_SIZE} Faults.
+	 *
+	 * @param vector the value of each input of the Netlist
+	 * @param faults the Faults
+	 * @param from   the index of the first Fault to simulate
+	 * @param count  the number of Faults to simulate
+	 *
+	 * @return a mask whose bit {@code i} is set if the Fault at index
+	 *         {@code from + i} is detected
+	 */
+	public long simulate(boolean[] vector, List<Fault> faults, int from, int count) {
+		if (count > FaultSimulator.BATCH_SIZE)
+			throw new IllegalArgumentException(String.format(
+			        "At most %d Faults can be simulated at once", FaultSimulator.BATCH_SIZE)); //$NON-NLS-1$
+
+		inject(faults, from, count, true);
+
+		signals[Netlist.FALSE] = 0L;
+		signals[Netlist.TRUE] = -1L;
+		for (int i = 0; i < netlist.inputCount(); ++i)
+			signals[netlist.inputNet(i)] = vector[i] ? -1L : 0L;
+
+		for (int i = 0; i < netlist.combinationalCount(); ++i) {
+			final int cell  = netlist.ordered(i);
+			final int start = slotStart[cell];
+			long      value = read(start, netlist.cellInput(cell, 0));
+
+			switch (netlist.cellType(cell)) {
+			case AND:
+				for (int slot = 1; slot < netlist.cellInputCount(cell); ++slot)
+					value &= read(start + slot, netlist.cellInput(cell, slot));
+				break;
+			case OR:
+				for (int slot = 1; slot < netlist.cellInputCount(cell); ++slot)
+					value |= read(start + slot, netlist.cellInput(cell, slot));
+				break;
+			case XOR:
+				for (int slot = 1; slot < netlist.cellInputCount(cell); ++slot)
+					value ^= read(start + slot, netlist.cellInput(cell, slot));
+				break;
+			case NOT:
+				value = ~value;
+				break;
+			case DFF:
+			default:
+				throw new IllegalArgumentException(String.format(
+				        "Cell %d of type %s is not combinational", cell, netlist.cellType(cell))); //$NON-NLS-1$
+			}
+
+			signals[netlist.cellOutput(cell)] = value;
+		}
+
+		// a bit is detected if it differs from bit 0, the fault-free circuit
+		long detected = 0L;
+		for (int o = 0; o < netlist.outputCount(); ++o) {
+			final long value = (signals[netlist.outputNet(o)] & ~outputLow[o]) | outputHigh[o];
+			detected |= value ^ -(value & 1L);
+		}
+
+		inject(faults, from, count, false);
+
+		return (detected >>> 1) & ((1L << count) - 1);
+	}
+
+	private long read(int slot, int net) {
+		return (signals[net] & ~forceLow[slot]) | forceHigh[slot];
+	}
+
+	/* Sets or clears the forced bits of the sites of the Faults */
+	private void inject(List<Fault> faults, int from, int count, boolean set) {
+		for (int i = 0; i < count; ++i) {
+			final Fault  fault = faults.get(from + i);
+			final long   bit   = 1L << (i + 1);
+			final long[] slots = fault.stuckAt() ? forceHigh : forceLow;
+			final long[] outs  = fault.stuckAt() ? outputHigh : outputLow;
+
+			for (int site = 0; site < fault.cells.length; ++site) {
+				final int slot = slotStart[fault.cells[site]] + fault.slots[site];
+				slots[slot] = set ? slots[slot] | bit : 0L;
+			}
+			for (final int output : fault.outputs)
+				outs[output] = set ? outs[output] | bit : 0L;
+		}
+	}
+}
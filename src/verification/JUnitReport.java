@@ -0,0 +1,95 @@
+package verification;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Writes {@link VectorResult VectorResults} as a report in the XML format of
+ * JUnit, which continuous integration servers can display. The report has one
+ * test suite in which each VectorResult is a test case; the failed rows of a
+ * test case are listed in its failure and the reason it couldn't be checked in
+ * its error.
+ *
+ * @author Alex Mandelias
+ */
+public final class JUnitReport {
+
+	/* Don't let anyone instantiate this class */
+	private JUnitReport() {}
+
+	/**
+	 * Writes a report. The Writer isn't closed.
+	 *
+	 * @param suite   the name of the test suite
+	 * @param results the results
+	 * @param writer  the Writer
+	 *
+	 * @throws IOException if an I/O error occurs
+	 */
+	public static void write(String suite, List<VectorResult> results, Writer writer)
+	        throws IOException {
+		int  failures = 0, errors = 0;
+		long nanos    = 0;
+		for (final VectorResult result : results) {
+			if (result.error() != null)
+				++errors;
+			else if (!result.passed())
+				++failures;
+			nanos += result.nanos();
+		}
+
+		writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"); //$NON-NLS-1$
+		writer.write(String.format(Locale.ROOT,
+		        "<testsuite name=\"%s\" tests=\"%d\" failures=\"%d\" errors=\"%d\" time=\"%.3f\">\n", //$NON-NLS-1$
+		        JUnitReport.escape(suite), results.size(), failures, errors, nanos / 1e9));
+
+		for (final VectorResult result : results) {
+			writer.write(String.format(Locale.ROOT,
+			        "  <testcase classname=\"%s\" name=\"%s\" time=\"%.3f\"", //$NON-NLS-1$
+			        JUnitReport.escape(suite), JUnitReport.escape(result.name()),
+			        result.nanos() / 1e9));
+
+			if (result.error() != null)
+				writer.write(String.format(">\n    <error message=\"%s\"/>\n  </testcase>\n", //$NON-NLS-1$
+				        JUnitReport.escape(result.error())));
+			else if (!result.passed()) {
+				writer.write(String.format(">\n    <failure message=\"%d of %d rows failed\">", //$NON-NLS-1$
+				        result.failureCount(), result.rowCount()));
+				for (int i = 0; i < result.failureCount(); ++i)
+					writer.write(String.format("line %d: %s\n", result.failedLine(i), //$NON-NLS-1$
+					        JUnitReport.escape(result.failure(i))));
+				writer.write("</failure>\n  </testcase>\n"); //$NON-NLS-1$
+			} else
+				writer.write("/>\n"); //$NON-NLS-1$
+		}
+
+		writer.write("</testsuite>\n"); //$NON-NLS-1$
+	}
+
+	private static String escape(String text) {
+		final StringBuilder sb = new StringBuilder(text.length());
+		for (final char c : text.toCharArray())
+			switch (c) {
+			case '&':
+				sb.append("&amp;"); //$NON-NLS-1$
+				break;
+			case '<':
+				sb.append("&lt;"); //$NON-NLS-1$
+				break;
+			case '>':
+				sb.append("&gt;"); //$NON-NLS-1$
+				break;
+			case '"':
+				sb.append("&quot;"); //$NON-NLS-1$
+				break;
+			case '\'':
+				sb.append("&apos;"); //$NON-NLS-1$
+				break;
+			default:
+				sb.append(c);
+			}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,490 @@
+package verification;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A small Conflict-Driven Clause Learning SAT solver for formulas in
+ * Conjunctive Normal Form. The variables are numbered from {@code 1} and a
+ * literal is a variable, if positive, or its negation, if negative, as in the
+ * DIMACS format.
+ * <p>
+ * The solver propagates the assignments using two watched literals per clause,
+ * learns a clause from every conflict using the first Unique Implication Point
+ * and jumps back to the level at which the learnt clause becomes unit. The
+ * decisions prefer the variables that took part in recent conflicts and assign
+ * them the value they last had. The search restarts according to the Luby
+ * sequence. Learnt clauses are never deleted, which is fine for the small
+ * formulas the solver is meant for.
+ *
+ * @author Alex Mandelias
+ */
+public final class SatSolver {
+
+	/**
+	 * The result of solving a formula.
+	 *
+	 * @author Alex Mandelias
+	 */
+	public enum Result {
+
+		/** The formula has a model */
+		SATISFIABLE,
+
+		/** The formula has no model */
+		UNSATISFIABLE,
+
+		/** The search was abandoned before reaching a conclusion */
+		UNKNOWN;
+	}
+
+	private static final int    RESTART_BASE   = 100;
+	private static final double ACTIVITY_DECAY = 0.95;
+
+	private static final int UNDEFINED = -1;
+
+	// clauses of internal literals: 2 * variable for positive and 2 * variable + 1 for negative
+	private final List<int[]> clauses;
+
+	// the clauses that watch each literal
+	private int[][] watches;
+	private int[]   watchCount;
+
+	private int       variableCount;
+	private int[]     value, level, reason;
+	private boolean[] phase, seen, model;
+
+	private int[] trail, trailLimits;
+	private int   trailSize, decisionLevel, propagated;
+
+	// the unassigned variables in a binary heap ordered by activity
+	private double[] activity;
+	private double   increment;
+	private int[]    heap, heapIndex;
+	private int      heapSize;
+
+	private boolean inconsistent;
+
+	/** Constructs a solver for the empty formula */
+	public SatSolver() {
+		clauses = new ArrayList<>();
+		watches = new int[0][];
+		watchCount = new int[0];
+		value = new int[0];
+		level = new int[0];
+		reason = new int[0];
+		phase = new boolean[0];
+		seen = new boolean[0];
+		trail = new int[0];
+		trailLimits = new int[0];
+		activity = new double[0];
+		heap = new int[0];
+		heapIndex = new int[0];
+		increment = 1;
+	}
+
+	/**
+	 * Adds a new variable.
+	 *
+	 * @return the variable
+	 */
+	public int newVariable() {
+		final int v = variableCount++;
+		if (v == value.length) {
+			final int capacity = Math.max(16, 2 * v);
+			watches = Arrays.copyOf(watches, 2 * capacity);
+			watchCount = Arrays.copyOf(watchCount, 2 * capacity);
+			value = Arrays.copyOf(value, capacity);
+			level = Arrays.copyOf(level, capacity);
+			reason = Arrays.copyOf(reason, capacity);
+			phase = Arrays.copyOf(phase, capacity);
+			seen = Arrays.copyOf(seen, capacity);
+			trail = Arrays.copyOf(trail, capacity);
+			trailLimits = Arrays.copyOf(trailLimits, capacity + 1);
+			activity = Arrays.copyOf(activity, capacity);
+			heap = Arrays.copyOf(heap, capacity);
+			heapIndex = Arrays.copyOf(heapIndex, capacity);
+		}
+
+		watches[2 * v] = new int[4];
+		watches[(2 * v) + 1] = new int[4];
+		value[v] = SatSolver.UNDEFINED;
+		reason[v] = -1;
+		heapIndex[v] = -1;
+		heapInsert(v);
+		return v + 1;
+	}
+
+	/**
+	 * Returns the number of variables.
+	 *
+	 * @return the number of variables
+	 */
+	public int variableCount() {
+		return variableCount;
+	}
+
+	/**
+	 * Adds a clause, the disjunction of some literals, to the formula.
+	 *
+	 * @param literals the literals
+	 */
+	public void addClause(int... literals) {
+		if (inconsistent)
+			return;
+
+		// remove the duplicate and false literals and drop the satisfied clauses
+		final int[] clause = new int[literals.length];
+		int         size   = 0;
+		for (final int literal : literals) {
+			final int lit = SatSolver.internal(literal);
+			if ((lit >> 1) >= variableCount)
+				throw new IllegalArgumentException(String.format(
+				        "Variable %d doesn't exist", Math.abs(literal))); //$NON-NLS-1$
+
+			final int litValue = valueOf(lit);
+			if (litValue == 1)
+				return;
+			if (litValue == 0)
+				continue;
+
+			boolean duplicate = false;
+			for (int i = 0; i < size; ++i) {
+				if (clause[i] == (lit ^ 1))
+					return;
+				if (clause[i] == lit)
+					duplicate = true;
+			}
+			if (!duplicate)
+				clause[size++] = lit;
+		}
+
+		if (size == 0)
+			inconsistent = true;
+		else if (size == 1) {
+			enqueue(clause[0], -1);
+			if (propagate() != -1)
+				inconsistent = true;
+		} else
+			attach(Arrays.copyOf(clause, size));
+	}
+
+	/**
+	 * Searches for a model of the formula.
+	 *
+	 * @param conflictLimit the number of conflicts after which the search is
+	 *                      abandoned
+	 *
+	 * @return the result of the search
+	 */
+	public Result solve(long conflictLimit) {
+		model = null;
+		if (inconsistent)
+			return Result.UNSATISFIABLE;
+
+		long conflicts = 0;
+		for (int restart = 0;; ++restart) {
+			final long restartLimit = SatSolver.luby(restart) * SatSolver.RESTART_BASE;
+
+			for (long local = 0;;) {
+				final int conflict = propagate();
+				if (conflict != -1) {
+					++conflicts;
+					++local;
+					if (decisionLevel == 0) {
+						inconsistent = true;
+						return Result.UNSATISFIABLE;
+					}
+
+					learn(conflict);
+					increment /= SatSolver.ACTIVITY_DECAY;
+
+					if (conflicts >= conflictLimit) {
+						backtrack(0);
+						return Result.UNKNOWN;
+					}
+				} else if (local >= restartLimit) {
+					backtrack(0);
+					break;
+				} else {
+					final int v = pickBranchVariable();
+					if (v == -1) {
+						model = new boolean[variableCount];
+						for (int i = 0; i < variableCount; ++i)
+							model[i] = value[i] == 1;
+						backtrack(0);
+						return Result.SATISFIABLE;
+					}
+
+					trailLimits[decisionLevel++] = trailSize;
+					enqueue((2 * v) + (phase[v] ? 0 : 1), -1);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the value of a variable in the model found by the last successful
+	 * call to {@link #solve(long)}.
+	 *
+	 * @param variable the variable
+	 *
+	 * @return the value of the variable
+	 *
+	 * @throws IllegalStateException if no model has been found
+	 */
+	public boolean value(int variable) {
+		if (model == null)
+			throw new IllegalStateException("No model has been found"); //$NON-NLS-1$
+
+		return model[variable - 1];
+	}
+
+	private static int internal(int literal) {
+		if (literal == 0)
+			throw new IllegalArgumentException("0 is not a literal"); //$NON-NLS-1$
+
+		return literal > 0 ? 2 * (literal - 1) : (2 * (-literal - 1)) + 1;
+	}
+
+	/* Returns 1 if a literal is true, 0 if it is false and -1 if it is undefined */
+	private int valueOf(int lit) {
+		final int v = value[lit >> 1];
+		return v == SatSolver.UNDEFINED ? SatSolver.UNDEFINED : v ^ (lit & 1);
+	}
+
+	private int attach(int[] clause) {
+		final int index = clauses.size();
+		clauses.add(clause);
+		watch(clause[0], index);
+		watch(clause[1], index);
+		return index;
+	}
+
+	private void watch(int lit, int clause) {
+		if (watchCount[lit] == watches[lit].length)
+			watches[lit] = Arrays.copyOf(watches[lit], 2 * watches[lit].length);
+		watches[lit][watchCount[lit]++] = clause;
+	}
+
+	private void enqueue(int lit, int from) {
+		final int v = lit >> 1;
+		value[v] = (lit & 1) ^ 1;
+		level[v] = decisionLevel;
+		reason[v] = from;
+		trail[trailSize++] = lit;
+	}
+
+	/* Returns the index of a conflicting clause or -1 */
+	private int propagate() {
+		while (propagated < trailSize) {
+			final int   falseLit = trail[propagated++] ^ 1;
+			final int[] list     = watches[falseLit];
+			final int   count    = watchCount[falseLit];
+
+			int i = 0, j = 0;
+			while (i < count) {
+				final int   index  = list[i++];
+				final int[] clause = clauses.get(index);
+
+				// the false literal is always the second one
+				if (clause[0] == falseLit) {
+					clause[0] = clause[1];
+					clause[1] = falseLit;
+				}
+
+				if (valueOf(clause[0]) == 1) {
+					list[j++] = index;
+					continue;
+				}
+
+				// look for another literal to watch
+				boolean moved = false;
+				for (int k = 2; k < clause.length; ++k)
+					if (valueOf(clause[k]) != 0) {
+						clause[1] = clause[k];
+						clause[k] = falseLit;
+						watch(clause[1], index);
+						moved = true;
+						break;
+					}
+
+				if (moved)
+					continue;
+
+				list[j++] = index;
+				if (valueOf(clause[0]) == 0) {
+					while (i < count)
+						list[j++] = list[i++];
+					watchCount[falseLit] = j;
+					propagated = trailSize;
+					return index;
+				}
+
+				enqueue(clause[0], index);
+			}
+			watchCount[falseLit] = j;
+		}
+
+		return -1;
+	}
+
+	/* Learns the clause of the first Unique Implication Point and jumps back */
+	private void learn(int conflict) {
+		final int[] learnt = new int[variableCount + 1];
+		int         size   = 1, pathCount = 0, lit = -1, index = trailSize - 1;
+
+		int[] clause = clauses.get(conflict);
+		do {
+			// the first literal of a reason is the literal it implied
+			for (int k = lit == -1 ? 0 : 1; k < clause.length; ++k) {
+				final int v = clause[k] >> 1;
+				if (!seen[v] && (level[v] > 0)) {
+					seen[v] = true;
+					bump(v);
+					if (level[v] >= decisionLevel)
+						++pathCount;
+					else
+						learnt[size++] = clause[k];
+				}
+			}
+
+			while (!seen[trail[index] >> 1])
+				--index;
+
+			lit = trail[index--];
+			seen[lit >> 1] = false;
+			--pathCount;
+			if (pathCount > 0)
+				clause = clauses.get(reason[lit >> 1]);
+		} while (pathCount > 0);
+		learnt[0] = lit ^ 1;
+
+		// jump back to the highest level of the other literals, which is watched second
+		int backtrackLevel = 0;
+		for (int k = 1; k < size; ++k) {
+			final int v = learnt[k] >> 1;
+			seen[v] = false;
+			if (level[v] > backtrackLevel) {
+				backtrackLevel = level[v];
+				final int temp = learnt[1];
+				learnt[1] = learnt[k];
+				learnt[k] = temp;
+			}
+		}
+
+		backtrack(backtrackLevel);
+		if (size == 1)
+			enqueue(learnt[0], -1);
+		else
+			enqueue(learnt[0], attach(Arrays.copyOf(learnt, size)));
+	}
+
+	private void backtrack(int targetLevel) {
+		if (decisionLevel <= targetLevel)
+			return;
+
+		for (int i = trailSize - 1; i >= trailLimits[targetLevel]; --i) {
+			final int v = trail[i] >> 1;
+			phase[v] = value[v] == 1;
+			value[v] = SatSolver.UNDEFINED;
+			reason[v] = -1;
+			if (heapIndex[v] == -1)
+				heapInsert(v);
+		}
+
+		trailSize = trailLimits[targetLevel];
+		propagated = trailSize;
+		decisionLevel = targetLevel;
+	}
+
+	private int pickBranchVariable() {
+		while (heapSize > 0) {
+			final int v = heapRemoveMax();
+			if (value[v] == SatSolver.UNDEFINED)
+				return v;
+		}
+		return -1;
+	}
+
+	private void bump(int v) {
+		activity[v] += increment;
+		if (activity[v] > 1e100) {
+			for (int i = 0; i < variableCount; ++i)
+				activity[i] *= 1e-100;
+			increment *= 1e-100;
+		}
+
+		if (heapIndex[v] != -1)
+			heapUp(heapIndex[v]);
+	}
+
+	private void heapInsert(int v) {
+		heap[heapSize] = v;
+		heapIndex[v] = heapSize;
+		heapUp(heapSize++);
+	}
+
+	private int heapRemoveMax() {
+		final int max = heap[0];
+		heapIndex[max] = -1;
+		if (--heapSize > 0) {
+			heap[0] = heap[heapSize];
+			heapIndex[heap[0]] = 0;
+			heapDown(0);
+		}
+		return max;
+	}
+
+	private void heapUp(int i) {
+		final int v = heap[i];
+		while (i > 0) {
+			final int parent = (i - 1) >> 1;
+			if (activity[heap[parent]] >= activity[v])
+				break;
+
+			heap[i] = heap[parent];
+			heapIndex[heap[i]] = i;
+			i = parent;
+		}
+		heap[i] = v;
+		heapIndex[v] = i;
+	}
+
+	private void heapDown(int i) {
+		final int v = heap[i];
+		while (true) {
+			int child = (2 * i) + 1;
+			if (child >= heapSize)
+				break;
+			if (((child + 1) < heapSize) && (activity[heap[child + 1]] > activity[heap[child]]))
+				++child;
+			if (activity[heap[child]] <= activity[v])
+				break;
+
+			heap[i] = heap[child];
+			heapIndex[heap[i]] = i;
+			i = child;
+		}
+		heap[i] = v;
+		heapIndex[v] = i;
+	}
+
+	/* The i-th element of the Luby sequence 1, 1, 2, 1, 1, 2, 4, 1, ... */
+	private static long luby(int i) {
+		int size = 1, exponent = 0;
+		while (size < (i + 1)) {
+			++exponent;
+			size = (2 * size) + 1;
+		}
+
+		int index = i;
+		while ((size - 1) != index) {
+			size = (size - 1) >> 1;
+			--exponent;
+			index %= size;
+		}
+		return 1L << exponent;
+	}
+}
@@ -0,0 +1,349 @@
+package verification;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import simulation.CellType;
+import simulation.Netlist;
+import verification.TestSet.Status;
+
+/**
+ * Generates a compact set of input vectors that detect the {@link Fault
+ * Faults} of a {@link FaultModel}. The generation has three phases:
+ * <ol>
+ * <li>random vectors are simulated with the {@link FaultSimulator} and those
+ * that detect new Faults are kept, until many vectors in a row detect
+ * nothing</li>
+ * <li>for each Fault that remains, the {@link SatSolver} searches for a vector
+ * for which an output of the circuit with the Fault differs from the
+ * fault-free circuit; only the cells the Fault can affect are duplicated. If
+ * there is no such vector the Fault is untestable. Every vector found is
+ * simulated to drop the other Faults it detects as well</li>
+ * <li>the vectors are simulated in reverse order and those that don't detect
+ * any Fault that the later vectors don't already detect are dropped</li>
+ * </ol>
+ * The generation is deterministic, the same circuit always gets the same
+ * vectors.
+ *
+ * @author Alex Mandelias
+ */
+public final class TestGenerator {
+
+	private static final long SEED = 0x5CADL;
+
+	/** The number of useless random vectors in a row after which the first phase ends */
+	private static final int USELESS_RANDOM_VECTORS = 32;
+
+	/** The number of conflicts after which the search for a vector is abandoned */
+	private static final long CONFLICT_LIMIT = 10_000;
+
+	private final Netlist        netlist;
+	private final List<Fault>    faults;
+	private final FaultSimulator simulator;
+	private final int[]          slotStart;
+
+	private final Status[]        statuses;
+	private final List<boolean[]> vectors;
+
+	private TestGenerator(FaultModel model) {
+		netlist = model.netlist();
+		faults = model.faults();
+		simulator = new FaultSimulator(netlist);
+
+		slotStart = new int[netlist.cellCount() + 1];
+		for (int cell = 0; cell < netlist.cellCount(); ++cell)
+			slotStart[cell + 1] = slotStart[cell] + netlist.cellInputCount(cell);
+
+		statuses = new Status[faults.size()];
+		vectors = new ArrayList<>();
+	}
+
+	/**
+	 * Generates the vectors for the Faults of a {@code FaultModel}.
+	 *
+	 * @param model the FaultModel
+	 *
+	 * @return the generated TestSet
+	 *
+	 * @throws IllegalArgumentException if the circuit isn't combinational
+	 *
+	 * @see EquivalenceChecker#supports(Netlist)
+	 */
+	public static TestSet generate(FaultModel model) {
+		return new TestGenerator(model).generate();
+	}
+
+	private TestSet generate() {
+		// a Fault that affects nothing can't be detected
+		for (int i = 0; i < statuses.length; ++i)
+			if (faults.get(i).siteCount() == 0)
+				statuses[i] = Status.UNTESTABLE;
+
+		final Random random  = new Random(TestGenerator.SEED);
+		int          useless = 0;
+		while ((useless < TestGenerator.USELESS_RANDOM_VECTORS) && remaining()) {
+			final boolean[] vector = new boolean[netlist.inputCount()];
+			for (int i = 0; i < vector.length; ++i)
+				vector[i] = random.nextBoolean();
+
+			if (simulate(vector, statuses) > 0) {
+				vectors.add(vector);
+				useless = 0;
+			} else
+				++useless;
+		}
+
+		for (int i = 0; i < statuses.length; ++i) {
+			if (statuses[i] != null)
+				continue;
+
+			final boolean[]        vector = new boolean[netlist.inputCount()];
+			final SatSolver.Result result = solve(faults.get(i), vector);
+			if (result == SatSolver.Result.SATISFIABLE) {
+				vectors.add(vector);
+				simulate(vector, statuses);
+			}
+
+			// the vector should always detect the Fault
+			if (statuses[i] == null)
+				statuses[i] = result == SatSolver.Result.UNSATISFIABLE ? Status.UNTESTABLE
+				        : Status.ABORTED;
+		}
+
+		// reverse order compaction: the last vectors were made for the hardest Faults
+		final Status[]        detected = new Status[statuses.length];
+		final List<boolean[]> kept     = new ArrayList<>();
+		for (int i = 0; i < statuses.length; ++i)
+			if (statuses[i] != Status.DETECTED)
+				detected[i] = statuses[i];
+
+		for (int v = vectors.size() - 1; v >= 0; --v)
+			if (simulate(vectors.get(v), detected) > 0)
+				kept.add(vectors.get(v));
+		Collections.reverse(kept);
+
+		final String[] inputNames = new String[netlist.inputCount()];
+		for (int i = 0; i < inputNames.length; ++i)
+			inputNames[i] = netlist.inputName(i);
+
+		return new TestSet(inputNames, kept.toArray(new boolean[0][]), faults, statuses);
+	}
+
+	private boolean remaining() {
+		for (final Status status : statuses)
+			if (status == null)
+				return true;
+		return false;
+	}
+
+	/* Simulates the Faults without a status and returns how many are detected */
+	private int simulate(boolean[] vector, Status[] status) {
+		final List<Fault> pending = new ArrayList<>();
+		final int[]       indexes = new int[faults.size()];
+		for (int i = 0; i < status.length; ++i)
+			if (status[i] == null) {
+				indexes[pending.size()] = i;
+				pending.add(faults.get(i));
+			}
+
+		int count = 0;
+		for (int from = 0; from < pending.size(); from += FaultSimulator.BATCH_SIZE) {
+			final int batch = Math.min(FaultSimulator.BATCH_SIZE, pending.size() - from);
+			long      mask  = simulator.simulate(vector, pending, from, batch);
+			while (mask != 0) {
+				final int bit = Long.numberOfTrailingZeros(mask);
+				status[indexes[from + bit]] = Status.DETECTED;
+				mask &= mask - 1;
+				++count;
+			}
+		}
+
+		return count;
+	}
+
+	/*
+	 * Encodes the fault-free circuit, the cells of the circuit with the Fault that
+	 * may differ and the condition that an output differs and searches for a
+	 * model, which is stored in the vector.
+	 */
+	private SatSolver.Result solve(Fault fault, boolean[] vector) {
+		final int cellCount = netlist.cellCount();
+
+		// the cells whose output may differ because of the Fault
+		final boolean[] inCone = new boolean[cellCount];
+		final int[]     queue  = new int[cellCount];
+		int             size   = 0;
+		for (final int cell : fault.cells)
+			if (!inCone[cell]) {
+				inCone[cell] = true;
+				queue[size++] = cell;
+			}
+		for (int i = 0; i < size; ++i) {
+			final int net = netlist.cellOutput(queue[i]);
+			for (int j = 0; j < netlist.fanoutCount(net); ++j) {
+				final int reader = netlist.fanout(net, j);
+				if (!inCone[reader]) {
+					inCone[reader] = true;
+					queue[size++] = reader;
+				}
+			}
+		}
+
+		final boolean[] faultyOutput = new boolean[netlist.outputCount()];
+		for (final int output : fault.outputs)
+			faultyOutput[output] = true;
+
+		final List<Integer> observed = new ArrayList<>();
+		for (int o = 0; o < netlist.outputCount(); ++o)
+			if (faultyOutput[o] || inCone(netlist.outputNet(o), inCone))
+				observed.add(o);
+
+		if (observed.isEmpty())
+			return SatSolver.Result.UNSATISFIABLE;
+
+		// the cells of both circuits that the observed outputs depend on
+		final boolean[] good   = new boolean[cellCount];
+		final boolean[] faulty = new boolean[cellCount];
+		final int[]     stack  = new int[2 * cellCount];
+		size = 0;
+		for (final int o : observed) {
+			final int driver = netlist.driver(netlist.outputNet(o));
+			if (driver != -1) {
+				stack[size++] = driver;
+				if (!faultyOutput[o] && inCone[driver])
+					stack[size++] = ~driver;
+			}
+		}
+
+		while (size > 0) {
+			final int     top       = stack[--size];
+			final boolean isFaulty  = top < 0;
+			final int     cell      = isFaulty ? ~top : top;
+			final boolean[] visited = isFaulty ? faulty : good;
+			if (visited[cell])
+				continue;
+
+			visited[cell] = true;
+			for (int slot = 0; slot < netlist.cellInputCount(cell); ++slot) {
+				final int driver = netlist.driver(netlist.cellInput(cell, slot));
+				if (driver == -1)
+					continue;
+
+				// the faulty cells read faulty signals only from other cells of the cone
+				stack[size++] = driver;
+				if (isFaulty && inCone[driver])
+					stack[size++] = ~driver;
+			}
+		}
+
+		final boolean[] site = new boolean[slotStart[cellCount]];
+		for (int i = 0; i < fault.cells.length; ++i)
+			site[slotStart[fault.cells[i]] + fault.slots[i]] = true;
+
+		// the literal of each net in both circuits
+		final SatSolver solver   = new SatSolver();
+		final int       constant = solver.newVariable();
+		final int       stuck    = fault.stuckAt() ? constant : -constant;
+		solver.addClause(constant);
+
+		final int[] goodNets   = new int[netlist.netCount()];
+		final int[] faultyNets = new int[netlist.netCount()];
+		goodNets[Netlist.FALSE] = -constant;
+		goodNets[Netlist.TRUE] = constant;
+		for (int i = 0; i < netlist.inputCount(); ++i)
+			goodNets[netlist.inputNet(i)] = solver.newVariable();
+
+		for (int i = 0; i < netlist.combinationalCount(); ++i) {
+			final int   cell   = netlist.ordered(i);
+			final int   output = netlist.cellOutput(cell);
+			final int[] inputs = new int[netlist.cellInputCount(cell)];
+
+			if (good[cell]) {
+				for (int slot = 0; slot < inputs.length; ++slot)
+					inputs[slot] = goodNets[netlist.cellInput(cell, slot)];
+				goodNets[output] = solver.newVariable();
+				TestGenerator.encode(solver, netlist.cellType(cell), goodNets[output], inputs);
+			}
+
+			if (faulty[cell]) {
+				for (int slot = 0; slot < inputs.length; ++slot) {
+					final int input = netlist.cellInput(cell, slot);
+					inputs[slot] = site[slotStart[cell] + slot] ? stuck
+					        : inCone(input, inCone) ? faultyNets[input] : goodNets[input];
+				}
+				faultyNets[output] = solver.newVariable();
+				TestGenerator.encode(solver, netlist.cellType(cell), faultyNets[output], inputs);
+			}
+		}
+
+		// at least one of the observed outputs differs
+		final int[] differences = new int[observed.size()];
+		for (int i = 0; i < differences.length; ++i) {
+			final int o   = observed.get(i);
+			final int net = netlist.outputNet(o);
+			final int g   = goodNets[net];
+			final int f   = faultyOutput[o] ? stuck : inCone(net, inCone) ? faultyNets[net] : g;
+
+			differences[i] = solver.newVariable();
+			solver.addClause(-differences[i], g, f);
+			solver.addClause(-differences[i], -g, -f);
+		}
+		solver.addClause(differences);
+
+		final SatSolver.Result result = solver.solve(TestGenerator.CONFLICT_LIMIT);
+		if (result == SatSolver.Result.SATISFIABLE)
+			for (int i = 0; i < vector.length; ++i)
+				vector[i] = solver.value(goodNets[netlist.inputNet(i)]);
+
+		return result;
+	}
+
+	private boolean inCone(int net, boolean[] inCone) {
+		final int driver = netlist.driver(net);
+		return (driver != -1) && inCone[driver];
+	}
+
+	/* Adds the clauses that define `z` as the function of a cell of the inputs */
+	private static void encode(SatSolver solver, CellType type, int z, int[] inputs) {
+		switch (type) {
+		case AND:
+		case OR:
+			// AND: z -> every input and all inputs -> z; OR is the dual
+			final int   sign = type == CellType.AND ? 1 : -1;
+			final int[] all  = new int[inputs.length + 1];
+			for (int i = 0; i < inputs.length; ++i) {
+				solver.addClause(-sign * z, sign * inputs[i]);
+				all[i] = -sign * inputs[i];
+			}
+			all[inputs.length] = sign * z;
+			solver.addClause(all);
+			break;
+		case XOR:
+			int accumulated = inputs[0];
+			for (int i = 1; i < inputs.length; ++i) {
+				final int next = i == (inputs.length - 1) ? z : solver.newVariable();
+				final int a    = accumulated, b = inputs[i];
+				solver.addClause(-next, a, b);
+				solver.addClause(-next, -a, -b);
+				solver.addClause(next, -a, b);
+				solver.addClause(next, a, -b);
+				accumulated = next;
+			}
+			if (inputs.length == 1) {
+				solver.addClause(-z, inputs[0]);
+				solver.addClause(z, -inputs[0]);
+			}
+			break;
+		case NOT:
+			solver.addClause(z, inputs[0]);
+			solver.addClause(-z, -inputs[0]);
+			break;
+		case DFF:
+		default:
+			throw new IllegalArgumentException(String.format(
+			        "Cells of type %s are not combinational", type)); //$NON-NLS-1$
+		}
+	}
+}
@@ -0,0 +1,174 @@
+package verification;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The input vectors generated by the {@link TestGenerator} for the
+ * {@link Fault Faults} of a {@link FaultModel}, together with the status of
+ * each Fault.
+ *
+ * @author Alex Mandelias
+ */
+public final class TestSet {
+
+	/**
+	 * The status of a Fault after test generation.
+	 *
+	 * @author Alex Mandelias
+	 */
+	public enum Status {
+
+		/** A vector of the test set detects the Fault */
+		DETECTED,
+
+		/** It has been proven that no vector detects the Fault */
+		UNTESTABLE,
+
+		/** The search for a vector was abandoned */
+		ABORTED;
+	}
+
+	private final String[]    inputNames;
+	private final boolean[][] vectors;
+	private final List<Fault> faults;
+	private final Status[]    statuses;
+
+	/**
+	 * Constructs a test set.
+	 *
+	 * @param inputNames the names of the inputs
+	 * @param vectors    the vectors
+	 * @param faults     the Faults
+	 * @param statuses   the status of each Fault
+	 */
+	TestSet(String[] inputNames, boolean[][] vectors, List<Fault> faults, Status[] statuses) {
+		this.inputNames = inputNames;
+		this.vectors = vectors;
+		this.faults = faults;
+		this.statuses = statuses;
+	}
+
+	/**
+	 * Returns the number of inputs of each vector.
+	 *
+	 * @return the number of inputs
+	 */
+	public int inputCount() {
+		return inputNames.length;
+	}
+
+	/**
+	 * Returns the name of an input.
+	 *
+	 * @param index the index of the input
+	 *
+	 * @return the name
+	 */
+	public String inputName(int index) {
+		return inputNames[index];
+	}
+
+	/**
+	 * Returns the number of vectors.
+	 *
+	 * @return the number of vectors
+	 */
+	public int vectorCount() {
+		return vectors.length;
+	}
+
+	/**
+	 * Returns the value of an input in a vector.
+	 *
+	 * @param vector the index of the vector
+	 * @param input  the index of the input
+	 *
+	 * @return the value
+	 */
+	public boolean value(int vector, int input) {
+		return vectors[vector][input];
+	}
+
+	/**
+	 * Formats a vector as a String of {@code 0}s and {@code 1}s, one for each
+	 * input.
+	 *
+	 * @param vector the index of the vector
+	 *
+	 * @return the formatted vector
+	 */
+	public String formatVector(int vector) {
+		final StringBuilder sb = new StringBuilder(inputNames.length);
+		for (final boolean value : vectors[vector])
+			sb.append(value ? '1' : '0');
+		return sb.toString();
+	}
+
+	/**
+	 * Returns the Faults.
+	 *
+	 * @return an unmodifiable List with the Faults
+	 */
+	public List<Fault> faults() {
+		return Collections.unmodifiableList(faults);
+	}
+
+	/**
+	 * Returns the status of a Fault.
+	 *
+	 * @param index the index of the Fault
+	 *
+	 * @return the status
+	 */
+	public Status status(int index) {
+		return statuses[index];
+	}
+
+	/**
+	 * Returns the number of Faults with a status.
+	 *
+	 * @param status the status
+	 *
+	 * @return the number of Faults
+	 */
+	public int count(Status status) {
+		int count = 0;
+		for (final Status s : statuses)
+			if (s == status)
+				++count;
+		return count;
+	}
+
+	/**
+	 * Returns the Faults with a status.
+	 *
+	 * @param status the status
+	 *
+	 * @return a List with the Faults
+	 */
+	public List<Fault> faults(Status status) {
+		final List<Fault> list = new ArrayList<>();
+		for (int i = 0; i < statuses.length; ++i)
+			if (statuses[i] == status)
+				list.add(faults.get(i));
+		return list;
+	}
+
+	/**
+	 * Returns the fault coverage, the fraction of the Faults that are detected.
+	 *
+	 * @return the fault coverage, from {@code 0} to {@code 1}
+	 */
+	public double coverage() {
+		return statuses.length == 0 ? 1 : (double) count(Status.DETECTED) / statuses.length;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%d vectors, %d/%d Faults detected, %d untestable, %d aborted", //$NON-NLS-1$
+		        vectors.length, count(Status.DETECTED), statuses.length,
+		        count(Status.UNTESTABLE), count(Status.ABORTED));
+	}
+}
@@ -0,0 +1,282 @@
+package verification;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A table of input vectors and the outputs expected for them, read from a text
+ * file. The first line that isn't blank or a comment names the Input Pins and
+ * the Output Pins, separated by a colon, and every other line is a row with
+ * the values of the inputs and of the expected outputs in the same order:
+ *
+ * <pre>
+ * # a half adder
+ * A B : S C
+ * 0 0 : 0 0
+ * 0 1 : 1 0
+ * 1 0 : 1 0
+ * 11  : 01
+ * </pre>
+ *
+ * The values are {@code 0} or {@code 1}, and expected outputs may also be
+ * {@code x} when they don't matter. The values may be separated by whitespace
+ * or not. A line with the word {@code clock} steps one cycle of every Clock of
+ * sequential circuits. Comments start with {@code #}.
+ *
+ * @author Alex Mandelias
+ */
+public final class VectorFile {
+
+	/** A value of an expected output that doesn't matter */
+	public static final byte DONT_CARE = -1;
+
+	private static final String CLOCK = "clock"; //$NON-NLS-1$
+
+	private final String   name;
+	private final String[] inputs, outputs;
+
+	// for each row its line, its inputs and its outputs; rows without values step the Clocks
+	private final int[]       lines;
+	private final boolean[][] inputValues;
+	private final byte[][]    outputValues;
+
+	private VectorFile(String name, String[] inputs, String[] outputs, List<Integer> lines,
+	        List<boolean[]> inputValues, List<byte[]> outputValues) {
+		this.name = name;
+		this.inputs = inputs;
+		this.outputs = outputs;
+		this.lines = new int[lines.size()];
+		for (int i = 0; i < this.lines.length; ++i)
+			this.lines[i] = lines.get(i);
+		this.inputValues = inputValues.toArray(new boolean[0][]);
+		this.outputValues = outputValues.toArray(new byte[0][]);
+	}
+
+	/**
+	 * Reads a VectorFile from a file.
+	 *
+	 * @param path the path of the file
+	 *
+	 * @return the VectorFile
+	 *
+	 * @throws IOException     if an I/O error occurs
+	 * @throws FormatException if the contents of the file are malformed
+	 */
+	public static VectorFile read(Path path) throws IOException {
+		try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+			return VectorFile.read(String.valueOf(path.getFileName()), reader);
+		}
+	}
+
+	/**
+	 * Reads a VectorFile.
+	 *
+	 * @param name   the name of the VectorFile, used in error messages
+	 * @param reader the reader with its contents
+	 *
+	 * @return the VectorFile
+	 *
+	 * @throws IOException     if an I/O error occurs
+	 * @throws FormatException if the contents are malformed
+	 */
+	public static VectorFile read(String name, BufferedReader reader) throws IOException {
+		String[] inputs = null, outputs = null;
+
+		final List<Integer>   lines        = new ArrayList<>();
+		final List<boolean[]> inputValues  = new ArrayList<>();
+		final List<byte[]>    outputValues = new ArrayList<>();
+
+		int lineNumber = 0;
+		for (String line; (line = reader.readLine()) != null;) {
+			++lineNumber;
+
+			final int comment = line.indexOf('#');
+			if (comment != -1)
+				line = line.substring(0, comment);
+			line = line.trim();
+			if (line.isEmpty())
+				continue;
+
+			final int colon = line.indexOf(':');
+			if (inputs == null) {
+				if ((colon == -1) || (colon != line.lastIndexOf(':')))
+					throw new FormatException(name, lineNumber,
+					        "expected the names of the inputs and the outputs separated by ':'"); //$NON-NLS-1$
+
+				inputs = VectorFile.names(line.substring(0, colon));
+				outputs = VectorFile.names(line.substring(colon + 1));
+				continue;
+			}
+
+			lines.add(lineNumber);
+			if (line.equalsIgnoreCase(VectorFile.CLOCK)) {
+				inputValues.add(null);
+				outputValues.add(null);
+				continue;
+			}
+
+			if ((colon == -1) || (colon != line.lastIndexOf(':')))
+				throw new FormatException(name, lineNumber,
+				        "expected the values of the inputs and the outputs separated by ':'"); //$NON-NLS-1$
+
+			final byte[] in  = VectorFile.values(line.substring(0, colon), inputs.length, false,
+			        name, lineNumber);
+			final byte[] out = VectorFile.values(line.substring(colon + 1), outputs.length, true,
+			        name, lineNumber);
+
+			final boolean[] vector = new boolean[in.length];
+			for (int i = 0; i < in.length; ++i)
+				vector[i] = in[i] == 1;
+
+			inputValues.add(vector);
+			outputValues.add(out);
+		}
+
+		if (inputs == null)
+			throw new FormatException(name, lineNumber, "missing the names of the pins"); //$NON-NLS-1$
+
+		return new VectorFile(name, inputs, outputs, lines, inputValues, outputValues);
+	}
+
+	private static String[] names(String part) {
+		final String trimmed = part.trim();
+		return trimmed.isEmpty() ? new String[0] : trimmed.split("\\s+"); //$NON-NLS-1$
+	}
+
+	private static byte[] values(String part, int count, boolean dontCares, String name,
+	        int lineNumber) throws FormatException {
+		final byte[] values = new byte[count];
+		int          i      = 0;
+		for (final char c : part.toCharArray()) {
+			if (Character.isWhitespace(c))
+				continue;
+
+			if (i == count)
+				throw new FormatException(name, lineNumber,
+				        String.format("more than %d values", count)); //$NON-NLS-1$
+
+			if ((c == '0') || (c == '1'))
+				values[i++] = (byte) (c - '0');
+			else if (dontCares && ((c == 'x') || (c == 'X')))
+				values[i++] = VectorFile.DONT_CARE;
+			else
+				throw new FormatException(name, lineNumber,
+				        String.format("invalid value '%c'", c)); //$NON-NLS-1$
+		}
+
+		if (i != count)
+			throw new FormatException(name, lineNumber,
+			        String.format("expected %d values, found %d", count, i)); //$NON-NLS-1$
+
+		return values;
+	}
+
+	/**
+	 * Returns the name of this VectorFile.
+	 *
+	 * @return the name
+	 */
+	public String name() {
+		return name;
+	}
+
+	/**
+	 * Returns the IDs of the Input Pins.
+	 *
+	 * @return a copy of the IDs
+	 */
+	public String[] inputs() {
+		return inputs.clone();
+	}
+
+	/**
+	 * Returns the IDs of the Output Pins.
+	 *
+	 * @return a copy of the IDs
+	 */
+	public String[] outputs() {
+		return outputs.clone();
+	}
+
+	/**
+	 * Returns the number of rows, including those that step the Clocks.
+	 *
+	 * @return the number of rows
+	 */
+	public int rowCount() {
+		return lines.length;
+	}
+
+	/**
+	 * Returns the line of the file where a row is.
+	 *
+	 * @param row the row
+	 *
+	 * @return the line, starting from {@code 1}
+	 */
+	public int line(int row) {
+		return lines[row];
+	}
+
+	/**
+	 * Returns whether or not a row steps one cycle of every Clock instead of
+	 * having values.
+	 *
+	 * @param row the row
+	 *
+	 * @return {@code true} if the row steps the Clocks, {@code false} otherwise
+	 */
+	public boolean stepsClocks(int row) {
+		return inputValues[row] == null;
+	}
+
+	/**
+	 * Returns the value of an input in a row.
+	 *
+	 * @param row   the row
+	 * @param input the index of the input
+	 *
+	 * @return the value
+	 */
+	public boolean input(int row, int input) {
+		return inputValues[row][input];
+	}
+
+	/**
+	 * Returns the expected value of an output in a row.
+	 *
+	 * @param row    the row
+	 * @param output the index of the output
+	 *
+	 * @return {@code 0}, {@code 1} or {@link #DONT_CARE}
+	 */
+	public byte expected(int row, int output) {
+		return outputValues[row][output];
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s: %s : %s, %d rows", name, Arrays.toString(inputs), //$NON-NLS-1$
+		        Arrays.toString(outputs), rowCount());
+	}
+
+	/**
+	 * Thrown when the contents of a {@code VectorFile} are malformed.
+	 *
+	 * @author Alex Mandelias
+	 */
+	public static final class FormatException extends IOException {
+
+		private static final long serialVersionUID = 1L;
+
+		private FormatException(String name, int line, String message) {
+			super(String.format("%s:%d: %s", name, line, message)); //$NON-NLS-1$
+		}
+	}
+}
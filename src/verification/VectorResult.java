@@ -0,0 +1,197 @@
+package verification;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import simulation.CycleSimulator;
+import simulation.Netlist;
+
+/**
+ * The result of checking a circuit against the rows of a {@link VectorFile}.
+ * Each row is applied to the inputs of a {@link CycleSimulator} of the circuit
+ * and, once the signals have settled, every output is compared to its expected
+ * value. A row fails if any output differs.
+ * <p>
+ * If the circuit can't be checked at all, for example because it couldn't be
+ * read or it lacks a pin of the VectorFile, the result has an error instead.
+ *
+ * @author Alex Mandelias
+ */
+public final class VectorResult {
+
+	private final String       name;
+	private final int          rowCount;
+	private final List<String> failures;
+	private final int[]        failedLines;
+	private final String       error;
+	private final long         nanos;
+
+	private VectorResult(String name, int rowCount, List<String> failures, int[] failedLines,
+	        String error, long nanos) {
+		this.name = name;
+		this.rowCount = rowCount;
+		this.failures = failures;
+		this.failedLines = failedLines;
+		this.error = error;
+		this.nanos = nanos;
+	}
+
+	/**
+	 * Checks a circuit against the rows of a {@code VectorFile}.
+	 *
+	 * @param name    the name of the check, usually the name of the circuit
+	 * @param netlist the compiled circuit
+	 * @param vectors the VectorFile
+	 *
+	 * @return the result
+	 */
+	public static VectorResult check(String name, Netlist netlist, VectorFile vectors) {
+		final long start = System.nanoTime();
+
+		final String[] inputs = vectors.inputs(), outputs = vectors.outputs();
+		final int[]    inputIndexes  = new int[inputs.length];
+		final int[]    outputIndexes = new int[outputs.length];
+		for (int i = 0; i < inputs.length; ++i)
+			if ((inputIndexes[i] = netlist.indexOfInput(inputs[i])) == -1)
+				return VectorResult.error(name, String.format(
+				        "No Input Pin with ID '%s'", inputs[i]), System.nanoTime() - start); //$NON-NLS-1$
+		for (int i = 0; i < outputs.length; ++i)
+			if ((outputIndexes[i] = netlist.indexOfOutput(outputs[i])) == -1)
+				return VectorResult.error(name, String.format(
+				        "No Output Pin with ID '%s'", outputs[i]), System.nanoTime() - start); //$NON-NLS-1$
+
+		final CycleSimulator simulator   = new CycleSimulator(netlist);
+		final List<String>   failures    = new ArrayList<>();
+		final List<Integer>  failedLines = new ArrayList<>();
+		int                  rowCount    = 0;
+		for (int row = 0; row < vectors.rowCount(); ++row) {
+			if (vectors.stepsClocks(row)) {
+				simulator.step();
+				continue;
+			}
+
+			++rowCount;
+			for (int i = 0; i < inputs.length; ++i)
+				simulator.setInput(inputIndexes[i], vectors.input(row, i));
+			simulator.settle();
+
+			final StringBuilder sb = new StringBuilder();
+			for (int i = 0; i < outputs.length; ++i) {
+				final byte expected = vectors.expected(row, i);
+				final int  actual   = simulator.getOutput(outputIndexes[i]) ? 1 : 0;
+				if ((expected != VectorFile.DONT_CARE) && (expected != actual))
+					sb.append(String.format("%s%s: expected %d, got %d", //$NON-NLS-1$
+					        sb.length() == 0 ? "" : ", ", outputs[i], expected, actual)); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+
+			if (sb.length() > 0) {
+				failures.add(sb.toString());
+				failedLines.add(vectors.line(row));
+			}
+		}
+
+		final int[] lines = new int[failedLines.size()];
+		for (int i = 0; i < lines.length; ++i)
+			lines[i] = failedLines.get(i);
+
+		return new VectorResult(name, rowCount, failures, lines, null, System.nanoTime() - start);
+	}
+
+	/**
+	 * Creates the result of a circuit that couldn't be checked.
+	 *
+	 * @param name    the name of the check
+	 * @param message the reason
+	 * @param nanos   the time spent, in nanoseconds
+	 *
+	 * @return the result
+	 */
+	public static VectorResult error(String name, String message, long nanos) {
+		return new VectorResult(name, 0, Collections.emptyList(), new int[0], message, nanos);
+	}
+
+	/**
+	 * Returns the name of the check.
+	 *
+	 * @return the name
+	 */
+	public String name() {
+		return name;
+	}
+
+	/**
+	 * Returns the number of rows that were checked, excluding those that step the
+	 * Clocks.
+	 *
+	 * @return the number of rows
+	 */
+	public int rowCount() {
+		return rowCount;
+	}
+
+	/**
+	 * Returns the number of rows that failed.
+	 *
+	 * @return the number of failures
+	 */
+	public int failureCount() {
+		return failures.size();
+	}
+
+	/**
+	 * Returns the line of the VectorFile of a failed row.
+	 *
+	 * @param failure the index of the failure
+	 *
+	 * @return the line
+	 */
+	public int failedLine(int failure) {
+		return failedLines[failure];
+	}
+
+	/**
+	 * Returns the outputs that differ in a failed row.
+	 *
+	 * @param failure the index of the failure
+	 *
+	 * @return a description of the differences
+	 */
+	public String failure(int failure) {
+		return failures.get(failure);
+	}
+
+	/**
+	 * Returns why the circuit couldn't be checked.
+	 *
+	 * @return the reason, or {@code null} if it was checked
+	 */
+	public String error() {
+		return error;
+	}
+
+	/**
+	 * Returns whether or not the circuit was checked and no row failed.
+	 *
+	 * @return {@code true} if the check passed, {@code false} otherwise
+	 */
+	public boolean passed() {
+		return (error == null) && failures.isEmpty();
+	}
+
+	/**
+	 * Returns the time spent on the check.
+	 *
+	 * @return the time in nanoseconds
+	 */
+	public long nanos() {
+		return nanos;
+	}
+
+	@Override
+	public String toString() {
+		return error != null ? String.format("%s: error: %s", name, error) //$NON-NLS-1$
+		        : String.format("%s: %d/%d rows passed", name, rowCount - failures.size(), //$NON-NLS-1$
+		                rowCount);
+	}
+}
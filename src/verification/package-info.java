@@ -0,0 +1,19 @@
+/**
+ * Defines tools that reason about the function of a circuit as a whole, rather
+ * than simulating it one input vector at a time.
+ * <p>
+ * The circuits are first compiled into a {@link simulation.Netlist Netlist}.
+ * The {@link verification.Bdd Bdd} represents boolean functions canonically,
+ * so that two functions are equal if and only if they are represented by the
+ * same node, and the {@link verification.EquivalenceChecker EquivalenceChecker}
+ * uses it to decide whether two circuits compute the same function, reporting
+ * an input vector for which they don't.
+ * <p>
+ * For regressions, a {@link verification.VectorFile VectorFile} lists input
+ * vectors with their expected outputs, and the
+ * {@link verification.VectorResult VectorResult} of checking a circuit against
+ * it can be written in a {@link verification.JUnitReport JUnitReport}.
+ *
+ * @author Alex Mandelias
+ */
+package verification;